@@ -64,3 +64,21 @@ UPDATE resource SET perms = REPLACE(perms, 'param_mapping', 'paramMapping') WHER
 -- add dubbo multiSelectorHandle
 INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('123', '6', 'multiSelectorHandle', 'multiSelectorHandle', '3', '3', '0', NULL, '2021-03-08 13:18:44', '2021-03-09 10:32:51');
 
+-- add p2c load balance
+INSERT IGNORE INTO shenyu_dict VALUES ('58', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'power of two choices least loaded', 3, 1, '2021-10-18 10:00:00', '2021-10-18 10:00:00');
+
+-- add rateLimiter token leasing
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2011', '4', 'leaseSize', 'leaseSize', 2, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2021-10-20 10:00:00', '2021-10-20 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2012', '4', 'leaseTtl', 'leaseTtl', 2, 2, 6, '{"required":"0","defaultValue":"1000","rule":""}', '2021-10-20 10:00:00', '2021-10-20 10:00:00');
+
+-- add rateLimiter redis circuit breaker
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2013', '4', 'timeout', 'timeout', 1, 3, 5, '{"required":"0","defaultValue":"3000","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2014', '4', 'failureThreshold', 'failureThreshold', 1, 3, 6, '{"required":"0","defaultValue":"5","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2015', '4', 'recoveryTimeout', 'recoveryTimeout', 1, 3, 7, '{"required":"0","defaultValue":"10000","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2016', '4', 'nodeCount', 'nodeCount', 1, 3, 8, '{"required":"0","defaultValue":"1","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+
+-- add logging access log pipeline
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2017', '18', 'sampleRate', 'sampleRate', 1, 3, 1, '{"required":"0","defaultValue":"1","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2018', '18', 'maxBodySize', 'maxBodySize', 1, 3, 2, '{"required":"0","defaultValue":"65536","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2019', '18', 'sink', 'sink', 2, 3, 3, '{"required":"0","defaultValue":"log","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (id, plugin_id, field, label, data_type, type, sort, ext_obj, date_created, date_updated) VALUES ('2020', '18', 'path', 'path', 2, 3, 4, '{"required":"0","defaultValue":"logs/shenyu-access.log","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
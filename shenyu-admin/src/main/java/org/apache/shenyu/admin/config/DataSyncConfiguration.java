@@ -158,11 +158,13 @@ public class DataSyncConfiguration {
         /**
          * Websocket collector websocket collector.
          *
+         * @param websocketSyncProperties the websocket sync properties
          * @return the websocket collector
          */
         @Bean
         @ConditionalOnMissingBean(WebsocketCollector.class)
-        public WebsocketCollector websocketCollector() {
+        public WebsocketCollector websocketCollector(final WebsocketSyncProperties websocketSyncProperties) {
+            WebsocketCollector.configure(websocketSyncProperties);
             return new WebsocketCollector();
         }
 
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * the properties of dispatching the data changed events to the listeners.
+ */
+@Component
+@ConfigurationProperties(prefix = "shenyu.sync.dispatch")
+public class DataDispatchProperties {
+
+    /**
+     * Whether the events are coalesced and dispatched asynchronously, default: false, every event is dispatched at once.
+     */
+    private boolean async;
+
+    /**
+     * The events are dispatched once no event comes within the window, default: 100 milliseconds.
+     */
+    private Duration window = Duration.ofMillis(100);
+
+    /**
+     * The max delay of an event, so a steady stream of the events is still dispatched, default: 1 second.
+     */
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /**
+     * Gets the value of async.
+     *
+     * @return the value of async
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async.
+     *
+     * @param async async
+     */
+    public void setAsync(final boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the value of window.
+     *
+     * @return the value of window
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets the window.
+     *
+     * @param window window
+     */
+    public void setWindow(final Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Gets the value of maxDelay.
+     *
+     * @return the value of maxDelay
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Sets the maxDelay.
+     *
+     * @param maxDelay maxDelay
+     */
+    public void setMaxDelay(final Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+}
@@ -30,6 +30,21 @@ public class WebsocketSyncProperties {
      */
     private boolean enabled = true;
 
+    /**
+     * send messages with the async remote of every session, so a slow gateway does not delay the others. default: true.
+     */
+    private boolean asyncSend = true;
+
+    /**
+     * the max number of messages waiting to be sent to a session. default: 64.
+     */
+    private int sendQueueSize = 64;
+
+    /**
+     * what to do when the send queue of a session is full. default: coalesce.
+     */
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.COALESCE;
+
     /**
      * Gets the value of enabled.
      *
@@ -47,4 +62,74 @@ public class WebsocketSyncProperties {
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * Gets the value of asyncSend.
+     *
+     * @return the value of asyncSend
+     */
+    public boolean isAsyncSend() {
+        return asyncSend;
+    }
+
+    /**
+     * Sets the asyncSend.
+     *
+     * @param asyncSend asyncSend
+     */
+    public void setAsyncSend(final boolean asyncSend) {
+        this.asyncSend = asyncSend;
+    }
+
+    /**
+     * Gets the value of sendQueueSize.
+     *
+     * @return the value of sendQueueSize
+     */
+    public int getSendQueueSize() {
+        return sendQueueSize;
+    }
+
+    /**
+     * Sets the sendQueueSize.
+     *
+     * @param sendQueueSize sendQueueSize
+     */
+    public void setSendQueueSize(final int sendQueueSize) {
+        this.sendQueueSize = sendQueueSize;
+    }
+
+    /**
+     * Gets the value of slowConsumerPolicy.
+     *
+     * @return the value of slowConsumerPolicy
+     */
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    /**
+     * Sets the slowConsumerPolicy.
+     *
+     * @param slowConsumerPolicy slowConsumerPolicy
+     */
+    public void setSlowConsumerPolicy(final SlowConsumerPolicy slowConsumerPolicy) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /**
+     * The policy for a session which can not keep up with the messages.
+     */
+    public enum SlowConsumerPolicy {
+
+        /**
+         * drop the waiting messages and send the whole config to the session once it catches up.
+         */
+        COALESCE,
+
+        /**
+         * close the session, the gateway will reconnect and fetch the whole config.
+         */
+        DISCONNECT
+    }
 }
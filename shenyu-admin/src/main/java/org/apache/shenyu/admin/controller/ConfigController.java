@@ -22,8 +22,14 @@ import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.model.result.ShenyuAdminResult;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.sync.data.api.codec.BinarySyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodecFactory;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCompression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -33,6 +39,8 @@ import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -62,6 +70,50 @@ public class ConfigController {
         return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
     }
 
+    /**
+     * Fetch configs in the binary codec, for the clients accepting it. The config is gzip compressed if the client accepts gzip.
+     *
+     * @param groupKeys the group keys
+     * @param request the request
+     * @param response the response
+     * @throws IOException the io exception
+     */
+    @GetMapping(value = "/fetch", produces = BinarySyncDataCodec.CONTENT_TYPE)
+    public void fetchEncodedConfigs(@NotNull final String[] groupKeys, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        for (String groupKey : groupKeys) {
+            ConfigGroupEnum group = ConfigGroupEnum.valueOf(groupKey);
+            configs.put(group, longPollingListener.fetchConfig(group));
+        }
+        SyncDataCodec codec = SyncDataCodecFactory.newInstance("binary");
+        SyncDataCompression compression = SyncDataCompression.ofAcceptEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = compression.compress(codec.encode(configs));
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(codec.contentType());
+        if (compression != SyncDataCompression.NONE) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, compression.getEncoding());
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * Fetch the changes of configs since the md5 the client holds, every group key is given with its md5 as a parameter.
+     *
+     * @param groupKeys the group keys
+     * @param request the request
+     * @return the shenyu result
+     */
+    @GetMapping("/delta")
+    public ShenyuAdminResult fetchDelta(@NotNull final String[] groupKeys, final HttpServletRequest request) {
+        Map<String, ConfigDelta<?>> result = Maps.newHashMap();
+        for (String groupKey : groupKeys) {
+            ConfigDelta<?> delta = longPollingListener.fetchDelta(ConfigGroupEnum.valueOf(groupKey), request.getParameter(groupKey));
+            result.put(groupKey, delta);
+        }
+        return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
+    }
+
     /**
      * Listener.
      *
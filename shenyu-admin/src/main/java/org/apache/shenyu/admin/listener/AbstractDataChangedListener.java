@@ -26,6 +26,7 @@ import org.apache.shenyu.admin.service.RuleService;
 import org.apache.shenyu.admin.service.SelectorService;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -33,15 +34,17 @@ import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.Md5Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 
 import javax.annotation.Resource;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 
 /**
@@ -56,9 +59,9 @@ import java.util.concurrent.ConcurrentMap;
 public abstract class AbstractDataChangedListener implements DataChangedListener, InitializingBean {
 
     /**
-     * The constant CACHE.
+     * The in-memory model of every config group.
      */
-    protected static final ConcurrentMap<String, ConfigDataCache> CACHE = new ConcurrentHashMap<>();
+    protected static final ConcurrentMap<String, ConfigGroupModel> CONFIG_MODEL = new ConcurrentHashMap<>();
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDataChangedListener.class);
 
@@ -93,7 +96,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      * @return the configuration data
      */
     public ConfigData<?> fetchConfig(final ConfigGroupEnum groupKey) {
-        ConfigDataCache config = CACHE.get(groupKey.name());
+        ConfigDataCache config = getConfigCache(groupKey);
         switch (groupKey) {
             case APP_AUTH:
                 List<AppAuthData> appAuthList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<AppAuthData>>() {
@@ -120,12 +123,33 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         }
     }
 
+    /**
+     * fetch the changes since the md5 of a client, or the whole configuration if the client is too far behind.
+     *
+     * @param groupKey the group key
+     * @param md5 the md5 of the configuration the client holds
+     * @return the configuration delta
+     */
+    public ConfigDelta<?> fetchDelta(final ConfigGroupEnum groupKey, final String md5) {
+        ConfigChangeLog.Delta delta = getConfigModel(groupKey).since(md5);
+        if (Objects.isNull(delta)) {
+            return toFullDelta(fetchConfig(groupKey));
+        }
+        Class<?> type = dataType(groupKey);
+        return new ConfigDelta<>()
+                .setBaseMd5(delta.getBaseMd5())
+                .setMd5(delta.getMd5())
+                .setLastModifyTime(delta.getLastModifyTime())
+                .setData(fromJson(delta.getUpserts(), type))
+                .setDeleted(fromJson(delta.getDeletes(), type));
+    }
+
     @Override
     public void onAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
         if (CollectionUtils.isEmpty(changed)) {
             return;
         }
-        this.updateAppAuthCache();
+        this.applyChange(ConfigGroupEnum.APP_AUTH, changed, eventType);
         this.afterAppAuthChanged(changed, eventType);
     }
 
@@ -134,7 +158,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         if (CollectionUtils.isEmpty(changed)) {
             return;
         }
-        this.updateMetaDataCache();
+        this.applyChange(ConfigGroupEnum.META_DATA, changed, eventType);
         this.afterMetaDataChanged(changed, eventType);
     }
 
@@ -161,7 +185,13 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         if (CollectionUtils.isEmpty(changed)) {
             return;
         }
-        this.updatePluginCache();
+        this.applyChange(ConfigGroupEnum.PLUGIN, changed, eventType);
+        if (DataEventTypeEnum.DELETE == eventType) {
+            // the selectors and rules of the deleted plugins are deleted with them.
+            Set<String> pluginNames = changed.stream().map(PluginData::getName).collect(Collectors.toSet());
+            getConfigModel(ConfigGroupEnum.SELECTOR).deleteIf(each -> pluginNames.contains(((SelectorData) each).getPluginName()));
+            getConfigModel(ConfigGroupEnum.RULE).deleteIf(each -> pluginNames.contains(((RuleData) each).getPluginName()));
+        }
         this.afterPluginChanged(changed, eventType);
     }
 
@@ -179,7 +209,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         if (CollectionUtils.isEmpty(changed)) {
             return;
         }
-        this.updateRuleCache();
+        this.applyChange(ConfigGroupEnum.RULE, changed, eventType);
         this.afterRuleChanged(changed, eventType);
     }
 
@@ -197,7 +227,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         if (CollectionUtils.isEmpty(changed)) {
             return;
         }
-        this.updateSelectorCache();
+        this.applyChange(ConfigGroupEnum.SELECTOR, changed, eventType);
         this.afterSelectorChanged(changed, eventType);
     }
 
@@ -223,16 +253,43 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
     protected abstract void afterInitialize();
 
     /**
-     * if md5 is not the same as the original, then update lcoal cache.
+     * replace the config group with the data loaded from the database.
      * @param group ConfigGroupEnum
      * @param <T> the type of class
      * @param data the new config data
      */
     protected <T> void updateCache(final ConfigGroupEnum group, final List<T> data) {
-        String json = GsonUtils.getInstance().toJson(data);
-        ConfigDataCache newVal = new ConfigDataCache(group.name(), json, Md5Utils.md5(json), System.currentTimeMillis());
-        ConfigDataCache oldVal = CACHE.put(newVal.getGroup(), newVal);
-        LOG.info("update config cache[{}], old: {}, updated: {}", group, oldVal, newVal);
+        if (getConfigModel(group).replace(data)) {
+            LOG.info("update config cache[{}], version: {}", group, getConfigModel(group).getVersion());
+        }
+    }
+
+    /**
+     * apply the changed data to the config group, the group is not reloaded from the database.
+     * @param group ConfigGroupEnum
+     * @param <T> the type of class
+     * @param changed the changed data
+     * @param eventType the event type
+     */
+    protected <T> void applyChange(final ConfigGroupEnum group, final List<T> changed, final DataEventTypeEnum eventType) {
+        ConfigGroupModel model = getConfigModel(group);
+        boolean updated = DataEventTypeEnum.DELETE == eventType ? model.delete(changed) : model.upsert(changed);
+        if (updated) {
+            LOG.info("apply {} change to config cache[{}], version: {}", eventType, group, model.getVersion());
+        }
+    }
+
+    /**
+     * get the snapshot of the config group, it is built only if the group changed since the last one.
+     * @param group ConfigGroupEnum
+     * @return the snapshot
+     */
+    protected ConfigDataCache getConfigCache(final ConfigGroupEnum group) {
+        return getConfigModel(group).snapshot();
+    }
+
+    private ConfigGroupModel getConfigModel(final ConfigGroupEnum group) {
+        return CONFIG_MODEL.computeIfAbsent(group.name(), key -> new ConfigGroupModel(group, ConfigChangeLog.DEFAULT_CAPACITY));
     }
 
     /**
@@ -270,4 +327,32 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         this.updateCache(ConfigGroupEnum.META_DATA, metaDataService.listAll());
     }
 
+    private static <T> ConfigDelta<T> toFullDelta(final ConfigData<T> config) {
+        return new ConfigDelta<T>()
+                .setFull(true)
+                .setMd5(config.getMd5())
+                .setLastModifyTime(config.getLastModifyTime())
+                .setData(config.getData());
+    }
+
+    private static List<Object> fromJson(final List<String> elements, final Class<?> type) {
+        return elements.stream().map(json -> GsonUtils.getGson().fromJson(json, type)).collect(Collectors.toList());
+    }
+
+    private static Class<?> dataType(final ConfigGroupEnum group) {
+        switch (group) {
+            case APP_AUTH:
+                return AppAuthData.class;
+            case PLUGIN:
+                return PluginData.class;
+            case RULE:
+                return RuleData.class;
+            case SELECTOR:
+                return SelectorData.class;
+            case META_DATA:
+                return MetaData.class;
+            default:
+                throw new IllegalStateException("Unexpected groupKey: " + group);
+        }
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The versioned change log of a config group.
+ * Every change of the group is recorded with the version it produces, and the md5 of every snapshot served to
+ * the clients is marked with its version, so a client which holds any recent md5 can catch up by the changes
+ * since it instead of the whole group.
+ * It is not thread safe, {@link ConfigGroupModel} guards it.
+ */
+public class ConfigChangeLog {
+
+    /**
+     * The default number of changes kept.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+
+    private final Deque<Change> changes = new ArrayDeque<>();
+
+    /**
+     * md5 -> version of the snapshots served.
+     */
+    private final Map<String, Long> versions = new HashMap<>();
+
+    /**
+     * Instantiates a new config change log.
+     *
+     * @param capacity the number of changes kept
+     */
+    public ConfigChangeLog(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Record a change of the group.
+     *
+     * @param version the version after the change
+     * @param upserts key -> json of the added or updated elements
+     * @param deletes key -> json of the deleted elements
+     */
+    public void record(final long version, final Map<String, String> upserts, final Map<String, String> deletes) {
+        changes.addLast(new Change(version, upserts, deletes));
+        if (changes.size() > capacity) {
+            while (changes.size() > capacity) {
+                changes.removeFirst();
+            }
+            long oldestBase = changes.getFirst().version - 1;
+            versions.values().removeIf(each -> each < oldestBase);
+        }
+    }
+
+    /**
+     * Mark the md5 of a snapshot served to the clients.
+     *
+     * @param md5 the md5 of the snapshot
+     * @param version the version of the snapshot
+     */
+    public void mark(final String md5, final long version) {
+        versions.put(md5, version);
+    }
+
+    /**
+     * Get the changes since the snapshot of the base md5.
+     *
+     * @param baseMd5 the md5 of the snapshot a client holds
+     * @param md5 the md5 of the current snapshot
+     * @param version the current version
+     * @param lastModifyTime the last modify time of the current snapshot
+     * @param size the number of elements of the current snapshot
+     * @return the delta, or null if the snapshot is not in the log any more or a full snapshot is smaller
+     */
+    public Delta since(final String baseMd5, final String md5, final long version, final long lastModifyTime, final int size) {
+        Long baseVersion = versions.get(baseMd5);
+        if (Objects.isNull(baseVersion)) {
+            return null;
+        }
+        if (baseVersion == version) {
+            return new Delta(baseMd5, md5, lastModifyTime, Collections.emptyList(), Collections.emptyList());
+        }
+        if (changes.isEmpty() || changes.getFirst().version > baseVersion + 1) {
+            return null;
+        }
+        Map<String, String> upserts = new LinkedHashMap<>();
+        Map<String, String> deletes = new LinkedHashMap<>();
+        for (Change change : changes) {
+            if (change.version <= baseVersion) {
+                continue;
+            }
+            change.upserts.forEach((key, json) -> {
+                deletes.remove(key);
+                upserts.put(key, json);
+            });
+            change.deletes.forEach((key, json) -> {
+                upserts.remove(key);
+                deletes.put(key, json);
+            });
+        }
+        if (upserts.size() + deletes.size() > size / 2) {
+            return null;
+        }
+        return new Delta(baseMd5, md5, lastModifyTime, new ArrayList<>(upserts.values()), new ArrayList<>(deletes.values()));
+    }
+
+    private static final class Change {
+
+        private final long version;
+
+        private final Map<String, String> upserts;
+
+        private final Map<String, String> deletes;
+
+        Change(final long version, final Map<String, String> upserts, final Map<String, String> deletes) {
+            this.version = version;
+            this.upserts = upserts;
+            this.deletes = deletes;
+        }
+    }
+
+    /**
+     * The merged changes since a snapshot, the elements are in json.
+     */
+    public static final class Delta {
+
+        private final String baseMd5;
+
+        private final String md5;
+
+        private final long lastModifyTime;
+
+        private final List<String> upserts;
+
+        private final List<String> deletes;
+
+        Delta(final String baseMd5, final String md5, final long lastModifyTime, final List<String> upserts, final List<String> deletes) {
+            this.baseMd5 = baseMd5;
+            this.md5 = md5;
+            this.lastModifyTime = lastModifyTime;
+            this.upserts = upserts;
+            this.deletes = deletes;
+        }
+
+        /**
+         * Gets base md5.
+         *
+         * @return the base md5
+         */
+        public String getBaseMd5() {
+            return baseMd5;
+        }
+
+        /**
+         * Gets md5.
+         *
+         * @return the md5
+         */
+        public String getMd5() {
+            return md5;
+        }
+
+        /**
+         * Gets last modify time.
+         *
+         * @return the last modify time
+         */
+        public long getLastModifyTime() {
+            return lastModifyTime;
+        }
+
+        /**
+         * Gets the added or updated elements.
+         *
+         * @return the upserts
+         */
+        public List<String> getUpserts() {
+            return upserts;
+        }
+
+        /**
+         * Gets the deleted elements.
+         *
+         * @return the deletes
+         */
+        public List<String> getDeletes() {
+            return deletes;
+        }
+    }
+}
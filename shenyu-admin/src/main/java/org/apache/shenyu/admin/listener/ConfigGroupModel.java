@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.common.utils.Md5Utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * The in-memory model of a config group, the elements are kept by their keys and the changes are applied one by one,
+ * so a change does not reload the whole group from the database.
+ * The json and md5 of the group are built lazily when a client asks for them, and kept until the next change.
+ * The elements are ordered by their keys, so the md5 does not depend on the order of the changes and is the same
+ * on every admin.
+ */
+public class ConfigGroupModel {
+
+    private final ConfigGroupEnum group;
+
+    private final TreeMap<String, Element> elements = new TreeMap<>();
+
+    private final ConfigChangeLog changeLog;
+
+    private long version;
+
+    private long lastModifyTime = System.currentTimeMillis();
+
+    private ConfigDataCache snapshot;
+
+    /**
+     * Instantiates a new config group model.
+     *
+     * @param group the group
+     * @param changeLogCapacity the number of changes kept in the change log
+     */
+    public ConfigGroupModel(final ConfigGroupEnum group, final int changeLogCapacity) {
+        this.group = group;
+        this.changeLog = new ConfigChangeLog(changeLogCapacity);
+    }
+
+    /**
+     * Replace all the elements.
+     *
+     * @param data the elements
+     * @return true if the group changed
+     */
+    public synchronized boolean replace(final List<?> data) {
+        Map<String, Element> upserts = toElements(data);
+        List<String> deletes = new ArrayList<>();
+        for (String key : elements.keySet()) {
+            if (!upserts.containsKey(key)) {
+                deletes.add(key);
+            }
+        }
+        return apply(upserts, deletes);
+    }
+
+    /**
+     * Add or update the elements.
+     *
+     * @param data the elements
+     * @return true if the group changed
+     */
+    public synchronized boolean upsert(final List<?> data) {
+        return apply(toElements(data), Collections.emptyList());
+    }
+
+    /**
+     * Delete the elements.
+     *
+     * @param data the elements
+     * @return true if the group changed
+     */
+    public synchronized boolean delete(final List<?> data) {
+        return apply(Collections.emptyMap(), toElements(data).keySet());
+    }
+
+    /**
+     * Delete the elements matching the predicate.
+     *
+     * @param predicate the predicate
+     * @return true if the group changed
+     */
+    public synchronized boolean deleteIf(final Predicate<Object> predicate) {
+        List<String> deletes = new ArrayList<>();
+        elements.forEach((key, element) -> {
+            if (predicate.test(element.data)) {
+                deletes.add(key);
+            }
+        });
+        return apply(Collections.emptyMap(), deletes);
+    }
+
+    /**
+     * Get the snapshot of the group, it is built only if the group changed since the last one.
+     *
+     * @return the snapshot
+     */
+    public synchronized ConfigDataCache snapshot() {
+        if (Objects.isNull(snapshot)) {
+            StringJoiner joiner = new StringJoiner(",", "[", "]");
+            elements.values().forEach(element -> joiner.add(element.json));
+            String json = joiner.toString();
+            snapshot = new ConfigDataCache(group.name(), json, Md5Utils.md5(json), lastModifyTime);
+            changeLog.mark(snapshot.getMd5(), version);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the changes since the snapshot of the md5.
+     *
+     * @param baseMd5 the md5 of the snapshot a client holds
+     * @return the delta, or null if the client should fetch the whole group
+     */
+    public synchronized ConfigChangeLog.Delta since(final String baseMd5) {
+        ConfigDataCache current = snapshot();
+        return changeLog.since(baseMd5, current.getMd5(), version, current.getLastModifyTime(), elements.size());
+    }
+
+    /**
+     * Get the version, it increases on every change.
+     *
+     * @return the version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private boolean apply(final Map<String, Element> upserts, final Collection<String> deletes) {
+        Map<String, String> upserted = new LinkedHashMap<>();
+        Map<String, String> deleted = new LinkedHashMap<>();
+        for (String key : deletes) {
+            Element old = elements.remove(key);
+            if (Objects.nonNull(old)) {
+                deleted.put(key, old.json);
+            }
+        }
+        upserts.forEach((key, element) -> {
+            Element old = elements.put(key, element);
+            if (Objects.isNull(old) || !Objects.equals(old.json, element.json)) {
+                upserted.put(key, element.json);
+            }
+        });
+        if (upserted.isEmpty() && deleted.isEmpty()) {
+            return false;
+        }
+        version++;
+        lastModifyTime = System.currentTimeMillis();
+        changeLog.record(version, upserted, deleted);
+        snapshot = null;
+        return true;
+    }
+
+    private Map<String, Element> toElements(final List<?> data) {
+        Map<String, Element> result = new LinkedHashMap<>();
+        for (Object each : data) {
+            String json = GsonUtils.getInstance().toJson(each);
+            // the element without a key is keyed by its json.
+            result.put(Objects.toString(keyOf(group, each), json), new Element(each, json));
+        }
+        return result;
+    }
+
+    /**
+     * Get the key of an element of the group.
+     *
+     * @param group the group
+     * @param element the element
+     * @return the key, or null if the element has none
+     */
+    static String keyOf(final ConfigGroupEnum group, final Object element) {
+        switch (group) {
+            case APP_AUTH:
+                return ((AppAuthData) element).getAppKey();
+            case PLUGIN:
+                return ((PluginData) element).getId();
+            case RULE:
+                return ((RuleData) element).getId();
+            case SELECTOR:
+                return ((SelectorData) element).getId();
+            case META_DATA:
+                return ((MetaData) element).getId();
+            default:
+                return null;
+        }
+    }
+
+    private static final class Element {
+
+        private final Object data;
+
+        private final String json;
+
+        Element(final Object data, final String json) {
+            this.data = data;
+            this.json = json;
+        }
+    }
+}
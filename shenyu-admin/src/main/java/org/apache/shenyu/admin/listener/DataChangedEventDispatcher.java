@@ -17,11 +17,18 @@
 
 package org.apache.shenyu.admin.listener;
 
+import org.apache.shenyu.admin.config.properties.DataDispatchProperties;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
@@ -30,51 +37,208 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Event forwarders, which forward the changed events to each ConfigEventListener.
+ * In the async mode, the events are coalesced by the group and the key of the data within a short window,
+ * and every listener gets one batch for every group and event type, so a bulk change is not broadcast one by one.
  */
 @Component
-public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean {
+public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataChangedEventDispatcher.class);
 
     private final ApplicationContext applicationContext;
 
+    private final DataDispatchProperties properties;
+
     private List<DataChangedListener> listeners;
 
-    public DataChangedEventDispatcher(final ApplicationContext applicationContext) {
+    private ScheduledExecutorService executor;
+
+    /**
+     * The pending changes of the groups, in the order the groups changed.
+     */
+    private Map<ConfigGroupEnum, PendingChanges> pending = new LinkedHashMap<>();
+
+    private long firstPendingNanos;
+
+    private long lastPendingNanos;
+
+    public DataChangedEventDispatcher(final ApplicationContext applicationContext, final DataDispatchProperties properties) {
         this.applicationContext = applicationContext;
+        this.properties = properties;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void onApplicationEvent(final DataChangedEvent event) {
+        // the events to the requesting websocket session rely on the publishing thread, they are never delayed.
+        if (Objects.isNull(executor) || executor.isShutdown() || DataEventTypeEnum.MYSELF == event.getEventType()) {
+            dispatch(event.getGroupKey(), event.getEventType(), event.getSource());
+            return;
+        }
+        coalesce(event);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Collection<DataChangedListener> listenerBeans = applicationContext.getBeansOfType(DataChangedListener.class).values();
+        this.listeners = Collections.unmodifiableList(new ArrayList<>(listenerBeans));
+        if (properties.isAsync()) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-data-changed-dispatcher", true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.isNull(executor)) {
+            return;
+        }
+        executor.shutdownNow();
+        // the pending changes are not dropped.
+        dispatch(takePending());
+    }
+
+    private synchronized void coalesce(final DataChangedEvent event) {
+        long now = System.nanoTime();
+        if (pending.isEmpty()) {
+            firstPendingNanos = now;
+            executor.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        lastPendingNanos = now;
+        pending.computeIfAbsent(event.getGroupKey(), PendingChanges::new).add(event.getEventType(), event.getSource());
+    }
+
+    private void flush() {
+        Map<ConfigGroupEnum, PendingChanges> changes;
+        synchronized (this) {
+            long deadline = Math.min(lastPendingNanos + properties.getWindow().toNanos(), firstPendingNanos + properties.getMaxDelay().toNanos());
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                // an event came within the window, wait for the window after it.
+                executor.schedule(this::flush, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            changes = takePending();
+        }
+        dispatch(changes);
+    }
+
+    private synchronized Map<ConfigGroupEnum, PendingChanges> takePending() {
+        Map<ConfigGroupEnum, PendingChanges> changes = pending;
+        pending = new LinkedHashMap<>();
+        return changes;
+    }
+
+    private void dispatch(final Map<ConfigGroupEnum, PendingChanges> changes) {
+        changes.forEach((group, groupChanges) -> groupChanges.batches().forEach(batch -> {
+            try {
+                dispatch(group, batch.type, new ArrayList<>(batch.data.values()));
+            } catch (Exception e) {
+                LOG.error("dispatch the {} changes of {} fail", batch.type, group, e);
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(final ConfigGroupEnum group, final DataEventTypeEnum type, final List<?> data) {
         for (DataChangedListener listener : listeners) {
-            switch (event.getGroupKey()) {
+            switch (group) {
                 case APP_AUTH:
-                    listener.onAppAuthChanged((List<AppAuthData>) event.getSource(), event.getEventType());
+                    listener.onAppAuthChanged((List<AppAuthData>) data, type);
                     break;
                 case PLUGIN:
-                    listener.onPluginChanged((List<PluginData>) event.getSource(), event.getEventType());
+                    listener.onPluginChanged((List<PluginData>) data, type);
                     break;
                 case RULE:
-                    listener.onRuleChanged((List<RuleData>) event.getSource(), event.getEventType());
+                    listener.onRuleChanged((List<RuleData>) data, type);
                     break;
                 case SELECTOR:
-                    listener.onSelectorChanged((List<SelectorData>) event.getSource(), event.getEventType());
+                    listener.onSelectorChanged((List<SelectorData>) data, type);
                     break;
                 case META_DATA:
-                    listener.onMetaDataChanged((List<MetaData>) event.getSource(), event.getEventType());
+                    listener.onMetaDataChanged((List<MetaData>) data, type);
                     break;
                 default:
-                    throw new IllegalStateException("Unexpected value: " + event.getGroupKey());
+                    throw new IllegalStateException("Unexpected value: " + group);
             }
         }
     }
 
-    @Override
-    public void afterPropertiesSet() {
-        Collection<DataChangedListener> listenerBeans = applicationContext.getBeansOfType(DataChangedListener.class).values();
-        this.listeners = Collections.unmodifiableList(new ArrayList<>(listenerBeans));
+    /**
+     * The pending changes of a group, as the batches in the order of the events, every data is kept only in the batch of its last change.
+     * A refresh is often the data of only one plugin and the listeners take it as such, so every refresh keeps a batch of its own,
+     * and a later upsert of its data updates the data in it, while the other changes are merged into the last batch of the same type.
+     * The data of a refresh is never taken out of it, as the listeners clear the plugin of the refresh by it,
+     * so a later delete or refresh of the data is dispatched after the refresh instead.
+     */
+    private static final class PendingChanges {
+
+        private final ConfigGroupEnum group;
+
+        private final List<Batch> batches = new ArrayList<>();
+
+        private final Map<Object, Batch> batchOfKey = new HashMap<>();
+
+        PendingChanges(final ConfigGroupEnum group) {
+            this.group = group;
+        }
+
+        void add(final DataEventTypeEnum type, final List<?> data) {
+            Batch refresh = DataEventTypeEnum.REFRESH == type ? append(type) : null;
+            for (Object each : data) {
+                // the data without a key is never coalesced.
+                Object key = Optional.<Object>ofNullable(ConfigGroupModel.keyOf(group, each)).orElseGet(Object::new);
+                Batch previous = batchOfKey.get(key);
+                if (Objects.nonNull(previous) && DataEventTypeEnum.REFRESH == previous.type && DataEventTypeEnum.REFRESH != type && DataEventTypeEnum.DELETE != type) {
+                    previous.data.put(key, each);
+                    continue;
+                }
+                if (Objects.nonNull(previous) && DataEventTypeEnum.REFRESH != previous.type) {
+                    previous.data.remove(key);
+                }
+                Batch batch = Objects.nonNull(refresh) ? refresh : lastOrAppend(type);
+                batch.data.put(key, each);
+                batchOfKey.put(key, batch);
+            }
+        }
+
+        List<Batch> batches() {
+            return batches.stream().filter(batch -> !batch.data.isEmpty()).collect(Collectors.toList());
+        }
+
+        private Batch lastOrAppend(final DataEventTypeEnum type) {
+            if (!batches.isEmpty() && batches.get(batches.size() - 1).type == type) {
+                return batches.get(batches.size() - 1);
+            }
+            return append(type);
+        }
+
+        private Batch append(final DataEventTypeEnum type) {
+            Batch batch = new Batch(type);
+            batches.add(batch);
+            return batch;
+        }
+    }
+
+    private static final class Batch {
+
+        private final DataEventTypeEnum type;
+
+        private final Map<Object, Object> data = new LinkedHashMap<>();
+
+        Batch(final DataEventTypeEnum type) {
+            this.type = type;
+        }
     }
 }
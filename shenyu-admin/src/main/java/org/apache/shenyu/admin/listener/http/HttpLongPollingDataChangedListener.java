@@ -183,9 +183,9 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
             }
             String clientMd5 = params[0];
             long clientModifyTime = NumberUtils.toLong(params[1]);
-            ConfigDataCache serverCache = CACHE.get(group.name());
+            ConfigDataCache serverCache = getConfigCache(group);
             // do check.
-            if (this.checkCacheDelayAndUpdate(serverCache, clientMd5, clientModifyTime)) {
+            if (this.checkCacheDelayAndUpdate(group, serverCache, clientMd5, clientModifyTime)) {
                 changedGroup.add(group);
             }
         }
@@ -194,12 +194,13 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     /**
      * check whether the client needs to update the cache.
+     * @param group the group
      * @param serverCache the admin local cache
      * @param clientMd5 the client md5 value
      * @param clientModifyTime the client last modify time
      * @return true: the client needs to be updated, false: not need.
      */
-    private boolean checkCacheDelayAndUpdate(final ConfigDataCache serverCache, final String clientMd5, final long clientModifyTime) {
+    private boolean checkCacheDelayAndUpdate(final ConfigGroupEnum group, final ConfigDataCache serverCache, final String clientMd5, final long clientModifyTime) {
         // is the same, doesn't need to be updated
         if (StringUtils.equals(clientMd5, serverCache.getMd5())) {
             return false;
@@ -222,14 +223,14 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         }
         if (locked) {
             try {
-                ConfigDataCache latest = CACHE.get(serverCache.getGroup());
+                ConfigDataCache latest = getConfigCache(group);
                 if (latest != serverCache) {
                     // the cache of admin was updated. if the md5 value is the same, there's no need to update.
                     return !StringUtils.equals(clientMd5, latest.getMd5());
                 }
                 // load cache from db.
                 this.refreshLocalCache();
-                latest = CACHE.get(serverCache.getGroup());
+                latest = getConfigCache(group);
                 return !StringUtils.equals(clientMd5, latest.getMd5());
             } finally {
                 LOCK.unlock();
@@ -19,9 +19,11 @@ package org.apache.shenyu.admin.listener.websocket;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
 import org.apache.shenyu.admin.service.SyncDataService;
 import org.apache.shenyu.admin.spring.SpringBeanUtils;
 import org.apache.shenyu.admin.utils.ThreadLocalUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,7 +39,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The type Websocket data changed listener.
@@ -51,8 +59,27 @@ public class WebsocketCollector {
 
     private static final Set<Session> SESSION_SET = new CopyOnWriteArraySet<>();
 
+    private static final ConcurrentMap<Session, WebsocketSessionSender> SENDER_MAP = new ConcurrentHashMap<>();
+
     private static final String SESSION_KEY = "sessionKey";
 
+    /**
+     * refresh or close the slow sessions, it is not on the path of the broadcast.
+     */
+    private static final ExecutorService SLOW_SESSION_EXECUTOR = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), ShenyuThreadFactory.create("websocket-slow-session", true));
+
+    private static volatile WebsocketSyncProperties websocketSyncProperties = new WebsocketSyncProperties();
+
+    /**
+     * Configure how the messages are sent to the sessions opened afterwards.
+     *
+     * @param properties the websocket sync properties
+     */
+    public static void configure(final WebsocketSyncProperties properties) {
+        websocketSyncProperties = properties;
+    }
+
     /**
      * On open.
      *
@@ -61,6 +88,10 @@ public class WebsocketCollector {
     @OnOpen
     public void onOpen(final Session session) {
         LOG.info("websocket on client[{}] open successful....", getClientIp(session));
+        if (websocketSyncProperties.isAsyncSend()) {
+            SENDER_MAP.put(session, new WebsocketSessionSender(session, websocketSyncProperties.getSendQueueSize(),
+                    websocketSyncProperties.getSlowConsumerPolicy(), WebsocketCollector::syncAll, SLOW_SESSION_EXECUTOR));
+        }
         SESSION_SET.add(session);
     }
 
@@ -86,14 +117,16 @@ public class WebsocketCollector {
         if (!Objects.equals(message, DataEventTypeEnum.MYSELF.name())) {
             return;
         }
+        syncAll(session);
+    }
 
+    private static void syncAll(final Session session) {
         try {
             ThreadLocalUtils.put(SESSION_KEY, session);
             SpringBeanUtils.getInstance().getBean(SyncDataService.class).syncAll(DataEventTypeEnum.MYSELF);
         } finally {
             ThreadLocalUtils.clear();
         }
-
     }
 
     /**
@@ -104,6 +137,7 @@ public class WebsocketCollector {
     @OnClose
     public void onClose(final Session session) {
         SESSION_SET.remove(session);
+        SENDER_MAP.remove(session);
         ThreadLocalUtils.clear();
         LOG.warn("websocket close on client[{}]", getClientIp(session));
     }
@@ -117,6 +151,7 @@ public class WebsocketCollector {
     @OnError
     public void onError(final Session session, final Throwable error) {
         SESSION_SET.remove(session);
+        SENDER_MAP.remove(session);
         ThreadLocalUtils.clear();
         LOG.error("websocket collection on client[{}] error: ", getClientIp(session), error);
     }
@@ -143,11 +178,18 @@ public class WebsocketCollector {
 
     }
 
-    private static synchronized void sendMessageBySession(final Session session, final String message) {
-        try {
-            session.getBasicRemote().sendText(message);
-        } catch (IOException e) {
-            LOG.error("websocket send result is exception: ", e);
+    private static void sendMessageBySession(final Session session, final String message) {
+        WebsocketSessionSender sender = SENDER_MAP.get(session);
+        if (Objects.nonNull(sender)) {
+            sender.send(message);
+            return;
+        }
+        synchronized (session) {
+            try {
+                session.getBasicRemote().sendText(message);
+            } catch (IOException e) {
+                LOG.error("websocket send result is exception: ", e);
+            }
         }
     }
 }
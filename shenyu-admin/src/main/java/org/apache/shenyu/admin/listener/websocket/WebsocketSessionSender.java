@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.websocket;
+
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties.SlowConsumerPolicy;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Sends messages to a websocket session with its async remote, one at a time as the websocket api requires.
+ * The messages waiting for the previous one are kept in a bounded queue, when it is full the session is
+ * treated as a slow consumer according to the {@link SlowConsumerPolicy}.
+ * The queue holds at least the messages of a whole config, one for every group,
+ * otherwise the refresh of a coalesced session would overflow the queue by itself and never end.
+ */
+public class WebsocketSessionSender implements SendHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebsocketSessionSender.class);
+
+    private static final int MIN_QUEUE_SIZE = ConfigGroupEnum.values().length;
+
+    private final Session session;
+
+    private final int queueSize;
+
+    private final SlowConsumerPolicy policy;
+
+    private final Consumer<Session> refresher;
+
+    private final Executor executor;
+
+    private final Deque<String> queue = new ArrayDeque<>();
+
+    private boolean sending;
+
+    private boolean refreshPending;
+
+    /**
+     * Instantiates a new websocket session sender.
+     *
+     * @param session   the session
+     * @param queueSize the max number of messages waiting to be sent, raised to the messages of a whole config if less
+     * @param policy    the slow consumer policy
+     * @param refresher sends the whole config to the session
+     * @param executor  the executor to refresh or close a slow session
+     */
+    public WebsocketSessionSender(final Session session, final int queueSize, final SlowConsumerPolicy policy,
+                                  final Consumer<Session> refresher, final Executor executor) {
+        this.session = session;
+        if (queueSize < MIN_QUEUE_SIZE) {
+            LOG.warn("websocket send queue size {} can not hold the whole config, use {} instead", queueSize, MIN_QUEUE_SIZE);
+        }
+        this.queueSize = Math.max(queueSize, MIN_QUEUE_SIZE);
+        this.policy = policy;
+        this.refresher = refresher;
+        this.executor = executor;
+    }
+
+    /**
+     * Send the message, it never blocks.
+     *
+     * @param message the message
+     */
+    public void send(final String message) {
+        synchronized (this) {
+            if (refreshPending) {
+                // the message will be covered by the whole config.
+                return;
+            }
+            if (sending) {
+                if (queue.size() < queueSize) {
+                    queue.addLast(message);
+                } else {
+                    onSlowConsumer();
+                }
+                return;
+            }
+            sending = true;
+        }
+        doSend(message);
+    }
+
+    /**
+     * Gets the number of messages waiting to be sent.
+     *
+     * @return the number of messages
+     */
+    public synchronized int getPendingSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void onResult(final SendResult result) {
+        if (!result.isOK()) {
+            LOG.error("websocket send result is exception: ", result.getException());
+        }
+        String next;
+        boolean refresh = false;
+        synchronized (this) {
+            next = queue.pollFirst();
+            if (Objects.isNull(next)) {
+                sending = false;
+                refresh = refreshPending;
+                refreshPending = false;
+            }
+        }
+        if (Objects.nonNull(next)) {
+            doSend(next);
+        } else if (refresh) {
+            executor.execute(() -> refresher.accept(session));
+        }
+    }
+
+    private void doSend(final String message) {
+        try {
+            session.getAsyncRemote().sendText(message, this);
+        } catch (RuntimeException e) {
+            onResult(new SendResult(e));
+        }
+    }
+
+    private void onSlowConsumer() {
+        queue.clear();
+        if (SlowConsumerPolicy.DISCONNECT == policy) {
+            LOG.warn("websocket session[{}] can not keep up with the messages, close it", session.getId());
+            executor.execute(this::close);
+        } else {
+            LOG.warn("websocket session[{}] can not keep up with the messages, send the whole config once it catches up", session.getId());
+            refreshPending = true;
+        }
+    }
+
+    private void close() {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "slow consumer"));
+        } catch (IOException e) {
+            LOG.error("websocket close slow session is exception: ", e);
+        }
+    }
+}
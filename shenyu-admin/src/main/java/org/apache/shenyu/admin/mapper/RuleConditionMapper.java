@@ -45,6 +45,14 @@ public interface RuleConditionMapper {
      */
     List<RuleConditionDO> selectByQuery(RuleConditionQuery ruleConditionQuery);
 
+    /**
+     * select rule conditions by rule ids.
+     *
+     * @param ruleIds the rule ids
+     * @return {@linkplain List}
+     */
+    List<RuleConditionDO> selectByRuleIds(List<String> ruleIds);
+
     /**
      * insert rule condition.
      *
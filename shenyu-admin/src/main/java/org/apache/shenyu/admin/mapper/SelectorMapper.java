@@ -61,6 +61,14 @@ public interface SelectorMapper {
      */
     List<SelectorDO> findByPluginIds(List<String> pluginIds);
 
+    /**
+     * select selectors by ids.
+     *
+     * @param ids the ids
+     * @return the list
+     */
+    List<SelectorDO> selectByIds(List<String> ids);
+
     /**
      * select select by name.
      *
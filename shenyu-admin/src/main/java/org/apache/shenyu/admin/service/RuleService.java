@@ -86,6 +86,14 @@ public interface RuleService {
      */
     List<RuleData> findBySelectorId(String selectorId);
 
+    /**
+     * Find by selector id list, the rules are loaded in batches.
+     *
+     * @param selectorIds the selector ids
+     * @return the list
+     */
+    List<RuleData> findBySelectorIds(List<String> selectorIds);
+
     /**
      * Find rule by name.
      *
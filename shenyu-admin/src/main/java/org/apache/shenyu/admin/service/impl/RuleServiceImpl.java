@@ -42,6 +42,7 @@ import org.apache.shenyu.admin.model.vo.RuleConditionVO;
 import org.apache.shenyu.admin.model.vo.RuleVO;
 import org.apache.shenyu.admin.service.RuleService;
 import org.apache.shenyu.admin.transfer.ConditionTransfer;
+import org.apache.shenyu.admin.utils.BatchQueryUtils;
 import org.apache.shenyu.admin.utils.JwtUtils;
 import org.apache.shenyu.common.constant.AdminConstants;
 import org.apache.shenyu.common.dto.ConditionData;
@@ -52,8 +53,10 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -204,20 +207,23 @@ public class RuleServiceImpl implements RuleService {
 
     @Override
     public List<RuleData> listAll() {
-        return ruleMapper.selectAll()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildRuleData)
-                .collect(Collectors.toList());
+        return buildRuleDataList(ruleMapper.selectAll(), selectorMapper.selectAll(), ruleConditionMapper.selectByQuery(new RuleConditionQuery()));
     }
 
     @Override
     public List<RuleData> findBySelectorId(final String selectorId) {
-        return ruleMapper.findBySelectorId(selectorId)
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildRuleData)
-                .collect(Collectors.toList());
+        return findBySelectorIds(Collections.singletonList(selectorId));
+    }
+
+    @Override
+    public List<RuleData> findBySelectorIds(final List<String> selectorIds) {
+        List<RuleDO> ruleDOList = BatchQueryUtils.selectIn(selectorIds, ruleMapper::findBySelectorIds);
+        if (ruleDOList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ruleIds = ruleDOList.stream().filter(Objects::nonNull).map(RuleDO::getId).collect(Collectors.toList());
+        return buildRuleDataList(ruleDOList, BatchQueryUtils.selectIn(selectorIds, selectorMapper::selectByIds),
+                BatchQueryUtils.selectIn(ruleIds, ruleConditionMapper::selectByRuleIds));
     }
 
     @Override
@@ -236,24 +242,40 @@ public class RuleServiceImpl implements RuleService {
                 Collections.singletonList(RuleDO.transFrom(ruleDO, pluginDO.getName(), conditionDataList))));
     }
 
-    private RuleData buildRuleData(final RuleDO ruleDO) {
-        SelectorDO selectorDO = selectorMapper.selectById(ruleDO.getSelectorId());
-        if (Objects.isNull(selectorDO)) {
-            return null;
-        }
-
-        PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
-        if (Objects.isNull(pluginDO)) {
-            return null;
-        }
-
-        // query for conditions
-        List<ConditionData> conditions = ruleConditionMapper.selectByQuery(
-                        new RuleConditionQuery(ruleDO.getId()))
+    /**
+     * build the rule data of the rules by their selectors, plugins and conditions loaded in batches,
+     * the rules whose selector or plugin does not exist are skipped.
+     *
+     * @param ruleDOList the rules
+     * @param selectorDOList the selectors of the rules
+     * @param ruleConditionDOList the conditions of the rules
+     * @return the rule data
+     */
+    private List<RuleData> buildRuleDataList(final List<RuleDO> ruleDOList, final List<SelectorDO> selectorDOList, final List<RuleConditionDO> ruleConditionDOList) {
+        Map<String, String> selectorPluginIdMap = selectorDOList.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(SelectorDO::getId, SelectorDO::getPluginId, (oldId, newId) -> oldId));
+        Map<String, String> pluginNameMap = BatchQueryUtils.selectIn(selectorPluginIdMap.values(), pluginMapper::selectByIds)
                 .stream()
+                .collect(Collectors.toMap(PluginDO::getId, PluginDO::getName, (oldName, newName) -> oldName));
+        Map<String, List<RuleConditionDO>> conditionMap = ruleConditionDOList.stream()
                 .filter(Objects::nonNull)
-                .map(ConditionTransfer.INSTANCE::mapToRuleDO)
-                .collect(Collectors.toList());
-        return RuleDO.transFrom(ruleDO, pluginDO.getName(), conditions);
+                .collect(Collectors.groupingBy(RuleConditionDO::getRuleId));
+        List<RuleData> ruleDataList = new ArrayList<>();
+        for (RuleDO ruleDO : ruleDOList) {
+            if (Objects.isNull(ruleDO)) {
+                continue;
+            }
+            String pluginName = pluginNameMap.get(selectorPluginIdMap.get(ruleDO.getSelectorId()));
+            if (Objects.isNull(pluginName)) {
+                continue;
+            }
+            List<ConditionData> conditions = conditionMap.getOrDefault(ruleDO.getId(), Collections.emptyList())
+                    .stream()
+                    .map(ConditionTransfer.INSTANCE::mapToRuleDO)
+                    .collect(Collectors.toList());
+            ruleDataList.add(RuleDO.transFrom(ruleDO, pluginName, conditions));
+        }
+        return ruleDataList;
     }
 }
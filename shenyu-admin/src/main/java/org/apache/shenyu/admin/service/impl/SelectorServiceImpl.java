@@ -46,6 +46,7 @@ import org.apache.shenyu.admin.model.vo.SelectorConditionVO;
 import org.apache.shenyu.admin.model.vo.SelectorVO;
 import org.apache.shenyu.admin.service.SelectorService;
 import org.apache.shenyu.admin.transfer.ConditionTransfer;
+import org.apache.shenyu.admin.utils.BatchQueryUtils;
 import org.apache.shenyu.admin.utils.CommonUpstreamUtils;
 import org.apache.shenyu.admin.utils.JwtUtils;
 import org.apache.shenyu.common.constant.AdminConstants;
@@ -69,6 +70,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -296,19 +298,14 @@ public class SelectorServiceImpl implements SelectorService {
 
     @Override
     public List<SelectorData> findByPluginId(final String pluginId) {
-        return selectorMapper.findByPluginId(pluginId)
-                .stream()
-                .map(this::buildSelectorData)
-                .collect(Collectors.toList());
+        List<SelectorDO> selectorDOList = selectorMapper.findByPluginId(pluginId);
+        List<String> selectorIds = selectorDOList.stream().filter(Objects::nonNull).map(SelectorDO::getId).collect(Collectors.toList());
+        return buildSelectorDataList(selectorDOList, BatchQueryUtils.selectIn(selectorIds, selectorConditionMapper::selectBySelectorIds));
     }
 
     @Override
     public List<SelectorData> listAll() {
-        return selectorMapper.selectAll()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildSelectorData)
-                .collect(Collectors.toList());
+        return buildSelectorDataList(selectorMapper.selectAll(), selectorConditionMapper.selectByQuery(new SelectorConditionQuery()));
     }
 
     private void publishEvent(final SelectorDO selectorDO, final List<SelectorConditionDTO> selectorConditionDTOs) {
@@ -331,6 +328,30 @@ public class SelectorServiceImpl implements SelectorService {
         return SelectorDO.transFrom(selectorDO, pluginDO.getName(), conditionDataList);
     }
 
+    /**
+     * build the selector data of the selectors by their conditions and plugins loaded in batches,
+     * the selectors whose plugin does not exist are skipped.
+     *
+     * @param selectorDOList the selectors
+     * @param selectorConditionDOList the conditions of the selectors
+     * @return the selector data
+     */
+    private List<SelectorData> buildSelectorDataList(final List<SelectorDO> selectorDOList, final List<SelectorConditionDO> selectorConditionDOList) {
+        List<SelectorDO> selectorDOs = selectorDOList.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        List<String> pluginIds = selectorDOs.stream().map(SelectorDO::getPluginId).collect(Collectors.toList());
+        Map<String, String> pluginNameMap = BatchQueryUtils.selectIn(pluginIds, pluginMapper::selectByIds)
+                .stream()
+                .collect(Collectors.toMap(PluginDO::getId, PluginDO::getName, (oldName, newName) -> oldName));
+        Map<String, List<SelectorConditionDO>> conditionMap = selectorConditionDOList.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(SelectorConditionDO::getSelectorId));
+        return selectorDOs.stream()
+                .filter(selectorDO -> pluginNameMap.containsKey(selectorDO.getPluginId()))
+                .map(selectorDO -> SelectorDO.transFrom(selectorDO, pluginNameMap.get(selectorDO.getPluginId()),
+                        ConditionTransfer.INSTANCE.mapToSelectorDOS(conditionMap.getOrDefault(selectorDO.getId(), Collections.emptyList()))))
+                .collect(Collectors.toList());
+    }
+
     private void updateDivideUpstream(final SelectorDO selectorDO) {
         String selectorName = selectorDO.getName();
         PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.utils;
+
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Run the {@code in} queries by batches, so a large id list does not exceed the bind parameter limit of the database.
+ */
+public final class BatchQueryUtils {
+
+    /**
+     * The max number of ids in one query.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private BatchQueryUtils() {
+    }
+
+    /**
+     * Select the rows by the ids, the null and duplicated ids are skipped.
+     *
+     * @param ids the ids
+     * @param query the {@code in} query
+     * @param <T> the type of the rows
+     * @return the rows of all the batches
+     */
+    public static <T> List<T> selectIn(final Collection<String> ids, final Function<List<String>, List<T>> query) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        List<T> result = new ArrayList<>();
+        for (List<String> batch : Lists.partition(distinctIds, BATCH_SIZE)) {
+            result.addAll(query.apply(batch));
+        }
+        return result;
+    }
+}
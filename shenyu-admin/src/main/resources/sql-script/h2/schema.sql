@@ -275,6 +275,7 @@ INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_v
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('19', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2021-03-08 19:11:35', '2021-03-08 19:11:35');
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('20', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2021-03-08 19:10:17', '2021-03-08 19:10:17');
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('21', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2021-03-08 19:09:10', '2021-03-08 19:09:10');
+INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('58', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'power of two choices least loaded', 3, 1, '2021-10-18 10:00:00', '2021-10-18 10:00:00');
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('22', 'status', 'DIVIDE_STATUS', 'close', 'false', 'close', 1, 1, '2021-03-08 14:21:58', '2021-03-08 14:21:58');
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('23', 'status', 'DIVIDE_STATUS', 'open', 'true', 'open', 0, 1, '2021-03-08 14:21:32', '2021-03-08 14:21:32');
 INSERT IGNORE INTO `shenyu_dict` (`id`, `type`,`dict_code`, `dict_name`, `dict_value`, `desc`, `sort`, `enabled`, `date_created`, `date_updated`) VALUES ('24', 'multiRuleHandle', 'MULTI_RULE_HANDLE', 'multiple rule', '1', 'multiple rule', 1, 1, '2021-03-08 13:40:38', '2021-03-08 13:40:38');
@@ -411,6 +412,16 @@ INSERT IGNORE INTO plugin_handle (`id`, `plugin_id`, `field`, `label`, `data_typ
 /*insert plugin_handle data for plugin rateLimiter*/
 INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('43','4' ,'algorithmName','algorithmName','3', 2, 1, '{"required":"1","defaultValue":"slidingWindow","rule":""}', '2020-11-09 01:19:10', '2020-11-09 01:19:10');
 INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('82','4' ,'keyResolverName','keyResolverName','3', 2, 4, '{"required":"1","defaultValue":"WHOLE_KEY_RESOLVER","rule":""}', '2021-06-12 19:17:10', '2021-06-12 19:17:10');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2011','4' ,'leaseSize','leaseSize', 2, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2021-10-20 10:00:00', '2021-10-20 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2012','4' ,'leaseTtl','leaseTtl', 2, 2, 6, '{"required":"0","defaultValue":"1000","rule":""}', '2021-10-20 10:00:00', '2021-10-20 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2013','4' ,'timeout','timeout', 1, 3, 5, '{"required":"0","defaultValue":"3000","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2014','4' ,'failureThreshold','failureThreshold', 1, 3, 6, '{"required":"0","defaultValue":"5","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2015','4' ,'recoveryTimeout','recoveryTimeout', 1, 3, 7, '{"required":"0","defaultValue":"10000","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2016','4' ,'nodeCount','nodeCount', 1, 3, 8, '{"required":"0","defaultValue":"1","rule":""}', '2021-10-21 10:00:00', '2021-10-21 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2017','18' ,'sampleRate','sampleRate', 1, 3, 1, '{"required":"0","defaultValue":"1","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2018','18' ,'maxBodySize','maxBodySize', 1, 3, 2, '{"required":"0","defaultValue":"65536","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2019','18' ,'sink','sink', 2, 3, 3, '{"required":"0","defaultValue":"log","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
+INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('2020','18' ,'path','path', 2, 3, 4, '{"required":"0","defaultValue":"logs/shenyu-access.log","rule":""}', '2021-10-22 10:00:00', '2021-10-22 10:00:00');
 
 /*insert plugin_handle data for divide*/
 INSERT IGNORE INTO plugin_handle (`id`,`plugin_id`,`field`,`label`,`data_type`,`type`,`sort`,`ext_obj`,`date_created`,`date_updated`) VALUES ('44', '5', 'upstreamHost', 'host', 2, 1, 0, null, '2021-03-06 21:23:41', '2021-03-09 10:32:51');
@@ -820,6 +820,16 @@ ELSE
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '80' || ''', ''' || '5' || ''', ''' || 'headerMaxSize' || ''', ''' || 'headerMaxSize' || ''', 1, 2, 3, ''' || '{"defaultValue":"10240","rule":""}' || ''', ''' || '2021-04-29 12:28:45' || ''', ''' || '2021-04-29 12:28:52' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '81' || ''', ''' || '5' || ''', ''' || 'requestMaxSize' || ''', ''' || 'requestMaxSize' || ''', 1, 2, 4, ''' || '{"defaultValue":"102400","rule":""}' || ''', ''' || '2021-04-29 14:24:13' || ''', ''' || '2021-04-29 14:24:16' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '82' || ''', ''' || '4' || ''', ''' || 'keyResolverName' || ''', ''' || 'keyResolverName' || ''', 3, 2, 4, ''' || '{"required":"1","defaultValue":"WHOLE_KEY_RESOLVER","rule":""}' || ''', ''' || '2021-06-12 19:17:10' || ''', ''' || '2021-06-12 19:17:10' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2011' || ''', ''' || '4' || ''', ''' || 'leaseSize' || ''', ''' || 'leaseSize' || ''', 2, 2, 5, ''' || '{"required":"0","defaultValue":"0","rule":""}' || ''', ''' || '2021-10-20 10:00:00' || ''', ''' || '2021-10-20 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2012' || ''', ''' || '4' || ''', ''' || 'leaseTtl' || ''', ''' || 'leaseTtl' || ''', 2, 2, 6, ''' || '{"required":"0","defaultValue":"1000","rule":""}' || ''', ''' || '2021-10-20 10:00:00' || ''', ''' || '2021-10-20 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2013' || ''', ''' || '4' || ''', ''' || 'timeout' || ''', ''' || 'timeout' || ''', 1, 3, 5, ''' || '{"required":"0","defaultValue":"3000","rule":""}' || ''', ''' || '2021-10-21 10:00:00' || ''', ''' || '2021-10-21 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2014' || ''', ''' || '4' || ''', ''' || 'failureThreshold' || ''', ''' || 'failureThreshold' || ''', 1, 3, 6, ''' || '{"required":"0","defaultValue":"5","rule":""}' || ''', ''' || '2021-10-21 10:00:00' || ''', ''' || '2021-10-21 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2015' || ''', ''' || '4' || ''', ''' || 'recoveryTimeout' || ''', ''' || 'recoveryTimeout' || ''', 1, 3, 7, ''' || '{"required":"0","defaultValue":"10000","rule":""}' || ''', ''' || '2021-10-21 10:00:00' || ''', ''' || '2021-10-21 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2016' || ''', ''' || '4' || ''', ''' || 'nodeCount' || ''', ''' || 'nodeCount' || ''', 1, 3, 8, ''' || '{"required":"0","defaultValue":"1","rule":""}' || ''', ''' || '2021-10-21 10:00:00' || ''', ''' || '2021-10-21 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2017' || ''', ''' || '18' || ''', ''' || 'sampleRate' || ''', ''' || 'sampleRate' || ''', 1, 3, 1, ''' || '{"required":"0","defaultValue":"1","rule":""}' || ''', ''' || '2021-10-22 10:00:00' || ''', ''' || '2021-10-22 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2018' || ''', ''' || '18' || ''', ''' || 'maxBodySize' || ''', ''' || 'maxBodySize' || ''', 1, 3, 2, ''' || '{"required":"0","defaultValue":"65536","rule":""}' || ''', ''' || '2021-10-22 10:00:00' || ''', ''' || '2021-10-22 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2019' || ''', ''' || '18' || ''', ''' || 'sink' || ''', ''' || 'sink' || ''', 2, 3, 3, ''' || '{"required":"0","defaultValue":"log","rule":""}' || ''', ''' || '2021-10-22 10:00:00' || ''', ''' || '2021-10-22 10:00:00' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '2020' || ''', ''' || '18' || ''', ''' || 'path' || ''', ''' || 'path' || ''', 2, 3, 4, ''' || '{"required":"0","defaultValue":"logs/shenyu-access.log","rule":""}' || ''', ''' || '2021-10-22 10:00:00' || ''', ''' || '2021-10-22 10:00:00' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '83' || ''', ''' || '10' || ''', ''' || 'degradeRuleMinRequestAmount' || ''', ''' || 'degradeRuleMinRequestAmount' || ''', 1, 2, 3, ''' || '{"required":"1","defaultValue":"5","rule":""}' || ''', ''' || '2020-11-09 01:19:10' || ''', ''' || '2020-11-09 01:19:10' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '84' || ''', ''' || '10' || ''', ''' || 'degradeRuleStatIntervals' || ''', ''' || 'degradeRuleStatIntervals' || ''', 1, 2, 3, ''' || '{"required":"1","defaultValue":"1","rule":""}' || ''', ''' || '2020-11-09 01:19:10' || ''', ''' || '2020-11-09 01:19:10' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "plugin_handle" VALUES (''' || '85' || ''', ''' || '10' || ''', ''' || 'degradeRuleSlowRatioThreshold' || ''', ''' || 'degradeRuleSlowRatioThreshold' || ''', 1, 2, 3, ''' || '{"required":"1","defaultValue":"0.5","rule":""}' || ''', ''' || '2020-11-09 01:19:10' || ''', ''' || '2020-11-09 01:19:10' || ''');');
@@ -1464,6 +1474,7 @@ ELSE
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '2' || ''', ''' || 'degradeRuleGrade' || ''', ''' || 'DEGRADE_GRADE_EXCEPTION_RATIO' || ''', ''' || 'exception ratio' || ''', ''' || '1' || ''', ''' || 'degrade type-abnormal ratio' || ''', 0, 1, ''' || '2020-11-18 16:42:34' || ''', ''' || '2020-11-20 15:42:58' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '20' || ''', ''' || 'loadBalance' || ''', ''' || 'LOAD_BALANCE' || ''', ''' || 'random' || ''', ''' || 'random' || ''', ''' || 'random' || ''', 1, 1, ''' || '2021-03-08 19:10:17' || ''', ''' || '2021-03-08 19:10:17' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '21' || ''', ''' || 'loadBalance' || ''', ''' || 'LOAD_BALANCE' || ''', ''' || 'hash' || ''', ''' || 'hash' || ''', ''' || 'hash' || ''', 0, 1, ''' || '2021-03-08 19:09:10' || ''', ''' || '2021-03-08 19:09:10' || ''');');
+	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '58' || ''', ''' || 'loadBalance' || ''', ''' || 'LOAD_BALANCE' || ''', ''' || 'p2c' || ''', ''' || 'p2c' || ''', ''' || 'power of two choices least loaded' || ''', 3, 1, ''' || '2021-10-18 10:00:00' || ''', ''' || '2021-10-18 10:00:00' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '22' || ''', ''' || 'status' || ''', ''' || 'DIVIDE_STATUS' || ''', ''' || 'close' || ''', ''' || 'false' || ''', ''' || 'close' || ''', 1, 1, ''' || '2021-03-08 14:21:58' || ''', ''' || '2021-03-08 14:21:58' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '23' || ''', ''' || 'status' || ''', ''' || 'DIVIDE_STATUS' || ''', ''' || 'open' || ''', ''' || 'true' || ''', ''' || 'open' || ''', 0, 1, ''' || '2021-03-08 14:21:32' || ''', ''' || '2021-03-08 14:21:32' || ''');');
 	PERFORM public.dblink_exec('init_conn',  'INSERT INTO "shenyu_dict" VALUES (''' || '24' || ''', ''' || 'multiRuleHandle' || ''', ''' || 'MULTI_RULE_HANDLE' || ''', ''' || 'multiple rule' || ''', ''' || '1' || ''', ''' || 'multiple rule' || ''', 1, 1, ''' || '2021-03-08 13:40:38' || ''', ''' || '2021-03-08 13:40:38' || ''');');
@@ -22,6 +22,7 @@ import org.I0Itec.zkclient.ZkClient;
 import org.apache.curator.test.TestingServer;
 import org.apache.shenyu.admin.AbstractConfigurationTest;
 import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
 import org.apache.shenyu.admin.service.MetaDataService;
 import org.apache.shenyu.admin.service.PluginService;
 import org.apache.shenyu.admin.service.RuleService;
@@ -105,7 +106,7 @@ public final class DataSyncConfigurationTest extends AbstractConfigurationTest {
     @Test
     public void testWebsocketCollector() {
         DataSyncConfiguration.WebsocketListener websocketListener = new DataSyncConfiguration.WebsocketListener();
-        assertNotNull(websocketListener.websocketCollector());
+        assertNotNull(websocketListener.websocketCollector(new WebsocketSyncProperties()));
     }
 
     @Test
@@ -34,6 +34,9 @@ public final class WebsocketSyncPropertiesTest extends AbstractConfigurationTest
     @Test
     public void testWebsocketSyncPropertiesDefaultValue() {
         assertThat(new WebsocketSyncProperties().isEnabled(), is(true));
+        assertThat(new WebsocketSyncProperties().isAsyncSend(), is(true));
+        assertThat(new WebsocketSyncProperties().getSendQueueSize(), is(64));
+        assertThat(new WebsocketSyncProperties().getSlowConsumerPolicy(), is(WebsocketSyncProperties.SlowConsumerPolicy.COALESCE));
     }
 
     @Test
@@ -43,6 +46,16 @@ public final class WebsocketSyncPropertiesTest extends AbstractConfigurationTest
         assertThat(websocketSyncProperties.isEnabled(), comparesEqualTo(false));
     }
 
+    @Test
+    public void testWebsocketSyncPropertiesSetSendValue() {
+        load(WebsocketSyncPropertiesConfiguration.class, "shenyu.sync.websocket.asyncSend=false",
+                "shenyu.sync.websocket.sendQueueSize=16", "shenyu.sync.websocket.slowConsumerPolicy=disconnect");
+        WebsocketSyncProperties websocketSyncProperties = getContext().getBean(WebsocketSyncProperties.class);
+        assertThat(websocketSyncProperties.isAsyncSend(), comparesEqualTo(false));
+        assertThat(websocketSyncProperties.getSendQueueSize(), is(16));
+        assertThat(websocketSyncProperties.getSlowConsumerPolicy(), is(WebsocketSyncProperties.SlowConsumerPolicy.DISCONNECT));
+    }
+
     @Configuration
     @EnableConfigurationProperties(WebsocketSyncProperties.class)
     static class WebsocketSyncPropertiesConfiguration {
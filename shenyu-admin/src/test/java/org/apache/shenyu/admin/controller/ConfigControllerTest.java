@@ -20,13 +20,18 @@ package org.apache.shenyu.admin.controller;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
+import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.sync.data.api.codec.BinarySyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCompression;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -35,6 +40,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Collections;
+import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -83,6 +89,60 @@ public final class ConfigControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    public void testFetchEncodedConfigs() throws Exception {
+        final ConfigData<?> configData = new ConfigData<>("md5-value1", 1L, Collections.singletonList(new PluginData("1", "divide", null, "0", true)));
+        doReturn(configData).when(mockLongPollingListener).fetchConfig(ConfigGroupEnum.PLUGIN);
+
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/fetch")
+                .param("groupKeys", new String[]{ConfigGroupEnum.PLUGIN.toString()})
+                .accept(BinarySyncDataCodec.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentType()).isEqualTo(BinarySyncDataCodec.CONTENT_TYPE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new BinarySyncDataCodec().decode(response.getContentAsByteArray());
+        assertThat(configs.get(ConfigGroupEnum.PLUGIN).getMd5()).isEqualTo("md5-value1");
+        assertThat(configs.get(ConfigGroupEnum.PLUGIN).getData()).isEqualTo(configData.getData());
+    }
+
+    @Test
+    public void testFetchEncodedConfigsWithGzip() throws Exception {
+        final ConfigData<?> configData = new ConfigData<>("md5-value1", 1L, Collections.emptyList());
+        doReturn(configData).when(mockLongPollingListener).fetchConfig(ConfigGroupEnum.APP_AUTH);
+
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/fetch")
+                .param("groupKeys", new String[]{ConfigGroupEnum.APP_AUTH.toString()})
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .accept(BinarySyncDataCodec.CONTENT_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        byte[] bytes = SyncDataCompression.GZIP.decompress(response.getContentAsByteArray());
+        assertThat(new BinarySyncDataCodec().decode(bytes).get(ConfigGroupEnum.APP_AUTH).getMd5()).isEqualTo("md5-value1");
+    }
+
+    @Test
+    public void testFetchDelta() throws Exception {
+        final ConfigDelta<?> configDelta = new ConfigDelta<>().setBaseMd5("md5-value1").setMd5("md5-value2")
+                .setData(Collections.emptyList()).setDeleted(Collections.emptyList());
+        doReturn(configDelta).when(mockLongPollingListener).fetchDelta(ConfigGroupEnum.APP_AUTH, "md5-value1");
+
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/delta")
+                .param("groupKeys", new String[]{ConfigGroupEnum.APP_AUTH.toString()})
+                .param(ConfigGroupEnum.APP_AUTH.toString(), "md5-value1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(ShenyuResultMessage.SUCCESS)))
+                .andExpect(jsonPath("$.data['APP_AUTH'].md5", is("md5-value2")))
+                .andExpect(jsonPath("$.data['APP_AUTH'].full", is(false)))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
     @Test
     public void testListener() throws Exception {
         // Run the test
@@ -24,25 +24,31 @@ import org.apache.shenyu.admin.service.RuleService;
 import org.apache.shenyu.admin.service.SelectorService;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
 import org.assertj.core.util.Lists;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.powermock.reflect.Whitebox;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -91,7 +97,7 @@ public final class AbstractDataChangedListenerTest {
 
     @After
     public void cleanUp() {
-        listener.getCache().clear();
+        listener.getConfigModel().clear();
     }
 
     @Test
@@ -122,15 +128,54 @@ public final class AbstractDataChangedListenerTest {
         assertNotNull(result5);
     }
 
+    @Test
+    public void testFetchDelta() {
+        PluginData divide = PluginData.builder().id("5").name("divide").enabled(true).build();
+        PluginData sign = PluginData.builder().id("1").name("sign").enabled(true).build();
+        listener.updateCache(ConfigGroupEnum.PLUGIN, Lists.newArrayList(divide, sign));
+        String md5 = listener.getConfigCache(ConfigGroupEnum.PLUGIN).getMd5();
+        // ordered by id
+        assertEquals(GsonUtils.getInstance().toJson(Lists.newArrayList(sign, divide)), listener.getConfigCache(ConfigGroupEnum.PLUGIN).getJson());
+        PluginData hystrix = PluginData.builder().id("9").name("hystrix").enabled(true).build();
+        listener.updateCache(ConfigGroupEnum.PLUGIN, Lists.newArrayList(divide, sign, hystrix));
+        ConfigDelta<?> delta = listener.fetchDelta(ConfigGroupEnum.PLUGIN, md5);
+        assertFalse(delta.isFull());
+        assertEquals(md5, delta.getBaseMd5());
+        assertEquals(listener.getConfigCache(ConfigGroupEnum.PLUGIN).getMd5(), delta.getMd5());
+        assertEquals(Collections.singletonList(hystrix), delta.getData());
+        assertTrue(delta.getDeleted().isEmpty());
+        ConfigDelta<?> full = listener.fetchDelta(ConfigGroupEnum.PLUGIN, "unknown");
+        assertTrue(full.isFull());
+        assertEquals(3, full.getData().size());
+    }
+
+    @Test
+    public void testApplyChange() {
+        PluginData divide = PluginData.builder().id("5").name("divide").enabled(true).build();
+        listener.updateCache(ConfigGroupEnum.PLUGIN, Lists.newArrayList(divide));
+        SelectorData selector = SelectorData.builder().id("1").pluginName("divide").build();
+        listener.updateCache(ConfigGroupEnum.SELECTOR, Lists.newArrayList(selector));
+        String md5 = listener.getConfigCache(ConfigGroupEnum.PLUGIN).getMd5();
+        PluginData disabled = PluginData.builder().id("5").name("divide").enabled(false).build();
+        listener.onPluginChanged(Lists.newArrayList(disabled), DataEventTypeEnum.UPDATE);
+        assertEquals(GsonUtils.getInstance().toJson(Lists.newArrayList(disabled)), listener.getConfigCache(ConfigGroupEnum.PLUGIN).getJson());
+        assertFalse(md5.equals(listener.getConfigCache(ConfigGroupEnum.PLUGIN).getMd5()));
+        listener.onPluginChanged(Lists.newArrayList(disabled), DataEventTypeEnum.DELETE);
+        assertEquals("[]", listener.getConfigCache(ConfigGroupEnum.PLUGIN).getJson());
+        assertEquals("[]", listener.getConfigCache(ConfigGroupEnum.SELECTOR).getJson());
+        verify(pluginService, never()).listAll();
+        verify(selectorService, never()).listAll();
+    }
+
     @Test
     public void testOnAppAuthChanged() {
         List<AppAuthData> empty = Lists.newArrayList();
         DataEventTypeEnum eventType = mock(DataEventTypeEnum.class);
         listener.onAppAuthChanged(empty, eventType);
-        assertFalse(listener.getCache().containsKey(ConfigGroupEnum.APP_AUTH.name()));
+        assertFalse(listener.getConfigModel().containsKey(ConfigGroupEnum.APP_AUTH.name()));
         List<AppAuthData> appAuthDatas = Lists.newArrayList(mock(AppAuthData.class));
         listener.onAppAuthChanged(appAuthDatas, eventType);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.APP_AUTH.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.APP_AUTH.name()));
     }
 
     @Test
@@ -138,10 +183,10 @@ public final class AbstractDataChangedListenerTest {
         List<MetaData> empty = Lists.newArrayList();
         DataEventTypeEnum eventType = mock(DataEventTypeEnum.class);
         listener.onMetaDataChanged(empty, eventType);
-        assertFalse(listener.getCache().containsKey(ConfigGroupEnum.META_DATA.name()));
+        assertFalse(listener.getConfigModel().containsKey(ConfigGroupEnum.META_DATA.name()));
         List<MetaData> metaDatas = Lists.newArrayList(mock(MetaData.class));
         listener.onMetaDataChanged(metaDatas, eventType);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.META_DATA.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.META_DATA.name()));
     }
 
     @Test
@@ -149,10 +194,10 @@ public final class AbstractDataChangedListenerTest {
         List<PluginData> empty = Lists.newArrayList();
         DataEventTypeEnum eventType = mock(DataEventTypeEnum.class);
         listener.onPluginChanged(empty, eventType);
-        assertFalse(listener.getCache().containsKey(ConfigGroupEnum.PLUGIN.name()));
+        assertFalse(listener.getConfigModel().containsKey(ConfigGroupEnum.PLUGIN.name()));
         List<PluginData> pluginDatas = Lists.newArrayList(mock(PluginData.class));
         listener.onPluginChanged(pluginDatas, eventType);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.PLUGIN.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.PLUGIN.name()));
     }
 
     @Test
@@ -160,10 +205,10 @@ public final class AbstractDataChangedListenerTest {
         List<RuleData> empty = Lists.newArrayList();
         DataEventTypeEnum eventType = mock(DataEventTypeEnum.class);
         listener.onRuleChanged(empty, eventType);
-        assertFalse(listener.getCache().containsKey(ConfigGroupEnum.RULE.name()));
+        assertFalse(listener.getConfigModel().containsKey(ConfigGroupEnum.RULE.name()));
         List<RuleData> ruleDatas = Lists.newArrayList(mock(RuleData.class));
         listener.onRuleChanged(ruleDatas, eventType);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.RULE.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.RULE.name()));
     }
 
     @Test
@@ -171,27 +216,27 @@ public final class AbstractDataChangedListenerTest {
         List<SelectorData> empty = Lists.newArrayList();
         DataEventTypeEnum eventType = mock(DataEventTypeEnum.class);
         listener.onSelectorChanged(empty, eventType);
-        assertFalse(listener.getCache().containsKey(ConfigGroupEnum.SELECTOR.name()));
+        assertFalse(listener.getConfigModel().containsKey(ConfigGroupEnum.SELECTOR.name()));
         List<SelectorData> selectorDatas = Lists.newArrayList(mock(SelectorData.class));
         listener.onSelectorChanged(selectorDatas, eventType);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.SELECTOR.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.SELECTOR.name()));
     }
 
     @Test
     public void testAfterPropertiesSet() {
         listener.afterPropertiesSet();
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.APP_AUTH.name()));
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.PLUGIN.name()));
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.RULE.name()));
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.SELECTOR.name()));
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.META_DATA.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.APP_AUTH.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.PLUGIN.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.RULE.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.SELECTOR.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.META_DATA.name()));
     }
 
     @Test
     public void testUpdateCache() {
         List<AppAuthData> appAuthDatas = Lists.newArrayList(mock(AppAuthData.class));
         listener.updateCache(ConfigGroupEnum.APP_AUTH, appAuthDatas);
-        assertTrue(listener.getCache().containsKey(ConfigGroupEnum.APP_AUTH.name()));
+        assertTrue(listener.getConfigModel().containsKey(ConfigGroupEnum.APP_AUTH.name()));
     }
 
     static class MockAbstractDataChangedListener extends AbstractDataChangedListener {
@@ -201,8 +246,8 @@ public final class AbstractDataChangedListenerTest {
             // NOP
         }
 
-        public ConcurrentMap<String, ConfigDataCache> getCache() {
-            return CACHE;
+        public ConcurrentMap<String, ConfigGroupModel> getConfigModel() {
+            return CONFIG_MODEL;
         }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for {@link ConfigChangeLog}.
+ */
+public final class ConfigChangeLogTest {
+
+    @Test
+    public void testSince() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(ConfigChangeLog.DEFAULT_CAPACITY);
+        changeLog.record(1L, elements("a", "b"), Collections.emptyMap());
+        changeLog.mark("v1", 1L);
+        changeLog.record(2L, elements("c"), Collections.emptyMap());
+        changeLog.record(3L, elements("a"), elements("b"));
+        changeLog.mark("v3", 3L);
+        ConfigChangeLog.Delta delta = changeLog.since("v1", "v3", 3L, 3L, 10);
+        assertEquals("v1", delta.getBaseMd5());
+        assertEquals("v3", delta.getMd5());
+        assertEquals(3L, delta.getLastModifyTime());
+        assertEquals(Arrays.asList("c", "a"), delta.getUpserts());
+        assertEquals(Collections.singletonList("b"), delta.getDeletes());
+        assertTrue(changeLog.since("v3", "v3", 3L, 3L, 10).getUpserts().isEmpty());
+        assertNull(changeLog.since("v0", "v3", 3L, 3L, 10));
+        // a full snapshot is smaller
+        assertNull(changeLog.since("v1", "v3", 3L, 3L, 4));
+    }
+
+    @Test
+    public void testEvict() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(1);
+        changeLog.record(1L, elements("a"), Collections.emptyMap());
+        changeLog.mark("v1", 1L);
+        changeLog.record(2L, elements("b"), Collections.emptyMap());
+        changeLog.mark("v2", 2L);
+        assertEquals(Collections.singletonList("b"), changeLog.since("v1", "v2", 2L, 2L, 10).getUpserts());
+        changeLog.record(3L, elements("c"), Collections.emptyMap());
+        assertNull(changeLog.since("v1", "v3", 3L, 3L, 10));
+        assertEquals(Collections.singletonList("c"), changeLog.since("v2", "v3", 3L, 3L, 10).getUpserts());
+    }
+
+    private static Map<String, String> elements(final String... keys) {
+        Map<String, String> elements = new LinkedHashMap<>();
+        for (String key : keys) {
+            elements.put(key, key);
+        }
+        return elements;
+    }
+}
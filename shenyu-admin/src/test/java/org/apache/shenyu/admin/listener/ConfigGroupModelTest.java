@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for {@link ConfigGroupModel}.
+ */
+public final class ConfigGroupModelTest {
+
+    private final RuleData rule1 = RuleData.builder().id("1").name("rule1").pluginName("divide").build();
+
+    private final RuleData rule2 = RuleData.builder().id("2").name("rule2").pluginName("divide").build();
+
+    private final RuleData rule3 = RuleData.builder().id("3").name("rule3").pluginName("sign").build();
+
+    private final RuleData rule4 = RuleData.builder().id("4").name("rule4").pluginName("sign").build();
+
+    private final RuleData rule5 = RuleData.builder().id("5").name("rule5").pluginName("sign").build();
+
+    @Test
+    public void testSnapshot() {
+        ConfigGroupModel model = new ConfigGroupModel(ConfigGroupEnum.RULE, ConfigChangeLog.DEFAULT_CAPACITY);
+        assertTrue(model.replace(Arrays.asList(rule2, rule1)));
+        ConfigDataCache snapshot = model.snapshot();
+        assertEquals(GsonUtils.getInstance().toJson(Arrays.asList(rule1, rule2)), snapshot.getJson());
+        assertSame(snapshot, model.snapshot());
+        // the same data in another order
+        assertFalse(model.replace(Arrays.asList(rule1, rule2)));
+        assertSame(snapshot, model.snapshot());
+        assertEquals(1L, model.getVersion());
+    }
+
+    @Test
+    public void testApply() {
+        ConfigGroupModel model = new ConfigGroupModel(ConfigGroupEnum.RULE, ConfigChangeLog.DEFAULT_CAPACITY);
+        model.replace(Arrays.asList(rule1, rule2, rule4, rule5));
+        String md5 = model.snapshot().getMd5();
+        assertTrue(model.upsert(Collections.singletonList(rule3)));
+        assertFalse(model.upsert(Collections.singletonList(rule3)));
+        assertTrue(model.delete(Collections.singletonList(rule1)));
+        assertFalse(model.delete(Collections.singletonList(rule1)));
+        assertEquals(GsonUtils.getInstance().toJson(Arrays.asList(rule2, rule3, rule4, rule5)), model.snapshot().getJson());
+        ConfigChangeLog.Delta delta = model.since(md5);
+        assertEquals(model.snapshot().getMd5(), delta.getMd5());
+        assertEquals(Collections.singletonList(GsonUtils.getInstance().toJson(rule3)), delta.getUpserts());
+        assertEquals(Collections.singletonList(GsonUtils.getInstance().toJson(rule1)), delta.getDeletes());
+        assertTrue(model.deleteIf(each -> "divide".equals(((RuleData) each).getPluginName())));
+        assertEquals(GsonUtils.getInstance().toJson(Arrays.asList(rule3, rule4, rule5)), model.snapshot().getJson());
+        assertNull(model.since("unknown"));
+    }
+}
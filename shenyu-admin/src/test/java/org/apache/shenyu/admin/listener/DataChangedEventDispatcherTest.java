@@ -19,25 +19,35 @@ package org.apache.shenyu.admin.listener;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.shenyu.admin.config.properties.DataDispatchProperties;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.listener.nacos.NacosDataChangedListener;
 import org.apache.shenyu.admin.listener.websocket.WebsocketDataChangedListener;
 import org.apache.shenyu.admin.listener.zookeeper.ZookeeperDataChangedListener;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ApplicationContext;
@@ -49,7 +59,6 @@ import org.springframework.test.util.ReflectionTestUtils;
 @RunWith(MockitoJUnitRunner.class)
 public final class DataChangedEventDispatcherTest {
 
-    @InjectMocks
     private DataChangedEventDispatcher dataChangedEventDispatcher;
 
     @Mock
@@ -75,6 +84,7 @@ public final class DataChangedEventDispatcherTest {
         listenerMap.put("websocketDataChangedListener", websocketDataChangedListener);
         listenerMap.put("zookeeperDataChangedListener", zookeeperDataChangedListener);
         when(applicationContext.getBeansOfType(DataChangedListener.class)).thenReturn(listenerMap);
+        dataChangedEventDispatcher = new DataChangedEventDispatcher(applicationContext, new DataDispatchProperties());
         dataChangedEventDispatcher.afterPropertiesSet();
     }
 
@@ -169,4 +179,85 @@ public final class DataChangedEventDispatcherTest {
         Assert.assertTrue(listeners.contains(websocketDataChangedListener));
         Assert.assertTrue(listeners.contains(zookeeperDataChangedListener));
     }
+
+    /**
+     * the events within the window are coalesced by the key of the data.
+     */
+    @Test
+    public void asyncCoalesceTest() {
+        DataChangedEventDispatcher dispatcher = asyncDispatcher();
+        SelectorData created = SelectorData.builder().id("1").name("created").build();
+        SelectorData updated = SelectorData.builder().id("1").name("updated").build();
+        SelectorData deleted = SelectorData.builder().id("2").name("deleted").build();
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.CREATE, Arrays.asList(created, deleted)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(updated)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, Collections.singletonList(deleted)));
+        verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(updated), DataEventTypeEnum.UPDATE);
+        verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(deleted), DataEventTypeEnum.DELETE);
+        verify(httpLongPollingDataChangedListener, after(200).times(2)).onSelectorChanged(anyList(), any());
+        dispatcher.destroy();
+    }
+
+    /**
+     * a refresh of a plugin keeps the refreshes of the other plugins and the other changes before it.
+     */
+    @Test
+    public void asyncPartialRefreshTest() {
+        DataChangedEventDispatcher dispatcher = asyncDispatcher();
+        SelectorData deleted = SelectorData.builder().id("3").pluginName("divide").build();
+        SelectorData first = SelectorData.builder().id("1").pluginName("divide").name("first").build();
+        SelectorData firstUpdated = SelectorData.builder().id("1").pluginName("divide").name("updated").build();
+        SelectorData second = SelectorData.builder().id("2").pluginName("dubbo").build();
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, Collections.singletonList(deleted)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.REFRESH, Collections.singletonList(first)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.REFRESH, Collections.singletonList(second)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(firstUpdated)));
+        InOrder inOrder = inOrder(httpLongPollingDataChangedListener);
+        inOrder.verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(deleted), DataEventTypeEnum.DELETE);
+        inOrder.verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(firstUpdated), DataEventTypeEnum.REFRESH);
+        inOrder.verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(second), DataEventTypeEnum.REFRESH);
+        verify(httpLongPollingDataChangedListener, after(200).times(3)).onSelectorChanged(anyList(), any());
+        dispatcher.destroy();
+    }
+
+    /**
+     * a delete of the data of a refresh keeps the refresh, which clears the other stale data of its plugin.
+     */
+    @Test
+    public void asyncRefreshThenDeleteTest() {
+        DataChangedEventDispatcher dispatcher = asyncDispatcher();
+        SelectorData selector = SelectorData.builder().id("1").pluginName("divide").build();
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.REFRESH, Collections.singletonList(selector)));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, Collections.singletonList(selector)));
+        InOrder inOrder = inOrder(httpLongPollingDataChangedListener);
+        inOrder.verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(selector), DataEventTypeEnum.REFRESH);
+        inOrder.verify(httpLongPollingDataChangedListener, timeout(1000)).onSelectorChanged(Collections.singletonList(selector), DataEventTypeEnum.DELETE);
+        verify(httpLongPollingDataChangedListener, after(200).times(2)).onSelectorChanged(anyList(), any());
+        dispatcher.destroy();
+    }
+
+    /**
+     * the events to the requesting session are dispatched at once, and the pending changes are dispatched on destroy.
+     */
+    @Test
+    public void asyncMyselfAndDestroyTest() {
+        DataChangedEventDispatcher dispatcher = asyncDispatcher();
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.MYSELF, new ArrayList<>()));
+        verify(httpLongPollingDataChangedListener).onPluginChanged(anyList(), eq(DataEventTypeEnum.MYSELF));
+        dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(new SelectorData())));
+        dispatcher.destroy();
+        verify(httpLongPollingDataChangedListener).onSelectorChanged(anyList(), eq(DataEventTypeEnum.UPDATE));
+    }
+
+    private DataChangedEventDispatcher asyncDispatcher() {
+        DataDispatchProperties properties = new DataDispatchProperties();
+        properties.setAsync(true);
+        properties.setWindow(Duration.ofMillis(50));
+        properties.setMaxDelay(Duration.ofSeconds(5));
+        when(applicationContext.getBeansOfType(DataChangedListener.class))
+                .thenReturn(Collections.singletonMap("httpLongPollingDataChangedListener", httpLongPollingDataChangedListener));
+        DataChangedEventDispatcher dispatcher = new DataChangedEventDispatcher(applicationContext, properties);
+        dispatcher.afterPropertiesSet();
+        return dispatcher;
+    }
 }
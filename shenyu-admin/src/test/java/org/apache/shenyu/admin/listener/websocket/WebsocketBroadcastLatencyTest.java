@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.websocket;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.servlets.DefaultServlet;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.tomcat.websocket.server.WsContextListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletContextEvent;
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.ContainerProvider;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import javax.websocket.server.ServerContainer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the latency of a broadcast from {@link WebsocketCollector} to hundreds of local websocket clients.
+ */
+public final class WebsocketBroadcastLatencyTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebsocketBroadcastLatencyTest.class);
+
+    private static final int CLIENT_COUNT = 200;
+
+    private static final int MESSAGE_COUNT = 20;
+
+    private Tomcat tomcat;
+
+    private final List<Session> clients = new ArrayList<>();
+
+    private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile CountDownLatch latch;
+
+    @Before
+    public void setUp() throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("shenyu-websocket").toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", null);
+        context.addApplicationListener(WebsocketListener.class.getName());
+        context.addApplicationListener(Config.class.getName());
+        Tomcat.addServlet(context, "default", new DefaultServlet());
+        context.addServletMappingDecoded("/", "default");
+        tomcat.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Session client : clients) {
+            client.close();
+        }
+        waitForSessions(0);
+        tomcat.stop();
+        tomcat.destroy();
+        WebsocketCollector.configure(new WebsocketSyncProperties());
+    }
+
+    @Test
+    public void testAsyncBroadcastLatency() throws Exception {
+        measure(true);
+    }
+
+    @Test
+    public void testBlockingBroadcastLatency() throws Exception {
+        measure(false);
+    }
+
+    private void measure(final boolean asyncSend) throws Exception {
+        WebsocketSyncProperties properties = new WebsocketSyncProperties();
+        properties.setAsyncSend(asyncSend);
+        WebsocketCollector.configure(properties);
+        connect();
+        long broadcastNanos = 0;
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            latch = new CountDownLatch(CLIENT_COUNT);
+            long start = System.nanoTime();
+            WebsocketCollector.send(String.valueOf(start), DataEventTypeEnum.UPDATE);
+            broadcastNanos += System.nanoTime() - start;
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        LOG.info("websocket broadcast to {} clients, asyncSend: {}, broadcast call: {}us, latency p50: {}us, p99: {}us, max: {}us",
+                CLIENT_COUNT, asyncSend, TimeUnit.NANOSECONDS.toMicros(broadcastNanos / MESSAGE_COUNT),
+                TimeUnit.NANOSECONDS.toMicros(percentile(sorted, 0.5)), TimeUnit.NANOSECONDS.toMicros(percentile(sorted, 0.99)),
+                TimeUnit.NANOSECONDS.toMicros(sorted.get(sorted.size() - 1)));
+    }
+
+    private void connect() throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        URI uri = URI.create("ws://127.0.0.1:" + tomcat.getConnector().getLocalPort() + "/websocket");
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            clients.add(container.connectToServer(new LatencyClient(), ClientEndpointConfig.Builder.create().build(), uri));
+        }
+        waitForSessions(CLIENT_COUNT);
+    }
+
+    private static void waitForSessions(final int size) throws InterruptedException {
+        Set<?> sessionSet = (Set<?>) ReflectionTestUtils.getField(WebsocketCollector.class, "SESSION_SET");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sessionSet.size() != size && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static long percentile(final List<Long> sorted, final double percentile) {
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private class LatencyClient extends Endpoint {
+
+        @Override
+        public void onOpen(final Session session, final EndpointConfig config) {
+            session.addMessageHandler(String.class, message -> {
+                latencies.add(System.nanoTime() - Long.parseLong(message));
+                latch.countDown();
+            });
+        }
+    }
+
+    /**
+     * Deploys the {@link WebsocketCollector} endpoint.
+     */
+    public static class Config extends WsContextListener {
+
+        @Override
+        public void contextInitialized(final ServletContextEvent sce) {
+            super.contextInitialized(sce);
+            ServerContainer serverContainer = (ServerContainer) sce.getServletContext().getAttribute(ServerContainer.class.getName());
+            try {
+                serverContainer.addEndpoint(WebsocketCollector.class);
+            } catch (DeploymentException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
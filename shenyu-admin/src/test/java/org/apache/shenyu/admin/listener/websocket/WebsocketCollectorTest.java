@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.admin.listener.websocket;
 
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
 import org.apache.shenyu.admin.service.SyncDataService;
 import org.apache.shenyu.admin.spring.SpringBeanUtils;
 import org.apache.shenyu.admin.utils.ThreadLocalUtils;
@@ -37,13 +38,16 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
 import javax.websocket.Session;
 import java.io.IOException;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -75,6 +79,7 @@ public final class WebsocketCollectorTest {
         loggerSpy = spy(LoggerFactory.getLogger(WebsocketCollector.class));
         loggerFactoryMockedStatic = mockStatic(LoggerFactory.class);
         loggerFactoryMockedStatic.when(() -> LoggerFactory.getLogger(WebsocketCollector.class)).thenReturn(loggerSpy);
+        loggerFactoryMockedStatic.when(() -> LoggerFactory.getLogger(WebsocketSessionSender.class)).thenReturn(loggerSpy);
         loggerFactoryMockedStatic.when(() -> LoggerFactory.getLogger(anyString())).thenReturn(loggerSpy);
     }
 
@@ -86,6 +91,7 @@ public final class WebsocketCollectorTest {
     @Before
     public void setUp() {
         websocketCollector = new WebsocketCollector();
+        WebsocketCollector.configure(new WebsocketSyncProperties());
     }
 
     @Test
@@ -133,6 +139,9 @@ public final class WebsocketCollectorTest {
 
     @Test
     public void testSend() throws IOException {
+        WebsocketSyncProperties properties = new WebsocketSyncProperties();
+        properties.setAsyncSend(false);
+        WebsocketCollector.configure(properties);
         RemoteEndpoint.Basic basic = mock(RemoteEndpoint.Basic.class);
         when(session.getBasicRemote()).thenReturn(basic);
         websocketCollector.onOpen(session);
@@ -148,6 +157,22 @@ public final class WebsocketCollectorTest {
         websocketCollector.onClose(session);
     }
 
+    @Test
+    public void testAsyncSend() {
+        RemoteEndpoint.Async async = mock(RemoteEndpoint.Async.class);
+        when(session.getAsyncRemote()).thenReturn(async);
+        websocketCollector.onOpen(session);
+        assertEquals(1L, getSessionSetSize());
+        ThreadLocalUtils.put("sessionKey", session);
+        WebsocketCollector.send("test_message_1", DataEventTypeEnum.MYSELF);
+        Mockito.verify(async, Mockito.times(1)).sendText(eq("test_message_1"), any(SendHandler.class));
+        // the previous message is not sent yet, so the message waits in the queue.
+        WebsocketCollector.send("test_message_2", DataEventTypeEnum.CREATE);
+        Mockito.verify(async, Mockito.times(0)).sendText(eq("test_message_2"), any(SendHandler.class));
+        doNothing().when(loggerSpy).warn(anyString(), anyString());
+        websocketCollector.onClose(session);
+    }
+
     private long getSessionSetSize() {
         Set sessionSet = (Set) ReflectionTestUtils.getField(WebsocketCollector.class, "SESSION_SET");
         return sessionSet == null ? -1 : sessionSet.size();
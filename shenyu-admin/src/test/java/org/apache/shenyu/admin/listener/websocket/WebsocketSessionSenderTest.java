@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.websocket;
+
+import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties.SlowConsumerPolicy;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link WebsocketSessionSender}.
+ */
+public final class WebsocketSessionSenderTest {
+
+    private static final int QUEUE_SIZE = ConfigGroupEnum.values().length;
+
+    private Session session;
+
+    private RemoteEndpoint.Async async;
+
+    private final List<Session> refreshed = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        session = mock(Session.class);
+        async = mock(RemoteEndpoint.Async.class);
+        when(session.getAsyncRemote()).thenReturn(async);
+        when(session.getId()).thenReturn("0");
+    }
+
+    @Test
+    public void testSendInOrder() {
+        WebsocketSessionSender sender = newSender(SlowConsumerPolicy.COALESCE);
+        sender.send("1");
+        sender.send("2");
+        sender.send("3");
+        verify(async).sendText(eq("1"), eq(sender));
+        assertEquals(2, sender.getPendingSize());
+        sender.onResult(new SendResult());
+        verify(async).sendText(eq("2"), eq(sender));
+        sender.onResult(new SendResult(new IOException("test")));
+        verify(async).sendText(eq("3"), eq(sender));
+        sender.onResult(new SendResult());
+        assertEquals(0, sender.getPendingSize());
+        sender.send("4");
+        verify(async).sendText(eq("4"), eq(sender));
+    }
+
+    @Test
+    public void testCoalesce() {
+        WebsocketSessionSender sender = newSender(SlowConsumerPolicy.COALESCE);
+        fillQueue(sender);
+        // the queue is full
+        sender.send("overflow");
+        assertEquals(0, sender.getPendingSize());
+        // covered by the whole config
+        sender.send("covered");
+        assertEquals(0, sender.getPendingSize());
+        assertEquals(0, refreshed.size());
+        sender.onResult(new SendResult());
+        assertEquals(1, refreshed.size());
+        verify(async, times(1)).sendText(any(String.class), any(SendHandler.class));
+        sender.send("next");
+        verify(async).sendText(eq("next"), eq(sender));
+    }
+
+    @Test
+    public void testCoalesceRefreshFitsSmallQueue() {
+        AtomicReference<WebsocketSessionSender> holder = new AtomicReference<>();
+        // the refresh sends the whole config through the sender, one message for every group.
+        Consumer<Session> refresher = each -> {
+            refreshed.add(each);
+            Arrays.stream(ConfigGroupEnum.values()).forEach(group -> holder.get().send(group.name()));
+        };
+        WebsocketSessionSender sender = new WebsocketSessionSender(session, 1, SlowConsumerPolicy.COALESCE, refresher, Runnable::run);
+        holder.set(sender);
+        fillQueue(sender);
+        sender.send("overflow");
+        sender.onResult(new SendResult());
+        assertEquals(1, refreshed.size());
+        assertEquals(ConfigGroupEnum.values().length - 1, sender.getPendingSize());
+        for (int i = 0; i < ConfigGroupEnum.values().length; i++) {
+            sender.onResult(new SendResult());
+        }
+        Arrays.stream(ConfigGroupEnum.values()).forEach(group -> verify(async).sendText(eq(group.name()), eq(sender)));
+        // the refresh did not overflow the queue, so it is not repeated.
+        assertEquals(1, refreshed.size());
+        assertEquals(0, sender.getPendingSize());
+    }
+
+    @Test
+    public void testDisconnect() throws IOException {
+        WebsocketSessionSender sender = newSender(SlowConsumerPolicy.DISCONNECT);
+        fillQueue(sender);
+        verify(session, never()).close(any(CloseReason.class));
+        sender.send("overflow");
+        ArgumentCaptor<CloseReason> captor = ArgumentCaptor.forClass(CloseReason.class);
+        verify(session).close(captor.capture());
+        assertEquals(CloseReason.CloseCodes.TRY_AGAIN_LATER, captor.getValue().getCloseCode());
+        assertEquals(0, refreshed.size());
+    }
+
+    private WebsocketSessionSender newSender(final SlowConsumerPolicy policy) {
+        return new WebsocketSessionSender(session, QUEUE_SIZE, policy, refreshed::add, Runnable::run);
+    }
+
+    private void fillQueue(final WebsocketSessionSender sender) {
+        // the first message is being sent, the others wait in the queue.
+        for (int i = 0; i <= QUEUE_SIZE; i++) {
+            sender.send(String.valueOf(i));
+        }
+        assertEquals(QUEUE_SIZE, sender.getPendingSize());
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.Test;
 import javax.annotation.Resource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
@@ -64,6 +65,13 @@ public final class RuleConditionMapperTest extends AbstractSpringIntegrationTest
         assertThat(rulesWithoutRuleId.size(), greaterThan(0));
     }
 
+    @Test
+    public void selectByRuleIds() {
+        List<RuleConditionDO> rules = ruleConditionMapper.selectByRuleIds(Collections.singletonList(record.getRuleId()));
+        assertThat(rules.size(), greaterThan(0));
+        rules.forEach(each -> assertEquals(record.getRuleId(), each.getRuleId()));
+    }
+
     @Test
     public void insert() {
         RuleConditionDO newRecord = buildRuleConditionDo();
@@ -26,8 +26,10 @@ import org.junit.Test;
 import javax.annotation.Resource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
@@ -62,6 +64,13 @@ public final class SelectorConditionMapperTest extends AbstractSpringIntegration
         assertThat(selectorWithoutSelectorId.size(), greaterThan(0));
     }
 
+    @Test
+    public void testSelectBySelectorIds() {
+        List<SelectorConditionDO> result = selectorConditionMapper.selectBySelectorIds(Collections.singletonList(record.getSelectorId()));
+        assertThat(result.size(), greaterThan(0));
+        result.forEach(each -> assertEquals(record.getSelectorId(), each.getSelectorId()));
+    }
+
     @Test
     public void testInsert() {
         SelectorConditionDO newRecord = buildSelectorConditionDO();
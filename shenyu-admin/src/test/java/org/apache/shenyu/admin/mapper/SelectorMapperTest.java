@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import javax.annotation.Resource;
 import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -86,6 +87,21 @@ public final class SelectorMapperTest extends AbstractSpringIntegrationTest {
         assertEquals(1, delete);
     }
 
+    @Test
+    public void testSelectByIds() {
+        SelectorDO selectorDO = buildSelectorDO();
+        int insert = selectorMapper.insert(selectorDO);
+        assertEquals(1, insert);
+
+        List<SelectorDO> list = selectorMapper.selectByIds(Collections.singletonList(selectorDO.getId()));
+        assertNotNull(list);
+        assertEquals(1, list.size());
+        assertEquals(selectorDO.getId(), list.get(0).getId());
+
+        int delete = selectorMapper.delete(selectorDO.getId());
+        assertEquals(1, delete);
+    }
+
     @Test
     public void testSelectByName() {
         SelectorDO selectorDO = buildSelectorDO();
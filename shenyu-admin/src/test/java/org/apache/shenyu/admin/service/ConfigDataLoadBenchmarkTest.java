@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.service;
+
+import org.apache.shenyu.admin.AbstractSpringIntegrationTest;
+import org.apache.shenyu.admin.mapper.PluginMapper;
+import org.apache.shenyu.admin.mapper.RuleConditionMapper;
+import org.apache.shenyu.admin.mapper.RuleMapper;
+import org.apache.shenyu.admin.mapper.SelectorConditionMapper;
+import org.apache.shenyu.admin.mapper.SelectorMapper;
+import org.apache.shenyu.admin.model.entity.PluginDO;
+import org.apache.shenyu.admin.model.entity.RuleConditionDO;
+import org.apache.shenyu.admin.model.entity.RuleDO;
+import org.apache.shenyu.admin.model.entity.SelectorConditionDO;
+import org.apache.shenyu.admin.model.entity.SelectorDO;
+import org.apache.shenyu.admin.model.query.RuleConditionQuery;
+import org.apache.shenyu.admin.model.query.SelectorConditionQuery;
+import org.apache.shenyu.admin.transfer.ConditionTransfer;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.UUIDUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.Resource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares loading the selector and rule data one by one with loading them in batches, against the embedded h2 database.
+ * The generated data is rolled back after the test.
+ */
+@Transactional
+public final class ConfigDataLoadBenchmarkTest extends AbstractSpringIntegrationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigDataLoadBenchmarkTest.class);
+
+    private static final int SELECTOR_COUNT = 500;
+
+    private static final int RULE_COUNT_PER_SELECTOR = 10;
+
+    private static final int CONDITION_COUNT = 2;
+
+    @Resource
+    private SelectorService selectorService;
+
+    @Resource
+    private RuleService ruleService;
+
+    @Resource
+    private PluginMapper pluginMapper;
+
+    @Resource
+    private SelectorMapper selectorMapper;
+
+    @Resource
+    private SelectorConditionMapper selectorConditionMapper;
+
+    @Resource
+    private RuleMapper ruleMapper;
+
+    @Resource
+    private RuleConditionMapper ruleConditionMapper;
+
+    private String pluginId;
+
+    @Before
+    public void setUp() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        pluginId = UUIDUtils.getInstance().generateShortUuid();
+        pluginMapper.insert(PluginDO.builder().id(pluginId).name("benchmark-" + pluginId).role("test").enabled(true).sort(1).dateCreated(now).dateUpdated(now).build());
+        for (int i = 0; i < SELECTOR_COUNT; i++) {
+            String selectorId = UUIDUtils.getInstance().generateShortUuid();
+            selectorMapper.insert(SelectorDO.builder().id(selectorId).pluginId(pluginId).name("selector-" + i).matchMode(0).type(1).sort(i)
+                    .enabled(true).loged(true).continued(true).handle("handle").dateCreated(now).dateUpdated(now).build());
+            for (int c = 0; c < CONDITION_COUNT; c++) {
+                selectorConditionMapper.insert(SelectorConditionDO.builder().id(UUIDUtils.getInstance().generateShortUuid()).selectorId(selectorId)
+                        .paramType("uri").operator("match").paramName("/").paramValue("/selector-" + i + "/" + c).dateCreated(now).dateUpdated(now).build());
+            }
+            for (int r = 0; r < RULE_COUNT_PER_SELECTOR; r++) {
+                String ruleId = UUIDUtils.getInstance().generateShortUuid();
+                ruleMapper.insert(RuleDO.builder().id(ruleId).selectorId(selectorId).name("rule-" + i + "-" + r).matchMode(0).sort(r)
+                        .enabled(true).loged(true).handle("handle").dateCreated(now).dateUpdated(now).build());
+                for (int c = 0; c < CONDITION_COUNT; c++) {
+                    ruleConditionMapper.insert(RuleConditionDO.builder().id(UUIDUtils.getInstance().generateShortUuid()).ruleId(ruleId)
+                            .paramType("uri").operator("match").paramName("/").paramValue("/rule-" + r + "/" + c).dateCreated(now).dateUpdated(now).build());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLoadPluginData() {
+        // warm up the statements of both ways
+        loadOneByOne();
+        loadInBatches();
+
+        long start = System.nanoTime();
+        int oneByOne = loadOneByOne();
+        long oneByOneNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int inBatches = loadInBatches();
+        long inBatchesNanos = System.nanoTime() - start;
+
+        assertEquals(SELECTOR_COUNT * (1 + RULE_COUNT_PER_SELECTOR), oneByOne);
+        assertEquals(oneByOne, inBatches);
+        LOG.info("load {} selectors and {} rules, one by one: {}ms, in batches: {}ms", SELECTOR_COUNT, SELECTOR_COUNT * RULE_COUNT_PER_SELECTOR,
+                TimeUnit.NANOSECONDS.toMillis(oneByOneNanos), TimeUnit.NANOSECONDS.toMillis(inBatchesNanos));
+    }
+
+    @Test
+    public void testListAll() {
+        long start = System.nanoTime();
+        List<SelectorData> selectorDataList = selectorService.listAll();
+        List<RuleData> ruleDataList = ruleService.listAll();
+        LOG.info("list all {} selectors and {} rules in batches: {}ms", selectorDataList.size(), ruleDataList.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        List<SelectorData> generated = selectorDataList.stream().filter(each -> pluginId.equals(each.getPluginId())).collect(Collectors.toList());
+        assertEquals(SELECTOR_COUNT, generated.size());
+        generated.forEach(each -> assertEquals(CONDITION_COUNT, each.getConditionList().size()));
+    }
+
+    private int loadInBatches() {
+        List<SelectorData> selectorDataList = selectorService.findByPluginId(pluginId);
+        List<RuleData> ruleDataList = ruleService.findBySelectorIds(selectorDataList.stream().map(SelectorData::getId).collect(Collectors.toList()));
+        ruleDataList.forEach(each -> assertEquals(CONDITION_COUNT, each.getConditionDataList().size()));
+        return selectorDataList.size() + ruleDataList.size();
+    }
+
+    /**
+     * The way the selectors and rules were loaded before, a few queries for every selector and rule.
+     */
+    private int loadOneByOne() {
+        List<SelectorData> selectorDataList = new ArrayList<>();
+        for (SelectorDO selectorDO : selectorMapper.findByPluginId(pluginId)) {
+            List<ConditionData> conditions = ConditionTransfer.INSTANCE.mapToSelectorDOS(
+                    selectorConditionMapper.selectByQuery(new SelectorConditionQuery(selectorDO.getId())));
+            PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
+            selectorDataList.add(SelectorDO.transFrom(selectorDO, pluginDO.getName(), conditions));
+        }
+        List<RuleData> ruleDataList = new ArrayList<>();
+        for (SelectorData selectorData : selectorDataList) {
+            for (RuleDO ruleDO : ruleMapper.findBySelectorId(selectorData.getId())) {
+                SelectorDO selectorDO = selectorMapper.selectById(ruleDO.getSelectorId());
+                PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
+                List<ConditionData> conditions = ruleConditionMapper.selectByQuery(new RuleConditionQuery(ruleDO.getId()))
+                        .stream()
+                        .map(ConditionTransfer.INSTANCE::mapToRuleDO)
+                        .collect(Collectors.toList());
+                ruleDataList.add(RuleDO.transFrom(ruleDO, pluginDO.getName(), conditions));
+            }
+        }
+        return selectorDataList.size() + ruleDataList.size();
+    }
+}
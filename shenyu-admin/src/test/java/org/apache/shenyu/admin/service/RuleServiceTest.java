@@ -157,56 +157,62 @@ public final class RuleServiceTest {
 
     @Test
     public void testListAll() {
-        publishEvent();
-        checkListAll();
+        mockFindSelectors(Collections.singletonList(buildSelectorDO()), Collections.singletonList(buildPluginDO()));
+        checkListAll(1);
     }
 
     @Test
     public void testListAllWithSelectorNull() {
-        mockFindSelectorIsNull();
-        checkListAll();
-    }
-
-    private void mockFindSelectorIsNull() {
-        given(this.selectorMapper.selectById("456")).willReturn(null);
-        given(this.pluginMapper.selectById("789")).willReturn(buildPluginDO());
+        mockFindSelectors(Collections.emptyList(), Collections.singletonList(buildPluginDO()));
+        checkListAll(0);
     }
 
     @Test
     public void testListAllWithPluginNull() {
-        mockFindPluginIsNull();
-        checkListAll();
+        mockFindSelectors(Collections.singletonList(buildSelectorDO()), Collections.emptyList());
+        checkListAll(0);
     }
 
-    private void mockFindPluginIsNull() {
-        given(this.selectorMapper.selectById("456")).willReturn(buildSelectorDO());
-        given(this.pluginMapper.selectById("789")).willReturn(null);
+    private void mockFindSelectors(final List<SelectorDO> selectorDOList, final List<PluginDO> pluginDOList) {
+        given(this.selectorMapper.selectAll()).willReturn(selectorDOList);
+        given(this.selectorMapper.selectByIds(Collections.singletonList("456"))).willReturn(selectorDOList);
+        given(this.pluginMapper.selectByIds(Collections.singletonList("789"))).willReturn(pluginDOList);
     }
 
-    private void checkListAll() {
-        RuleConditionQuery ruleConditionQuery = buildRuleConditionQuery();
+    private void checkListAll(final int size) {
         RuleConditionDO ruleCondition = buildRuleConditionDO();
-        given(this.ruleConditionMapper.selectByQuery(ruleConditionQuery)).willReturn(Collections.singletonList(ruleCondition));
+        given(this.ruleConditionMapper.selectByQuery(new RuleConditionQuery())).willReturn(Collections.singletonList(ruleCondition));
         RuleDO ruleDO = buildRuleDO("123");
         List<RuleDO> ruleDOList = Collections.singletonList(ruleDO);
         given(this.ruleMapper.selectAll()).willReturn(ruleDOList);
         List<RuleData> dataList = this.ruleService.listAll();
         assertNotNull(dataList);
-        assertEquals(ruleDOList.size(), dataList.size());
+        assertEquals(size, dataList.size());
+        dataList.forEach(ruleData -> assertEquals(1, ruleData.getConditionDataList().size()));
     }
 
     @Test
     public void testFindBySelectorId() {
-        publishEvent();
-        RuleConditionQuery ruleConditionQuery = buildRuleConditionQuery();
+        mockFindSelectors(Collections.singletonList(buildSelectorDO()), Collections.singletonList(buildPluginDO()));
         RuleConditionDO ruleCondition = buildRuleConditionDO();
-        given(this.ruleConditionMapper.selectByQuery(ruleConditionQuery)).willReturn(Collections.singletonList(ruleCondition));
+        given(this.ruleConditionMapper.selectByRuleIds(Collections.singletonList("123"))).willReturn(Collections.singletonList(ruleCondition));
         RuleDO ruleDO = buildRuleDO("123");
         List<RuleDO> ruleDOList = Collections.singletonList(ruleDO);
-        given(this.ruleMapper.findBySelectorId("456")).willReturn(ruleDOList);
+        given(this.ruleMapper.findBySelectorIds(Collections.singletonList("456"))).willReturn(ruleDOList);
         List<RuleData> dataList = this.ruleService.findBySelectorId("456");
         assertNotNull(dataList);
         assertEquals(ruleDOList.size(), dataList.size());
+        assertEquals("test", dataList.get(0).getPluginName());
+        assertEquals(1, dataList.get(0).getConditionDataList().size());
+    }
+
+    @Test
+    public void testFindBySelectorIds() {
+        mockFindSelectors(Collections.singletonList(buildSelectorDO()), Collections.singletonList(buildPluginDO()));
+        given(this.ruleMapper.findBySelectorIds(Collections.singletonList("456"))).willReturn(Arrays.asList(buildRuleDO("123"), buildRuleDO("124")));
+        List<RuleData> dataList = this.ruleService.findBySelectorIds(Arrays.asList("456", "456"));
+        assertEquals(2, dataList.size());
+        assertEquals(0, this.ruleService.findBySelectorIds(Collections.emptyList()).size());
     }
 
     private void publishEvent() {
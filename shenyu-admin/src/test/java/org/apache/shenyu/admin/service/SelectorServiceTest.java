@@ -31,6 +31,7 @@ import org.apache.shenyu.admin.model.dto.SelectorDTO;
 import org.apache.shenyu.admin.model.entity.DataPermissionDO;
 import org.apache.shenyu.admin.model.entity.PluginDO;
 import org.apache.shenyu.admin.model.entity.RuleDO;
+import org.apache.shenyu.admin.model.entity.SelectorConditionDO;
 import org.apache.shenyu.admin.model.entity.SelectorDO;
 import org.apache.shenyu.admin.model.page.CommonPager;
 import org.apache.shenyu.admin.model.page.PageParameter;
@@ -199,20 +200,33 @@ public final class SelectorServiceTest {
         final List<SelectorDO> selectorDOs = buildSelectorDOList();
         given(this.selectorMapper.findByPluginId(eq("789"))).willReturn(selectorDOs);
         PluginDO pluginDO = buildPluginDO();
-        given(this.pluginMapper.selectById(eq("789"))).willReturn(pluginDO);
+        given(this.pluginMapper.selectByIds(Collections.singletonList("789"))).willReturn(Collections.singletonList(pluginDO));
+        SelectorConditionDO selectorConditionDO = SelectorConditionDO.builder().id("111").selectorId("456").build();
+        given(this.selectorConditionMapper.selectBySelectorIds(Collections.singletonList("456"))).willReturn(Collections.singletonList(selectorConditionDO));
         List<SelectorData> res = this.selectorService.findByPluginId("789");
+        assertEquals(selectorDOs.size(), res.size());
         res.forEach(selectorData -> assertEquals("789", selectorData.getPluginId()));
+        assertEquals(1, res.get(0).getConditionList().size());
     }
 
     @Test
     public void testListAll() {
         final List<SelectorDO> selectorDOs = buildSelectorDOList();
         given(this.selectorMapper.selectAll()).willReturn(selectorDOs);
+        given(this.pluginMapper.selectByIds(Collections.singletonList("789"))).willReturn(Collections.singletonList(buildPluginDO()));
         List<SelectorData> dataList = this.selectorService.listAll();
         assertNotNull(dataList);
         assertEquals(selectorDOs.size(), dataList.size());
     }
 
+    @Test
+    public void testListAllWithPluginNull() {
+        given(this.selectorMapper.selectAll()).willReturn(buildSelectorDOList());
+        List<SelectorData> dataList = this.selectorService.listAll();
+        assertNotNull(dataList);
+        assertEquals(0, dataList.size());
+    }
+
     @Test
     public void testHandlerSelectorNeedUpstreamCheck() {
         publishEvent();
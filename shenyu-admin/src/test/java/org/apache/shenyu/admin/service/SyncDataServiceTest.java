@@ -99,7 +99,7 @@ public final class SyncDataServiceTest {
         SelectorData selectorData = buildSelectorData();
         given(this.selectorService.findByPluginId(pluginVO.getId())).willReturn(Collections.singletonList(selectorData));
         RuleData ruleData = buildRuleData();
-        given(this.ruleService.findBySelectorId(pluginVO.getId())).willReturn(Collections.singletonList(ruleData));
+        given(this.ruleService.findBySelectorIds(Collections.singletonList(selectorData.getId()))).willReturn(Collections.singletonList(ruleData));
 
         assertThat(syncDataService.syncPluginData(pluginVO.getId()), greaterThan(false));
     }
@@ -45,6 +45,14 @@ public class ShenyuConfig {
 
     private CrossFilterConfig cross = new CrossFilterConfig();
     
+    private PluginChain pluginChain = new PluginChain();
+    
+    private LoadBalance loadBalance = new LoadBalance();
+    
+    private OutlierDetection outlierDetection = new OutlierDetection();
+    
+    private Snapshot snapshot = new Snapshot();
+    
     /**
      * Gets switch config.
      *
@@ -171,6 +179,78 @@ public class ShenyuConfig {
         this.cross = cross;
     }
     
+    /**
+     * Gets plugin chain.
+     *
+     * @return the plugin chain
+     */
+    public PluginChain getPluginChain() {
+        return pluginChain;
+    }
+    
+    /**
+     * Sets plugin chain.
+     *
+     * @param pluginChain the plugin chain
+     */
+    public void setPluginChain(final PluginChain pluginChain) {
+        this.pluginChain = pluginChain;
+    }
+    
+    /**
+     * Gets load balance.
+     *
+     * @return the load balance
+     */
+    public LoadBalance getLoadBalance() {
+        return loadBalance;
+    }
+    
+    /**
+     * Sets load balance.
+     *
+     * @param loadBalance the load balance
+     */
+    public void setLoadBalance(final LoadBalance loadBalance) {
+        this.loadBalance = loadBalance;
+    }
+    
+    /**
+     * Gets outlier detection.
+     *
+     * @return the outlier detection
+     */
+    public OutlierDetection getOutlierDetection() {
+        return outlierDetection;
+    }
+    
+    /**
+     * Sets outlier detection.
+     *
+     * @param outlierDetection the outlier detection
+     */
+    public void setOutlierDetection(final OutlierDetection outlierDetection) {
+        this.outlierDetection = outlierDetection;
+    }
+    
+    /**
+     * Gets snapshot.
+     *
+     * @return the snapshot
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Sets snapshot.
+     *
+     * @param snapshot the snapshot
+     */
+    public void setSnapshot(final Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+    
     /**
      * The type Scheduler.
      */
@@ -482,6 +562,20 @@ public class ShenyuConfig {
         private Boolean printEnabled = true;
         
         private Integer printInterval = 60000;
+        
+        /**
+         * The checker of the upstreams, socket: blocking socket connects on a thread pool, netty: non-blocking probes on an event loop.
+         */
+        private String checker = "socket";
+        
+        /**
+         * The probe of the netty checker, tcp: connect only, http: send a GET request and expect the status.
+         */
+        private String probe = "tcp";
+        
+        private String httpPath = "/";
+        
+        private Integer httpExpectedStatus = 200;
     
         /**
          * Gets enabled.
@@ -608,6 +702,78 @@ public class ShenyuConfig {
         public void setPrintInterval(final Integer printInterval) {
             this.printInterval = printInterval;
         }
+    
+        /**
+         * Gets checker.
+         *
+         * @return the checker
+         */
+        public String getChecker() {
+            return checker;
+        }
+    
+        /**
+         * Sets checker.
+         *
+         * @param checker the checker
+         */
+        public void setChecker(final String checker) {
+            this.checker = checker;
+        }
+    
+        /**
+         * Gets probe.
+         *
+         * @return the probe
+         */
+        public String getProbe() {
+            return probe;
+        }
+    
+        /**
+         * Sets probe.
+         *
+         * @param probe the probe
+         */
+        public void setProbe(final String probe) {
+            this.probe = probe;
+        }
+    
+        /**
+         * Gets http path.
+         *
+         * @return the http path
+         */
+        public String getHttpPath() {
+            return httpPath;
+        }
+    
+        /**
+         * Sets http path.
+         *
+         * @param httpPath the http path
+         */
+        public void setHttpPath(final String httpPath) {
+            this.httpPath = httpPath;
+        }
+    
+        /**
+         * Gets http expected status.
+         *
+         * @return the http expected status
+         */
+        public Integer getHttpExpectedStatus() {
+            return httpExpectedStatus;
+        }
+    
+        /**
+         * Sets http expected status.
+         *
+         * @param httpExpectedStatus the http expected status
+         */
+        public void setHttpExpectedStatus(final Integer httpExpectedStatus) {
+            this.httpExpectedStatus = httpExpectedStatus;
+        }
     }
     
     /**
@@ -793,4 +959,368 @@ public class ShenyuConfig {
             this.allowCredentials = allowCredentials;
         }
     }
+    
+    /**
+     * The type Plugin chain.
+     */
+    public static class PluginChain {
+        
+        private Boolean optimized = false;
+        
+        private Boolean instrumented = false;
+    
+        /**
+         * Whether the plugin chain is precomputed for every rpc type.
+         *
+         * @return the optimized
+         */
+        public Boolean getOptimized() {
+            return optimized;
+        }
+    
+        /**
+         * Sets optimized.
+         *
+         * @param optimized the optimized
+         */
+        public void setOptimized(final Boolean optimized) {
+            this.optimized = optimized;
+        }
+    
+        /**
+         * Whether the execution time of every plugin is recorded.
+         *
+         * @return the instrumented
+         */
+        public Boolean getInstrumented() {
+            return instrumented;
+        }
+    
+        /**
+         * Sets instrumented.
+         *
+         * @param instrumented the instrumented
+         */
+        public void setInstrumented(final Boolean instrumented) {
+            this.instrumented = instrumented;
+        }
+    }
+    
+    /**
+     * The type Load balance.
+     */
+    public static class LoadBalance {
+        
+        private Integer hashVirtualNodes = 5;
+        
+        private String hashFunction = "md5";
+    
+        /**
+         * Gets the number of virtual nodes of every upstream on the hash ring.
+         *
+         * @return the hash virtual nodes
+         */
+        public Integer getHashVirtualNodes() {
+            return hashVirtualNodes;
+        }
+    
+        /**
+         * Sets hash virtual nodes.
+         *
+         * @param hashVirtualNodes the hash virtual nodes
+         */
+        public void setHashVirtualNodes(final Integer hashVirtualNodes) {
+            this.hashVirtualNodes = hashVirtualNodes;
+        }
+    
+        /**
+         * Gets the hash function of the hash ring, md5 or murmur3.
+         *
+         * @return the hash function
+         */
+        public String getHashFunction() {
+            return hashFunction;
+        }
+    
+        /**
+         * Sets hash function.
+         *
+         * @param hashFunction the hash function
+         */
+        public void setHashFunction(final String hashFunction) {
+            this.hashFunction = hashFunction;
+        }
+    }
+    
+    /**
+     * The passive outlier detection of the upstreams, by the status and the latency of the calls on them.
+     */
+    public static class OutlierDetection {
+        
+        private Boolean enabled = false;
+        
+        private Integer consecutiveErrors = 5;
+        
+        private Integer errorRate = 50;
+        
+        private Integer minRequests = 10;
+        
+        private Integer interval = 10000;
+        
+        private Integer latencyThreshold = 0;
+        
+        private Integer baseEjectionTime = 30000;
+        
+        private Integer maxEjectionTime = 300000;
+        
+        private Integer maxEjectionPercent = 50;
+    
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public Boolean getEnabled() {
+            return enabled;
+        }
+    
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+    
+        /**
+         * Gets the consecutive errors to eject an upstream, 0 disables it.
+         *
+         * @return the consecutive errors
+         */
+        public Integer getConsecutiveErrors() {
+            return consecutiveErrors;
+        }
+    
+        /**
+         * Sets consecutive errors.
+         *
+         * @param consecutiveErrors the consecutive errors
+         */
+        public void setConsecutiveErrors(final Integer consecutiveErrors) {
+            this.consecutiveErrors = consecutiveErrors;
+        }
+    
+        /**
+         * Gets the error rate in percent of an interval to eject an upstream, 0 disables it.
+         *
+         * @return the error rate
+         */
+        public Integer getErrorRate() {
+            return errorRate;
+        }
+    
+        /**
+         * Sets error rate.
+         *
+         * @param errorRate the error rate
+         */
+        public void setErrorRate(final Integer errorRate) {
+            this.errorRate = errorRate;
+        }
+    
+        /**
+         * Gets the minimum requests of an interval to check the error rate.
+         *
+         * @return the min requests
+         */
+        public Integer getMinRequests() {
+            return minRequests;
+        }
+    
+        /**
+         * Sets min requests.
+         *
+         * @param minRequests the min requests
+         */
+        public void setMinRequests(final Integer minRequests) {
+            this.minRequests = minRequests;
+        }
+    
+        /**
+         * Gets the interval of the error rate in milliseconds.
+         *
+         * @return the interval
+         */
+        public Integer getInterval() {
+            return interval;
+        }
+    
+        /**
+         * Sets interval.
+         *
+         * @param interval the interval
+         */
+        public void setInterval(final Integer interval) {
+            this.interval = interval;
+        }
+    
+        /**
+         * Gets the latency in milliseconds a call is counted as an error from, 0 disables it.
+         *
+         * @return the latency threshold
+         */
+        public Integer getLatencyThreshold() {
+            return latencyThreshold;
+        }
+    
+        /**
+         * Sets latency threshold.
+         *
+         * @param latencyThreshold the latency threshold
+         */
+        public void setLatencyThreshold(final Integer latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+    
+        /**
+         * Gets the time in milliseconds of the first ejection, doubled for each consecutive ejection.
+         *
+         * @return the base ejection time
+         */
+        public Integer getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+    
+        /**
+         * Sets base ejection time.
+         *
+         * @param baseEjectionTime the base ejection time
+         */
+        public void setBaseEjectionTime(final Integer baseEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+    
+        /**
+         * Gets the max time in milliseconds of an ejection.
+         *
+         * @return the max ejection time
+         */
+        public Integer getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+    
+        /**
+         * Sets max ejection time.
+         *
+         * @param maxEjectionTime the max ejection time
+         */
+        public void setMaxEjectionTime(final Integer maxEjectionTime) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+    
+        /**
+         * Gets the max percent of the upstreams of a selector to eject.
+         *
+         * @return the max ejection percent
+         */
+        public Integer getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+    
+        /**
+         * Sets max ejection percent.
+         *
+         * @param maxEjectionPercent the max ejection percent
+         */
+        public void setMaxEjectionPercent(final Integer maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+    }
+    
+    /**
+     * The local snapshot of the synced config, the gateway loads it on startup before the sync connects to the admin.
+     */
+    public static class Snapshot {
+        
+        private Boolean enabled = false;
+        
+        private String path = System.getProperty("user.home") + "/.shenyu/config.snapshot";
+        
+        private Integer flushInterval = 1000;
+        
+        private Integer reconcileDelay = 30000;
+    
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public Boolean getEnabled() {
+            return enabled;
+        }
+    
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+    
+        /**
+         * Gets the path of the snapshot file.
+         *
+         * @return the path
+         */
+        public String getPath() {
+            return path;
+        }
+    
+        /**
+         * Sets path.
+         *
+         * @param path the path
+         */
+        public void setPath(final String path) {
+            this.path = path;
+        }
+    
+        /**
+         * Gets the interval in milliseconds to write the changed config to the snapshot file.
+         *
+         * @return the flush interval
+         */
+        public Integer getFlushInterval() {
+            return flushInterval;
+        }
+    
+        /**
+         * Sets flush interval.
+         *
+         * @param flushInterval the flush interval
+         */
+        public void setFlushInterval(final Integer flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    
+        /**
+         * Gets the delay in milliseconds from the first synced config to the eviction of the restored config not confirmed by the sync.
+         *
+         * @return the reconcile delay
+         */
+        public Integer getReconcileDelay() {
+            return reconcileDelay;
+        }
+    
+        /**
+         * Sets reconcile delay.
+         *
+         * @param reconcileDelay the reconcile delay
+         */
+        public void setReconcileDelay(final Integer reconcileDelay) {
+            this.reconcileDelay = reconcileDelay;
+        }
+    }
 }
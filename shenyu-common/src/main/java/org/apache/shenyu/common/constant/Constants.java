@@ -107,6 +107,11 @@ public interface Constants {
      */
     String HTTP_RETRY = "httpRetry";
     
+    /**
+     * The constant UPSTREAM_CALL, the call on the selected upstream to record when it completes.
+     */
+    String UPSTREAM_CALL = "upstreamCall";
+    
     /**
      * Original response Content-Type attribute name.
      */
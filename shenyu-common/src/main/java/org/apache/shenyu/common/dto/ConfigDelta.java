@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The changes of a data set since the version of a client, the version is the md5 of the data set the client holds.
+ * If the client is too far behind, the delta is full and carries the whole data set as {@link ConfigData} does.
+ *
+ * @param <T> the type of {@link AppAuthData}、{@link MetaData}、{@link PluginData}、{@link RuleData}、{@link SelectorData}
+ */
+public class ConfigDelta<T> {
+
+    private String baseMd5;
+
+    private String md5;
+
+    private long lastModifyTime;
+
+    private boolean full;
+
+    private List<T> data;
+
+    private List<T> deleted;
+
+    /**
+     * get the md5 of the data set the changes apply to.
+     *
+     * @return baseMd5
+     */
+    public String getBaseMd5() {
+        return baseMd5;
+    }
+
+    /**
+     * set baseMd5.
+     *
+     * @param baseMd5 baseMd5
+     * @return this
+     */
+    public ConfigDelta<T> setBaseMd5(final String baseMd5) {
+        this.baseMd5 = baseMd5;
+        return this;
+    }
+
+    /**
+     * get the md5 of the data set after the changes.
+     *
+     * @return md5
+     */
+    public String getMd5() {
+        return md5;
+    }
+
+    /**
+     * set md5.
+     *
+     * @param md5 md5
+     * @return this
+     */
+    public ConfigDelta<T> setMd5(final String md5) {
+        this.md5 = md5;
+        return this;
+    }
+
+    /**
+     * get lastModifyTime.
+     *
+     * @return lastModifyTime
+     */
+    public long getLastModifyTime() {
+        return lastModifyTime;
+    }
+
+    /**
+     * set lastModifyTime.
+     *
+     * @param lastModifyTime lastModifyTime
+     * @return this
+     */
+    public ConfigDelta<T> setLastModifyTime(final long lastModifyTime) {
+        this.lastModifyTime = lastModifyTime;
+        return this;
+    }
+
+    /**
+     * whether the delta is a full snapshot of the data set.
+     *
+     * @return full
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * set full.
+     *
+     * @param full full
+     * @return this
+     */
+    public ConfigDelta<T> setFull(final boolean full) {
+        this.full = full;
+        return this;
+    }
+
+    /**
+     * get the whole data set if full, otherwise the added or updated data.
+     *
+     * @return data
+     */
+    public List<T> getData() {
+        return data;
+    }
+
+    /**
+     * set data.
+     *
+     * @param data data
+     * @return this
+     */
+    public ConfigDelta<T> setData(final List<T> data) {
+        this.data = data;
+        return this;
+    }
+
+    /**
+     * get the deleted data, as they were before deleted.
+     *
+     * @return deleted
+     */
+    public List<T> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * set deleted.
+     *
+     * @param deleted deleted
+     * @return this
+     */
+    public ConfigDelta<T> setDeleted(final List<T> deleted) {
+        this.deleted = deleted;
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConfigDelta<?> that = (ConfigDelta<?>) o;
+        return lastModifyTime == that.lastModifyTime && full == that.full && Objects.equals(baseMd5, that.baseMd5)
+                && Objects.equals(md5, that.md5) && Objects.equals(data, that.data) && Objects.equals(deleted, that.deleted);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseMd5, md5, lastModifyTime, full, data, deleted);
+    }
+
+    @Override
+    public String toString() {
+        return GsonUtils.getInstance().toJson(this);
+    }
+}
@@ -54,6 +54,16 @@ public class RateLimiterHandle {
      */
     private String keyResolverName;
 
+    /**
+     * the tokens a gateway leases from redis at once, 0 to ask redis on every request.
+     */
+    private double leaseSize;
+
+    /**
+     * the milliseconds the leased tokens are valid for, the longer the less accurate.
+     */
+    private long leaseTtl = 1000L;
+
     /**
      * get algorithmName.
      *
@@ -162,6 +172,42 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get leaseSize.
+     *
+     * @return leaseSize
+     */
+    public double getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * set leaseSize.
+     *
+     * @param leaseSize leaseSize
+     */
+    public void setLeaseSize(final double leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    /**
+     * get leaseTtl.
+     *
+     * @return leaseTtl
+     */
+    public long getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    /**
+     * set leaseTtl.
+     *
+     * @param leaseTtl leaseTtl
+     */
+    public void setLeaseTtl(final long leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -173,12 +219,13 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && Double.compare(that.leaseSize, leaseSize) == 0 && leaseTtl == that.leaseTtl;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, leaseSize, leaseTtl);
     }
 
     @Override
@@ -198,6 +245,10 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", leaseSize="
+                + leaseSize
+                + ", leaseTtl="
+                + leaseTtl
                 + '}';
     }
 }
@@ -35,7 +35,12 @@ public enum LoadBalanceEnum {
     /**
      * Round robin load balance enum.
      */
-    ROUND_ROBIN(3, "roundRobin", true);
+    ROUND_ROBIN(3, "roundRobin", true),
+
+    /**
+     * Power of two choices least loaded balance enum.
+     */
+    P2C(4, "p2c", true);
 
     private final int code;
 
@@ -45,4 +45,11 @@ public final class LoadBalanceEnumTest {
         Assert.assertEquals("roundRobin", LoadBalanceEnum.ROUND_ROBIN.getName());
         Assert.assertTrue(LoadBalanceEnum.ROUND_ROBIN.isSupport());
     }
+
+    @Test
+    public void testP2cLoadBalance() {
+        Assert.assertEquals(4, LoadBalanceEnum.P2C.getCode());
+        Assert.assertEquals("p2c", LoadBalanceEnum.P2C.getName());
+        Assert.assertTrue(LoadBalanceEnum.P2C.isSupport());
+    }
 }
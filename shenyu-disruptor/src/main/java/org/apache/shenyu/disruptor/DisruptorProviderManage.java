@@ -17,18 +17,21 @@
 
 package org.apache.shenyu.disruptor;
 
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.IgnoreExceptionHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
+import org.apache.shenyu.disruptor.consumer.BatchQueueConsumer;
+import org.apache.shenyu.disruptor.consumer.QueueBatchConsumer;
 import org.apache.shenyu.disruptor.consumer.QueueConsumer;
 import org.apache.shenyu.disruptor.consumer.QueueConsumerFactory;
 import org.apache.shenyu.disruptor.event.DataEvent;
 import org.apache.shenyu.disruptor.event.DisruptorEventFactory;
 import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.apache.shenyu.disruptor.strategy.WaitStrategyEnum;
 import org.apache.shenyu.disruptor.thread.DisruptorThreadFactory;
 
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -37,6 +40,8 @@ import java.util.concurrent.TimeUnit;
 /**
  * DisruptorProviderManage.
  * disruptor provider manager.
+ * The events are consumed either by a pool of {@link QueueConsumer} which hand every event to an executor,
+ * or by a {@link QueueBatchConsumer} which gets the events in batches on the disruptor thread.
  *
  * @param <T> the type parameter
  */
@@ -44,6 +49,11 @@ public class DisruptorProviderManage<T> {
 
     public static final Integer DEFAULT_SIZE = 4096 << 1 << 1;
 
+    /**
+     * The default max size of a batch of the {@link QueueBatchConsumer}.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
     private static final Integer DEFAULT_CONSUMER_SIZE = Runtime.getRuntime().availableProcessors() << 1;
 
     private final Integer size;
@@ -53,7 +63,17 @@ public class DisruptorProviderManage<T> {
     private final Integer consumerSize;
 
     private final QueueConsumerFactory<T> consumerFactory;
-    
+
+    private final QueueBatchConsumer<T> batchConsumer;
+
+    private final int maxBatchSize;
+
+    private final WaitStrategyEnum waitStrategy;
+
+    private final ProducerType producerType;
+
+    private final long publishTimeoutMillis;
+
     private final ExecutorService executor;
 
     /**
@@ -87,12 +107,40 @@ public class DisruptorProviderManage<T> {
     public DisruptorProviderManage(final QueueConsumerFactory<T> consumerFactory,
                                    final int consumerSize,
                                    final int ringBufferSize) {
-        this.consumerFactory = consumerFactory;
-        this.size = ringBufferSize;
-        this.consumerSize = consumerSize;
-        this.executor = new ThreadPoolExecutor(consumerSize, consumerSize, 0, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                DisruptorThreadFactory.create("shenyu_disruptor_consumer_", false), new ThreadPoolExecutor.AbortPolicy());
+        this(DisruptorProviderManage.<T>builder()
+                .consumerFactory(consumerFactory)
+                .consumerSize(consumerSize)
+                .ringBufferSize(ringBufferSize));
+    }
+
+    private DisruptorProviderManage(final Builder<T> builder) {
+        this.consumerFactory = builder.consumerFactory;
+        this.batchConsumer = builder.batchConsumer;
+        this.size = builder.ringBufferSize;
+        this.consumerSize = builder.consumerSize;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.waitStrategy = builder.waitStrategy;
+        this.producerType = builder.producerType;
+        this.publishTimeoutMillis = builder.publishTimeoutMillis;
+        if (Objects.isNull(batchConsumer)) {
+            // the queue is bounded by the ring buffer size, when it is full the consumer runs the task itself,
+            // so the ring buffer fills up and the producers are slowed down instead of the queue growing without bound.
+            this.executor = new ThreadPoolExecutor(consumerSize, consumerSize, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(size),
+                    DisruptorThreadFactory.create("shenyu_disruptor_consumer_", false), new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Create a builder of the disruptor provider manage.
+     *
+     * @param <T> the type parameter
+     * @return the builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
     }
 
     /**
@@ -100,20 +148,37 @@ public class DisruptorProviderManage<T> {
      */
     @SuppressWarnings("unchecked")
     public void startup() {
+        String name = Objects.isNull(batchConsumer) ? consumerFactory.fixName() : batchConsumer.fixName();
         Disruptor<DataEvent<T>> disruptor = new Disruptor<>(new DisruptorEventFactory<>(),
                 size,
-                DisruptorThreadFactory.create("shenyu_disruptor_provider_" + consumerFactory.fixName(), false),
-                ProducerType.MULTI,
-                new BlockingWaitStrategy());
-        QueueConsumer<T>[] consumers = new QueueConsumer[consumerSize];
-        for (int i = 0; i < consumerSize; i++) {
-            consumers[i] = new QueueConsumer<>(executor, consumerFactory);
+                DisruptorThreadFactory.create("shenyu_disruptor_provider_" + name, false),
+                producerType,
+                waitStrategy.create());
+        if (Objects.isNull(batchConsumer)) {
+            QueueConsumer<T>[] consumers = new QueueConsumer[consumerSize];
+            for (int i = 0; i < consumerSize; i++) {
+                consumers[i] = new QueueConsumer<>(executor, consumerFactory);
+            }
+            disruptor.handleEventsWithWorkerPool(consumers);
+        } else {
+            disruptor.handleEventsWith(new BatchQueueConsumer<>(batchConsumer, maxBatchSize));
         }
-        disruptor.handleEventsWithWorkerPool(consumers);
         disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
         disruptor.start();
         RingBuffer<DataEvent<T>> ringBuffer = disruptor.getRingBuffer();
-        provider = new DisruptorProvider<>(ringBuffer, disruptor);
+        provider = new DisruptorProvider<>(ringBuffer, disruptor, publishTimeoutMillis);
+    }
+
+    /**
+     * Shutdown the disruptor after the published events are consumed, then the executor of the consumers.
+     */
+    public void shutdown() {
+        if (Objects.nonNull(provider)) {
+            provider.shutdown();
+        }
+        if (Objects.nonNull(executor)) {
+            executor.shutdown();
+        }
     }
 
     /**
@@ -124,4 +189,133 @@ public class DisruptorProviderManage<T> {
     public DisruptorProvider<T> getProvider() {
         return provider;
     }
+
+    /**
+     * The builder of the disruptor provider manage.
+     *
+     * @param <T> the type parameter
+     */
+    public static final class Builder<T> {
+
+        private QueueConsumerFactory<T> consumerFactory;
+
+        private QueueBatchConsumer<T> batchConsumer;
+
+        private int consumerSize = DEFAULT_CONSUMER_SIZE;
+
+        private int ringBufferSize = DEFAULT_SIZE;
+
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+        private WaitStrategyEnum waitStrategy = WaitStrategyEnum.BLOCKING;
+
+        private ProducerType producerType = ProducerType.MULTI;
+
+        private long publishTimeoutMillis = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * The factory of the tasks, every event is handed to an executor as a task.
+         *
+         * @param consumerFactory the consumer factory
+         * @return this builder
+         */
+        public Builder<T> consumerFactory(final QueueConsumerFactory<T> consumerFactory) {
+            this.consumerFactory = consumerFactory;
+            return this;
+        }
+
+        /**
+         * The batch consumer, the events are consumed in batches on the disruptor thread, without the executor.
+         *
+         * @param batchConsumer the batch consumer
+         * @return this builder
+         */
+        public Builder<T> batchConsumer(final QueueBatchConsumer<T> batchConsumer) {
+            this.batchConsumer = batchConsumer;
+            return this;
+        }
+
+        /**
+         * The number of the consumer threads of the consumer factory.
+         *
+         * @param consumerSize the consumer size
+         * @return this builder
+         */
+        public Builder<T> consumerSize(final int consumerSize) {
+            this.consumerSize = consumerSize;
+            return this;
+        }
+
+        /**
+         * The size of the ring buffer, it must be a power of 2.
+         *
+         * @param ringBufferSize the ring buffer size
+         * @return this builder
+         */
+        public Builder<T> ringBufferSize(final int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+            return this;
+        }
+
+        /**
+         * The max size of a batch of the batch consumer.
+         *
+         * @param maxBatchSize the max batch size
+         * @return this builder
+         */
+        public Builder<T> maxBatchSize(final int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * The wait strategy of the consumers.
+         *
+         * @param waitStrategy the wait strategy
+         * @return this builder
+         */
+        public Builder<T> waitStrategy(final WaitStrategyEnum waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * The producer type, {@link ProducerType#SINGLE} only if the data is published by one thread.
+         *
+         * @param producerType the producer type
+         * @return this builder
+         */
+        public Builder<T> producerType(final ProducerType producerType) {
+            this.producerType = producerType;
+            return this;
+        }
+
+        /**
+         * The max time a producer waits for a free slot when the ring buffer is full, then the data is dropped.
+         * It is negative by default, the producer waits until a slot is free.
+         *
+         * @param publishTimeout the publish timeout
+         * @param unit the time unit
+         * @return this builder
+         */
+        public Builder<T> publishTimeout(final long publishTimeout, final TimeUnit unit) {
+            this.publishTimeoutMillis = publishTimeout < 0 ? -1 : unit.toMillis(publishTimeout);
+            return this;
+        }
+
+        /**
+         * Build the disruptor provider manage.
+         *
+         * @return the disruptor provider manage
+         */
+        public DisruptorProviderManage<T> build() {
+            if (Objects.isNull(consumerFactory) == Objects.isNull(batchConsumer)) {
+                throw new IllegalArgumentException("either the consumer factory or the batch consumer is required");
+            }
+            return new DisruptorProviderManage<>(this);
+        }
+    }
 }
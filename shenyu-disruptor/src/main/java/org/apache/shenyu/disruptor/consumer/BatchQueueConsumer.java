@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor.consumer;
+
+import com.lmax.disruptor.EventHandler;
+import org.apache.shenyu.disruptor.event.DataEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Batch queue consumer.
+ * It collects the events until the end of the batch the ring buffer has ready, or until the max batch size,
+ * and hands them to the {@link QueueBatchConsumer} on the disruptor thread.
+ *
+ * @param <T> the type parameter
+ */
+public class BatchQueueConsumer<T> implements EventHandler<DataEvent<T>> {
+
+    private final QueueBatchConsumer<T> consumer;
+
+    private final int maxBatchSize;
+
+    private List<T> batch = new ArrayList<>();
+
+    /**
+     * Instantiates a new Batch queue consumer.
+     *
+     * @param consumer the consumer
+     * @param maxBatchSize the max batch size
+     */
+    public BatchQueueConsumer(final QueueBatchConsumer<T> consumer, final int maxBatchSize) {
+        this.consumer = consumer;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void onEvent(final DataEvent<T> event, final long sequence, final boolean endOfBatch) {
+        T data = event.getData();
+        if (data != null) {
+            batch.add(data);
+            // help gc
+            event.setData(null);
+        }
+        if ((endOfBatch || batch.size() >= maxBatchSize) && !batch.isEmpty()) {
+            // the consumer may keep the list, so it is not reused.
+            List<T> consumed = batch;
+            batch = new ArrayList<>();
+            consumer.consume(consumed);
+        }
+    }
+}
@@ -17,12 +17,15 @@
 
 package org.apache.shenyu.disruptor.provider;
 
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.apache.shenyu.disruptor.event.DataEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
@@ -32,43 +35,78 @@ import java.util.function.Consumer;
  * @param <T> the type parameter
  */
 public class DisruptorProvider<T> {
-    
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     private final RingBuffer<DataEvent<T>> ringBuffer;
-    
+
     private final Disruptor<DataEvent<T>> disruptor;
-    
+
+    private final long publishTimeoutNanos;
+
     /**
      * The Logger.
      */
     private final Logger logger = LoggerFactory.getLogger(DisruptorProvider.class);
-    
+
     /**
-     * Instantiates a new Disruptor provider.
+     * Instantiates a new Disruptor provider, it waits for a free slot as long as the ring buffer is full.
      *
      * @param ringBuffer the ring buffer
      * @param disruptor the disruptor
      */
     public DisruptorProvider(final RingBuffer<DataEvent<T>> ringBuffer, final Disruptor<DataEvent<T>> disruptor) {
+        this(ringBuffer, disruptor, -1);
+    }
+
+    /**
+     * Instantiates a new Disruptor provider.
+     *
+     * @param ringBuffer the ring buffer
+     * @param disruptor the disruptor
+     * @param publishTimeoutMillis the max time to wait for a free slot when the ring buffer is full, negative to wait forever
+     */
+    public DisruptorProvider(final RingBuffer<DataEvent<T>> ringBuffer, final Disruptor<DataEvent<T>> disruptor, final long publishTimeoutMillis) {
         this.ringBuffer = ringBuffer;
         this.disruptor = disruptor;
+        this.publishTimeoutNanos = publishTimeoutMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
     }
-    
+
     /**
      * On data.
      *
      * @param function the function
+     * @return false if the ring buffer stays full for the publish timeout and the data is dropped
      */
-    public void onData(final Consumer<DataEvent<T>> function) {
-        long position = ringBuffer.next();
+    public boolean onData(final Consumer<DataEvent<T>> function) {
+        long position;
+        try {
+            position = next();
+        } catch (InsufficientCapacityException ex) {
+            logger.warn("the ring buffer is full for {}ms, drop the data", TimeUnit.NANOSECONDS.toMillis(publishTimeoutNanos));
+            return false;
+        }
         try {
             DataEvent<T> dataEvent = ringBuffer.get(position);
             function.accept(dataEvent);
-            ringBuffer.publish(position);
         } catch (Exception ex) {
             logger.error("ex", ex);
+        } finally {
+            // the claimed slot must be published, or the consumers stop at it.
+            ringBuffer.publish(position);
         }
+        return true;
     }
-    
+
+    /**
+     * Gets the remaining capacity of the ring buffer.
+     *
+     * @return the remaining capacity
+     */
+    public long remainingCapacity() {
+        return ringBuffer.remainingCapacity();
+    }
+
     /**
      * Shutdown.
      */
@@ -77,4 +115,21 @@ public class DisruptorProvider<T> {
             disruptor.shutdown();
         }
     }
+
+    private long next() throws InsufficientCapacityException {
+        if (publishTimeoutNanos < 0) {
+            return ringBuffer.next();
+        }
+        long deadline = System.nanoTime() + publishTimeoutNanos;
+        while (true) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (InsufficientCapacityException ex) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw ex;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor.strategy;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+import java.util.function.Supplier;
+
+/**
+ * The wait strategies of the consumers.
+ */
+public enum WaitStrategyEnum {
+
+    /**
+     * Waits on a lock, the lowest cpu usage and the highest latency.
+     */
+    BLOCKING(BlockingWaitStrategy::new),
+
+    /**
+     * Spins then yields the thread, low latency at the cost of a busy cpu per consumer.
+     */
+    YIELDING(YieldingWaitStrategy::new),
+
+    /**
+     * Spins all the time, the lowest latency, only when every consumer has its own cpu.
+     */
+    BUSY_SPIN(BusySpinWaitStrategy::new),
+
+    /**
+     * Spins, yields then sleeps, a balance between the cpu usage and the latency.
+     */
+    SLEEPING(SleepingWaitStrategy::new);
+
+    private final Supplier<WaitStrategy> supplier;
+
+    WaitStrategyEnum(final Supplier<WaitStrategy> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Create a new wait strategy, a strategy keeps its state so it is not shared by the disruptors.
+     *
+     * @return the wait strategy
+     */
+    public WaitStrategy create() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor;
+
+import org.apache.shenyu.disruptor.consumer.QueueBatchConsumer;
+import org.apache.shenyu.disruptor.consumer.QueueConsumerExecutor;
+import org.apache.shenyu.disruptor.consumer.QueueConsumerFactory;
+import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.apache.shenyu.disruptor.strategy.WaitStrategyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The throughput of the disruptor for every wait strategy and ring buffer size, with the executor consumers
+ * against the batch consumer. Every invocation publishes a burst of events and waits until all of them are consumed.
+ * Run it with the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisruptorProviderManageBenchmark {
+
+    private static final int EVENTS = 1024;
+
+    private static final int CONSUMER_SIZE = 2;
+
+    @Param({"BLOCKING", "YIELDING", "BUSY_SPIN", "SLEEPING"})
+    private WaitStrategyEnum waitStrategy;
+
+    @Param({"1024", "16384"})
+    private int ringBufferSize;
+
+    @Param({"false", "true"})
+    private boolean batch;
+
+    private final AtomicLong consumed = new AtomicLong();
+
+    private long published;
+
+    private DisruptorProviderManage<Long> manage;
+
+    private DisruptorProvider<Long> provider;
+
+    /**
+     * Start the disruptor.
+     */
+    @Setup
+    public void setUp() {
+        DisruptorProviderManage.Builder<Long> builder = DisruptorProviderManage.<Long>builder()
+                .ringBufferSize(ringBufferSize)
+                .waitStrategy(waitStrategy);
+        if (batch) {
+            builder.batchConsumer(new CountingBatchConsumer());
+        } else {
+            builder.consumerFactory(new CountingConsumerFactory()).consumerSize(CONSUMER_SIZE);
+        }
+        manage = builder.build();
+        manage.startup();
+        provider = manage.getProvider();
+    }
+
+    /**
+     * Shutdown the disruptor.
+     */
+    @TearDown
+    public void tearDown() {
+        manage.shutdown();
+    }
+
+    /**
+     * Publish a burst of events and wait until they are consumed.
+     *
+     * @return the number of the consumed events
+     */
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long publish() {
+        for (int i = 0; i < EVENTS; i++) {
+            long data = ++published;
+            provider.onData(event -> event.setData(data));
+        }
+        while (consumed.get() < published) {
+            Thread.yield();
+        }
+        return consumed.get();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DisruptorProviderManageBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private final class CountingBatchConsumer implements QueueBatchConsumer<Long> {
+
+        @Override
+        public void consume(final List<Long> data) {
+            consumed.addAndGet(data.size());
+        }
+
+        @Override
+        public String fixName() {
+            return "benchmark";
+        }
+    }
+
+    private final class CountingConsumerFactory implements QueueConsumerFactory<Long> {
+
+        @Override
+        public QueueConsumerExecutor<Long> create() {
+            return new QueueConsumerExecutor<Long>() {
+                @Override
+                public void run() {
+                    consumed.incrementAndGet();
+                }
+            };
+        }
+
+        @Override
+        public String fixName() {
+            return "benchmark";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor;
+
+import org.apache.shenyu.disruptor.consumer.QueueBatchConsumer;
+import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.apache.shenyu.disruptor.strategy.WaitStrategyEnum;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for {@link DisruptorProviderManage}.
+ */
+public final class DisruptorProviderManageTest {
+
+    @Test
+    public void testBatchConsumer() throws InterruptedException {
+        List<Integer> consumed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+        DisruptorProviderManage<Integer> manage = DisruptorProviderManage.<Integer>builder()
+                .batchConsumer(new TestBatchConsumer(batch -> {
+                    assertTrue(batch.size() <= 8);
+                    consumed.addAll(batch);
+                    batch.forEach(each -> latch.countDown());
+                }))
+                .ringBufferSize(64)
+                .maxBatchSize(8)
+                .waitStrategy(WaitStrategyEnum.YIELDING)
+                .build();
+        manage.startup();
+        for (int i = 0; i < 100; i++) {
+            int data = i;
+            assertTrue(manage.getProvider().onData(event -> event.setData(data)));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), consumed);
+        manage.shutdown();
+    }
+
+    @Test
+    public void testPublishTimeout() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        DisruptorProviderManage<Integer> manage = DisruptorProviderManage.<Integer>builder()
+                .batchConsumer(new TestBatchConsumer(batch -> {
+                    try {
+                        blocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }))
+                .ringBufferSize(4)
+                .publishTimeout(10, TimeUnit.MILLISECONDS)
+                .build();
+        manage.startup();
+        DisruptorProvider<Integer> provider = manage.getProvider();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(provider.onData(event -> event.setData(0)));
+        }
+        assertFalse(provider.onData(event -> event.setData(0)));
+        blocked.countDown();
+        manage.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithoutConsumer() {
+        DisruptorProviderManage.<Integer>builder().build();
+    }
+
+    private static final class TestBatchConsumer implements QueueBatchConsumer<Integer> {
+
+        private final Consumer<List<Integer>> consumer;
+
+        TestBatchConsumer(final Consumer<List<Integer>> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void consume(final List<Integer> batch) {
+            consumer.accept(batch);
+        }
+
+        @Override
+        public String fixName() {
+            return "test";
+        }
+    }
+}
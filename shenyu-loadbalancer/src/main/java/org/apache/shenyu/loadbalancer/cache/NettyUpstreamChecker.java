@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.ShenyuConfig.UpstreamCheck;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+
+import javax.net.ssl.SSLException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The checker probes the upstreams with non-blocking connects on a netty event loop,
+ * so thousands of probes could be in flight at the same time, each bounded by the check timeout.
+ * The tcp probe passes once connected, the http probe sends a GET request and passes on the expected status.
+ */
+public final class NettyUpstreamChecker implements UpstreamChecker {
+
+    private static final String HTTP_PROBE = "http";
+
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private final EventLoopGroup group;
+
+    private final Bootstrap bootstrap;
+
+    private final int checkTimeout;
+
+    private final boolean httpProbe;
+
+    private final String httpPath;
+
+    private final int httpExpectedStatus;
+
+    private final SslContext sslContext;
+
+    /**
+     * Instantiates a new netty upstream checker.
+     *
+     * @param upstreamCheck the upstream check config
+     */
+    public NettyUpstreamChecker(final UpstreamCheck upstreamCheck) {
+        this.checkTimeout = upstreamCheck.getTimeout();
+        this.httpProbe = HTTP_PROBE.equalsIgnoreCase(upstreamCheck.getProbe());
+        this.httpPath = StringUtils.defaultIfBlank(upstreamCheck.getHttpPath(), "/");
+        this.httpExpectedStatus = upstreamCheck.getHttpExpectedStatus();
+        this.sslContext = httpProbe ? buildSslContext() : null;
+        this.group = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(),
+                ShenyuThreadFactory.create("upstream-health-check-netty", true));
+        this.bootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, checkTimeout)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInboundHandlerAdapter());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> check(final Upstream upstream) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        ProbeAddress address = ProbeAddress.parse(upstream);
+        if (Objects.isNull(address)) {
+            result.complete(false);
+            return result;
+        }
+        ChannelFuture connectFuture = bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(final Channel channel) {
+                if (!httpProbe) {
+                    return;
+                }
+                if (address.isSecure()) {
+                    channel.pipeline().addLast(sslContext.newHandler(channel.alloc(), address.getHost(), address.getPort()));
+                }
+                channel.pipeline().addLast(new HttpClientCodec(), new HttpProbeHandler(result, httpExpectedStatus));
+            }
+        }).connect(address.getHost(), address.getPort());
+        Channel channel = connectFuture.channel();
+        ScheduledFuture<?> timeout = channel.eventLoop().schedule(() -> result.complete(false), checkTimeout, TimeUnit.MILLISECONDS);
+        result.whenComplete((pass, throwable) -> {
+            timeout.cancel(false);
+            channel.close();
+        });
+        connectFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                result.complete(false);
+            } else if (!httpProbe) {
+                result.complete(true);
+            } else {
+                future.channel().writeAndFlush(buildRequest(address)).addListener((ChannelFutureListener) write -> {
+                    if (!write.isSuccess()) {
+                        result.complete(false);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        group.shutdownGracefully();
+    }
+
+    private FullHttpRequest buildRequest(final ProbeAddress address) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, httpPath, Unpooled.EMPTY_BUFFER);
+        request.headers().set(HttpHeaderNames.HOST, address.getHost() + Constants.COLONS + address.getPort())
+                .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE)
+                .set(HttpHeaderNames.CONTENT_LENGTH, 0);
+        return request;
+    }
+
+    /**
+     * The health check only probes the upstreams, their certificates are not verified.
+     */
+    private static SslContext buildSslContext() {
+        try {
+            return SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        } catch (SSLException e) {
+            throw new IllegalStateException("build ssl context of the upstream check failed", e);
+        }
+    }
+
+    /**
+     * The handler completes the probe by the status of the response.
+     */
+    private static final class HttpProbeHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+        private final CompletableFuture<Boolean> result;
+
+        private final int expectedStatus;
+
+        HttpProbeHandler(final CompletableFuture<Boolean> result, final int expectedStatus) {
+            this.result = result;
+            this.expectedStatus = expectedStatus;
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final HttpObject msg) {
+            if (msg instanceof HttpResponse) {
+                result.complete(((HttpResponse) msg).status().code() == expectedStatus);
+            }
+        }
+
+        @Override
+        public void channelInactive(final ChannelHandlerContext ctx) {
+            result.complete(false);
+        }
+
+        @Override
+        public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+            result.complete(false);
+        }
+    }
+
+    /**
+     * The address of an upstream, its url is either {@code host:port} or {@code scheme://host:port/path}.
+     */
+    static final class ProbeAddress {
+
+        private final String host;
+
+        private final int port;
+
+        private final boolean secure;
+
+        private ProbeAddress(final String host, final int port, final boolean secure) {
+            this.host = host;
+            this.port = port;
+            this.secure = secure;
+        }
+
+        /**
+         * Parse the address of the upstream.
+         *
+         * @param upstream the upstream
+         * @return the address, or null if the url is invalid
+         */
+        static ProbeAddress parse(final Upstream upstream) {
+            String url = StringUtils.trimToEmpty(upstream.getUrl());
+            String scheme = StringUtils.defaultString(upstream.getProtocol());
+            int schemeEnd = url.indexOf(SCHEME_SEPARATOR);
+            if (schemeEnd >= 0) {
+                scheme = url.substring(0, schemeEnd);
+                url = url.substring(schemeEnd + SCHEME_SEPARATOR.length());
+            }
+            int pathStart = url.indexOf('/');
+            if (pathStart >= 0) {
+                url = url.substring(0, pathStart);
+            }
+            boolean secure = StringUtils.startsWithAny(scheme.toLowerCase(), "https", "wss");
+            int portStart = url.lastIndexOf(':');
+            String host = portStart >= 0 ? url.substring(0, portStart) : url;
+            if (StringUtils.isBlank(host)) {
+                return null;
+            }
+            if (portStart < 0) {
+                return new ProbeAddress(host, secure ? 443 : 80, secure);
+            }
+            try {
+                return new ProbeAddress(host, Integer.parseInt(url.substring(portStart + 1).trim()), secure);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Gets host.
+         *
+         * @return the host
+         */
+        String getHost() {
+            return host;
+        }
+
+        /**
+         * Gets port.
+         *
+         * @return the port
+         */
+        int getPort() {
+            return port;
+        }
+
+        /**
+         * Is secure.
+         *
+         * @return true if the upstream is over tls
+         */
+        boolean isSecure() {
+            return secure;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.config.ShenyuConfig.OutlierDetection;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The passive outlier detection of the upstreams, fed by the calls the gateway makes on them.
+ * The ejected upstreams are left out of the upstream lists of the selectors, the lists are filtered
+ * only when an upstream is ejected or an ejection ends, otherwise the cached lists are returned as they are.
+ */
+public final class OutlierDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutlierDetector.class);
+
+    private static final OutlierDetector INSTANCE = new OutlierDetector();
+
+    private final Map<String, AvailableUpstreams> availableMap = Maps.newConcurrentMap();
+
+    /**
+     * incremented on every ejection.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final OutlierDetection config;
+
+    private OutlierDetector() {
+        this(Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).map(ShenyuConfig::getOutlierDetection).orElseGet(OutlierDetection::new));
+    }
+
+    /**
+     * Instantiates a new outlier detector.
+     *
+     * @param config the outlier detection config
+     */
+    public OutlierDetector(final OutlierDetection config) {
+        this.config = config;
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static OutlierDetector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a completed call on the upstream.
+     * A failed call, or a call slower than the latency threshold, is counted as an error.
+     *
+     * @param selectorId the selector id
+     * @param upstream the upstream
+     * @param call the completed call
+     */
+    public void record(final String selectorId, final Upstream upstream, final UpstreamLoad.Call call) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return;
+        }
+        boolean failed = call.isFailed()
+                || config.getLatencyThreshold() > 0 && TimeUnit.NANOSECONDS.toMillis(call.getElapsed()) >= config.getLatencyThreshold();
+        long now = System.currentTimeMillis();
+        if (upstream.getOutlier().record(failed, now, config)) {
+            version.incrementAndGet();
+            LOG.info("[Outlier Detection] Selector [{}] upstream {} is ejected for {} ms.", selectorId, upstream.getUrl(),
+                    upstream.getOutlier().getEjectedUntil() - now);
+        }
+    }
+
+    /**
+     * Filter the ejected upstreams out of the upstream list of a selector.
+     *
+     * @param selectorId the selector id
+     * @param upstreamList the upstream list
+     * @return the available upstreams, the list itself if none is ejected
+     */
+    public List<Upstream> filter(final String selectorId, final List<Upstream> upstreamList) {
+        if (!Boolean.TRUE.equals(config.getEnabled()) || CollectionUtils.isEmpty(upstreamList)) {
+            return upstreamList;
+        }
+        AvailableUpstreams available = availableMap.get(selectorId);
+        long currentVersion = version.get();
+        if (Objects.isNull(available) || !available.isCurrent(upstreamList, currentVersion)) {
+            available = new AvailableUpstreams(upstreamList, currentVersion, config.getMaxEjectionPercent());
+            availableMap.put(selectorId, available);
+        }
+        return available.upstreams;
+    }
+
+    /**
+     * Remove the available upstreams of a selector.
+     *
+     * @param selectorId the selector id
+     */
+    public void remove(final String selectorId) {
+        availableMap.remove(selectorId);
+    }
+
+    /**
+     * The available upstreams of a selector, valid until the source list is replaced,
+     * another upstream is ejected or the first ejection ends.
+     */
+    private static final class AvailableUpstreams {
+
+        private final List<Upstream> source;
+
+        private final long version;
+
+        private final List<Upstream> upstreams;
+
+        private final long expiresAt;
+
+        AvailableUpstreams(final List<Upstream> source, final long version, final int maxEjectionPercent) {
+            this.source = source;
+            this.version = version;
+            long now = System.currentTimeMillis();
+            int size = source.size();
+            int maxEjected = size > 1 ? Math.min(size - 1, Math.max(1, size * maxEjectionPercent / 100)) : 0;
+            List<Upstream> available = new ArrayList<>(size);
+            long earliest = Long.MAX_VALUE;
+            int ejected = 0;
+            for (Upstream upstream : source) {
+                if (ejected < maxEjected && upstream.getOutlier().isEjected(now)) {
+                    ejected++;
+                    earliest = Math.min(earliest, upstream.getOutlier().getEjectedUntil());
+                } else {
+                    available.add(upstream);
+                }
+            }
+            this.upstreams = ejected == 0 ? source : available;
+            this.expiresAt = earliest;
+        }
+
+        boolean isCurrent(final List<Upstream> upstreamList, final long currentVersion) {
+            return source == upstreamList && version == currentVersion
+                    && (expiresAt == Long.MAX_VALUE || System.currentTimeMillis() < expiresAt);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.utils.UpstreamCheckUtils;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * The checker connects to the upstreams with blocking sockets on a thread pool.
+ */
+public final class SocketUpstreamChecker implements UpstreamChecker {
+
+    private final ExecutorService executor = new ScheduledThreadPoolExecutor(10, ShenyuThreadFactory.create("upstream-health-check-request", true));
+
+    private final int checkTimeout;
+
+    /**
+     * Instantiates a new socket upstream checker.
+     *
+     * @param checkTimeout the connect timeout in milliseconds
+     */
+    public SocketUpstreamChecker(final int checkTimeout) {
+        this.checkTimeout = checkTimeout;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> check(final Upstream upstream) {
+        return CompletableFuture.supplyAsync(() -> UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout), executor)
+                .exceptionally(throwable -> false);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
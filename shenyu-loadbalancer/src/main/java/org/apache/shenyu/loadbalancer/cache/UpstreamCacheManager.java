@@ -40,6 +40,8 @@ public final class UpstreamCacheManager {
 
     private static final UpstreamCacheManager INSTANCE = new UpstreamCacheManager();
 
+    private static final String NETTY_CHECKER = "netty";
+
     private static final Map<String, List<Upstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
 
     private UpstreamCheckTask task;
@@ -79,7 +81,7 @@ public final class UpstreamCacheManager {
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
         createTask();
-        scheduleHealthCheck();
+        scheduleHealthCheck(upstreamCheck);
     }
 
     private void createTask() {
@@ -89,8 +91,11 @@ public final class UpstreamCacheManager {
         task.setUnhealthyThreshold(unhealthyThreshold);
     }
 
-    private void scheduleHealthCheck() {
+    private void scheduleHealthCheck(final UpstreamCheck upstreamCheck) {
         if (checkEnable) {
+            if (NETTY_CHECKER.equalsIgnoreCase(upstreamCheck.getChecker())) {
+                task.setChecker(new NettyUpstreamChecker(upstreamCheck));
+            }
             task.schedule();
             // executor for log print
             if (printEnable) {
@@ -111,13 +116,13 @@ public final class UpstreamCacheManager {
     }
 
     /**
-     * Find upstream list by selector id list.
+     * Find upstream list by selector id list, the upstreams ejected by the outlier detection are left out.
      *
      * @param selectorId the selector id
      * @return the list
      */
     public List<Upstream> findUpstreamListBySelectorId(final String selectorId) {
-        return task.getHealthyUpstream().get(selectorId);
+        return OutlierDetector.getInstance().filter(selectorId, task.getHealthyUpstream().get(selectorId));
     }
 
     /**
@@ -128,6 +133,7 @@ public final class UpstreamCacheManager {
     public void removeByKey(final String key) {
         UPSTREAM_MAP.remove(key);
         task.triggerRemoveAll(key);
+        OutlierDetector.getInstance().remove(key);
     }
 
     /**
@@ -156,6 +162,7 @@ public final class UpstreamCacheManager {
         } else {
             UPSTREAM_MAP.remove(selectorId);
             task.triggerRemoveAll(selectorId);
+            OutlierDetector.getInstance().remove(selectorId);
         }
     }
 }
@@ -22,7 +22,6 @@ import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +31,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -57,11 +55,9 @@ public final class UpstreamCheckTask implements Runnable {
 
     private final AtomicBoolean checkStarted = new AtomicBoolean(false);
 
-    private final List<CompletableFuture<UpstreamWithSelectorId>> futures = Lists.newArrayList();
-
     private final int checkInterval;
 
-    private ExecutorService executor;
+    private UpstreamChecker checker;
 
     private int checkTimeout = 3000;
 
@@ -90,10 +86,19 @@ public final class UpstreamCheckTask implements Runnable {
         ThreadFactory healthCheckFactory = ShenyuThreadFactory.create("upstream-health-check", true);
         new ScheduledThreadPoolExecutor(1, healthCheckFactory)
                 .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
+        if (Objects.isNull(checker)) {
+            // checker for async request, avoid request block health check thread
+            checker = new SocketUpstreamChecker(checkTimeout);
+        }
+    }
 
-        // executor for async request, avoid request block health check thread
-        ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
-        executor = new ScheduledThreadPoolExecutor(10, requestFactory);
+    /**
+     * Set the checker of the upstreams, the blocking socket checker is used by default.
+     *
+     * @param checker the checker
+     */
+    public void setChecker(final UpstreamChecker checker) {
+        this.checker = checker;
     }
 
     /**
@@ -131,14 +136,11 @@ public final class UpstreamCheckTask implements Runnable {
     private void healthCheck() {
         try {
             /**
-             * If there is no synchronized. when check is done and all upstream check result is in the futures list.
-             * In the same time, triggerRemoveAll() called before waitFinish(), there will be dirty data stay in map.
+             * The lock is not held while the upstreams are checked, the lists are copied on write so the check iterates
+             * over a snapshot, and a result is only published if its upstream is not removed in the meantime.
              */
-            synchronized (lock) {
-                if (tryStartHealthCheck()) {
-                    doHealthCheck();
-                    waitFinish();
-                }
+            if (tryStartHealthCheck()) {
+                waitFinish(doHealthCheck());
             }
         } catch (Exception e) {
             LOG.error("[Health Check] Meet problem: ", e);
@@ -147,24 +149,24 @@ public final class UpstreamCheckTask implements Runnable {
         }
     }
 
-    private void doHealthCheck() {
-        check(healthyUpstream);
-        check(unhealthyUpstream);
+    private List<CompletableFuture<UpstreamWithSelectorId>> doHealthCheck() {
+        List<CompletableFuture<UpstreamWithSelectorId>> futures = Lists.newArrayList();
+        check(healthyUpstream, futures);
+        check(unhealthyUpstream, futures);
+        return futures;
     }
 
-    private void check(final Map<String, List<Upstream>> map) {
+    private void check(final Map<String, List<Upstream>> map, final List<CompletableFuture<UpstreamWithSelectorId>> futures) {
         for (Map.Entry<String, List<Upstream>> entry : map.entrySet()) {
             String key = entry.getKey();
             List<Upstream> value = entry.getValue();
             for (Upstream upstream : value) {
-                CompletableFuture<UpstreamWithSelectorId> future = CompletableFuture.supplyAsync(() -> check(key, upstream), executor);
-                futures.add(future);
+                futures.add(checker.check(upstream).thenApply(pass -> check(key, upstream, pass)));
             }
         }
     }
 
-    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
@@ -199,26 +201,35 @@ public final class UpstreamCheckTask implements Runnable {
         return checkStarted.compareAndSet(false, true);
     }
 
-    private void waitFinish() throws ExecutionException, InterruptedException {
+    private void waitFinish(final List<CompletableFuture<UpstreamWithSelectorId>> futures) throws ExecutionException, InterruptedException {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
         for (CompletableFuture<UpstreamWithSelectorId> future : futures) {
-            UpstreamWithSelectorId entity = future.get();
-            putEntityToMap(entity);
+            putEntityToMap(future.get());
         }
-
-        futures.clear();
     }
 
     private void putEntityToMap(final UpstreamWithSelectorId entity) {
         Upstream upstream = entity.getUpstream();
-        if (upstream.isHealthy()) {
-            putToMap(healthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-        } else {
-            putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+        String selectorId = entity.getSelectorId();
+        synchronized (lock) {
+            if (!contains(healthyUpstream, selectorId, upstream) && !contains(unhealthyUpstream, selectorId, upstream)) {
+                return;
+            }
+            if (upstream.isHealthy()) {
+                putToMap(healthyUpstream, selectorId, upstream);
+                removeFromMap(unhealthyUpstream, selectorId, upstream);
+            } else {
+                putToMap(unhealthyUpstream, selectorId, upstream);
+                removeFromMap(healthyUpstream, selectorId, upstream);
+            }
         }
     }
 
+    private boolean contains(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
+        List<Upstream> list = map.get(selectorId);
+        return Objects.nonNull(list) && list.contains(upstream);
+    }
+
     private void finishHealthCheck() {
         checkStarted.set(false);
     }
@@ -244,11 +255,17 @@ public final class UpstreamCheckTask implements Runnable {
         removeFromMap(unhealthyUpstream, selectorId, upstream);
     }
 
+    /**
+     * The lists are copied on write, so a list once published is never modified,
+     * and the load balancers could cache what they compute from it.
+     */
     private void putToMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
-            List<Upstream> list = map.computeIfAbsent(selectorId, k -> Lists.newArrayList());
-            if (!list.contains(upstream)) {
-                list.add(upstream);
+            List<Upstream> list = map.get(selectorId);
+            if (Objects.isNull(list) || !list.contains(upstream)) {
+                List<Upstream> newList = Objects.isNull(list) ? Lists.newArrayList() : Lists.newArrayList(list);
+                newList.add(upstream);
+                map.put(selectorId, newList);
             }
         }
     }
@@ -256,8 +273,10 @@ public final class UpstreamCheckTask implements Runnable {
     private void removeFromMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
             List<Upstream> list = map.get(selectorId);
-            if (CollectionUtils.isNotEmpty(list)) {
-                list.remove(upstream);
+            if (CollectionUtils.isNotEmpty(list) && list.contains(upstream)) {
+                List<Upstream> newList = Lists.newArrayList(list);
+                newList.remove(upstream);
+                map.put(selectorId, newList);
             }
         }
     }
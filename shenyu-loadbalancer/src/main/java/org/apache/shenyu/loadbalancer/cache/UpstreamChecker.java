@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The checker probes whether an upstream is alive, the result is completed asynchronously.
+ */
+public interface UpstreamChecker {
+
+    /**
+     * Check the upstream.
+     *
+     * @param upstream the upstream
+     * @return the future of whether the check passed, it is never completed exceptionally
+     */
+    CompletableFuture<Boolean> check(Upstream upstream);
+
+    /**
+     * Release the resources of the checker.
+     */
+    default void close() {
+    }
+}
@@ -79,6 +79,16 @@ public final class Upstream {
      */
     private String version;
 
+    /**
+     * the load of the calls on this upstream.
+     */
+    private final transient UpstreamLoad load = new UpstreamLoad();
+
+    /**
+     * the outlier state of this upstream.
+     */
+    private final transient UpstreamOutlier outlier = new UpstreamOutlier();
+
     private Upstream(final Builder builder) {
         this.protocol = builder.protocol;
         this.url = builder.url;
@@ -252,6 +262,24 @@ public final class Upstream {
         this.version = version;
     }
 
+    /**
+     * Gets load.
+     *
+     * @return the load
+     */
+    public UpstreamLoad getLoad() {
+        return load;
+    }
+
+    /**
+     * Gets the outlier state.
+     *
+     * @return the outlier
+     */
+    public UpstreamOutlier getOutlier() {
+        return outlier;
+    }
+
     /**
      * class builder.
      *
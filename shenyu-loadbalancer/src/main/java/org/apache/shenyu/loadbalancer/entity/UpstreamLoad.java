@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The load of an upstream: the calls in flight, and the moving average of their latency.
+ * The average decays with the time passed since its last update, and jumps at once to a higher latency,
+ * so an upstream which slows down is avoided at once and recovers gradually.
+ */
+public final class UpstreamLoad {
+
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double latency;
+
+    private volatile long lastUpdate = System.nanoTime();
+
+    /**
+     * Start a call on the upstream.
+     *
+     * @return the call to complete
+     */
+    public Call start() {
+        inflight.incrementAndGet();
+        return new Call(this, System.nanoTime());
+    }
+
+    /**
+     * Gets the calls in flight.
+     *
+     * @return the inflight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Gets the moving average of the latency, decayed with the time passed since its last update,
+     * so an upstream which is avoided after a slow call is tried again once the call is long past.
+     *
+     * @return the latency in nanoseconds
+     */
+    public double getLatency() {
+        return latency * Math.exp(-Math.max(0, System.nanoTime() - lastUpdate) / DECAY_NANOS);
+    }
+
+    /**
+     * Gets the cost of a new call, the latency weighted by the calls it would wait for.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        return (getLatency() + 1) * (inflight.get() + 1);
+    }
+
+    private long complete(final long startNanos) {
+        inflight.decrementAndGet();
+        long now = System.nanoTime();
+        long sample = now - startNanos;
+        double current = latency;
+        if (sample > current) {
+            latency = sample;
+        } else {
+            double w = Math.exp(-Math.max(0, now - lastUpdate) / DECAY_NANOS);
+            latency = current * w + sample * (1 - w);
+        }
+        lastUpdate = now;
+        return sample;
+    }
+
+    /**
+     * A call on an upstream, completed only once however many times it is completed.
+     */
+    public static final class Call {
+
+        private final UpstreamLoad load;
+
+        private final long startNanos;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private volatile boolean failed;
+
+        private volatile long elapsed;
+
+        private Call(final UpstreamLoad load, final long startNanos) {
+            this.load = load;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Complete the call and record its latency.
+         */
+        public void complete() {
+            complete(false);
+        }
+
+        /**
+         * Complete the call with its outcome and record its latency.
+         *
+         * @param failed whether the call failed
+         */
+        public void complete(final boolean failed) {
+            if (completed.compareAndSet(false, true)) {
+                this.failed = failed;
+                this.elapsed = load.complete(startNanos);
+            }
+        }
+
+        /**
+         * Whether the call failed, valid once completed.
+         *
+         * @return true if failed
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        /**
+         * Gets the time elapsed from the start to the completion of the call.
+         *
+         * @return the elapsed nanoseconds
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+}
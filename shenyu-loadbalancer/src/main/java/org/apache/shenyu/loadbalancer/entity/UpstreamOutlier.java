@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import org.apache.shenyu.common.config.ShenyuConfig.OutlierDetection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The outlier state of an upstream, fed by the outcome of the calls on it.
+ * An upstream is ejected when its consecutive errors, or its error rate of an interval, reach the thresholds,
+ * for a time doubled on every ejection which follows the previous one within the max ejection time.
+ */
+public final class UpstreamOutlier {
+
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private volatile long intervalStart = System.currentTimeMillis();
+
+    private volatile long ejectedUntil;
+
+    private int ejections;
+
+    /**
+     * Record the outcome of a call.
+     *
+     * @param failed whether the call failed
+     * @param now the current time in milliseconds
+     * @param config the outlier detection config
+     * @return true if the upstream is ejected by this call
+     */
+    public boolean record(final boolean failed, final long now, final OutlierDetection config) {
+        if (now < ejectedUntil) {
+            return false;
+        }
+        requests.incrementAndGet();
+        boolean eject = false;
+        if (failed) {
+            errors.incrementAndGet();
+            eject = config.getConsecutiveErrors() > 0 && consecutiveErrors.incrementAndGet() >= config.getConsecutiveErrors();
+        } else {
+            consecutiveErrors.set(0);
+        }
+        if (now - intervalStart >= config.getInterval()) {
+            eject |= rollInterval(now, config);
+        }
+        return eject && eject(now, config);
+    }
+
+    /**
+     * Whether the upstream is ejected.
+     *
+     * @param now the current time in milliseconds
+     * @return true if ejected
+     */
+    public boolean isEjected(final long now) {
+        return now < ejectedUntil;
+    }
+
+    /**
+     * Gets the time the ejection ends at.
+     *
+     * @return the time in milliseconds
+     */
+    public long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    private synchronized boolean rollInterval(final long now, final OutlierDetection config) {
+        if (now - intervalStart < config.getInterval()) {
+            return false;
+        }
+        int requestCount = requests.getAndSet(0);
+        int errorCount = errors.getAndSet(0);
+        intervalStart = now;
+        return config.getErrorRate() > 0 && requestCount >= config.getMinRequests()
+                && (long) errorCount * 100 >= (long) config.getErrorRate() * requestCount;
+    }
+
+    private synchronized boolean eject(final long now, final OutlierDetection config) {
+        if (now < ejectedUntil) {
+            return false;
+        }
+        if (now - ejectedUntil > config.getMaxEjectionTime()) {
+            ejections = 0;
+        }
+        long ejectionTime = (long) config.getBaseEjectionTime() << Math.min(ejections, 30);
+        ejections++;
+        ejectedUntil = now + Math.min(ejectionTime, config.getMaxEjectionTime());
+        consecutiveErrors.set(0);
+        requests.set(0);
+        errors.set(0);
+        intervalStart = ejectedUntil;
+        return true;
+    }
+}
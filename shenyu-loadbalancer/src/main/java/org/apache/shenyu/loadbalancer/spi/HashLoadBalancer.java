@@ -17,50 +17,80 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import com.google.common.collect.MapMaker;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
 
 /**
  * hash algorithm impl.
+ * The hash ring of an upstream list is built once and cached until the list is replaced,
+ * so a selection costs one hash and one binary search.
  */
 @Join
 public class HashLoadBalancer extends AbstractLoadBalancer {
 
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private static final String MURMUR3 = "murmur3";
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+    });
+
+    /**
+     * upstream list -> hash ring, the lists are compared by identity.
+     */
+    private final Map<List<Upstream>, HashRing> rings = new MapMaker().weakKeys().makeMap();
+
+    private final int virtualNodeNum;
+
+    private final ToLongFunction<String> hashFunction;
+
+    /**
+     * Instantiates a new hash load balancer with the load balance config of the gateway.
+     */
+    public HashLoadBalancer() {
+        this(Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).map(ShenyuConfig::getLoadBalance).orElseGet(ShenyuConfig.LoadBalance::new));
+    }
+
+    /**
+     * Instantiates a new hash load balancer.
+     *
+     * @param config the load balance config
+     */
+    public HashLoadBalancer(final ShenyuConfig.LoadBalance config) {
+        this.virtualNodeNum = Math.max(1, Optional.ofNullable(config.getHashVirtualNodes()).orElse(5));
+        this.hashFunction = MURMUR3.equalsIgnoreCase(config.getHashFunction()) ? HashLoadBalancer::murmur3 : HashLoadBalancer::hash;
+    }
 
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
-        upstreamList.stream().forEach(upstream -> {
-            IntStream.range(0, VIRTUAL_NODE_NUM).forEach(i -> {
-                long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i);
-                treeMap.put(addressHash, upstream);
-            });
-        });
-        long hash = hash(ip);
-        SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        HashRing ring = rings.get(upstreamList);
+        if (Objects.isNull(ring) || !ring.isBuiltFrom(upstreamList)) {
+            ring = new HashRing(upstreamList, virtualNodeNum, hashFunction);
+            rings.put(upstreamList, ring);
         }
-        return treeMap.firstEntry().getValue();
+        return ring.select(hashFunction.applyAsLong(ip));
     }
 
     private static long hash(final String key) {
         // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
-        }
+        MessageDigest md5 = MD5.get();
         md5.reset();
         byte[] keyBytes;
         keyBytes = key.getBytes(StandardCharsets.UTF_8);
@@ -73,4 +103,88 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
                 | (digest[0] & 0xFF);
         return hashCode & 0xffffffffL;
     }
+
+    /**
+     * The 32-bits murmur3 hash of the chars of the key, without encoding them.
+     */
+    private static long murmur3(final String key) {
+        int h1 = 0;
+        int length = key.length();
+        for (int i = 1; i < length; i += 2) {
+            int k1 = key.charAt(i - 1) | (key.charAt(i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(key.charAt(length - 1));
+        }
+        h1 ^= length << 1;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1 & 0xffffffffL;
+    }
+
+    private static int mixK1(final int k1) {
+        return Integer.rotateLeft(k1 * 0xcc9e2d51, 15) * 0x1b873593;
+    }
+
+    private static int mixH1(final int h1, final int k1) {
+        return Integer.rotateLeft(h1 ^ k1, 13) * 5 + 0xe6546b64;
+    }
+
+    /**
+     * The consistent hash ring of an upstream list, sorted primitive hashes with the upstreams aligned.
+     * As with a sorted map, an upstream put later wins the hash it collides on.
+     */
+    private static final class HashRing {
+
+        private final int size;
+
+        private final long[] hashes;
+
+        private final Upstream[] upstreams;
+
+        HashRing(final List<Upstream> upstreamList, final int virtualNodeNum, final ToLongFunction<String> hashFunction) {
+            this.size = upstreamList.size();
+            int total = size * virtualNodeNum;
+            long[] nodeHashes = new long[total];
+            Integer[] order = new Integer[total];
+            for (int i = 0; i < size; i++) {
+                String url = upstreamList.get(i).getUrl();
+                for (int j = 0; j < virtualNodeNum; j++) {
+                    int node = i * virtualNodeNum + j;
+                    nodeHashes[node] = hashFunction.applyAsLong("SHENYU-" + url + "-HASH-" + j);
+                    order[node] = node;
+                }
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(node -> nodeHashes[node]).thenComparing(Comparator.reverseOrder()));
+            long[] sortedHashes = new long[total];
+            Upstream[] sortedUpstreams = new Upstream[total];
+            int count = 0;
+            for (Integer node : order) {
+                if (count > 0 && sortedHashes[count - 1] == nodeHashes[node]) {
+                    continue;
+                }
+                sortedHashes[count] = nodeHashes[node];
+                sortedUpstreams[count] = upstreamList.get(node / virtualNodeNum);
+                count++;
+            }
+            this.hashes = Arrays.copyOf(sortedHashes, count);
+            this.upstreams = Arrays.copyOf(sortedUpstreams, count);
+        }
+
+        boolean isBuiltFrom(final List<Upstream> upstreamList) {
+            return size == upstreamList.size();
+        }
+
+        Upstream select(final long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return upstreams[index == hashes.length ? 0 : index];
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices algorithm impl.
+ * Two upstreams are picked at random and the less loaded one is selected, the load is
+ * the moving average of the latency weighted by the calls in flight, divided by the weight.
+ */
+@Join
+public class P2cLoadBalancer extends AbstractLoadBalancer {
+
+    @Override
+    public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = upstreamList.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Upstream one = upstreamList.get(first);
+        Upstream other = upstreamList.get(second);
+        return cost(other) < cost(one) ? other : one;
+    }
+
+    private double cost(final Upstream upstream) {
+        int weight = getWeight(upstream);
+        if (weight <= 0) {
+            return Double.MAX_VALUE;
+        }
+        return upstream.getLoad().getCost() / weight;
+    }
+}
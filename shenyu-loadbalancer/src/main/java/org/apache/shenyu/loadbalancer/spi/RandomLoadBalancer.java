@@ -17,82 +17,135 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import com.google.common.collect.MapMaker;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
-import java.security.SecureRandom;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
 
 /**
  * random algorithm impl.
+ * The weights of an upstream list are compiled once into an alias table and cached until the list is replaced,
+ * so a selection is O(1). While some upstream is still warming up, the table is rebuilt at most once per millisecond.
  */
 @Join
 public class RandomLoadBalancer extends AbstractLoadBalancer {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
+    /**
+     * upstream list -> weight table, the lists are compared by identity.
+     */
+    private final Map<List<Upstream>, WeightTable> tables = new MapMaker().weakKeys().makeMap();
 
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        int totalWeight = calculateTotalWeight(upstreamList);
-        boolean sameWeight = isAllUpStreamSameWeight(upstreamList);
-        if (totalWeight > 0 && !sameWeight) {
-            return random(totalWeight, upstreamList);
+        WeightTable table = tables.get(upstreamList);
+        if (Objects.isNull(table) || !table.isBuiltFrom(upstreamList) || table.isStale()) {
+            table = new WeightTable(upstreamList, this::getWeight);
+            tables.put(upstreamList, table);
         }
-        /**
-         * If the weights are the same or the weights are 0 then random.
-         */
-        return random(upstreamList);
+        return table.select(ThreadLocalRandom.current());
     }
 
-    private boolean isAllUpStreamSameWeight(final List<Upstream> upstreamList) {
-        boolean sameWeight = true;
-        int length = upstreamList.size();
-        for (int i = 0; i < length; i++) {
-            int weight = getWeight(upstreamList.get(i));
-            if (i > 0 && weight != getWeight(upstreamList.get(i - 1))) {
-                /**
-                 * Calculate whether the weight of ownership is the same.
-                 */
-                sameWeight = false;
-                break;
+    /**
+     * The alias table of the weights of an upstream list, built with Vose's method.
+     * If the weights are the same or the weights are 0 then the table is uniform.
+     */
+    private static final class WeightTable {
+
+        private final Upstream[] upstreams;
+
+        private final double[] probabilities;
+
+        private final int[] aliases;
+
+        private final long builtAt;
+
+        private final boolean warming;
+
+        WeightTable(final List<Upstream> upstreamList, final ToIntFunction<Upstream> weightFunction) {
+            final int size = upstreamList.size();
+            this.upstreams = upstreamList.toArray(new Upstream[0]);
+            this.builtAt = System.currentTimeMillis();
+            this.warming = isWarming(upstreams, builtAt);
+            int[] weights = new int[size];
+            long totalWeight = 0;
+            boolean sameWeight = true;
+            for (int i = 0; i < size; i++) {
+                weights[i] = weightFunction.applyAsInt(upstreams[i]);
+                totalWeight += weights[i];
+                if (i > 0 && weights[i] != weights[i - 1]) {
+                    sameWeight = false;
+                }
+            }
+            if (totalWeight <= 0 || sameWeight) {
+                this.probabilities = null;
+                this.aliases = null;
+                return;
+            }
+            this.probabilities = new double[size];
+            this.aliases = new int[size];
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < size; i++) {
+                scaled[i] = (double) weights[i] * size / totalWeight;
+                if (scaled[i] < 1.0) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probabilities[less] = scaled[less];
+                aliases[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1.0;
+                if (scaled[more] < 1.0) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // the rest are 1 up to rounding errors
+            while (largeCount > 0) {
+                probabilities[large[--largeCount]] = 1.0;
+            }
+            while (smallCount > 0) {
+                probabilities[small[--smallCount]] = 1.0;
             }
         }
-        return sameWeight;
-    }
 
-    private int calculateTotalWeight(final List<Upstream> upstreamList) {
-        /**
-         * total weight.
-         */
-        int totalWeight = 0;
-        for (Upstream divideUpstream : upstreamList) {
-            int weight = getWeight(divideUpstream);
-            /**
-             * Cumulative total weight.
-             */
-            totalWeight += weight;
+        boolean isBuiltFrom(final List<Upstream> upstreamList) {
+            return upstreams.length == upstreamList.size();
         }
-        return totalWeight;
-    }
 
-    private Upstream random(final int totalWeight, final List<Upstream> upstreamList) {
-        /**
-         * If the weights are not the same and the weights are greater than 0, then random by the total number of weights.
-         */
-        int offset = RANDOM.nextInt(totalWeight);
-        /**
-         * Determine which segment the random value falls on
-         */
-        for (Upstream divideUpstream : upstreamList) {
-            offset -= getWeight(divideUpstream);
-            if (offset < 0) {
-                return divideUpstream;
+        boolean isStale() {
+            return warming && System.currentTimeMillis() != builtAt;
+        }
+
+        Upstream select(final ThreadLocalRandom random) {
+            int index = random.nextInt(upstreams.length);
+            if (Objects.nonNull(probabilities) && random.nextDouble() >= probabilities[index]) {
+                index = aliases[index];
             }
+            return upstreams[index];
         }
-        return upstreamList.get(0);
-    }
 
-    private Upstream random(final List<Upstream> upstreamList) {
-        return upstreamList.get(RANDOM.nextInt(upstreamList.size()));
+        private static boolean isWarming(final Upstream[] upstreams, final long now) {
+            for (Upstream upstream : upstreams) {
+                if (upstream.isStatus() && upstream.getWeight() > 0 && upstream.getTimestamp() > 0
+                        && now - upstream.getTimestamp() < upstream.getWarmup()) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
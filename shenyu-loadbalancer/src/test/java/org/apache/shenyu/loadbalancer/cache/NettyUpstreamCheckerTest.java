@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.shenyu.common.config.ShenyuConfig.UpstreamCheck;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Netty upstream checker test.
+ */
+public final class NettyUpstreamCheckerTest {
+
+    private HttpServer server;
+
+    private String serverUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders("/health".equals(exchange.getRequestURI().getPath()) ? 200 : 503, -1);
+            exchange.close();
+        });
+        server.start();
+        serverUrl = "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test(timeout = 10000)
+    public void testTcpProbe() throws Exception {
+        NettyUpstreamChecker checker = new NettyUpstreamChecker(buildConfig("tcp", "/"));
+        try {
+            assertTrue(checker.check(Upstream.builder().url(serverUrl).build()).get());
+            assertFalse(checker.check(Upstream.builder().url("127.0.0.1:" + unusedPort()).build()).get());
+            assertFalse(checker.check(Upstream.builder().url("").build()).get());
+        } finally {
+            checker.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testHttpProbe() throws Exception {
+        NettyUpstreamChecker checker = new NettyUpstreamChecker(buildConfig("http", "/health"));
+        try {
+            assertTrue(checker.check(Upstream.builder().protocol("http://").url(serverUrl).build()).get());
+            assertTrue(checker.check(Upstream.builder().url("http://" + serverUrl + "/context").build()).get());
+        } finally {
+            checker.close();
+        }
+        checker = new NettyUpstreamChecker(buildConfig("http", "/other"));
+        try {
+            assertFalse(checker.check(Upstream.builder().url(serverUrl).build()).get());
+        } finally {
+            checker.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testProbeTimeout() throws Exception {
+        try (ServerSocket silent = new ServerSocket(0)) {
+            UpstreamCheck config = buildConfig("http", "/health");
+            config.setTimeout(200);
+            NettyUpstreamChecker checker = new NettyUpstreamChecker(config);
+            try {
+                assertFalse(checker.check(Upstream.builder().url("127.0.0.1:" + silent.getLocalPort()).build()).get());
+            } finally {
+                checker.close();
+            }
+        }
+    }
+
+    @Test
+    public void testParseAddress() {
+        NettyUpstreamChecker.ProbeAddress address = NettyUpstreamChecker.ProbeAddress.parse(Upstream.builder().protocol("https://").url("shenyu.apache.org").build());
+        assertThat(address.getHost(), is("shenyu.apache.org"));
+        assertThat(address.getPort(), is(443));
+        assertTrue(address.isSecure());
+        address = NettyUpstreamChecker.ProbeAddress.parse(Upstream.builder().url("ws://localhost:8080/ws").build());
+        assertThat(address.getHost(), is("localhost"));
+        assertThat(address.getPort(), is(8080));
+        assertFalse(address.isSecure());
+        assertNull(NettyUpstreamChecker.ProbeAddress.parse(Upstream.builder().url("localhost:port").build()));
+    }
+
+    private UpstreamCheck buildConfig(final String probe, final String path) {
+        UpstreamCheck config = new UpstreamCheck();
+        config.setChecker("netty");
+        config.setProbe(probe);
+        config.setHttpPath(path);
+        config.setTimeout(3000);
+        return config;
+    }
+
+    private int unusedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
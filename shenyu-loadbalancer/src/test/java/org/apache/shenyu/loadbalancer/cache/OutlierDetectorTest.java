@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.shenyu.common.config.ShenyuConfig.OutlierDetection;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
+import org.apache.shenyu.loadbalancer.entity.UpstreamOutlier;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Outlier detector test.
+ */
+public final class OutlierDetectorTest {
+
+    private OutlierDetection config;
+
+    private OutlierDetector detector;
+
+    private List<Upstream> upstreamList;
+
+    @Before
+    public void setUp() {
+        config = new OutlierDetection();
+        config.setEnabled(true);
+        config.setConsecutiveErrors(3);
+        detector = new OutlierDetector(config);
+        upstreamList = IntStream.range(0, 4)
+                .mapToObj(i -> Upstream.builder().url("upstream-" + i).build())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testNoneEjected() {
+        record(upstreamList.get(0), true, 2);
+        record(upstreamList.get(0), false, 1);
+        record(upstreamList.get(0), true, 2);
+        assertSame(upstreamList, detector.filter("s1", upstreamList));
+    }
+
+    @Test
+    public void testConsecutiveErrors() {
+        record(upstreamList.get(1), true, 3);
+        List<Upstream> available = detector.filter("s1", upstreamList);
+        assertThat(available.size(), is(3));
+        assertFalse(available.contains(upstreamList.get(1)));
+        assertSame(available, detector.filter("s1", upstreamList));
+    }
+
+    @Test
+    public void testMaxEjectionPercent() {
+        upstreamList.forEach(upstream -> record(upstream, true, 3));
+        assertThat(detector.filter("s1", upstreamList).size(), is(2));
+        config.setMaxEjectionPercent(0);
+        detector.remove("s1");
+        assertThat(detector.filter("s1", upstreamList).size(), is(3));
+    }
+
+    @Test
+    public void testDisabled() {
+        config.setEnabled(false);
+        record(upstreamList.get(1), true, 3);
+        assertSame(upstreamList, detector.filter("s1", upstreamList));
+        assertFalse(upstreamList.get(1).getOutlier().isEjected(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testLatencyThreshold() {
+        config.setLatencyThreshold(1);
+        UpstreamLoad.Call call = upstreamList.get(2).getLoad().start();
+        sleep(5);
+        call.complete();
+        detector.record("s1", upstreamList.get(2), call);
+        record(upstreamList.get(2), false, 0);
+        assertFalse(upstreamList.get(2).getOutlier().isEjected(System.currentTimeMillis()));
+        for (int i = 0; i < 2; i++) {
+            call = upstreamList.get(2).getLoad().start();
+            sleep(5);
+            call.complete();
+            detector.record("s1", upstreamList.get(2), call);
+        }
+        assertTrue(upstreamList.get(2).getOutlier().isEjected(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testErrorRate() {
+        config.setConsecutiveErrors(0);
+        config.setErrorRate(50);
+        config.setMinRequests(4);
+        config.setInterval(1000);
+        UpstreamOutlier outlier = new UpstreamOutlier();
+        long now = System.currentTimeMillis();
+        assertFalse(outlier.record(true, now, config));
+        assertFalse(outlier.record(false, now, config));
+        assertFalse(outlier.record(true, now, config));
+        assertTrue(outlier.record(false, now + 1000, config));
+        assertTrue(outlier.isEjected(now + 1000));
+    }
+
+    @Test
+    public void testEjectionTimeGrows() {
+        config.setBaseEjectionTime(1000);
+        config.setMaxEjectionTime(3000);
+        UpstreamOutlier outlier = new UpstreamOutlier();
+        long now = System.currentTimeMillis();
+        now = eject(outlier, now);
+        assertThat(outlier.getEjectedUntil() - now, is(1000L));
+        now = eject(outlier, outlier.getEjectedUntil());
+        assertThat(outlier.getEjectedUntil() - now, is(2000L));
+        now = eject(outlier, outlier.getEjectedUntil());
+        assertThat(outlier.getEjectedUntil() - now, is(3000L));
+        now = eject(outlier, outlier.getEjectedUntil() + 3001);
+        assertThat(outlier.getEjectedUntil() - now, is(1000L));
+        assertTrue(outlier.isEjected(now));
+        assertFalse(outlier.isEjected(outlier.getEjectedUntil()));
+    }
+
+    private long eject(final UpstreamOutlier outlier, final long now) {
+        assertFalse(outlier.record(true, now, config));
+        assertFalse(outlier.record(true, now, config));
+        assertTrue(outlier.record(true, now, config));
+        return now;
+    }
+
+    private void record(final Upstream upstream, final boolean failed, final int times) {
+        for (int i = 0; i < times; i++) {
+            UpstreamLoad.Call call = upstream.getLoad().start();
+            call.complete(failed);
+            detector.record("s1", upstream, call);
+        }
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
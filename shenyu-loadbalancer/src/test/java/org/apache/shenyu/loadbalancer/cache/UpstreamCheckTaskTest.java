@@ -22,10 +22,15 @@ import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.awaitility.Awaitility;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -129,4 +134,47 @@ public class UpstreamCheckTaskTest {
         healthCheckTask.triggerRemoveAll(selectorId);
         assertFalse(healthCheckTask.getHealthyUpstream().containsKey(selectorId));
     }
+    
+    /**
+     * Test the published lists are copied on write.
+     */
+    @Test
+    public void testCopyOnWrite() {
+        final String selectorId = "s1";
+        Upstream upstream = mock(Upstream.class);
+        healthCheckTask.triggerAddOne(selectorId, upstream);
+        List<Upstream> published = healthCheckTask.getHealthyUpstream().get(selectorId);
+        healthCheckTask.triggerAddOne(selectorId, upstream);
+        assertSame(published, healthCheckTask.getHealthyUpstream().get(selectorId));
+        healthCheckTask.triggerAddOne(selectorId, mock(Upstream.class));
+        assertNotSame(published, healthCheckTask.getHealthyUpstream().get(selectorId));
+        assertThat(published.size(), is(1));
+        healthCheckTask.triggerRemoveOne(selectorId, upstream);
+        assertThat(healthCheckTask.getHealthyUpstream().get(selectorId).size(), is(1));
+        assertThat(published.size(), is(1));
+    }
+
+    /**
+     * Test the result of an upstream removed while it is checked is discarded.
+     */
+    @Test(timeout = 10000)
+    public void testRemovedWhileChecking() throws InterruptedException {
+        final String selectorId = "s1";
+        Upstream upstream = Upstream.builder().url("mock").build();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CountDownLatch checking = new CountDownLatch(1);
+        healthCheckTask.setChecker(checked -> {
+            checking.countDown();
+            return result;
+        });
+        healthCheckTask.triggerAddOne(selectorId, upstream);
+        Thread thread = new Thread(healthCheckTask);
+        thread.start();
+        checking.await();
+        healthCheckTask.triggerRemoveAll(selectorId);
+        result.complete(false);
+        thread.join();
+        assertFalse(healthCheckTask.getHealthyUpstream().containsKey(selectorId));
+        assertFalse(healthCheckTask.getUnhealthyUpstream().containsKey(selectorId));
+    }
 }
@@ -17,16 +17,19 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -130,4 +133,59 @@ public final class HashLoadBalanceTest {
         final Upstream assertUp = lastRing.get(lastRing.firstKey());
         Assert.assertEquals(assertUp.getUrl(), divideUpstream.getUrl());
     }
+
+    @Test
+    public void hashLoadBalanceSameAsSortedMapTest() throws Exception {
+        final List<Upstream> upstreamList = IntStream.range(0, 60)
+                .mapToObj(i -> Upstream.builder().url("upstream-" + i).build())
+                .collect(Collectors.toList());
+        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
+        for (Upstream address : upstreamList) {
+            for (int i = 0; i < 5; i++) {
+                treeMap.put(Long.parseLong(hash.invoke(null, "SHENYU-" + address.getUrl() + "-HASH-" + i).toString()), address);
+            }
+        }
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        for (int i = 0; i < 256; i++) {
+            final String ip = "192.168.0." + i;
+            final Long hashKey = Long.parseLong(hash.invoke(null, ip).toString());
+            final SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hashKey);
+            final Upstream assertUp = lastRing.isEmpty() ? treeMap.firstEntry().getValue() : lastRing.get(lastRing.firstKey());
+            Assert.assertEquals(assertUp.getUrl(), hashLoadBalance.select(upstreamList, ip).getUrl());
+        }
+    }
+
+    @Test
+    public void hashLoadBalanceReplacedListTest() {
+        final String ip = "127.0.0.1";
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        final Upstream upstream = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+        Assert.assertSame(upstream, hashLoadBalance.select(hashLoadBalancesOrdered, ip));
+        final List<Upstream> replaced = new ArrayList<>(hashLoadBalancesOrdered);
+        replaced.remove(upstream);
+        final Upstream other = hashLoadBalance.select(replaced, ip);
+        Assert.assertNotEquals(upstream.getUrl(), other.getUrl());
+        Assert.assertTrue(replaced.contains(other));
+    }
+
+    @Test
+    public void hashLoadBalanceMurmur3Test() {
+        final ShenyuConfig.LoadBalance config = new ShenyuConfig.LoadBalance();
+        config.setHashFunction("murmur3");
+        config.setHashVirtualNodes(160);
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer(config);
+        final List<Upstream> upstreamList = IntStream.range(0, 4)
+                .mapToObj(i -> Upstream.builder().url("upstream-" + i).build())
+                .collect(Collectors.toList());
+        final int[] counts = new int[upstreamList.size()];
+        for (int i = 0; i < 4000; i++) {
+            final String ip = "10." + (i >> 8) + ".0." + (i & 0xff);
+            final Upstream upstream = hashLoadBalance.select(upstreamList, ip);
+            Assert.assertSame(upstream, hashLoadBalance.select(upstreamList, ip));
+            counts[upstreamList.indexOf(upstream)]++;
+        }
+        for (int count : counts) {
+            Assert.assertTrue(count > 500);
+        }
+    }
 }
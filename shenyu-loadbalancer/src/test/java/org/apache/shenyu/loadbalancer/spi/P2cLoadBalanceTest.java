@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
+import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The type p2c balance test.
+ */
+public final class P2cLoadBalanceTest {
+
+    @Test
+    public void p2cLoadBalanceIdleTest() {
+        final List<Upstream> upstreamList = IntStream.range(0, 4)
+                .mapToObj(i -> Upstream.builder().url("upstream-" + i).build())
+                .collect(Collectors.toList());
+        final Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            Upstream upstream = LoadBalancerFactory.selector(upstreamList, "p2c", "");
+            countMap.merge(upstream.getUrl(), 1, Integer::sum);
+        }
+        Assert.assertEquals(4, countMap.size());
+    }
+
+    @Test
+    public void p2cLoadBalanceInflightTest() {
+        final Upstream busy = Upstream.builder().url("busy").build();
+        final Upstream idle = Upstream.builder().url("idle").build();
+        busy.getLoad().start();
+        final P2cLoadBalancer p2cLoadBalancer = new P2cLoadBalancer();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(idle, p2cLoadBalancer.select(Arrays.asList(busy, idle), ""));
+        }
+    }
+
+    @Test
+    public void p2cLoadBalanceLatencyTest() throws InterruptedException {
+        final Upstream slow = Upstream.builder().url("slow").build();
+        final Upstream fast = Upstream.builder().url("fast").build();
+        UpstreamLoad.Call call = slow.getLoad().start();
+        Thread.sleep(10);
+        call.complete();
+        fast.getLoad().start().complete();
+        Assert.assertEquals(0, slow.getLoad().getInflight());
+        Assert.assertTrue(slow.getLoad().getLatency() > fast.getLoad().getLatency());
+        final P2cLoadBalancer p2cLoadBalancer = new P2cLoadBalancer();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(fast, p2cLoadBalancer.select(Arrays.asList(slow, fast), ""));
+        }
+    }
+
+    @Test
+    public void p2cLoadBalanceLatencyDecayTest() throws Exception {
+        final Upstream slow = Upstream.builder().url("slow").build();
+        final Upstream fast = Upstream.builder().url("fast").build();
+        UpstreamLoad.Call call = slow.getLoad().start();
+        Thread.sleep(10);
+        call.complete();
+        fast.getLoad().start().complete();
+        fast.getLoad().start();
+        final P2cLoadBalancer p2cLoadBalancer = new P2cLoadBalancer();
+        Assert.assertSame(fast, p2cLoadBalancer.select(Arrays.asList(slow, fast), ""));
+        // the slow call is long past.
+        Field lastUpdate = UpstreamLoad.class.getDeclaredField("lastUpdate");
+        lastUpdate.setAccessible(true);
+        lastUpdate.setLong(slow.getLoad(), System.nanoTime() - TimeUnit.MINUTES.toNanos(10));
+        Assert.assertTrue(slow.getLoad().getLatency() < 1);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(slow, p2cLoadBalancer.select(Arrays.asList(slow, fast), ""));
+        }
+    }
+
+    @Test
+    public void p2cLoadBalanceDisabledTest() {
+        final Upstream disabled = Upstream.builder().url("disabled").status(false).build();
+        final Upstream enabled = Upstream.builder().url("enabled").build();
+        enabled.getLoad().start();
+        final P2cLoadBalancer p2cLoadBalancer = new P2cLoadBalancer();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(enabled, p2cLoadBalancer.select(Arrays.asList(disabled, enabled), ""));
+        }
+    }
+
+    @Test
+    public void upstreamCallCompletedOnceTest() {
+        final Upstream upstream = Upstream.builder().url("upstream").build();
+        UpstreamLoad.Call call = upstream.getLoad().start();
+        Assert.assertEquals(1, upstream.getLoad().getInflight());
+        call.complete();
+        call.complete();
+        Assert.assertEquals(0, upstream.getLoad().getInflight());
+    }
+}
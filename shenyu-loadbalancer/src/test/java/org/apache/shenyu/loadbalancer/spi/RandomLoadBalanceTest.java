@@ -22,7 +22,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -84,4 +87,39 @@ public class RandomLoadBalanceTest {
         final Upstream upstreamReversed = randomLoadBalancer.select(randomLoadBalancesWeightReversed, "");
         Assert.assertNotNull(upstreamReversed);
     }
+
+    @Test
+    public void randomLoadBalanceWeightDistributionTest() {
+        final RandomLoadBalancer randomLoadBalancer = new RandomLoadBalancer();
+        Map<String, Long> countMap = Stream.generate(() -> randomLoadBalancer.select(randomLoadBalancesWeightDisordered, "").getUrl())
+                .limit(100000)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        Assert.assertEquals(10000, countMap.get("upstream-10"), 1000);
+        Assert.assertEquals(50000, countMap.get("upstream-50"), 1000);
+        Assert.assertEquals(40000, countMap.get("upstream-40"), 1000);
+    }
+
+    @Test
+    public void randomLoadBalanceDisabledUpstreamTest() {
+        final RandomLoadBalancer randomLoadBalancer = new RandomLoadBalancer();
+        List<Upstream> upstreamList = Arrays.asList(
+                Upstream.builder().url("upstream-down").weight(50).status(false).build(),
+                Upstream.builder().url("upstream-up").weight(50).build());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("upstream-up", randomLoadBalancer.select(upstreamList, "").getUrl());
+        }
+    }
+
+    @Test
+    public void randomLoadBalanceWarmupTest() {
+        final RandomLoadBalancer randomLoadBalancer = new RandomLoadBalancer();
+        List<Upstream> upstreamList = Arrays.asList(
+                Upstream.builder().url("upstream-warm").weight(100).warmup(Integer.MAX_VALUE).timestamp(System.currentTimeMillis() - 1).build(),
+                Upstream.builder().url("upstream-ready").weight(100).build());
+        long warmCount = Stream.generate(() -> randomLoadBalancer.select(upstreamList, "").getUrl())
+                .limit(10000)
+                .filter("upstream-warm"::equals)
+                .count();
+        Assert.assertTrue(warmCount < 500);
+    }
 }
@@ -45,6 +45,8 @@ public final class MetricsConfig implements Serializable {
 
     private Properties props;
 
+    private Integer maxSeries;
+
     /**
      * Instantiates a new Metrics config.
      *
@@ -206,6 +208,26 @@ public final class MetricsConfig implements Serializable {
         return this;
     }
 
+    /**
+     * Gets max series, the max label values of a metric, the others are counted as {@code other}.
+     *
+     * @return the max series
+     */
+    public Integer getMaxSeries() {
+        return maxSeries;
+    }
+
+    /**
+     * Sets max series.
+     *
+     * @param maxSeries the max series
+     * @return the max series
+     */
+    public MetricsConfig setMaxSeries(final Integer maxSeries) {
+        this.maxSeries = maxSeries;
+        return this;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -235,6 +257,9 @@ public final class MetricsConfig implements Serializable {
         if (!Objects.equals(jmxConfig, that.jmxConfig)) {
             return false;
         }
+        if (!Objects.equals(maxSeries, that.maxSeries)) {
+            return false;
+        }
         return Objects.equals(props, that.props);
     }
 
@@ -247,6 +272,7 @@ public final class MetricsConfig implements Serializable {
         result = 31 * result + (Objects.nonNull(threadCount) ? threadCount.hashCode() : 0);
         result = 31 * result + (StringUtils.isNotEmpty(jmxConfig) ? jmxConfig.hashCode() : 0);
         result = 31 * result + (Objects.nonNull(props) ? props.hashCode() : 0);
+        result = 31 * result + (Objects.nonNull(maxSeries) ? maxSeries.hashCode() : 0);
         return result;
     }
 
@@ -36,4 +36,24 @@ public final class LabelNames {
      * The constant EXECUTE_LATENCY_NAME.
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
+    
+    /**
+     * The constant ROUTE_REQUEST_TOTAL.
+     */
+    public static final String ROUTE_REQUEST_TOTAL = "shenyu_route_request_total";
+    
+    /**
+     * The constant ROUTE_LATENCY_NAME.
+     */
+    public static final String ROUTE_LATENCY_NAME = "shenyu_route_latency_millis";
+    
+    /**
+     * The constant PLUGIN_LATENCY_NAME.
+     */
+    public static final String PLUGIN_LATENCY_NAME = "shenyu_plugin_latency_micros";
+    
+    /**
+     * The constant PLUGIN_FIRST_SIGNAL_LATENCY_NAME.
+     */
+    public static final String PLUGIN_FIRST_SIGNAL_LATENCY_NAME = "shenyu_plugin_first_signal_latency_micros";
 }
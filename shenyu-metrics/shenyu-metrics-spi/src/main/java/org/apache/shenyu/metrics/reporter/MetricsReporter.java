@@ -30,6 +30,16 @@ import java.util.Optional;
  */
 public final class MetricsReporter {
     
+    /**
+     * The latency buckets in milliseconds.
+     */
+    public static final double[] LATENCY_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    
+    /**
+     * The plugin latency buckets in microseconds.
+     */
+    public static final double[] PLUGIN_LATENCY_BUCKETS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 1000000};
+    
     private static MetricsRegister metricsRegister;
     
     /**
@@ -41,7 +51,12 @@ public final class MetricsReporter {
         MetricsReporter.metricsRegister = metricsRegister;
         MetricsReporter.registerCounter(LabelNames.REQUEST_TOTAL, "shenyu request total count");
         MetricsReporter.registerCounter(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"path", "type"}, "shenyu http request type total count");
-        MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, "the shenyu executor latency millis");
+        MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, null, "the shenyu executor latency millis", LATENCY_BUCKETS);
+        MetricsReporter.registerCounter(LabelNames.ROUTE_REQUEST_TOTAL, new String[]{"plugin", "selector", "rule"}, "shenyu route request total count");
+        MetricsReporter.registerHistogram(LabelNames.ROUTE_LATENCY_NAME, new String[]{"plugin", "selector", "rule"}, "the shenyu route latency millis", LATENCY_BUCKETS);
+        MetricsReporter.registerHistogram(LabelNames.PLUGIN_LATENCY_NAME, new String[]{"plugin"}, "the shenyu plugin latency micros", PLUGIN_LATENCY_BUCKETS);
+        MetricsReporter.registerHistogram(LabelNames.PLUGIN_FIRST_SIGNAL_LATENCY_NAME, new String[]{"plugin"},
+                "the shenyu plugin latency micros before the first downstream signal", PLUGIN_LATENCY_BUCKETS);
     }
     
     /**
@@ -120,6 +135,18 @@ public final class MetricsReporter {
         Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerHistogram(name, labelNames, document));
     }
     
+    /**
+     * Register histogram with buckets.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the upper bounds of the buckets
+     */
+    public static void registerHistogram(final String name, final String[] labelNames, final String document, final double[] buckets) {
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerHistogram(name, labelNames, document, buckets));
+    }
+    
     /**
      * Register histogram.
      *
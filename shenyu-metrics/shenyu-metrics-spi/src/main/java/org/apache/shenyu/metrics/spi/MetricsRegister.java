@@ -52,6 +52,18 @@ public interface MetricsRegister {
      */
     void registerHistogram(String name, String[] labelNames, String document);
     
+    /**
+     * Register histogram with buckets.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the upper bounds of the buckets
+     */
+    default void registerHistogram(String name, String[] labelNames, String document, double[] buckets) {
+        registerHistogram(name, labelNames, document);
+    }
+    
     /**
      * Counter increment by count.
      *
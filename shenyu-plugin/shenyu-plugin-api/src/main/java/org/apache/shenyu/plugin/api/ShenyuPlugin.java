@@ -64,5 +64,16 @@ public interface ShenyuPlugin {
     default boolean skip(ServerWebExchange exchange) {
         return false;
     }
-}
 
+    /**
+     * plugin is execute for the rpc type.
+     * if the skip of this plugin only depends on the rpc type of the shenyu context,
+     * return the result for the rpc type, so that the plugin chain could be computed ahead of the requests.
+     *
+     * @param rpcType the rpc type
+     * @return true if this plugin can not execute, false if it can, default null which means it depends on the request.
+     */
+    default Boolean skipRpcType(String rpcType) {
+        return null;
+    }
+}
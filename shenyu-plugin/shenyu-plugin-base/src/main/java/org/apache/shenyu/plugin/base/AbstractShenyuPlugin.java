@@ -25,13 +25,14 @@ import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.PluginSnapshot;
 import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.apache.shenyu.plugin.base.match.MatchIndexCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -64,18 +65,19 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         String pluginName = named();
-        PluginData pluginData = BaseDataCache.getInstance().obtainPluginData(pluginName);
+        PluginSnapshot snapshot = BaseDataCache.getInstance().obtainPluginSnapshot(pluginName);
+        PluginData pluginData = Objects.isNull(snapshot) ? null : snapshot.getPluginData();
         if (pluginData != null && pluginData.getEnabled()) {
-            final Collection<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
+            final List<SelectorData> selectors = snapshot.getSelectors();
             if (CollectionUtils.isEmpty(selectors)) {
                 return handleSelectorIfNull(pluginName, exchange, chain);
             }
-            SelectorData selectorData = matchSelector(exchange, selectors);
+            SelectorData selectorData = matchSelector(exchange, pluginName, selectors);
             if (Objects.isNull(selectorData)) {
                 return handleSelectorIfNull(pluginName, exchange, chain);
             }
             selectorLog(selectorData, pluginName);
-            List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
+            List<RuleData> rules = snapshot.obtainRules(selectorData.getId());
             if (CollectionUtils.isEmpty(rules)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
             }
@@ -84,7 +86,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
                 //get last
                 rule = rules.get(rules.size() - 1);
             } else {
-                rule = matchRule(exchange, rules);
+                rule = matchRule(exchange, selectorData.getId(), rules);
             }
             if (Objects.isNull(rule)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
@@ -103,10 +105,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return chain.execute(exchange);
     }
 
-    private SelectorData matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        return selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .findFirst().orElse(null);
+    private SelectorData matchSelector(final ServerWebExchange exchange, final String pluginName, final List<SelectorData> selectors) {
+        return MatchIndexCache.getInstance().obtainSelectorIndex(pluginName, selectors)
+                .match(exchange.getRequest().getURI().getPath(), selector -> selector.getEnabled() && filterSelector(selector, exchange));
     }
 
     private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
@@ -119,8 +120,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return true;
     }
 
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        return rules.stream().filter(rule -> filterRule(rule, exchange)).findFirst().orElse(null);
+    private RuleData matchRule(final ServerWebExchange exchange, final String selectorId, final List<RuleData> rules) {
+        return MatchIndexCache.getInstance().obtainRuleIndex(selectorId, rules)
+                .match(exchange.getRequest().getURI().getPath(), rule -> filterRule(rule, exchange));
     }
 
     private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
@@ -113,7 +113,11 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        String rpcType = shenyuContext.getRpcType();
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
         return !Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName())
                 && !Objects.equals(rpcType, RpcTypeEnum.GRPC.getName())
                 && !Objects.equals(rpcType, RpcTypeEnum.TARS.getName())
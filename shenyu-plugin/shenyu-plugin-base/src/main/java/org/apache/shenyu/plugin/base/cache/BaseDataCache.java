@@ -22,15 +22,25 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.predicate.ConditionPredicateCache;
+import org.apache.shenyu.plugin.base.match.MatchIndexCache;
 
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * The type Base data cache.
+ * Besides the maps, every change publishes an immutable {@link PluginSnapshot} of the changed plugin,
+ * so a request reads a plugin, its selectors and their rules with a single volatile read.
  */
 public final class BaseDataCache {
 
@@ -51,6 +61,16 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    /**
+     * pluginName -> PluginSnapshot, replaced as a whole on every change.
+     */
+    private volatile Map<String, PluginSnapshot> pluginSnapshots = Collections.emptyMap();
+
+    /**
+     * increased whenever any plugin data changes.
+     */
+    private volatile long pluginVersion;
+
     private BaseDataCache() {
     }
     
@@ -69,7 +89,10 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void cachePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.put(data.getName(), data));
+        Optional.ofNullable(pluginData).ifPresent(data -> {
+            PLUGIN_MAP.put(data.getName(), data);
+            publishPlugin(data.getName());
+        });
     }
     
     /**
@@ -78,7 +101,10 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void removePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.remove(data.getName()));
+        Optional.ofNullable(pluginData).ifPresent(data -> {
+            PLUGIN_MAP.remove(data.getName());
+            publishPlugin(data.getName());
+        });
     }
     
     /**
@@ -88,6 +114,7 @@ public final class BaseDataCache {
      */
     public void removePluginDataByPluginName(final String pluginName) {
         PLUGIN_MAP.remove(pluginName);
+        publishPlugin(pluginName);
     }
     
     /**
@@ -95,6 +122,7 @@ public final class BaseDataCache {
      */
     public void cleanPluginData() {
         PLUGIN_MAP.clear();
+        publishAll();
     }
     
     /**
@@ -132,8 +160,11 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+            synchronized (SELECTOR_MAP) {
+                SELECTOR_MAP.computeIfPresent(data.getPluginName(), (key, list) -> Collections.unmodifiableList(list.stream()
+                        .filter(e -> !e.getId().equals(data.getId())).collect(Collectors.toList())));
+            }
+            publishSelectors(data.getPluginName());
         });
     }
     
@@ -144,6 +175,8 @@ public final class BaseDataCache {
      */
     public void removeSelectDataByPluginName(final String pluginName) {
         SELECTOR_MAP.remove(pluginName);
+        MatchIndexCache.getInstance().removeSelectorIndex(pluginName);
+        publishSelectors(pluginName);
     }
     
     /**
@@ -151,6 +184,8 @@ public final class BaseDataCache {
      */
     public void cleanSelectorData() {
         SELECTOR_MAP.clear();
+        MatchIndexCache.getInstance().cleanSelectorIndex();
+        publishAll();
     }
     
     /**
@@ -188,8 +223,11 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+            synchronized (RULE_MAP) {
+                RULE_MAP.computeIfPresent(data.getSelectorId(), (key, list) -> Collections.unmodifiableList(list.stream()
+                        .filter(rule -> !rule.getId().equals(data.getId())).collect(Collectors.toList())));
+            }
+            publishRules(data.getSelectorId());
         });
     }
     
@@ -200,6 +238,8 @@ public final class BaseDataCache {
      */
     public void removeRuleDataBySelectorId(final String selectorId) {
         RULE_MAP.remove(selectorId);
+        MatchIndexCache.getInstance().removeRuleIndex(selectorId);
+        publishRules(selectorId);
     }
     
     /**
@@ -207,6 +247,8 @@ public final class BaseDataCache {
      */
     public void cleanRuleData() {
         RULE_MAP.clear();
+        MatchIndexCache.getInstance().cleanRuleIndex();
+        publishAll();
     }
     
     /**
@@ -228,6 +270,25 @@ public final class BaseDataCache {
         return RULE_MAP.get(selectorId);
     }
 
+    /**
+     * Obtain the immutable snapshot of a plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the plugin snapshot, null if there is neither plugin data nor selectors
+     */
+    public PluginSnapshot obtainPluginSnapshot(final String pluginName) {
+        return pluginSnapshots.get(pluginName);
+    }
+
+    /**
+     * Obtain the version of the plugin data, which is increased whenever any plugin data changes.
+     *
+     * @return the plugin version
+     */
+    public long obtainPluginVersion() {
+        return pluginVersion;
+    }
+
     /**
      *  cache rule data.
      *
@@ -235,17 +296,19 @@ public final class BaseDataCache {
      */
     private void ruleAccept(final RuleData data) {
         String selectorId = data.getSelectorId();
+        ConditionPredicateCache.getInstance().compile(data.getConditionDataList());
         synchronized (RULE_MAP) {
             if (RULE_MAP.containsKey(selectorId)) {
                 List<RuleData> existList = RULE_MAP.get(selectorId);
                 final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
                 resultList.add(data);
                 final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-                RULE_MAP.put(selectorId, collect);
+                RULE_MAP.put(selectorId, Collections.unmodifiableList(collect));
             } else {
-                RULE_MAP.put(selectorId, Lists.newArrayList(data));
+                RULE_MAP.put(selectorId, Collections.unmodifiableList(Lists.newArrayList(data)));
             }
         }
+        publishRules(selectorId);
     }
 
     /**
@@ -255,16 +318,84 @@ public final class BaseDataCache {
      */
     private void selectorAccept(final SelectorData data) {
         String key = data.getPluginName();
+        ConditionPredicateCache.getInstance().compile(data.getConditionList());
         synchronized (SELECTOR_MAP) {
             if (SELECTOR_MAP.containsKey(key)) {
                 List<SelectorData> existList = SELECTOR_MAP.get(key);
                 final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
                 resultList.add(data);
                 final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-                SELECTOR_MAP.put(key, collect);
+                SELECTOR_MAP.put(key, Collections.unmodifiableList(collect));
             } else {
-                SELECTOR_MAP.put(key, Lists.newArrayList(data));
+                SELECTOR_MAP.put(key, Collections.unmodifiableList(Lists.newArrayList(data)));
             }
         }
+        publishSelectors(key);
+    }
+
+    /**
+     * publish the snapshot of a plugin whose plugin data has changed.
+     *
+     * @param pluginName the plugin name
+     */
+    private synchronized void publishPlugin(final String pluginName) {
+        pluginVersion++;
+        PluginSnapshot snapshot = pluginSnapshots.get(pluginName);
+        if (Objects.isNull(snapshot)) {
+            publish(pluginName, PluginSnapshot.of(PLUGIN_MAP.get(pluginName), SELECTOR_MAP.get(pluginName), RULE_MAP::get));
+        } else {
+            publish(pluginName, snapshot.withPluginData(PLUGIN_MAP.get(pluginName)));
+        }
+    }
+
+    /**
+     * publish the snapshot of a plugin whose selectors have changed.
+     *
+     * @param pluginName the plugin name
+     */
+    private synchronized void publishSelectors(final String pluginName) {
+        publish(pluginName, PluginSnapshot.of(PLUGIN_MAP.get(pluginName), SELECTOR_MAP.get(pluginName), RULE_MAP::get));
+    }
+
+    /**
+     * publish the snapshot of the plugin holding a selector whose rules have changed.
+     * the rules of a selector not cached yet are picked up when the selector is cached.
+     *
+     * @param selectorId the selector id
+     */
+    private synchronized void publishRules(final String selectorId) {
+        for (Map.Entry<String, PluginSnapshot> entry : pluginSnapshots.entrySet()) {
+            if (entry.getValue().containsSelector(selectorId)) {
+                publish(entry.getKey(), entry.getValue().withRules(selectorId, RULE_MAP.get(selectorId)));
+                return;
+            }
+        }
+    }
+
+    /**
+     * publish the snapshots of all the plugins.
+     */
+    private synchronized void publishAll() {
+        pluginVersion++;
+        Set<String> pluginNames = new HashSet<>(PLUGIN_MAP.keySet());
+        pluginNames.addAll(SELECTOR_MAP.keySet());
+        Map<String, PluginSnapshot> snapshots = new HashMap<>(pluginNames.size() << 1);
+        for (String pluginName : pluginNames) {
+            PluginSnapshot snapshot = PluginSnapshot.of(PLUGIN_MAP.get(pluginName), SELECTOR_MAP.get(pluginName), RULE_MAP::get);
+            if (!snapshot.isEmpty()) {
+                snapshots.put(pluginName, snapshot);
+            }
+        }
+        pluginSnapshots = Collections.unmodifiableMap(snapshots);
+    }
+
+    private void publish(final String pluginName, final PluginSnapshot snapshot) {
+        Map<String, PluginSnapshot> snapshots = new HashMap<>(pluginSnapshots);
+        if (snapshot.isEmpty()) {
+            snapshots.remove(pluginName);
+        } else {
+            snapshots.put(pluginName, snapshot);
+        }
+        pluginSnapshots = Collections.unmodifiableMap(snapshots);
     }
 }
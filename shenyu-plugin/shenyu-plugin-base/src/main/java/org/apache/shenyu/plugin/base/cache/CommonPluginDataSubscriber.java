@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,13 +42,26 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
     
     private final Map<String, PluginDataHandler> handlerMap;
     
+    private final PluginDataSubscriber snapshotSubscriber;
+    
     /**
      * Instantiates a new Common plugin data subscriber.
      *
      * @param pluginDataHandlerList the plugin data handler list
      */
     public CommonPluginDataSubscriber(final List<PluginDataHandler> pluginDataHandlerList) {
+        this(pluginDataHandlerList, null);
+    }
+    
+    /**
+     * Instantiates a new Common plugin data subscriber, which also keeps every change in the config snapshot.
+     *
+     * @param pluginDataHandlerList the plugin data handler list
+     * @param snapshotStore the config snapshot store, null if there is no snapshot
+     */
+    public CommonPluginDataSubscriber(final List<PluginDataHandler> pluginDataHandlerList, final ConfigSnapshotStore snapshotStore) {
         this.handlerMap = pluginDataHandlerList.stream().collect(Collectors.toConcurrentMap(PluginDataHandler::pluginNamed, e -> e));
+        this.snapshotSubscriber = Objects.nonNull(snapshotStore) ? snapshotStore : new PluginDataSubscriber() { };
     }
     
     /**
@@ -71,16 +85,19 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
     @Override
     public void onSubscribe(final PluginData pluginData) {
         subscribeDataHandler(pluginData, DataEventTypeEnum.UPDATE);
+        snapshotSubscriber.onSubscribe(pluginData);
     }
     
     @Override
     public void unSubscribe(final PluginData pluginData) {
         subscribeDataHandler(pluginData, DataEventTypeEnum.DELETE);
+        snapshotSubscriber.unSubscribe(pluginData);
     }
     
     @Override
     public void refreshPluginDataAll() {
         BaseDataCache.getInstance().cleanPluginData();
+        snapshotSubscriber.refreshPluginDataAll();
     }
     
     @Override
@@ -89,21 +106,25 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanPluginDataSelf(pluginDataList);
+        snapshotSubscriber.refreshPluginDataSelf(pluginDataList);
     }
     
     @Override
     public void onSelectorSubscribe(final SelectorData selectorData) {
         subscribeDataHandler(selectorData, DataEventTypeEnum.UPDATE);
+        snapshotSubscriber.onSelectorSubscribe(selectorData);
     }
     
     @Override
     public void unSelectorSubscribe(final SelectorData selectorData) {
         subscribeDataHandler(selectorData, DataEventTypeEnum.DELETE);
+        snapshotSubscriber.unSelectorSubscribe(selectorData);
     }
     
     @Override
     public void refreshSelectorDataAll() {
         BaseDataCache.getInstance().cleanSelectorData();
+        snapshotSubscriber.refreshSelectorDataAll();
     }
     
     @Override
@@ -112,21 +133,25 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanSelectorDataSelf(selectorDataList);
+        snapshotSubscriber.refreshSelectorDataSelf(selectorDataList);
     }
     
     @Override
     public void onRuleSubscribe(final RuleData ruleData) {
         subscribeDataHandler(ruleData, DataEventTypeEnum.UPDATE);
+        snapshotSubscriber.onRuleSubscribe(ruleData);
     }
     
     @Override
     public void unRuleSubscribe(final RuleData ruleData) {
         subscribeDataHandler(ruleData, DataEventTypeEnum.DELETE);
+        snapshotSubscriber.unRuleSubscribe(ruleData);
     }
     
     @Override
     public void refreshRuleDataAll() {
         BaseDataCache.getInstance().cleanRuleData();
+        snapshotSubscriber.refreshRuleDataAll();
     }
     
     @Override
@@ -135,6 +160,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
+        snapshotSubscriber.refreshRuleDataSelf(ruleDataList);
     }
     
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
@@ -0,0 +1,529 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The local snapshot of the synced config.
+ * It subscribes the same changes as the {@link BaseDataCache} and the meta data and auth subscribers,
+ * and writes them to the local disk on an interval once they changed, so a restarted gateway can serve
+ * the last known config before the sync data service connects to the admin, or while the admin is down.
+ * The restored config is provisional: once the sync data service delivers its first config, the restored entries
+ * which it has not confirmed within the reconcile delay are evicted, as they were deleted while the gateway was down.
+ *
+ * <p>The file is a header of the magic, the format, the snapshot version and the saved time,
+ * followed by the gzip compressed sections of the plugins, selectors, rules, meta data and app auths,
+ * every section is the count followed by the length prefixed json of every entry.
+ * It is written to a temporary file and moved over the old one, so a crash never leaves a partial snapshot.</p>
+ */
+public class ConfigSnapshotStore implements PluginDataSubscriber, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigSnapshotStore.class);
+
+    private static final int MAGIC = 0x53594E43;
+
+    private static final int FORMAT = 1;
+
+    private static final long DEFAULT_RECONCILE_DELAY_MILLIS = 30_000;
+
+    private final Path path;
+
+    /**
+     * pluginName -> PluginData.
+     */
+    private final Map<String, PluginData> plugins = new ConcurrentHashMap<>();
+
+    /**
+     * selectorId -> SelectorData.
+     */
+    private final Map<String, SelectorData> selectors = new ConcurrentHashMap<>();
+
+    /**
+     * ruleId -> RuleData.
+     */
+    private final Map<String, RuleData> rules = new ConcurrentHashMap<>();
+
+    /**
+     * path -> MetaData.
+     */
+    private final Map<String, MetaData> metaData = new ConcurrentHashMap<>();
+
+    /**
+     * appKey -> AppAuthData.
+     */
+    private final Map<String, AppAuthData> appAuths = new ConcurrentHashMap<>();
+
+    /**
+     * increased whenever any config changes.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * section -> the keys restored from the snapshot and not confirmed by the sync yet.
+     */
+    private final Map<Map<String, ?>, Set<String>> provisional = new IdentityHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final long reconcileDelayMillis;
+
+    private final AtomicBoolean reconcileScheduled = new AtomicBoolean();
+
+    private volatile long flushedVersion;
+
+    private volatile boolean restoring;
+
+    private PluginDataSubscriber restoredPluginDataSubscriber;
+
+    private List<MetaDataSubscriber> restoredMetaDataSubscribers;
+
+    private List<AuthDataSubscriber> restoredAuthDataSubscribers;
+
+    /**
+     * Instantiates a new Config snapshot store, it loads the snapshot file if there is one.
+     *
+     * @param path the path of the snapshot file
+     * @param flushIntervalMillis the interval to write the changed config to the snapshot file
+     */
+    public ConfigSnapshotStore(final String path, final long flushIntervalMillis) {
+        this(path, flushIntervalMillis, DEFAULT_RECONCILE_DELAY_MILLIS);
+    }
+
+    /**
+     * Instantiates a new Config snapshot store, it loads the snapshot file if there is one.
+     *
+     * @param path the path of the snapshot file
+     * @param flushIntervalMillis the interval to write the changed config to the snapshot file
+     * @param reconcileDelayMillis the time from the first synced config to the eviction of the restored config not confirmed by the sync
+     */
+    public ConfigSnapshotStore(final String path, final long flushIntervalMillis, final long reconcileDelayMillis) {
+        this.path = Paths.get(path);
+        this.reconcileDelayMillis = reconcileDelayMillis;
+        Arrays.asList(plugins, selectors, rules, metaData, appAuths).forEach(section -> provisional.put(section, ConcurrentHashMap.newKeySet()));
+        load();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-config-snapshot", true));
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restore the loaded snapshot to the subscribers, which should be done before the sync data service starts.
+     * The restored entries are evicted through the same subscribers if the sync does not confirm them.
+     *
+     * @param pluginDataSubscriber the plugin data subscriber
+     * @param metaDataSubscribers the meta data subscribers
+     * @param authDataSubscribers the auth data subscribers
+     */
+    public void restore(final PluginDataSubscriber pluginDataSubscriber, final List<MetaDataSubscriber> metaDataSubscribers,
+                        final List<AuthDataSubscriber> authDataSubscribers) {
+        long start = System.currentTimeMillis();
+        this.restoredPluginDataSubscriber = pluginDataSubscriber;
+        this.restoredMetaDataSubscribers = metaDataSubscribers;
+        this.restoredAuthDataSubscribers = authDataSubscribers;
+        provisional.forEach((section, keys) -> keys.addAll(section.keySet()));
+        // the values are copied first, as the subscribers report them back to this store, which is not a confirmation.
+        restoring = true;
+        try {
+            restoreSections(pluginDataSubscriber, metaDataSubscribers, authDataSubscribers);
+        } finally {
+            restoring = false;
+        }
+        LOG.info("restore the config snapshot version {} in {}ms", version.get(), System.currentTimeMillis() - start);
+    }
+
+    private void restoreSections(final PluginDataSubscriber pluginDataSubscriber, final List<MetaDataSubscriber> metaDataSubscribers,
+                                 final List<AuthDataSubscriber> authDataSubscribers) {
+        new ArrayList<>(plugins.values()).forEach(pluginDataSubscriber::onSubscribe);
+        new ArrayList<>(selectors.values()).forEach(pluginDataSubscriber::onSelectorSubscribe);
+        new ArrayList<>(rules.values()).forEach(pluginDataSubscriber::onRuleSubscribe);
+        List<MetaData> metaDataList = new ArrayList<>(metaData.values());
+        metaDataSubscribers.forEach(subscriber -> metaDataList.forEach(subscriber::onSubscribe));
+        List<AppAuthData> appAuthList = new ArrayList<>(appAuths.values());
+        authDataSubscribers.forEach(subscriber -> appAuthList.forEach(subscriber::onSubscribe));
+    }
+
+    /**
+     * Evict the restored entries not confirmed by the sync.
+     */
+    public void reconcile() {
+        if (Objects.isNull(restoredPluginDataSubscriber)) {
+            return;
+        }
+        List<RuleData> staleRules = provisionalValues(rules);
+        List<SelectorData> staleSelectors = provisionalValues(selectors);
+        List<PluginData> stalePlugins = provisionalValues(plugins);
+        List<MetaData> staleMetaData = provisionalValues(metaData);
+        List<AppAuthData> staleAppAuths = provisionalValues(appAuths);
+        provisional.values().forEach(Set::clear);
+        staleRules.forEach(restoredPluginDataSubscriber::unRuleSubscribe);
+        staleSelectors.forEach(restoredPluginDataSubscriber::unSelectorSubscribe);
+        stalePlugins.forEach(restoredPluginDataSubscriber::unSubscribe);
+        restoredMetaDataSubscribers.forEach(subscriber -> staleMetaData.forEach(subscriber::unSubscribe));
+        restoredAuthDataSubscribers.forEach(subscriber -> staleAppAuths.forEach(subscriber::unSubscribe));
+        LOG.info("evict the restored config not confirmed by the sync, plugins: {}, selectors: {}, rules: {}, meta data: {}, app auths: {}",
+                stalePlugins.size(), staleSelectors.size(), staleRules.size(), staleMetaData.size(), staleAppAuths.size());
+    }
+
+    /**
+     * Gets the version of the config, which is increased whenever any config changes.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Gets the meta data subscriber keeping the meta data in this store.
+     *
+     * @return the meta data subscriber
+     */
+    public MetaDataSubscriber metaDataSubscriber() {
+        return new MetaDataSubscriber() {
+
+            @Override
+            public void onSubscribe(final MetaData data) {
+                put(metaData, data, MetaData::getPath);
+            }
+
+            @Override
+            public void unSubscribe(final MetaData data) {
+                remove(metaData, data, MetaData::getPath);
+            }
+
+            @Override
+            public void refresh() {
+                clear(metaData);
+            }
+        };
+    }
+
+    /**
+     * Gets the auth data subscriber keeping the app auths in this store.
+     *
+     * @return the auth data subscriber
+     */
+    public AuthDataSubscriber authDataSubscriber() {
+        return new AuthDataSubscriber() {
+
+            @Override
+            public void onSubscribe(final AppAuthData data) {
+                put(appAuths, data, AppAuthData::getAppKey);
+            }
+
+            @Override
+            public void unSubscribe(final AppAuthData data) {
+                remove(appAuths, data, AppAuthData::getAppKey);
+            }
+
+            @Override
+            public void refresh() {
+                clear(appAuths);
+            }
+        };
+    }
+
+    @Override
+    public void onSubscribe(final PluginData pluginData) {
+        put(plugins, pluginData, PluginData::getName);
+    }
+
+    @Override
+    public void unSubscribe(final PluginData pluginData) {
+        remove(plugins, pluginData, PluginData::getName);
+    }
+
+    @Override
+    public void refreshPluginDataAll() {
+        clear(plugins);
+    }
+
+    @Override
+    public void refreshPluginDataSelf(final List<PluginData> pluginDataList) {
+        removeAll(plugins, pluginDataList, PluginData::getName);
+    }
+
+    @Override
+    public void onSelectorSubscribe(final SelectorData selectorData) {
+        put(selectors, selectorData, SelectorData::getId);
+    }
+
+    @Override
+    public void unSelectorSubscribe(final SelectorData selectorData) {
+        remove(selectors, selectorData, SelectorData::getId);
+    }
+
+    @Override
+    public void refreshSelectorDataAll() {
+        clear(selectors);
+    }
+
+    @Override
+    public void refreshSelectorDataSelf(final List<SelectorData> selectorDataList) {
+        removeAll(selectors, selectorDataList, SelectorData::getId);
+    }
+
+    @Override
+    public void onRuleSubscribe(final RuleData ruleData) {
+        put(rules, ruleData, RuleData::getId);
+    }
+
+    @Override
+    public void unRuleSubscribe(final RuleData ruleData) {
+        remove(rules, ruleData, RuleData::getId);
+    }
+
+    @Override
+    public void refreshRuleDataAll() {
+        clear(rules);
+    }
+
+    @Override
+    public void refreshRuleDataSelf(final List<RuleData> ruleDataList) {
+        removeAll(rules, ruleDataList, RuleData::getId);
+    }
+
+    /**
+     * Write the config to the snapshot file if it has changed since the last write.
+     *
+     * @throws IOException the io exception
+     */
+    public synchronized void flush() throws IOException {
+        long current = version.get();
+        if (current == flushedVersion) {
+            return;
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (Objects.nonNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT);
+            header.writeLong(current);
+            header.writeLong(System.currentTimeMillis());
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            DataOutputStream body = new DataOutputStream(gzip);
+            writeSection(body, plugins.values());
+            writeSection(body, selectors.values());
+            writeSection(body, rules.values());
+            writeSection(body, metaData.values());
+            writeSection(body, appAuths.values());
+            body.flush();
+            gzip.finish();
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        flushedVersion = current;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flushQuietly();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(path)) {
+            LOG.info("there is no config snapshot at {}", path);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            DataInputStream header = new DataInputStream(in);
+            if (header.readInt() != MAGIC || header.readInt() != FORMAT) {
+                LOG.warn("the config snapshot {} is not in a known format, ignore it", path);
+                return;
+            }
+            final long snapshotVersion = header.readLong();
+            final long savedTime = header.readLong();
+            DataInputStream body = new DataInputStream(new GZIPInputStream(in));
+            List<PluginData> pluginList = readSection(body, PluginData.class);
+            List<SelectorData> selectorList = readSection(body, SelectorData.class);
+            List<RuleData> ruleList = readSection(body, RuleData.class);
+            List<MetaData> metaDataList = readSection(body, MetaData.class);
+            List<AppAuthData> appAuthList = readSection(body, AppAuthData.class);
+            // reading to the end verifies the checksum of the gzip trailer.
+            if (body.read() != -1) {
+                LOG.warn("the config snapshot {} has unexpected trailing data, ignore it", path);
+                return;
+            }
+            pluginList.forEach(data -> plugins.put(data.getName(), data));
+            selectorList.forEach(data -> selectors.put(data.getId(), data));
+            ruleList.forEach(data -> rules.put(data.getId(), data));
+            metaDataList.forEach(data -> metaData.put(data.getPath(), data));
+            appAuthList.forEach(data -> appAuths.put(data.getAppKey(), data));
+            version.set(snapshotVersion);
+            flushedVersion = snapshotVersion;
+            LOG.info("load the config snapshot version {} saved {}ms ago in {}ms, plugins: {}, selectors: {}, rules: {}, meta data: {}, app auths: {}",
+                    snapshotVersion, start - savedTime, System.currentTimeMillis() - start, plugins.size(), selectors.size(), rules.size(), metaData.size(), appAuths.size());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("fail to load the config snapshot {}, ignore it", path, e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            LOG.error("fail to write the config snapshot {}", path, e);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOG.error("fail to reconcile the restored config", e);
+        }
+    }
+
+    private <T> List<T> provisionalValues(final Map<String, T> map) {
+        return provisional.get(map).stream().map(map::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * A change from the sync, the first one after the restore starts the reconciliation.
+     */
+    private void synced(final Map<String, ?> map, final String key) {
+        if (restoring || Objects.isNull(restoredPluginDataSubscriber)) {
+            return;
+        }
+        if (Objects.isNull(key)) {
+            provisional.get(map).clear();
+        } else {
+            provisional.get(map).remove(key);
+        }
+        if (reconcileScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::reconcileQuietly, reconcileDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private <T> void put(final Map<String, T> map, final T value, final Function<T, String> keyMapper) {
+        if (Objects.isNull(value) || Objects.isNull(keyMapper.apply(value))) {
+            return;
+        }
+        synced(map, keyMapper.apply(value));
+        if (!Objects.equals(map.put(keyMapper.apply(value), value), value)) {
+            version.incrementAndGet();
+        }
+    }
+
+    private <T> void remove(final Map<String, T> map, final T value, final Function<T, String> keyMapper) {
+        if (Objects.isNull(value) || Objects.isNull(keyMapper.apply(value))) {
+            return;
+        }
+        synced(map, keyMapper.apply(value));
+        if (Objects.nonNull(map.remove(keyMapper.apply(value)))) {
+            version.incrementAndGet();
+        }
+    }
+
+    private <T> void removeAll(final Map<String, T> map, final List<T> values, final Function<T, String> keyMapper) {
+        if (CollectionUtils.isEmpty(values)) {
+            return;
+        }
+        values.forEach(value -> remove(map, value, keyMapper));
+    }
+
+    private <T> void clear(final Map<String, T> map) {
+        synced(map, null);
+        if (!map.isEmpty()) {
+            map.clear();
+            version.incrementAndGet();
+        }
+    }
+
+    private static void writeSection(final DataOutputStream out, final Collection<?> values) throws IOException {
+        List<?> entries = new ArrayList<>(values);
+        out.writeInt(entries.size());
+        for (Object entry : entries) {
+            byte[] bytes = GsonUtils.getInstance().toJson(entry).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static <T> List<T> readSection(final DataInputStream in, final Class<T> type) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("negative section size: " + size);
+        }
+        List<T> entries = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("negative entry length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            entries.add(GsonUtils.getInstance().fromJson(new String(bytes, StandardCharsets.UTF_8), type));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The immutable snapshot of a plugin: plugin -> sorted selectors -> sorted rules of each selector.
+ * A change builds a new snapshot which shares everything it does not change with the previous one.
+ */
+public final class PluginSnapshot {
+
+    private final PluginData pluginData;
+
+    private final List<SelectorData> selectors;
+
+    /**
+     * selectorId -> ordinal of the selector.
+     */
+    private final Map<String, Integer> ordinals;
+
+    /**
+     * ordinal of the selector -> rules.
+     */
+    private final List<RuleData>[] rules;
+
+    private PluginSnapshot(final PluginData pluginData, final List<SelectorData> selectors,
+                           final Map<String, Integer> ordinals, final List<RuleData>[] rules) {
+        this.pluginData = pluginData;
+        this.selectors = selectors;
+        this.ordinals = ordinals;
+        this.rules = rules;
+    }
+
+    /**
+     * Build the snapshot of a plugin, the lists are shared so they must never be modified.
+     *
+     * @param pluginData the plugin data
+     * @param selectors the sorted selectors
+     * @param ruleLoader load the sorted rules of a selector id
+     * @return the plugin snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static PluginSnapshot of(final PluginData pluginData, final List<SelectorData> selectors, final Function<String, List<RuleData>> ruleLoader) {
+        if (Objects.isNull(selectors)) {
+            return new PluginSnapshot(pluginData, null, Collections.emptyMap(), new List[0]);
+        }
+        Map<String, Integer> ordinals = new HashMap<>(selectors.size() << 1);
+        List<RuleData>[] rules = new List[selectors.size()];
+        for (int ordinal = 0; ordinal < selectors.size(); ordinal++) {
+            String selectorId = selectors.get(ordinal).getId();
+            ordinals.put(selectorId, ordinal);
+            rules[ordinal] = ruleLoader.apply(selectorId);
+        }
+        return new PluginSnapshot(pluginData, selectors, ordinals, rules);
+    }
+
+    /**
+     * Copy this snapshot with another plugin data.
+     *
+     * @param pluginData the plugin data
+     * @return the plugin snapshot
+     */
+    public PluginSnapshot withPluginData(final PluginData pluginData) {
+        return new PluginSnapshot(pluginData, selectors, ordinals, rules);
+    }
+
+    /**
+     * Copy this snapshot with other rules of a selector.
+     *
+     * @param selectorId the selector id
+     * @param ruleDataList the sorted rules
+     * @return the plugin snapshot, or this one if the selector is not in it
+     */
+    public PluginSnapshot withRules(final String selectorId, final List<RuleData> ruleDataList) {
+        Integer ordinal = ordinals.get(selectorId);
+        if (Objects.isNull(ordinal)) {
+            return this;
+        }
+        List<RuleData>[] copied = Arrays.copyOf(rules, rules.length);
+        copied[ordinal] = ruleDataList;
+        return new PluginSnapshot(pluginData, selectors, ordinals, copied);
+    }
+
+    /**
+     * Whether the selector is in this snapshot.
+     *
+     * @param selectorId the selector id
+     * @return true if the selector is in it
+     */
+    public boolean containsSelector(final String selectorId) {
+        return ordinals.containsKey(selectorId);
+    }
+
+    /**
+     * Whether this snapshot holds neither plugin data nor selectors.
+     *
+     * @return true if it is empty
+     */
+    public boolean isEmpty() {
+        return Objects.isNull(pluginData) && Objects.isNull(selectors);
+    }
+
+    /**
+     * Gets plugin data.
+     *
+     * @return the plugin data
+     */
+    public PluginData getPluginData() {
+        return pluginData;
+    }
+
+    /**
+     * Gets the sorted selectors.
+     *
+     * @return the selectors
+     */
+    public List<SelectorData> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Obtain the sorted rules of a selector.
+     *
+     * @param selectorId the selector id
+     * @return the rules
+     */
+    public List<RuleData> obtainRules(final String selectorId) {
+        Integer ordinal = ordinals.get(selectorId);
+        return Objects.isNull(ordinal) ? null : rules[ordinal];
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.function.Predicate;
+
+/**
+ * The compiled form of a {@link org.apache.shenyu.common.dto.ConditionData}.
+ * The parameter data and the judge are resolved once, so a request only builds the real data and tests it.
+ */
+public final class ConditionPredicate {
+
+    private final ParameterData parameterData;
+
+    private final String paramName;
+
+    private final Predicate<String> judge;
+
+    /**
+     * Instantiates a new Condition predicate.
+     *
+     * @param parameterData the parameter data of the param type
+     * @param paramName the param name
+     * @param judge the compiled judge of the real data
+     */
+    public ConditionPredicate(final ParameterData parameterData, final String paramName, final Predicate<String> judge) {
+        this.parameterData = parameterData;
+        this.paramName = paramName;
+        this.judge = judge;
+    }
+
+    /**
+     * Test the condition against the exchange.
+     *
+     * @param exchange the exchange
+     * @return true is match, false is not match
+     */
+    public boolean test(final ServerWebExchange exchange) {
+        String realData = parameterData.builder(paramName, exchange);
+        if (StringUtils.isBlank(realData)) {
+            return false;
+        }
+        return judge.test(realData);
+    }
+}
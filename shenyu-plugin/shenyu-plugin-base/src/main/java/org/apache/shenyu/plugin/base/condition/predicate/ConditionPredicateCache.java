@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.predicate;
+
+import com.google.common.collect.MapMaker;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The compiled condition predicate cache.
+ * Conditions are compiled when their selector or rule is cached, and the predicates are keyed by
+ * the identity of the condition data, so they are released together with the replaced data.
+ */
+public final class ConditionPredicateCache {
+
+    private static final ConditionPredicateCache INSTANCE = new ConditionPredicateCache();
+
+    /**
+     * conditionData -> predicate.
+     */
+    private final ConcurrentMap<ConditionData, ConditionPredicate> predicateMap = new MapMaker().weakKeys().makeMap();
+
+    private ConditionPredicateCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static ConditionPredicateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compile and cache the conditions.
+     *
+     * @param conditionDataList the condition data list
+     */
+    public void compile(final List<ConditionData> conditionDataList) {
+        if (CollectionUtils.isEmpty(conditionDataList)) {
+            return;
+        }
+        conditionDataList.stream().filter(Objects::nonNull).forEach(conditionData -> predicateMap.put(conditionData, ConditionPredicateFactory.compile(conditionData)));
+    }
+
+    /**
+     * Obtain the predicate of the condition, compile it if absent.
+     *
+     * @param conditionData the condition data
+     * @return the condition predicate
+     */
+    public ConditionPredicate obtain(final ConditionData conditionData) {
+        ConditionPredicate predicate = predicateMap.get(conditionData);
+        if (Objects.isNull(predicate)) {
+            predicate = ConditionPredicateFactory.compile(conditionData);
+            predicateMap.put(conditionData, predicate);
+        }
+        return predicate;
+    }
+}
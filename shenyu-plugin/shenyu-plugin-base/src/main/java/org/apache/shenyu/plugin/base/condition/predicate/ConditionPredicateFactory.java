@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.common.utils.DateUtils;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compile a {@link ConditionData} into a {@link ConditionPredicate}.
+ * The built-in operators keep the semantics of their {@link PredicateJudge}, but regex patterns,
+ * SpEL expressions, groovy scripts, path patterns and times are parsed once here instead of on every request.
+ * Other operators are delegated to their {@link PredicateJudge}.
+ */
+public final class ConditionPredicateFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConditionPredicateFactory.class);
+
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+    private static final int EXPRESSION_CACHE_SIZE = 256;
+
+    private ConditionPredicateFactory() {
+    }
+
+    /**
+     * Compile the condition data.
+     *
+     * @param conditionData the condition data
+     * @return the condition predicate
+     */
+    public static ConditionPredicate compile(final ConditionData conditionData) {
+        try {
+            ParameterData parameterData = ParameterDataFactory.newInstance(conditionData.getParamType());
+            return new ConditionPredicate(parameterData, conditionData.getParamName(), compileJudge(conditionData));
+        } catch (Exception e) {
+            LOG.warn("compile condition {} failed, fall back to judge it on every request", conditionData, e);
+            return interpret(conditionData);
+        }
+    }
+
+    private static ConditionPredicate interpret(final ConditionData conditionData) {
+        ParameterData parameterData = new ParameterData() {
+            @Override
+            public String builder(final String paramName, final ServerWebExchange exchange) {
+                return ParameterDataFactory.builderData(conditionData.getParamType(), paramName, exchange);
+            }
+        };
+        return new ConditionPredicate(parameterData, conditionData.getParamName(), realData -> PredicateJudgeFactory.judge(conditionData, realData));
+    }
+
+    private static Predicate<String> compileJudge(final ConditionData conditionData) {
+        String operator = conditionData.getOperator();
+        String paramValue = conditionData.getParamValue();
+        if (Objects.equals(OperatorEnum.MATCH.getAlias(), operator)) {
+            return compileMatch(conditionData.getParamType(), paramValue.trim());
+        }
+        if (Objects.equals(OperatorEnum.EQ.getAlias(), operator)) {
+            String value = paramValue.trim();
+            return realData -> Objects.equals(realData, value);
+        }
+        if (Objects.equals(OperatorEnum.EXCLUDE.getAlias(), operator)) {
+            String value = paramValue.trim();
+            return realData -> !Objects.equals(realData, value);
+        }
+        if (Objects.equals(OperatorEnum.CONTAINS.getAlias(), operator)) {
+            String value = paramValue.trim();
+            return realData -> realData.contains(value);
+        }
+        if (Objects.equals(OperatorEnum.REGEX.getAlias(), operator)) {
+            Pattern pattern = Pattern.compile(paramValue);
+            return realData -> pattern.matcher(realData).matches();
+        }
+        if (Objects.equals(OperatorEnum.SPEL.getAlias(), operator)) {
+            return compileSpEL(conditionData.getParamName(), paramValue);
+        }
+        if (Objects.equals(OperatorEnum.GROOVY.getAlias(), operator)) {
+            return compileGroovy(conditionData.getParamName(), paramValue);
+        }
+        if (Objects.equals(OperatorEnum.TIME_BEFORE.getAlias(), operator)) {
+            LocalDateTime time = DateUtils.parseLocalDateTime(paramValue);
+            if (StringUtils.isEmpty(conditionData.getParamName())) {
+                return realData -> LocalDateTime.now().isBefore(time);
+            }
+            return realData -> DateUtils.parseLocalDateTime(realData).isBefore(time);
+        }
+        if (Objects.equals(OperatorEnum.TIME_AFTER.getAlias(), operator)) {
+            LocalDateTime time = DateUtils.parseLocalDateTime(paramValue);
+            if (Objects.isNull(conditionData.getParamName())) {
+                return realData -> LocalDateTime.now().isAfter(time);
+            }
+            return realData -> DateUtils.parseLocalDateTime(realData).isAfter(time);
+        }
+        PredicateJudge judge = PredicateJudgeFactory.newInstance(operator);
+        return realData -> judge.judge(conditionData, realData);
+    }
+
+    /**
+     * Same as {@link org.apache.shenyu.common.utils.PathMatchUtils#match}, the patterns are split once
+     * and tokenized once by a matcher owned by the predicate.
+     */
+    private static Predicate<String> compileMatch(final String paramType, final String value) {
+        if (!Objects.equals(ParamTypeEnum.URI.getName(), paramType)) {
+            return realData -> realData.contains(value);
+        }
+        String[] patterns = StringUtils.tokenizeToStringArray(value, ",");
+        AntPathMatcher matcher = new AntPathMatcher();
+        matcher.setCachePatterns(true);
+        return realData -> {
+            for (String pattern : patterns) {
+                if (matcher.match(pattern, realData)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * The real data is substituted into the expression text, so an expression without the param
+     * is parsed once, otherwise the parsed expressions are cached by the real data.
+     */
+    private static Predicate<String> compileSpEL(final String paramName, final String paramValue) {
+        String placeholder = '#' + paramName;
+        if (!paramValue.contains(placeholder)) {
+            Expression expression = EXPRESSION_PARSER.parseExpression(paramValue);
+            return realData -> expression.getValue(Boolean.class);
+        }
+        Cache<String, Expression> expressions = CacheBuilder.newBuilder().maximumSize(EXPRESSION_CACHE_SIZE).build();
+        return realData -> {
+            try {
+                return expressions.get(realData, () -> EXPRESSION_PARSER.parseExpression(paramValue.replace(placeholder, realData))).getValue(Boolean.class);
+            } catch (ExecutionException e) {
+                throw new ShenyuException(e.getCause());
+            }
+        };
+    }
+
+    /**
+     * Same as {@link groovy.util.Eval#me(String, Object, String)}, the script class is compiled once
+     * and a new script instance is bound for every evaluation.
+     */
+    private static Predicate<String> compileGroovy(final String paramName, final String paramValue) {
+        Class<? extends Script> scriptClass = new GroovyShell().parse(paramValue).getClass();
+        return realData -> {
+            Binding binding = new Binding();
+            binding.setVariable(paramName, realData);
+            return (Boolean) InvokerHelper.createScript(scriptClass, binding).run();
+        };
+    }
+}
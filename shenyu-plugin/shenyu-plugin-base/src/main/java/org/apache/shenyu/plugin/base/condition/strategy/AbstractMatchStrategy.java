@@ -23,7 +23,10 @@ import org.springframework.web.server.ServerWebExchange;
 
 /**
  * AbstractMatchStrategy.
+ *
+ * @deprecated the built-in strategies test the cached {@link org.apache.shenyu.plugin.base.condition.predicate.ConditionPredicate} of the conditions instead
  */
+@Deprecated
 public abstract class AbstractMatchStrategy {
 
     /**
@@ -18,7 +18,7 @@
 package org.apache.shenyu.plugin.base.condition.strategy;
 
 import org.apache.shenyu.common.dto.ConditionData;
-import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.apache.shenyu.plugin.base.condition.predicate.ConditionPredicateCache;
 import org.apache.shenyu.spi.Join;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -28,12 +28,12 @@ import java.util.List;
  * This is or match strategy.
  */
 @Join
-public class OrMatchStrategy extends AbstractMatchStrategy implements MatchStrategy {
+public class OrMatchStrategy implements MatchStrategy {
 
     @Override
     public Boolean match(final List<ConditionData> conditionDataList, final ServerWebExchange exchange) {
         return conditionDataList
                 .stream()
-                .anyMatch(condition -> PredicateJudgeFactory.judge(condition, buildRealData(condition, exchange)));
+                .anyMatch(condition -> ConditionPredicateCache.getInstance().obtain(condition).test(exchange));
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The compiled match index of the selectors of a plugin, or of the rules of a selector.
+ * The entries are narrowed by the request path through a {@link UriRadixTree} built from
+ * their {@code uri} conditions, then the candidates are filtered in their original order,
+ * so the first match is the same as a linear scan of the source list.
+ *
+ * @param <T> the type of {@link SelectorData} or {@link RuleData}
+ */
+public final class MatchIndex<T> {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String PATTERN_SEPARATOR = ",";
+
+    private final List<T> source;
+
+    private final List<T> elements;
+
+    private final UriRadixTree tree = new UriRadixTree();
+
+    private final BitSet unindexed = new BitSet();
+
+    private boolean indexed;
+
+    private MatchIndex(final List<T> source) {
+        this.source = source;
+        this.elements = Objects.isNull(source) ? Collections.emptyList() : new ArrayList<>(source);
+    }
+
+    /**
+     * Compile the selectors of a plugin.
+     *
+     * @param selectors the selectors sorted as they are cached
+     * @return the match index
+     */
+    public static MatchIndex<SelectorData> ofSelectors(final List<SelectorData> selectors) {
+        MatchIndex<SelectorData> index = new MatchIndex<>(selectors);
+        for (int ordinal = 0; ordinal < index.elements.size(); ordinal++) {
+            SelectorData selector = index.elements.get(ordinal);
+            if (!Boolean.TRUE.equals(selector.getEnabled())) {
+                continue;
+            }
+            if (Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode())) {
+                if (CollectionUtils.isNotEmpty(selector.getConditionList())) {
+                    index.register(ordinal, selector.getMatchMode(), selector.getConditionList());
+                }
+            } else {
+                index.unindexed.set(ordinal);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Compile the rules of a selector.
+     *
+     * @param rules the rules sorted as they are cached
+     * @return the match index
+     */
+    public static MatchIndex<RuleData> ofRules(final List<RuleData> rules) {
+        MatchIndex<RuleData> index = new MatchIndex<>(rules);
+        for (int ordinal = 0; ordinal < index.elements.size(); ordinal++) {
+            RuleData rule = index.elements.get(ordinal);
+            if (Boolean.TRUE.equals(rule.getEnabled())) {
+                index.register(ordinal, rule.getMatchMode(), rule.getConditionDataList());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Whether this index was compiled from the list.
+     *
+     * @param list the cached list
+     * @return true if the list is the source of this index
+     */
+    public boolean isCompiledFrom(final List<T> list) {
+        return source == list;
+    }
+
+    /**
+     * Find the first entry that matches, candidates are narrowed by the path first.
+     *
+     * @param path the request path
+     * @param filter the full match of an entry
+     * @return the first matched entry, or null
+     */
+    public T match(final String path, final Predicate<T> filter) {
+        if (!indexed) {
+            for (T element : elements) {
+                if (filter.test(element)) {
+                    return element;
+                }
+            }
+            return null;
+        }
+        BitSet candidates = (BitSet) unindexed.clone();
+        if (StringUtils.isNotBlank(path)) {
+            tree.collect(path, candidates);
+        }
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            T element = elements.get(ordinal);
+            if (filter.test(element)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Register an entry by its uri conditions.
+     * With the and mode any uri condition narrows the entry, with the or mode
+     * every condition must be a uri condition, otherwise the entry is always a candidate.
+     */
+    private void register(final int ordinal, final Integer matchMode, final List<ConditionData> conditions) {
+        if (Objects.isNull(matchMode) || CollectionUtils.isEmpty(conditions)) {
+            unindexed.set(ordinal);
+            return;
+        }
+        if (matchMode == MatchModeEnum.AND.getCode()) {
+            ConditionData condition = conditions.stream().filter(MatchIndex::isIndexable).findFirst().orElse(null);
+            if (Objects.isNull(condition)) {
+                unindexed.set(ordinal);
+            } else {
+                insert(ordinal, condition);
+            }
+        } else if (matchMode == MatchModeEnum.OR.getCode() && conditions.stream().allMatch(MatchIndex::isIndexable)) {
+            conditions.forEach(condition -> insert(ordinal, condition));
+        } else {
+            unindexed.set(ordinal);
+        }
+    }
+
+    private void insert(final int ordinal, final ConditionData condition) {
+        indexed = true;
+        String value = condition.getParamValue().trim();
+        if (isEquals(condition.getOperator())) {
+            tree.insertExact(tokenize(value), ordinal);
+            return;
+        }
+        for (String pattern : org.springframework.util.StringUtils.tokenizeToStringArray(value, PATTERN_SEPARATOR)) {
+            String[] segments = tokenize(pattern);
+            int depth = 0;
+            while (depth < segments.length && !isWildcard(segments[depth])) {
+                depth++;
+            }
+            if (depth == segments.length) {
+                tree.insertExact(segments, ordinal);
+            } else {
+                tree.insertPrefix(segments, depth, ordinal);
+            }
+        }
+    }
+
+    private static boolean isIndexable(final ConditionData condition) {
+        return Objects.equals(ParamTypeEnum.URI.getName(), condition.getParamType())
+                && Objects.nonNull(condition.getParamValue())
+                && (isEquals(condition.getOperator()) || Objects.equals(OperatorEnum.MATCH.getAlias(), condition.getOperator()));
+    }
+
+    private static boolean isEquals(final String operator) {
+        return Objects.equals(OperatorEnum.EQ.getAlias(), operator) || Objects.equals("equals", operator);
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * Split the path as {@link org.springframework.util.AntPathMatcher} does: neither trim nor keep empty segments.
+     */
+    private static String[] tokenize(final String path) {
+        return org.springframework.util.StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The match index cache.
+ * The cached lists of {@link org.apache.shenyu.plugin.base.cache.BaseDataCache} are replaced on every change,
+ * so an index is compiled lazily and reused as long as it was compiled from the list currently cached.
+ */
+public final class MatchIndexCache {
+
+    private static final MatchIndexCache INSTANCE = new MatchIndexCache();
+
+    /**
+     * pluginName -> selector index.
+     */
+    private final ConcurrentMap<String, MatchIndex<SelectorData>> selectorIndexMap = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> rule index.
+     */
+    private final ConcurrentMap<String, MatchIndex<RuleData>> ruleIndexMap = Maps.newConcurrentMap();
+
+    private MatchIndexCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static MatchIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the selector index of a plugin, compile it if the selectors have changed.
+     *
+     * @param pluginName the plugin name
+     * @param selectors the cached selectors of the plugin
+     * @return the selector index
+     */
+    public MatchIndex<SelectorData> obtainSelectorIndex(final String pluginName, final List<SelectorData> selectors) {
+        MatchIndex<SelectorData> index = selectorIndexMap.get(pluginName);
+        if (Objects.isNull(index) || !index.isCompiledFrom(selectors)) {
+            index = MatchIndex.ofSelectors(selectors);
+            selectorIndexMap.put(pluginName, index);
+        }
+        return index;
+    }
+
+    /**
+     * Obtain the rule index of a selector, compile it if the rules have changed.
+     *
+     * @param selectorId the selector id
+     * @param rules the cached rules of the selector
+     * @return the rule index
+     */
+    public MatchIndex<RuleData> obtainRuleIndex(final String selectorId, final List<RuleData> rules) {
+        MatchIndex<RuleData> index = ruleIndexMap.get(selectorId);
+        if (Objects.isNull(index) || !index.isCompiledFrom(rules)) {
+            index = MatchIndex.ofRules(rules);
+            ruleIndexMap.put(selectorId, index);
+        }
+        return index;
+    }
+
+    /**
+     * Remove the selector index of a plugin.
+     *
+     * @param pluginName the plugin name
+     */
+    public void removeSelectorIndex(final String pluginName) {
+        selectorIndexMap.remove(pluginName);
+    }
+
+    /**
+     * Remove the rule index of a selector.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeRuleIndex(final String selectorId) {
+        ruleIndexMap.remove(selectorId);
+    }
+
+    /**
+     * Clean all the selector indexes.
+     */
+    public void cleanSelectorIndex() {
+        selectorIndexMap.clear();
+    }
+
+    /**
+     * Clean all the rule indexes.
+     */
+    public void cleanRuleIndex() {
+        ruleIndexMap.clear();
+    }
+}
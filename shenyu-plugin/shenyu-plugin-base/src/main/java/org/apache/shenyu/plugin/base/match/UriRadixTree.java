@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The uri radix tree, every edge of the tree is one path segment.
+ * Each node holds the ordinals of the entries registered on exactly this path,
+ * and the ordinals of the entries registered on every path below this node.
+ * The tree is only written while it is built, lookups never modify it.
+ */
+public final class UriRadixTree {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final char SEPARATOR = '/';
+
+    private final Node root = new Node();
+
+    /**
+     * Register an ordinal on the exact path.
+     *
+     * @param segments the path segments
+     * @param ordinal the ordinal
+     */
+    public void insertExact(final String[] segments, final int ordinal) {
+        Node node = walk(segments, segments.length);
+        node.exact = append(node.exact, ordinal);
+    }
+
+    /**
+     * Register an ordinal on every path starting with the first {@code depth} segments.
+     *
+     * @param segments the path segments
+     * @param depth the number of leading segments to use
+     * @param ordinal the ordinal
+     */
+    public void insertPrefix(final String[] segments, final int depth, final int ordinal) {
+        Node node = walk(segments, depth);
+        node.prefix = append(node.prefix, ordinal);
+    }
+
+    /**
+     * Collect the ordinals of all the entries which may match the path.
+     *
+     * @param path the request path
+     * @param candidates the candidates to fill
+     */
+    public void collect(final String path, final BitSet candidates) {
+        Node node = root;
+        node.collectPrefix(candidates);
+        final int length = path.length();
+        int start = 0;
+        while (start < length) {
+            int end = path.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(path.substring(start, end));
+                if (node == null) {
+                    return;
+                }
+                node.collectPrefix(candidates);
+            }
+            start = end + 1;
+        }
+        for (int ordinal : node.exact) {
+            candidates.set(ordinal);
+        }
+    }
+
+    private Node walk(final String[] segments, final int depth) {
+        Node node = root;
+        for (int i = 0; i < depth; i++) {
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            node = node.children.computeIfAbsent(segments[i], key -> new Node());
+        }
+        return node;
+    }
+
+    private static int[] append(final int[] ordinals, final int ordinal) {
+        int[] result = Arrays.copyOf(ordinals, ordinals.length + 1);
+        result[ordinals.length] = ordinal;
+        return result;
+    }
+
+    private static final class Node {
+
+        private Map<String, Node> children;
+
+        private int[] exact = EMPTY;
+
+        private int[] prefix = EMPTY;
+
+        private Node child(final String segment) {
+            return children == null ? null : children.get(segment);
+        }
+
+        private void collectPrefix(final BitSet candidates) {
+            for (int ordinal : prefix) {
+                candidates.set(ordinal);
+            }
+        }
+    }
+}
@@ -236,6 +236,34 @@ public final class BaseDataCacheTest {
         Assert.assertEquals(Lists.newArrayList(ruleData), ruleDataList);
     }
 
+    @Test
+    public void testObtainPluginSnapshot() {
+        final String pluginName = "MOCK_SNAPSHOT_PLUGIN";
+        final String selectorId = "MOCK_SNAPSHOT_SELECTOR";
+        final PluginData pluginData = PluginData.builder().name(pluginName).enabled(true).build();
+        SelectorData selectorData = SelectorData.builder().id(selectorId).pluginName(pluginName).sort(1).build();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(selectorId).sort(1).build();
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        PluginSnapshot snapshot = BaseDataCache.getInstance().obtainPluginSnapshot(pluginName);
+        Assert.assertNull(snapshot.getPluginData());
+        Assert.assertEquals(Lists.newArrayList(selectorData), snapshot.getSelectors());
+        Assert.assertEquals(Lists.newArrayList(ruleData), snapshot.obtainRules(selectorId));
+
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        PluginSnapshot pluginSnapshot = BaseDataCache.getInstance().obtainPluginSnapshot(pluginName);
+        Assert.assertEquals(pluginData, pluginSnapshot.getPluginData());
+        Assert.assertSame(snapshot.getSelectors(), pluginSnapshot.getSelectors());
+
+        BaseDataCache.getInstance().removeRuleData(ruleData);
+        Assert.assertEquals(Lists.newArrayList(ruleData), pluginSnapshot.obtainRules(selectorId));
+        Assert.assertEquals(Lists.newArrayList(), BaseDataCache.getInstance().obtainPluginSnapshot(pluginName).obtainRules(selectorId));
+
+        BaseDataCache.getInstance().removeSelectDataByPluginName(pluginName);
+        BaseDataCache.getInstance().removePluginDataByPluginName(pluginName);
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginSnapshot(pluginName));
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         BaseDataCache baseDataCache = BaseDataCache.getInstance();
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for {@link ConfigSnapshotStore}.
+ */
+public final class ConfigSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+
+    private final PluginData pluginData = PluginData.builder().id("1").name("divide").enabled(true).build();
+
+    private final SelectorData selectorData = SelectorData.builder().id("s1").pluginName("divide").sort(1).build();
+
+    private final RuleData ruleData = RuleData.builder().id("r1").selectorId("s1").pluginName("divide").sort(1).build();
+
+    private final MetaData metaData = MetaData.builder().id("m1").path("/dubbo/findAll").rpcType("dubbo").build();
+
+    private final AppAuthData appAuthData = AppAuthData.builder().appKey("key").appSecret("secret").enabled(true).build();
+
+    @Before
+    public void setUp() {
+        path = folder.getRoot().toPath().resolve("snapshot").resolve("config.snapshot");
+    }
+
+    @Test
+    public void testFlushAndRestore() throws IOException {
+        ConfigSnapshotStore store = new ConfigSnapshotStore(path.toString(), 60_000);
+        store.onSubscribe(pluginData);
+        store.onSelectorSubscribe(selectorData);
+        store.onRuleSubscribe(ruleData);
+        store.metaDataSubscriber().onSubscribe(metaData);
+        store.authDataSubscriber().onSubscribe(appAuthData);
+        long version = store.getVersion();
+        store.close();
+        assertTrue(Files.isRegularFile(path));
+        assertFalse(Files.exists(path.resolveSibling("config.snapshot.tmp")));
+
+        ConfigSnapshotStore restored = new ConfigSnapshotStore(path.toString(), 60_000);
+        assertEquals(version, restored.getVersion());
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        MetaDataSubscriber metaDataSubscriber = mock(MetaDataSubscriber.class);
+        AuthDataSubscriber authDataSubscriber = mock(AuthDataSubscriber.class);
+        restored.restore(pluginDataSubscriber, Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber));
+        verify(pluginDataSubscriber).onSubscribe(pluginData);
+        verify(pluginDataSubscriber).onSelectorSubscribe(selectorData);
+        verify(pluginDataSubscriber).onRuleSubscribe(ruleData);
+        verify(metaDataSubscriber).onSubscribe(metaData);
+        verify(authDataSubscriber).onSubscribe(appAuthData);
+        restored.close();
+    }
+
+    @Test
+    public void testRefreshReplacesTheSnapshot() throws IOException {
+        ConfigSnapshotStore store = new ConfigSnapshotStore(path.toString(), 60_000);
+        store.onSubscribe(pluginData);
+        store.onRuleSubscribe(ruleData);
+        store.flush();
+        long version = store.getVersion();
+        // the same data does not change the version.
+        store.onSubscribe(pluginData);
+        assertEquals(version, store.getVersion());
+        store.refreshPluginDataAll();
+        store.refreshRuleDataSelf(Collections.singletonList(ruleData));
+        assertEquals(version + 2, store.getVersion());
+        store.close();
+
+        ConfigSnapshotStore restored = new ConfigSnapshotStore(path.toString(), 60_000);
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        restored.restore(pluginDataSubscriber, Collections.emptyList(), Collections.emptyList());
+        verify(pluginDataSubscriber, never()).onSubscribe(any());
+        verify(pluginDataSubscriber, never()).onRuleSubscribe(any());
+        restored.close();
+    }
+
+    @Test
+    public void testEvictTheRestoredConfigNotConfirmedBySync() throws IOException {
+        SelectorData deletedSelector = SelectorData.builder().id("s2").pluginName("divide").sort(2).build();
+        RuleData deletedRule = RuleData.builder().id("r2").selectorId("s2").pluginName("divide").sort(1).build();
+        ConfigSnapshotStore store = new ConfigSnapshotStore(path.toString(), 60_000);
+        store.onSubscribe(pluginData);
+        store.onSelectorSubscribe(selectorData);
+        store.onSelectorSubscribe(deletedSelector);
+        store.onRuleSubscribe(ruleData);
+        store.onRuleSubscribe(deletedRule);
+        store.metaDataSubscriber().onSubscribe(metaData);
+        store.close();
+
+        ConfigSnapshotStore restored = new ConfigSnapshotStore(path.toString(), 60_000, 60_000);
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        MetaDataSubscriber metaDataSubscriber = mock(MetaDataSubscriber.class);
+        restored.restore(pluginDataSubscriber, Collections.singletonList(metaDataSubscriber), Collections.emptyList());
+        // the sync sends the config which still exists, without deleting what was deleted in the meantime.
+        restored.onSubscribe(pluginData);
+        restored.onSelectorSubscribe(selectorData);
+        restored.onRuleSubscribe(ruleData);
+        restored.reconcile();
+        verify(pluginDataSubscriber).unSelectorSubscribe(deletedSelector);
+        verify(pluginDataSubscriber).unRuleSubscribe(deletedRule);
+        verify(metaDataSubscriber).unSubscribe(metaData);
+        verify(pluginDataSubscriber, never()).unSubscribe(any());
+        verify(pluginDataSubscriber, never()).unSelectorSubscribe(selectorData);
+        verify(pluginDataSubscriber, never()).unRuleSubscribe(ruleData);
+        restored.close();
+    }
+
+    @Test
+    public void testIgnoreCorruptedSnapshot() throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshotStore store = new ConfigSnapshotStore(path.toString(), 60_000);
+        assertEquals(0, store.getVersion());
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        store.restore(pluginDataSubscriber, Collections.emptyList(), Collections.emptyList());
+        verify(pluginDataSubscriber, never()).onSubscribe(any());
+        store.close();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for PluginSnapshot.
+ */
+public final class PluginSnapshotTest {
+
+    @Test
+    public void testOf() {
+        SelectorData first = SelectorData.builder().id("1").build();
+        SelectorData second = SelectorData.builder().id("2").build();
+        List<RuleData> rules = Collections.singletonList(RuleData.builder().id("1").selectorId("1").build());
+        Map<String, List<RuleData>> ruleMap = Collections.singletonMap("1", rules);
+        PluginSnapshot snapshot = PluginSnapshot.of(null, Lists.newArrayList(first, second), ruleMap::get);
+        Assert.assertFalse(snapshot.isEmpty());
+        Assert.assertTrue(snapshot.containsSelector("2"));
+        Assert.assertSame(rules, snapshot.obtainRules("1"));
+        Assert.assertNull(snapshot.obtainRules("2"));
+        Assert.assertNull(snapshot.obtainRules("3"));
+        Assert.assertTrue(PluginSnapshot.of(null, null, ruleMap::get).isEmpty());
+    }
+
+    @Test
+    public void testWithPluginDataAndRules() {
+        SelectorData selector = SelectorData.builder().id("1").build();
+        PluginSnapshot snapshot = PluginSnapshot.of(null, Lists.newArrayList(selector), selectorId -> null);
+        PluginData pluginData = PluginData.builder().name("MOCK_PLUGIN").build();
+        PluginSnapshot withPluginData = snapshot.withPluginData(pluginData);
+        Assert.assertEquals(pluginData, withPluginData.getPluginData());
+        Assert.assertSame(snapshot.getSelectors(), withPluginData.getSelectors());
+
+        List<RuleData> rules = Collections.singletonList(RuleData.builder().id("1").selectorId("1").build());
+        PluginSnapshot withRules = withPluginData.withRules("1", rules);
+        Assert.assertSame(rules, withRules.obtainRules("1"));
+        Assert.assertNull(withPluginData.obtainRules("1"));
+        Assert.assertSame(withRules, withRules.withRules("2", rules));
+    }
+}
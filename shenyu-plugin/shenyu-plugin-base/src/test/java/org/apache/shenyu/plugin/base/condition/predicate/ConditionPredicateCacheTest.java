@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.predicate;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * Test cases for {@link ConditionPredicateCache}.
+ */
+public final class ConditionPredicateCacheTest {
+
+    @Test
+    public void testCompileAndObtain() {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType("uri");
+        conditionData.setOperator("=");
+        conditionData.setParamName("/");
+        conditionData.setParamValue("/http/test");
+        ConditionData copied = new ConditionData();
+        copied.setParamType("uri");
+        copied.setOperator("=");
+        copied.setParamName("/");
+        copied.setParamValue("/http/test");
+        ConditionPredicateCache.getInstance().compile(Collections.singletonList(conditionData));
+        ConditionPredicate predicate = ConditionPredicateCache.getInstance().obtain(conditionData);
+        Assert.assertSame(predicate, ConditionPredicateCache.getInstance().obtain(conditionData));
+        Assert.assertNotSame(predicate, ConditionPredicateCache.getInstance().obtain(copied));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.predicate;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Test cases for {@link ConditionPredicateFactory}.
+ */
+public final class ConditionPredicateFactoryTest {
+
+    @Test
+    public void testMatch() {
+        ConditionPredicate predicate = compile(ParamTypeEnum.URI.getName(), OperatorEnum.MATCH.getAlias(), "/", "/http/order/**, /http/user/{id}");
+        Assert.assertTrue(predicate.test(exchange("/http/order/findById")));
+        Assert.assertTrue(predicate.test(exchange("/http/user/1")));
+        Assert.assertFalse(predicate.test(exchange("/http/user/1/detail")));
+        predicate = compile(ParamTypeEnum.HEADER.getName(), OperatorEnum.MATCH.getAlias(), "shenyu", "gate");
+        Assert.assertTrue(predicate.test(exchange("/")));
+    }
+
+    @Test
+    public void testEqualsAndExclude() {
+        Assert.assertTrue(compile(ParamTypeEnum.URI.getName(), OperatorEnum.EQ.getAlias(), "/", " /http/test ").test(exchange("/http/test")));
+        Assert.assertFalse(compile(ParamTypeEnum.URI.getName(), OperatorEnum.EXCLUDE.getAlias(), "/", "/http/test").test(exchange("/http/test")));
+        Assert.assertTrue(compile(ParamTypeEnum.URI.getName(), OperatorEnum.CONTAINS.getAlias(), "/", "test").test(exchange("/http/test")));
+    }
+
+    @Test
+    public void testRegex() {
+        ConditionPredicate predicate = compile(ParamTypeEnum.URI.getName(), OperatorEnum.REGEX.getAlias(), "/", "/http/[a-z]+");
+        Assert.assertTrue(predicate.test(exchange("/http/test")));
+        Assert.assertFalse(predicate.test(exchange("/http/test1")));
+    }
+
+    @Test
+    public void testSpEL() {
+        ConditionPredicate predicate = compile(ParamTypeEnum.HEADER.getName(), OperatorEnum.SPEL.getAlias(), "userId", "#userId % 3 == 0");
+        Assert.assertTrue(predicate.test(exchange("/", "userId", "3")));
+        Assert.assertFalse(predicate.test(exchange("/", "userId", "4")));
+        Assert.assertTrue(predicate.test(exchange("/", "userId", "6")));
+        Assert.assertFalse(predicate.test(exchange("/")));
+        predicate = compile(ParamTypeEnum.HEADER.getName(), OperatorEnum.SPEL.getAlias(), "shenyu", "1 < 2");
+        Assert.assertTrue(predicate.test(exchange("/")));
+    }
+
+    @Test
+    public void testGroovy() {
+        ConditionPredicate predicate = compile(ParamTypeEnum.HEADER.getName(), OperatorEnum.GROOVY.getAlias(), "userId", "userId.toInteger() % 2 == 0");
+        Assert.assertTrue(predicate.test(exchange("/", "userId", "2")));
+        Assert.assertFalse(predicate.test(exchange("/", "userId", "3")));
+    }
+
+    @Test
+    public void testTime() {
+        Assert.assertTrue(compile(ParamTypeEnum.URI.getName(), OperatorEnum.TIME_BEFORE.getAlias(), null, "2099-07-11 17:20:00").test(exchange("/")));
+        Assert.assertTrue(compile(ParamTypeEnum.URI.getName(), OperatorEnum.TIME_AFTER.getAlias(), null, "2018-07-11 17:20:00").test(exchange("/")));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void testInvalidConditionFallback() {
+        ConditionPredicate predicate = compile(ParamTypeEnum.URI.getName(), OperatorEnum.REGEX.getAlias(), "/", "[");
+        Assert.assertNotNull(predicate);
+        predicate.test(exchange("/http/test"));
+    }
+
+    private static ConditionPredicate compile(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return ConditionPredicateFactory.compile(conditionData);
+    }
+
+    private static ServerWebExchange exchange(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header("shenyu", "gateway").build());
+    }
+
+    private static ServerWebExchange exchange(final String path, final String header, final String value) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header(header, value).build());
+    }
+}
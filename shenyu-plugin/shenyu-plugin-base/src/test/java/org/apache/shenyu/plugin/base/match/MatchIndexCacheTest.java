@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for MatchIndexCache.
+ */
+public final class MatchIndexCacheTest {
+
+    private final String mockPluginName = "MOCK_PLUGIN_NAME";
+
+    private final String mockSelectorId = "MOCK_SELECTOR_ID";
+
+    @Test
+    public void testObtainSelectorIndex() {
+        List<SelectorData> selectors = Lists.newArrayList(SelectorData.builder().id("1").pluginName(mockPluginName).build());
+        MatchIndex<SelectorData> index = MatchIndexCache.getInstance().obtainSelectorIndex(mockPluginName, selectors);
+        assertSame(index, MatchIndexCache.getInstance().obtainSelectorIndex(mockPluginName, selectors));
+        assertNotSame(index, MatchIndexCache.getInstance().obtainSelectorIndex(mockPluginName, Lists.newArrayList(selectors)));
+        MatchIndexCache.getInstance().removeSelectorIndex(mockPluginName);
+        assertNotSame(index, MatchIndexCache.getInstance().obtainSelectorIndex(mockPluginName, selectors));
+        MatchIndexCache.getInstance().cleanSelectorIndex();
+    }
+
+    @Test
+    public void testObtainRuleIndex() {
+        List<RuleData> rules = Lists.newArrayList(RuleData.builder().id("1").selectorId(mockSelectorId).build());
+        MatchIndex<RuleData> index = MatchIndexCache.getInstance().obtainRuleIndex(mockSelectorId, rules);
+        assertSame(index, MatchIndexCache.getInstance().obtainRuleIndex(mockSelectorId, rules));
+        assertNotSame(index, MatchIndexCache.getInstance().obtainRuleIndex(mockSelectorId, Lists.newArrayList(rules)));
+        MatchIndexCache.getInstance().removeRuleIndex(mockSelectorId);
+        assertNotSame(index, MatchIndexCache.getInstance().obtainRuleIndex(mockSelectorId, rules));
+        MatchIndexCache.getInstance().cleanRuleIndex();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for MatchIndex.
+ */
+public final class MatchIndexTest {
+
+    private List<SelectorData> selectors;
+
+    @Before
+    public void setUp() {
+        selectors = new ArrayList<>();
+        selectors.add(selector("1", MatchModeEnum.AND, condition("uri", "=", "/http/order/findById")));
+        selectors.add(selector("2", MatchModeEnum.AND, condition("uri", "match", "/http/order/**"),
+                condition("header", "=", "shenyu")));
+        selectors.add(selector("3", MatchModeEnum.OR, condition("uri", "match", "/http/user/{id}/detail, /http/admin/*")));
+        selectors.add(selector("4", MatchModeEnum.OR, condition("uri", "match", "/http/pay/**"),
+                condition("query", "=", "pay")));
+        selectors.add(selector("5", MatchModeEnum.AND, condition("uri", "match", "/http/order/**")));
+        selectors.add(SelectorData.builder().id("6").enabled(false).type(SelectorTypeEnum.FULL_FLOW.getCode()).build());
+        selectors.add(selector("7", MatchModeEnum.AND, condition("uri", "regex", "/springcloud/.*")));
+        selectors.add(SelectorData.builder().id("8").enabled(true).type(SelectorTypeEnum.FULL_FLOW.getCode()).build());
+    }
+
+    @Test
+    public void testSelectorMatchSameAsLinearScan() {
+        MatchIndex<SelectorData> index = MatchIndex.ofSelectors(selectors);
+        List<String> paths = Arrays.asList("/http/order/findById", "/http/order/save", "/http/order", "/http/user/1/detail",
+                "/http/user/1", "/http/admin/list", "/http/pay/create", "/springcloud/test", "/", "/dubbo/findAll");
+        for (String path : paths) {
+            ServerWebExchange exchange = exchange(path);
+            Predicate<SelectorData> filter = selector -> selector.getEnabled() && (Objects.equals(selector.getType(), SelectorTypeEnum.FULL_FLOW.getCode())
+                    || MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange));
+            SelectorData expected = selectors.stream().filter(filter).findFirst().orElse(null);
+            assertEquals(path, expected, index.match(path, filter));
+        }
+    }
+
+    @Test
+    public void testSelectorNarrowedByPath() {
+        MatchIndex<SelectorData> index = MatchIndex.ofSelectors(selectors);
+        List<String> tested = new ArrayList<>();
+        index.match("/http/user/1/detail", selector -> {
+            tested.add(selector.getId());
+            return false;
+        });
+        assertEquals(Arrays.asList("3", "4", "7", "8"), tested);
+    }
+
+    @Test
+    public void testRuleMatchKeepsOrder() {
+        RuleData first = RuleData.builder().id("1").enabled(true).sort(1).matchMode(MatchModeEnum.AND.getCode())
+                .conditionDataList(Collections.singletonList(condition("uri", "match", "/http/**"))).build();
+        RuleData second = RuleData.builder().id("2").enabled(true).sort(2).matchMode(MatchModeEnum.AND.getCode())
+                .conditionDataList(Collections.singletonList(condition("uri", "=", "/http/order/save"))).build();
+        MatchIndex<RuleData> index = MatchIndex.ofRules(Arrays.asList(first, second));
+        assertEquals(first, index.match("/http/order/save", rule -> true));
+        assertEquals(second, index.match("/http/order/save", rule -> !"1".equals(rule.getId())));
+        assertNull(index.match("/dubbo/order/save", rule -> true));
+    }
+
+    @Test
+    public void testIsCompiledFrom() {
+        MatchIndex<SelectorData> index = MatchIndex.ofSelectors(selectors);
+        assertTrue(index.isCompiledFrom(selectors));
+        assertFalse(index.isCompiledFrom(new ArrayList<>(selectors)));
+    }
+
+    private static ServerWebExchange exchange(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header("shenyu", "shenyu").build());
+    }
+
+    private static SelectorData selector(final String id, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(id).enabled(true).type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(matchMode.getCode()).conditionList(Arrays.asList(conditions)).build();
+    }
+
+    private static ConditionData condition(final String paramType, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramType);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
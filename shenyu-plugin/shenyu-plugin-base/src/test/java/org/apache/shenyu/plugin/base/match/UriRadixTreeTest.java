@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.match;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for UriRadixTree.
+ */
+public final class UriRadixTreeTest {
+
+    private UriRadixTree tree;
+
+    @Before
+    public void setUp() {
+        tree = new UriRadixTree();
+        tree.insertExact(new String[]{"http", "order", "findById"}, 0);
+        tree.insertPrefix(new String[]{"http", "order", "**"}, 2, 1);
+        tree.insertPrefix(new String[]{"**"}, 0, 2);
+        tree.insertExact(new String[]{}, 3);
+    }
+
+    @Test
+    public void testCollectExactAndPrefix() {
+        assertEquals(bits(0, 1, 2), collect("/http/order/findById"));
+        assertEquals(bits(1, 2), collect("/http/order/save"));
+        assertEquals(bits(1, 2), collect("/http//order"));
+    }
+
+    @Test
+    public void testCollectMissing() {
+        assertEquals(bits(2), collect("/http/user/findById"));
+        assertEquals(bits(2), collect("/http"));
+        assertEquals(bits(2, 3), collect("/"));
+    }
+
+    @Test
+    public void testCollectKeepsExisting() {
+        BitSet candidates = bits(7);
+        tree.collect("/http/order/save", candidates);
+        assertTrue(candidates.get(7));
+        assertEquals(3, candidates.cardinality());
+    }
+
+    private BitSet collect(final String path) {
+        BitSet candidates = new BitSet();
+        tree.collect(path, candidates);
+        return candidates;
+    }
+
+    private static BitSet bits(final int... ordinals) {
+        BitSet bitSet = new BitSet();
+        for (int ordinal : ordinals) {
+            bitSet.set(ordinal);
+        }
+        return bitSet;
+    }
+}
@@ -83,7 +83,11 @@ public class ContextPathPlugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         ShenyuContext body = exchange.getAttribute(Constants.CONTEXT);
         assert body != null;
-        String rpcType = body.getRpcType();
+        return skipRpcType(body.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
         return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName())
                 || Objects.equals(rpcType, RpcTypeEnum.GRPC.getName())
                 || Objects.equals(rpcType, RpcTypeEnum.TARS.getName())
@@ -25,8 +25,10 @@ import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.loadbalancer.cache.OutlierDetector;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -40,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -92,7 +95,13 @@ public class DividePlugin extends AbstractShenyuPlugin {
         // set the http timeout
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
         exchange.getAttributes().put(Constants.HTTP_RETRY, ruleHandle.getRetry());
-        return chain.execute(exchange);
+        // the http client completes the call when the response arrives, or the chain does when it terminates
+        UpstreamLoad.Call call = upstream.getLoad().start();
+        exchange.getAttributes().put(Constants.UPSTREAM_CALL, call);
+        return chain.execute(exchange).doFinally(signal -> {
+            call.complete(signal == SignalType.ON_ERROR);
+            OutlierDetector.getInstance().record(selector.getId(), upstream, call);
+        });
     }
 
     @Override
@@ -103,7 +112,12 @@ public class DividePlugin extends AbstractShenyuPlugin {
     @Override
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
-        return !Objects.equals(Objects.requireNonNull(shenyuContext).getRpcType(), RpcTypeEnum.HTTP.getName());
+        return skipRpcType(Objects.requireNonNull(shenyuContext).getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.HTTP.getName());
     }
 
     @Override
@@ -129,7 +129,12 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
     }
 
     private boolean checkMetaData(final MetaData metaData) {
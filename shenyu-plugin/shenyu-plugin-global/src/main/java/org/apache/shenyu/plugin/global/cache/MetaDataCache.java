@@ -21,11 +21,12 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.utils.PathMatchUtils;
 
-import java.util.Optional;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Meta data cache.
+ * The paths are looked up exactly first, then the patterns are narrowed by a {@link MetaDataPathIndex}.
  */
 public final class MetaDataCache {
     
@@ -36,6 +37,8 @@ public final class MetaDataCache {
      */
     private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
     
+    private static final MetaDataPathIndex PATH_INDEX = new MetaDataPathIndex();
+    
     private MetaDataCache() {
     }
     
@@ -53,8 +56,10 @@ public final class MetaDataCache {
      *
      * @param data the data
      */
-    public void cache(final MetaData data) {
-        META_DATA_MAP.put(data.getPath(), data);
+    public synchronized void cache(final MetaData data) {
+        if (Objects.isNull(META_DATA_MAP.put(data.getPath(), data))) {
+            PATH_INDEX.add(data.getPath());
+        }
     }
     
     /**
@@ -62,8 +67,10 @@ public final class MetaDataCache {
      *
      * @param data the data
      */
-    public void remove(final MetaData data) {
-        META_DATA_MAP.remove(data.getPath());
+    public synchronized void remove(final MetaData data) {
+        if (Objects.nonNull(META_DATA_MAP.remove(data.getPath()))) {
+            PATH_INDEX.remove(data.getPath());
+        }
     }
     
     /**
@@ -73,11 +80,18 @@ public final class MetaDataCache {
      * @return the meta data
      */
     public MetaData obtain(final String path) {
-        return Optional.ofNullable(META_DATA_MAP.get(path))
-                .orElseGet(() -> META_DATA_MAP.get(META_DATA_MAP.keySet()
-                        .stream()
-                        .filter(k -> PathMatchUtils.match(k, path))
-                        .findFirst()
-                        .orElse("")));
+        MetaData metaData = META_DATA_MAP.get(path);
+        if (Objects.nonNull(metaData)) {
+            return metaData;
+        }
+        for (String candidate : PATH_INDEX.candidates(path)) {
+            if (PathMatchUtils.match(candidate, path)) {
+                metaData = META_DATA_MAP.get(candidate);
+                if (Objects.nonNull(metaData)) {
+                    return metaData;
+                }
+            }
+        }
+        return null;
     }
 }
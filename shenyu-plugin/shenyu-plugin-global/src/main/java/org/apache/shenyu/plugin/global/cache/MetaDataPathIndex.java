@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.cache;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Maps;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The path index of the meta data, a trie whose edges are path segments.
+ * A literal segment is an edge of its own, any other segment with a wildcard shares the wildcard edge of its node,
+ * and a {@code **} segment registers the path on its node as a prefix of every path below it.
+ * A lookup walks the trie along the segments of the request path, so it costs the path depth,
+ * and returns the candidates which still have to be matched by {@link org.apache.shenyu.common.utils.PathMatchUtils}.
+ * The index is written under its own lock, lookups never lock.
+ */
+public final class MetaDataPathIndex {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private static final String[] EMPTY = new String[0];
+
+    private final Node root = new Node();
+
+    /**
+     * Register the path, comma separated patterns are registered one by one.
+     *
+     * @param path the path of the meta data
+     */
+    public synchronized void add(final String path) {
+        for (String pattern : split(path)) {
+            String[] segments = tokenize(pattern);
+            int depth = prefixDepth(segments);
+            Node node = root;
+            for (int i = 0; i < depth; i++) {
+                node = node.getOrCreateChild(segments[i]);
+            }
+            if (depth < segments.length) {
+                node.prefix = append(node.prefix, path);
+            } else {
+                node.exact = append(node.exact, path);
+            }
+        }
+    }
+
+    /**
+     * Unregister the path.
+     *
+     * @param path the path of the meta data
+     */
+    public synchronized void remove(final String path) {
+        for (String pattern : split(path)) {
+            String[] segments = tokenize(pattern);
+            removeFrom(root, segments, 0, prefixDepth(segments), path);
+        }
+    }
+
+    /**
+     * Find the registered paths which may match the request path, the more specific first:
+     * the paths ending at the request path, literal segments before wildcards, then the {@code **} prefixes, deeper first.
+     *
+     * @param path the request path
+     * @return the candidate paths
+     */
+    public Set<String> candidates(final String path) {
+        String[] segments = tokenize(path);
+        Set<String> exactMatches = new LinkedHashSet<>();
+        List<String[]> prefixMatches = new ArrayList<>();
+        collect(root, segments, 0, exactMatches, prefixMatches);
+        for (int i = prefixMatches.size() - 1; i >= 0; i--) {
+            exactMatches.addAll(Arrays.asList(prefixMatches.get(i)));
+        }
+        return exactMatches;
+    }
+
+    private void collect(final Node node, final String[] segments, final int index, final Set<String> exactMatches, final List<String[]> prefixMatches) {
+        String[] prefix = node.prefix;
+        if (prefix.length > 0) {
+            prefixMatches.add(prefix);
+        }
+        if (index == segments.length) {
+            exactMatches.addAll(Arrays.asList(node.exact));
+            return;
+        }
+        Node child = node.child(segments[index]);
+        if (Objects.nonNull(child)) {
+            collect(child, segments, index + 1, exactMatches, prefixMatches);
+        }
+        Node wildcard = node.wildcard;
+        if (Objects.nonNull(wildcard)) {
+            collect(wildcard, segments, index + 1, exactMatches, prefixMatches);
+        }
+    }
+
+    /**
+     * Remove the path from the node of the segments, and prune the nodes left empty.
+     *
+     * @return true if the node is empty
+     */
+    private boolean removeFrom(final Node node, final String[] segments, final int index, final int depth, final String path) {
+        if (index == depth) {
+            if (depth < segments.length) {
+                node.prefix = without(node.prefix, path);
+            } else {
+                node.exact = without(node.exact, path);
+            }
+            return node.isEmpty();
+        }
+        String segment = segments[index];
+        Node child = isWildcard(segment) ? node.wildcard : node.child(segment);
+        if (Objects.nonNull(child) && removeFrom(child, segments, index + 1, depth, path)) {
+            if (isWildcard(segment)) {
+                node.wildcard = null;
+            } else {
+                node.children.remove(segment);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private static int prefixDepth(final String[] segments) {
+        for (int i = 0; i < segments.length; i++) {
+            if (DOUBLE_WILDCARD.equals(segments[i])) {
+                return i;
+            }
+        }
+        return segments.length;
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static List<String> split(final String path) {
+        return Splitter.on(",").omitEmptyStrings().trimResults().splitToList(path);
+    }
+
+    /**
+     * Split the path as {@link org.springframework.util.AntPathMatcher} does: neither trim nor keep empty segments.
+     */
+    private static String[] tokenize(final String path) {
+        return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+
+    private static String[] append(final String[] paths, final String path) {
+        if (Arrays.asList(paths).contains(path)) {
+            return paths;
+        }
+        String[] result = Arrays.copyOf(paths, paths.length + 1);
+        result[paths.length] = path;
+        return result;
+    }
+
+    private static String[] without(final String[] paths, final String path) {
+        String[] result = Arrays.stream(paths).filter(each -> !each.equals(path)).toArray(String[]::new);
+        return result.length == 0 ? EMPTY : result;
+    }
+
+    private static final class Node {
+
+        private volatile Map<String, Node> children;
+
+        private volatile Node wildcard;
+
+        private volatile String[] exact = EMPTY;
+
+        private volatile String[] prefix = EMPTY;
+
+        private Node child(final String segment) {
+            Map<String, Node> current = children;
+            return Objects.isNull(current) ? null : current.get(segment);
+        }
+
+        private Node getOrCreateChild(final String segment) {
+            if (isWildcard(segment)) {
+                if (Objects.isNull(wildcard)) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            if (Objects.isNull(children)) {
+                children = Maps.newConcurrentMap();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private boolean isEmpty() {
+            return exact.length == 0 && prefix.length == 0 && Objects.isNull(wildcard) && (Objects.isNull(children) || children.isEmpty());
+        }
+    }
+}
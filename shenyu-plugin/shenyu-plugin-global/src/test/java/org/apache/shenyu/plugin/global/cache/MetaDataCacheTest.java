@@ -55,4 +55,18 @@ public final class MetaDataCacheTest {
         metaDataCache.remove(this.metaData);
         assertNull(metaDataCache.obtain("/home"));
     }
+
+    @Test
+    public void testMetaDataCachePattern() {
+        MetaData pattern = MetaData.builder().path("/dubbo/user/**").build();
+        MetaData exact = MetaData.builder().path("/dubbo/user/findAll").build();
+        metaDataCache.cache(pattern);
+        metaDataCache.cache(exact);
+        assertEquals(metaDataCache.obtain("/dubbo/user/findAll").getPath(), "/dubbo/user/findAll");
+        assertEquals(metaDataCache.obtain("/dubbo/user/findById/1").getPath(), "/dubbo/user/**");
+        assertNull(metaDataCache.obtain("/dubbo/order/findAll"));
+        metaDataCache.remove(pattern);
+        assertNull(metaDataCache.obtain("/dubbo/user/findById/1"));
+        metaDataCache.remove(exact);
+    }
 }
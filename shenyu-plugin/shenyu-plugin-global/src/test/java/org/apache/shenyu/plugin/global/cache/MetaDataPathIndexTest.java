@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.cache;
+
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Test Case For MetaDataPathIndex.
+ */
+public final class MetaDataPathIndexTest {
+
+    private MetaDataPathIndex index;
+
+    @Before
+    public void setUp() {
+        index = new MetaDataPathIndex();
+    }
+
+    @Test
+    public void testExact() {
+        index.add("/dubbo/findAll");
+        assertThat(index.candidates("/dubbo/findAll"), contains("/dubbo/findAll"));
+        assertThat(index.candidates("/dubbo/findById"), empty());
+        assertThat(index.candidates("/dubbo"), empty());
+    }
+
+    @Test
+    public void testSingleWildcard() {
+        index.add("/dubbo/user/{id}");
+        index.add("/dubbo/*/detail");
+        index.add("/dubbo/user/detail");
+        assertThat(index.candidates("/dubbo/user/1"), contains("/dubbo/user/{id}"));
+        assertThat(index.candidates("/dubbo/user/detail"), contains("/dubbo/user/detail", "/dubbo/user/{id}", "/dubbo/*/detail"));
+        assertThat(index.candidates("/dubbo/order/detail"), contains("/dubbo/*/detail"));
+        assertThat(index.candidates("/dubbo/user/1/detail"), empty());
+    }
+
+    @Test
+    public void testDoubleWildcard() {
+        index.add("/**");
+        index.add("/grpc/**");
+        index.add("/grpc/**/echo");
+        assertThat(index.candidates("/grpc/a/b/echo"), contains("/grpc/**", "/grpc/**/echo", "/**"));
+        assertThat(index.candidates("/grpc"), contains("/grpc/**", "/grpc/**/echo", "/**"));
+        assertThat(index.candidates("/motan"), contains("/**"));
+    }
+
+    @Test
+    public void testCommaSeparated() {
+        index.add("/a/b, /c/*");
+        assertThat(index.candidates("/a/b"), contains("/a/b, /c/*"));
+        assertThat(index.candidates("/c/d"), contains("/a/b, /c/*"));
+        index.remove("/a/b, /c/*");
+        assertThat(index.candidates("/c/d"), empty());
+    }
+
+    @Test
+    public void testRemove() {
+        index.add("/a/*/c");
+        index.add("/a/b/c");
+        index.add("/a/**");
+        index.remove("/a/*/c");
+        assertThat(index.candidates("/a/b/c"), contains("/a/b/c", "/a/**"));
+        index.remove("/a/**");
+        index.remove("/a/b/c");
+        assertThat(index.candidates("/a/b/c"), empty());
+        index.add("/a/b/c");
+        assertThat(index.candidates("/a/b/c"), contains("/a/b/c"));
+    }
+
+    @Test
+    public void testSameAsLinearScan() {
+        List<String> segments = Arrays.asList("a", "b", "c", "*", "**", "{id}", "b*");
+        Random random = new Random(7);
+        String[] patterns = new String[300];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = randomPath(segments, random);
+            index.add(patterns[i]);
+        }
+        for (int i = 0; i < 2000; i++) {
+            String path = randomPath(Arrays.asList("a", "b", "c", "bc"), random);
+            Set<String> candidates = index.candidates(path);
+            for (String pattern : patterns) {
+                if (PathMatchUtils.match(pattern, path)) {
+                    assertTrue(pattern + " matches " + path, candidates.contains(pattern));
+                }
+            }
+        }
+    }
+
+    private String randomPath(final List<String> segments, final Random random) {
+        StringBuilder path = new StringBuilder();
+        int depth = 1 + random.nextInt(4);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments.get(random.nextInt(segments.size())));
+        }
+        return path.toString();
+    }
+}
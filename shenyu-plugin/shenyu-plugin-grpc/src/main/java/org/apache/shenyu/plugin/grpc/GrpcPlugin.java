@@ -115,7 +115,12 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        return !Objects.equals(shenyuContext.getRpcType(), RpcTypeEnum.GRPC.getName());
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.GRPC.getName());
     }
 
     @Override
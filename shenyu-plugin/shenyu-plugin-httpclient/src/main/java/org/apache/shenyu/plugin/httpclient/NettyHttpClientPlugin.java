@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -97,6 +98,7 @@ public class NettyHttpClientPlugin implements ShenyuPlugin {
                 .request(method).uri(uri.toASCIIString()).send((req, nettyOutbound) ->
                         nettyOutbound.send(request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer) .getNativeBuffer())))
                 .responseConnection((res, connection) -> {
+                    Optional.ofNullable(exchange.<UpstreamLoad.Call>getAttribute(Constants.UPSTREAM_CALL)).ifPresent(call -> call.complete(res.status().code() >= 500));
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
                     ServerHttpResponse response = exchange.getResponse();
@@ -136,8 +138,13 @@ public class NettyHttpClientPlugin implements ShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        return !Objects.equals(RpcTypeEnum.HTTP.getName(), shenyuContext.getRpcType())
-                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), shenyuContext.getRpcType());
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(RpcTypeEnum.HTTP.getName(), rpcType)
+                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), rpcType);
     }
 
     @Override
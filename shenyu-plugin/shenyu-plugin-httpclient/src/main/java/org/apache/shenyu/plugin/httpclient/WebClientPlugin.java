@@ -23,6 +23,7 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.loadbalancer.entity.UpstreamLoad;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -98,8 +99,13 @@ public class WebClientPlugin implements ShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        return !Objects.equals(RpcTypeEnum.HTTP.getName(), shenyuContext.getRpcType())
-                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), shenyuContext.getRpcType());
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(RpcTypeEnum.HTTP.getName(), rpcType)
+                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), rpcType);
     }
 
     private Mono<Void> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
@@ -129,6 +135,7 @@ public class WebClientPlugin implements ShenyuPlugin {
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+        Optional.ofNullable(exchange.<UpstreamLoad.Call>getAttribute(Constants.UPSTREAM_CALL)).ifPresent(call -> call.complete(res.statusCode().is5xxServerError()));
         if (res.statusCode().is2xxSuccessful()) {
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
         } else {
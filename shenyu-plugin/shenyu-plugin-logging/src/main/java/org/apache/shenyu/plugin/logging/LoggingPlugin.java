@@ -17,22 +17,23 @@
 
 package org.apache.shenyu.plugin.logging;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.logging.collector.AccessLogCollector;
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -44,14 +45,15 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Shenyu logging plugin. it can print request info(include request headers, request params, request body ...etc) and
  * response info(include response headers and response body).
+ * The request only records a capped {@link AccessLog}, it is formatted and written by the {@link AccessLogCollector}
+ * off the event loop, and nothing is recorded for the requests sampled out.
  */
 public class LoggingPlugin extends AbstractShenyuPlugin {
 
@@ -59,13 +61,20 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
     
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        LoggingConfig config = AccessLogCollector.getInstance().getConfig();
+        if (!isSampled(config.getSampleRate())) {
+            return chain.execute(exchange);
+        }
         ServerHttpRequest request = exchange.getRequest();
-        StringBuilder requestInfo = new StringBuilder("Print Request Info: ").append(System.lineSeparator());
-        requestInfo.append(getRequestUri(request)).append(getRequestMethod(request)).append(System.lineSeparator())
-                .append(getRequestHeaders(request)).append(System.lineSeparator())
-                .append(getQueryParams(request)).append(System.lineSeparator());
-        return chain.execute(exchange.mutate().request(new LoggingServerHttpRequest(request, requestInfo))
-                .response(new LoggingServerHttpResponse(exchange.getResponse(), requestInfo)).build());
+        AccessLog accessLog = new AccessLog();
+        accessLog.setStartTime(System.currentTimeMillis());
+        accessLog.setMethod(String.valueOf(request.getMethod()));
+        accessLog.setUri(request.getURI());
+        accessLog.setRequestHeaders(request.getHeaders());
+        accessLog.setQueryParams(request.getQueryParams());
+        final long start = System.nanoTime();
+        return chain.execute(exchange.mutate().request(new LoggingServerHttpRequest(request, accessLog, config.getMaxBodySize()))
+                .response(new LoggingServerHttpResponse(exchange.getResponse(), accessLog, config.getMaxBodySize(), start)).build());
     }
     
     @Override
@@ -83,69 +92,37 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
         return false;
     }
     
-    private String getRequestMethod(final ServerHttpRequest request) {
-        return "Request Method: " + request.getMethod() + System.lineSeparator();
-    }
-    
-    private String getRequestUri(final ServerHttpRequest request) {
-        return "Request Uri: " + request.getURI() + System.lineSeparator();
-    }
-    
-    private String getQueryParams(final ServerHttpRequest request) {
-        MultiValueMap<String, String> params = request.getQueryParams();
-        StringBuilder logInfo = new StringBuilder();
-        if (!params.isEmpty()) {
-            logInfo.append("[Query Params Start]").append(System.lineSeparator());
-            params.forEach((key, value) -> logInfo.append(key).append(":").append(StringUtils.join(value, ",")).append(System.lineSeparator()));
-            logInfo.append("[Query Params End]").append(System.lineSeparator());
-        }
-        return logInfo.toString();
-    }
-    
-    private String getRequestHeaders(final ServerHttpRequest request) {
-        HttpHeaders headers = request.getHeaders();
-        final StringBuilder logInfo = new StringBuilder();
-        if (!headers.isEmpty()) {
-            logInfo.append("[Request Headers Start]").append(System.lineSeparator());
-            logInfo.append(getHeaders(headers));
-            logInfo.append("[Request Headers End]").append(System.lineSeparator());
-        }
-        return logInfo.toString();
-    }
-    
-    private void print(final String info) {
-        LOG.info(info);
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return false;
     }
     
-    private String getHeaders(final HttpHeaders headers) {
-        StringBuilder sb = new StringBuilder();
-        Set<Map.Entry<String, List<String>>> entrySet = headers.entrySet();
-        for (Map.Entry<String, List<String>> entry : entrySet) {
-            String key = entry.getKey();
-            List<String> value = entry.getValue();
-            sb.append(key).append(": ").append(StringUtils.join(value, ",")).append(System.lineSeparator());
-        }
-        return sb.toString();
+    private static boolean isSampled(final double sampleRate) {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
     }
     
     static class LoggingServerHttpRequest extends ServerHttpRequestDecorator {
 
-        private final StringBuilder logInfo;
+        private final AccessLog accessLog;
+
+        private final int maxBodySize;
 
-        LoggingServerHttpRequest(final ServerHttpRequest delegate, final StringBuilder logInfo) {
+        LoggingServerHttpRequest(final ServerHttpRequest delegate, final AccessLog accessLog, final int maxBodySize) {
             super(delegate);
-            this.logInfo = logInfo;
+            this.accessLog = accessLog;
+            this.maxBodySize = maxBodySize;
         }
 
         @Override
         @NonNull
         public Flux<DataBuffer> getBody() {
-            BodyWriter writer = new BodyWriter();
+            if (maxBodySize <= 0) {
+                return super.getBody();
+            }
+            BodyWriter writer = new BodyWriter(maxBodySize);
             return super.getBody().doOnNext(dataBuffer -> writer.write(dataBuffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
                 if (!writer.isEmpty()) {
-                    logInfo.append("[Request Body Start]").append(System.lineSeparator());
-                    logInfo.append(writer.output()).append(System.lineSeparator());
-                    logInfo.append("[Request Body End]").append(System.lineSeparator());
+                    accessLog.setRequestBody(writer.output());
                 } else {
                     // close writer when output.
                     writer.output();
@@ -154,17 +131,22 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
         }
     }
 
-    class LoggingServerHttpResponse extends ServerHttpResponseDecorator {
+    static class LoggingServerHttpResponse extends ServerHttpResponseDecorator {
+
+        private final AccessLog accessLog;
+
+        private final int maxBodySize;
 
-        private final StringBuilder logInfo;
+        private final long start;
 
         private final ServerHttpResponse serverHttpResponse;
 
-        LoggingServerHttpResponse(final ServerHttpResponse delegate, final StringBuilder logInfo) {
+        LoggingServerHttpResponse(final ServerHttpResponse delegate, final AccessLog accessLog, final int maxBodySize, final long start) {
             super(delegate);
-            this.logInfo = logInfo;
+            this.accessLog = accessLog;
+            this.maxBodySize = maxBodySize;
+            this.start = start;
             this.serverHttpResponse = delegate;
-            this.logInfo.append(System.lineSeparator());
         }
 
         @Override
@@ -175,37 +157,51 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
 
         @NonNull
         private Flux<? extends DataBuffer> appendResponse(final Publisher<? extends DataBuffer> body) {
-            logInfo.append(System.lineSeparator());
-            logInfo.append("Response Code: ").append(this.serverHttpResponse.getStatusCode()).append(System.lineSeparator());
-            logInfo.append(getResponseHeaders()).append(System.lineSeparator());
-            BodyWriter writer = new BodyWriter();
+            accessLog.setStatusCode(Optional.ofNullable(serverHttpResponse.getStatusCode()).map(HttpStatus::value).orElse(null));
+            accessLog.setResponseHeaders(serverHttpResponse.getHeaders());
+            if (maxBodySize <= 0) {
+                return Flux.from(body).doFinally(signal -> publish());
+            }
+            BodyWriter writer = new BodyWriter(maxBodySize);
             return Flux.from(body).doOnNext(buffer -> writer.write(buffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
-                logInfo.append("[Response Body Start]").append(System.lineSeparator());
-                logInfo.append(writer.output()).append(System.lineSeparator());
-                logInfo.append("[Response Body End]").append(System.lineSeparator());
-                // when response, print all request info.
-                print(logInfo.toString());
+                accessLog.setResponseBody(writer.output());
+                // when response, publish all request info.
+                publish();
             });
         }
 
-        private String getResponseHeaders() {
-            return System.lineSeparator() + "[Response Headers Start]" + System.lineSeparator()
-                + LoggingPlugin.this.getHeaders(serverHttpResponse.getHeaders())
-                + "[Response Headers End]" + System.lineSeparator();
+        private void publish() {
+            accessLog.setElapsed((System.nanoTime() - start) / 1_000_000);
+            AccessLogCollector.getInstance().publish(accessLog);
         }
     }
 
     static class BodyWriter {
 
+        private static final String TRUNCATED = "...(truncated)";
+
         private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
         private final WritableByteChannel channel = Channels.newChannel(stream);
 
         private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
+        private final int maxSize;
+
+        private boolean truncated;
+
+        BodyWriter(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
         void write(final ByteBuffer buffer) {
             if (!isClosed.get()) {
                 try {
+                    int remaining = maxSize - stream.size();
+                    if (buffer.remaining() > remaining) {
+                        truncated = true;
+                        buffer.limit(buffer.position() + Math.max(remaining, 0));
+                    }
                     channel.write(buffer);
                 } catch (IOException e) {
                     isClosed.compareAndSet(false, true);
@@ -221,7 +217,8 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
         String output() {
             try {
                 isClosed.compareAndSet(false, true);
-                return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+                String output = new String(stream.toByteArray(), StandardCharsets.UTF_8);
+                return truncated ? output + TRUNCATED : output;
             } catch (Exception e) {
                 LOG.error("Write failed: ", e);
                 return "Write failed: " + e.getMessage();
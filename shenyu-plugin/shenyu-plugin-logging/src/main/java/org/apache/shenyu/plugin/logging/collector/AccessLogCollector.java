@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.collector;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.IgnoreExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.apache.shenyu.disruptor.event.DataEvent;
+import org.apache.shenyu.disruptor.event.DisruptorEventFactory;
+import org.apache.shenyu.disruptor.thread.DisruptorThreadFactory;
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.apache.shenyu.plugin.logging.sink.AccessLogSink;
+import org.apache.shenyu.spi.ExtensionLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The access log collector.
+ * The access logs are published to a pre-allocated ring buffer without blocking the caller,
+ * and a single consumer thread writes them to the sink in batches. When the ring buffer is full,
+ * or while the collector is reconfigured, the access logs are dropped and counted.
+ */
+public final class AccessLogCollector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccessLogCollector.class);
+
+    private static final AccessLogCollector INSTANCE = new AccessLogCollector();
+
+    private static final String DEFAULT_SINK = "log";
+
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile LoggingConfig config = new LoggingConfig();
+
+    private volatile Pipeline pipeline;
+
+    private AccessLogCollector() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static AccessLogCollector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the current config.
+     *
+     * @return the config
+     */
+    public LoggingConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Apply the config, the running pipeline is drained and restarted if the config has changed.
+     *
+     * @param loggingConfig the logging config
+     */
+    public void configure(final LoggingConfig loggingConfig) {
+        lock.lock();
+        try {
+            if (loggingConfig.equals(config)) {
+                return;
+            }
+            config = loggingConfig;
+            Pipeline running = pipeline;
+            if (Objects.nonNull(running)) {
+                pipeline = null;
+                running.shutdown();
+                pipeline = new Pipeline(loggingConfig);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publish an access log, the pipeline is started with the first one.
+     *
+     * @param accessLog the access log
+     * @return false if the access log is dropped
+     */
+    public boolean publish(final AccessLog accessLog) {
+        Pipeline current = pipeline;
+        if (Objects.isNull(current) && lock.tryLock()) {
+            try {
+                if (Objects.isNull(pipeline)) {
+                    pipeline = new Pipeline(config);
+                }
+                current = pipeline;
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (Objects.isNull(current) || !current.publish(accessLog)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of the access logs dropped.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Drain and stop the pipeline, it is started again by the next access log.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            Pipeline running = pipeline;
+            pipeline = null;
+            if (Objects.nonNull(running)) {
+                running.shutdown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Pipeline {
+
+        private final AccessLogSink sink;
+
+        private final Disruptor<DataEvent<AccessLog>> disruptor;
+
+        private final RingBuffer<DataEvent<AccessLog>> ringBuffer;
+
+        @SuppressWarnings("unchecked")
+        Pipeline(final LoggingConfig config) {
+            this.sink = createSink(config);
+            this.disruptor = new Disruptor<>(new DisruptorEventFactory<>(),
+                    ringSize(config.getBufferSize()),
+                    DisruptorThreadFactory.create("shenyu_access_log", true),
+                    ProducerType.MULTI,
+                    new SleepingWaitStrategy());
+            disruptor.handleEventsWith(new BatchEventHandler(sink, Math.max(config.getBatchSize(), 1)));
+            disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
+            this.ringBuffer = disruptor.start();
+        }
+
+        boolean publish(final AccessLog accessLog) {
+            long sequence;
+            try {
+                sequence = ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                return false;
+            }
+            ringBuffer.get(sequence).setData(accessLog);
+            ringBuffer.publish(sequence);
+            return true;
+        }
+
+        void shutdown() {
+            try {
+                disruptor.shutdown(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOG.warn("access logs are not drained in {}ms, the rest are dropped", SHUTDOWN_TIMEOUT);
+                disruptor.halt();
+            }
+            sink.close();
+        }
+
+        private static AccessLogSink createSink(final LoggingConfig config) {
+            ExtensionLoader<AccessLogSink> loader = ExtensionLoader.getExtensionLoader(AccessLogSink.class);
+            String name = config.getSink();
+            if (Objects.isNull(name) || !loader.getExtensionClasses().containsKey(name)) {
+                LOG.warn("access log sink {} is not found, use the {} sink", name, DEFAULT_SINK);
+                name = DEFAULT_SINK;
+            }
+            AccessLogSink sink = loader.getJoin(name);
+            sink.init(config);
+            return sink;
+        }
+
+        private static int ringSize(final int bufferSize) {
+            if (bufferSize <= 1) {
+                return 2;
+            }
+            int size = Integer.highestOneBit(bufferSize);
+            return size == bufferSize ? size : size << 1;
+        }
+    }
+
+    private static final class BatchEventHandler implements EventHandler<DataEvent<AccessLog>> {
+
+        private final AccessLogSink sink;
+
+        private final int batchSize;
+
+        private final List<AccessLog> batch;
+
+        BatchEventHandler(final AccessLogSink sink, final int batchSize) {
+            this.sink = sink;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onEvent(final DataEvent<AccessLog> event, final long sequence, final boolean endOfBatch) {
+            batch.add(event.getData());
+            // help gc
+            event.setData(null);
+            if (endOfBatch || batch.size() >= batchSize) {
+                try {
+                    sink.write(batch);
+                } catch (Exception e) {
+                    LOG.error("write access logs failed", e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.config;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The logging plugin configuration.
+ */
+public class LoggingConfig implements Serializable {
+
+    private static final long serialVersionUID = 4284519837195728532L;
+
+    /**
+     * The ratio of the requests to log, from 0 to 1, nothing is recorded for a request sampled out.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * The max bytes of a request or response body to log, 0 to skip the bodies.
+     */
+    private int maxBodySize = 65536;
+
+    /**
+     * The sink the access logs are written to, {@code log} or {@code file}, or the name of another sink extension.
+     */
+    private String sink = "log";
+
+    /**
+     * The path of the file sink.
+     */
+    private String path = "logs/shenyu-access.log";
+
+    /**
+     * The bytes of the file sink before it rolls over.
+     */
+    private long maxFileSize = 100L * 1024 * 1024;
+
+    /**
+     * The rolled files of the file sink to keep.
+     */
+    private int maxBackups = 7;
+
+    /**
+     * The size of the ring buffer, a power of 2, the access logs are dropped when it is full.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * The max access logs written to the sink at a time.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Gets sample rate.
+     *
+     * @return the sample rate
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets sample rate.
+     *
+     * @param sampleRate the sample rate
+     */
+    public void setSampleRate(final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets max body size.
+     *
+     * @return the max body size
+     */
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Sets max body size.
+     *
+     * @param maxBodySize the max body size
+     */
+    public void setMaxBodySize(final int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Gets sink.
+     *
+     * @return the sink
+     */
+    public String getSink() {
+        return sink;
+    }
+
+    /**
+     * Sets sink.
+     *
+     * @param sink the sink
+     */
+    public void setSink(final String sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Gets path.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets path.
+     *
+     * @param path the path
+     */
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Gets max file size.
+     *
+     * @return the max file size
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Sets max file size.
+     *
+     * @param maxFileSize the max file size
+     */
+    public void setMaxFileSize(final long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Gets max backups.
+     *
+     * @return the max backups
+     */
+    public int getMaxBackups() {
+        return maxBackups;
+    }
+
+    /**
+     * Sets max backups.
+     *
+     * @param maxBackups the max backups
+     */
+    public void setMaxBackups(final int maxBackups) {
+        this.maxBackups = maxBackups;
+    }
+
+    /**
+     * Gets buffer size.
+     *
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets buffer size.
+     *
+     * @param bufferSize the buffer size
+     */
+    public void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Gets batch size.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets batch size.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LoggingConfig that = (LoggingConfig) o;
+        return Double.compare(that.sampleRate, sampleRate) == 0 && maxBodySize == that.maxBodySize
+                && Objects.equals(sink, that.sink) && Objects.equals(path, that.path)
+                && maxFileSize == that.maxFileSize && maxBackups == that.maxBackups
+                && bufferSize == that.bufferSize && batchSize == that.batchSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sampleRate, maxBodySize, sink, path, maxFileSize, maxBackups, bufferSize, batchSize);
+    }
+}
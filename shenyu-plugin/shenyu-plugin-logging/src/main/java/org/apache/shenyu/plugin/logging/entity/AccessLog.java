@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.entity;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import java.net.URI;
+
+/**
+ * The access log of a request, it is recorded on the request path and formatted by the sink.
+ * The headers and params are the read-only ones of the exchange, they are not copied.
+ */
+public class AccessLog {
+
+    private long startTime;
+
+    private long elapsed;
+
+    private String method;
+
+    private URI uri;
+
+    private HttpHeaders requestHeaders;
+
+    private MultiValueMap<String, String> queryParams;
+
+    private String requestBody;
+
+    private Integer statusCode;
+
+    private HttpHeaders responseHeaders;
+
+    private String responseBody;
+
+    /**
+     * Gets the start time.
+     *
+     * @return the start time, in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Sets the start time.
+     *
+     * @param startTime the start time, in milliseconds
+     */
+    public void setStartTime(final long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Gets the elapsed.
+     *
+     * @return the elapsed, in milliseconds
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Sets the elapsed.
+     *
+     * @param elapsed the elapsed, in milliseconds
+     */
+    public void setElapsed(final long elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the method.
+     *
+     * @return the method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Sets the method.
+     *
+     * @param method the method
+     */
+    public void setMethod(final String method) {
+        this.method = method;
+    }
+
+    /**
+     * Gets the uri.
+     *
+     * @return the uri
+     */
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Sets the uri.
+     *
+     * @param uri the uri
+     */
+    public void setUri(final URI uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Gets the request headers.
+     *
+     * @return the request headers
+     */
+    public HttpHeaders getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Sets the request headers.
+     *
+     * @param requestHeaders the request headers
+     */
+    public void setRequestHeaders(final HttpHeaders requestHeaders) {
+        this.requestHeaders = requestHeaders;
+    }
+
+    /**
+     * Gets the query params.
+     *
+     * @return the query params
+     */
+    public MultiValueMap<String, String> getQueryParams() {
+        return queryParams;
+    }
+
+    /**
+     * Sets the query params.
+     *
+     * @param queryParams the query params
+     */
+    public void setQueryParams(final MultiValueMap<String, String> queryParams) {
+        this.queryParams = queryParams;
+    }
+
+    /**
+     * Gets the request body.
+     *
+     * @return the request body, capped by the max body size
+     */
+    public String getRequestBody() {
+        return requestBody;
+    }
+
+    /**
+     * Sets the request body.
+     *
+     * @param requestBody the request body, capped by the max body size
+     */
+    public void setRequestBody(final String requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    /**
+     * Gets the status code.
+     *
+     * @return the status code
+     */
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Sets the status code.
+     *
+     * @param statusCode the status code
+     */
+    public void setStatusCode(final Integer statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Gets the response headers.
+     *
+     * @return the response headers
+     */
+    public HttpHeaders getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Sets the response headers.
+     *
+     * @param responseHeaders the response headers
+     */
+    public void setResponseHeaders(final HttpHeaders responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    /**
+     * Gets the response body.
+     *
+     * @return the response body, capped by the max body size
+     */
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Sets the response body.
+     *
+     * @param responseBody the response body, capped by the max body size
+     */
+    public void setResponseBody(final String responseBody) {
+        this.responseBody = responseBody;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.sink;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Format an access log as the text the logging plugin always printed.
+ */
+public final class AccessLogFormatter {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private AccessLogFormatter() {
+    }
+
+    /**
+     * Format the access log.
+     *
+     * @param accessLog the access log
+     * @param builder the builder to append to
+     */
+    public static void format(final AccessLog accessLog, final StringBuilder builder) {
+        builder.append("Print Request Info: ").append(LINE_SEPARATOR)
+                .append("Request Uri: ").append(accessLog.getUri()).append(LINE_SEPARATOR)
+                .append("Request Method: ").append(accessLog.getMethod()).append(LINE_SEPARATOR)
+                .append("Request Time: ").append(accessLog.getStartTime()).append(LINE_SEPARATOR);
+        appendHeaders(builder, "Request Headers", accessLog.getRequestHeaders());
+        appendParams(builder, accessLog.getQueryParams());
+        appendBody(builder, "Request Body", accessLog.getRequestBody());
+        builder.append(LINE_SEPARATOR)
+                .append("Response Code: ").append(accessLog.getStatusCode()).append(LINE_SEPARATOR)
+                .append("Response Time: ").append(accessLog.getElapsed()).append("ms").append(LINE_SEPARATOR);
+        appendHeaders(builder, "Response Headers", accessLog.getResponseHeaders());
+        appendBody(builder, "Response Body", accessLog.getResponseBody());
+    }
+
+    private static void appendHeaders(final StringBuilder builder, final String name, final HttpHeaders headers) {
+        if (Objects.isNull(headers) || headers.isEmpty()) {
+            return;
+        }
+        builder.append('[').append(name).append(" Start]").append(LINE_SEPARATOR);
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            builder.append(entry.getKey()).append(": ").append(StringUtils.join(entry.getValue(), ",")).append(LINE_SEPARATOR);
+        }
+        builder.append('[').append(name).append(" End]").append(LINE_SEPARATOR);
+    }
+
+    private static void appendParams(final StringBuilder builder, final MultiValueMap<String, String> params) {
+        if (Objects.isNull(params) || params.isEmpty()) {
+            return;
+        }
+        builder.append("[Query Params Start]").append(LINE_SEPARATOR);
+        params.forEach((key, value) -> builder.append(key).append(":").append(StringUtils.join(value, ",")).append(LINE_SEPARATOR));
+        builder.append("[Query Params End]").append(LINE_SEPARATOR);
+    }
+
+    private static void appendBody(final StringBuilder builder, final String name, final String body) {
+        if (StringUtils.isEmpty(body)) {
+            return;
+        }
+        builder.append('[').append(name).append(" Start]").append(LINE_SEPARATOR)
+                .append(body).append(LINE_SEPARATOR)
+                .append('[').append(name).append(" End]").append(LINE_SEPARATOR);
+    }
+}
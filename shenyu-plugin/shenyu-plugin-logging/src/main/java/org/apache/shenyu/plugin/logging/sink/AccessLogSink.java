@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.sink;
+
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.apache.shenyu.spi.SPI;
+
+import java.util.List;
+
+/**
+ * The sink the access logs are written to, it is only called by the single consumer thread.
+ */
+@SPI
+public interface AccessLogSink {
+
+    /**
+     * Init the sink before the access logs are written.
+     *
+     * @param config the logging config
+     */
+    default void init(final LoggingConfig config) {
+    }
+
+    /**
+     * Write a batch of access logs.
+     *
+     * @param accessLogs the access logs
+     */
+    void write(List<AccessLog> accessLogs);
+
+    /**
+     * Close the sink, the access logs written are flushed.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.sink;
+
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.apache.shenyu.spi.Join;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The sink appending the access logs to a local file, which is flushed once per batch
+ * and rolled over to {@code path.1} ... {@code path.maxBackups} once it exceeds the max file size.
+ */
+@Join
+public class FileAccessLogSink implements AccessLogSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileAccessLogSink.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private Path path;
+
+    private long maxFileSize;
+
+    private int maxBackups;
+
+    private Writer writer;
+
+    @Override
+    public void init(final LoggingConfig config) {
+        close();
+        this.path = Paths.get(config.getPath()).toAbsolutePath();
+        this.maxFileSize = config.getMaxFileSize();
+        this.maxBackups = config.getMaxBackups();
+        open();
+    }
+
+    @Override
+    public void write(final List<AccessLog> accessLogs) {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        try {
+            for (AccessLog accessLog : accessLogs) {
+                builder.setLength(0);
+                AccessLogFormatter.format(accessLog, builder);
+                writer.append(builder).append(System.lineSeparator());
+            }
+            writer.flush();
+            if (maxFileSize > 0 && Files.size(path) >= maxFileSize) {
+                roll();
+            }
+        } catch (IOException e) {
+            LOG.error("write access log to {} failed", path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOG.error("close access log {} failed", path, e);
+        }
+        writer = null;
+    }
+
+    private void open() {
+        try {
+            File parent = path.toFile().getParentFile();
+            if (Objects.nonNull(parent) && !parent.exists() && !parent.mkdirs()) {
+                LOG.error("create access log directory {} failed", parent);
+                return;
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path.toFile(), true), StandardCharsets.UTF_8), BUFFER_SIZE);
+        } catch (IOException e) {
+            LOG.error("open access log {} failed", path, e);
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        if (maxBackups > 0) {
+            Files.deleteIfExists(backup(maxBackups));
+            for (int index = maxBackups - 1; index >= 1; index--) {
+                Path source = backup(index);
+                if (Files.exists(source)) {
+                    Files.move(source, backup(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(path);
+        }
+        open();
+    }
+
+    private Path backup(final int index) {
+        return Paths.get(path + "." + index);
+    }
+}
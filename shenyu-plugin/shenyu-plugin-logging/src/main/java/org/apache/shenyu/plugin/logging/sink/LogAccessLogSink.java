@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.sink;
+
+import org.apache.shenyu.plugin.logging.LoggingPlugin;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.apache.shenyu.spi.Join;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * The sink printing the access logs with the logger of {@link LoggingPlugin}, as the plugin always did.
+ */
+@Join
+public class LogAccessLogSink implements AccessLogSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingPlugin.class);
+
+    private final StringBuilder builder = new StringBuilder();
+
+    @Override
+    public void write(final List<AccessLog> accessLogs) {
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        for (AccessLog accessLog : accessLogs) {
+            builder.setLength(0);
+            AccessLogFormatter.format(accessLog, builder);
+            LOG.info(builder.toString());
+        }
+    }
+}
@@ -18,10 +18,14 @@
 package org.apache.shenyu.plugin.logging;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.logging.collector.AccessLogCollector;
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,7 +39,9 @@ import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -83,6 +89,28 @@ public final class LoggingPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testDoExecuteSampledOut() {
+        LoggingConfig config = new LoggingConfig();
+        config.setSampleRate(0);
+        AccessLogCollector.getInstance().configure(config);
+        try {
+            when(chain.execute(exchange)).thenReturn(Mono.empty());
+            StepVerifier.create(loggingPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+            verify(exchange, never()).mutate();
+        } finally {
+            AccessLogCollector.getInstance().configure(new LoggingConfig());
+        }
+    }
+
+    @Test
+    public void testBodyWriterTruncated() {
+        LoggingPlugin.BodyWriter writer = new LoggingPlugin.BodyWriter(5);
+        writer.write(ByteBuffer.wrap("Hello".getBytes(StandardCharsets.UTF_8)));
+        writer.write(ByteBuffer.wrap(",World".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("Hello...(truncated)", writer.output());
+    }
+
     @Test
     public void testGetOrder() {
         Assert.assertEquals(loggingPlugin.getOrder(), PluginEnum.LOGGING.getCode());
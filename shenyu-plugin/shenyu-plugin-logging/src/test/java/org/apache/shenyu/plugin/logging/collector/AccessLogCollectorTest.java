@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.collector;
+
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Test Case For AccessLogCollector.
+ */
+public final class AccessLogCollectorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        AccessLogCollector.getInstance().close();
+        AccessLogCollector.getInstance().configure(new LoggingConfig());
+    }
+
+    @Test
+    public void testPublish() throws IOException {
+        File file = new File(folder.newFolder(), "access.log");
+        LoggingConfig config = new LoggingConfig();
+        config.setSink("file");
+        config.setPath(file.getPath());
+        config.setBatchSize(16);
+        AccessLogCollector collector = AccessLogCollector.getInstance();
+        collector.configure(config);
+        int published = 0;
+        for (int i = 0; i < 100; i++) {
+            AccessLog accessLog = new AccessLog();
+            accessLog.setMethod("GET");
+            accessLog.setUri(URI.create("/http/test/" + i));
+            if (collector.publish(accessLog)) {
+                published++;
+            }
+        }
+        collector.close();
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertEquals(published, content.split("Print Request Info").length - 1);
+        assertTrue(content.contains("Request Uri: /http/test/0"));
+    }
+
+    @Test
+    public void testUnknownSink() {
+        LoggingConfig config = new LoggingConfig();
+        config.setSink("unknown");
+        AccessLogCollector collector = AccessLogCollector.getInstance();
+        collector.configure(config);
+        assertTrue(collector.publish(new AccessLog()));
+    }
+}
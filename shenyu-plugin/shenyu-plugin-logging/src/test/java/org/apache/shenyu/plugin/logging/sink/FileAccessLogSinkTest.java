@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.sink;
+
+import org.apache.shenyu.plugin.logging.config.LoggingConfig;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Test Case For FileAccessLogSink.
+ */
+public final class FileAccessLogSinkTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FileAccessLogSink sink = new FileAccessLogSink();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.newFolder(), "access.log");
+        LoggingConfig config = new LoggingConfig();
+        config.setPath(file.getPath());
+        config.setMaxFileSize(1024);
+        config.setMaxBackups(2);
+        sink.init(config);
+    }
+
+    @After
+    public void tearDown() {
+        sink.close();
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        sink.write(Collections.singletonList(accessLog("/http/test")));
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("Request Uri: /http/test"));
+        assertTrue(content.contains("Response Code: 200"));
+    }
+
+    @Test
+    public void testRoll() {
+        for (int i = 0; i < 50; i++) {
+            sink.write(Collections.singletonList(accessLog("/http/test/" + i)));
+        }
+        assertTrue(new File(file.getPath() + ".1").exists());
+        assertTrue(new File(file.getPath() + ".2").exists());
+        assertFalse(new File(file.getPath() + ".3").exists());
+        assertTrue(file.length() < 1024);
+    }
+
+    private static AccessLog accessLog(final String path) {
+        AccessLog accessLog = new AccessLog();
+        accessLog.setMethod("GET");
+        accessLog.setUri(URI.create(path));
+        accessLog.setStatusCode(200);
+        accessLog.setResponseBody("{\"code\":200}");
+        return accessLog;
+    }
+}
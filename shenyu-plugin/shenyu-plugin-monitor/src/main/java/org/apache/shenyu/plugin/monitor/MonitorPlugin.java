@@ -17,36 +17,50 @@
 
 package org.apache.shenyu.plugin.monitor;
 
-import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.metrics.config.MetricsConfig;
 import org.apache.shenyu.metrics.constant.LabelNames;
 import org.apache.shenyu.metrics.reporter.MetricsReporter;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
-import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.monitor.cache.MetricsSeriesCache;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * the monitor plugin.
+ * The requests are counted by the matched route, plugin / selector / rule, rather than by the raw path,
+ * and every metric is bounded by the max series, the rest are counted as {@link MetricsSeriesCache#OVERFLOW}.
  */
 public class MonitorPlugin extends AbstractShenyuPlugin {
     
+    private static final int DEFAULT_MAX_SERIES = 1000;
+    
+    private final MetricsSeriesCache pathSeries = new MetricsSeriesCache(2);
+    
+    private final MetricsSeriesCache routeSeries = new MetricsSeriesCache(3);
+    
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        final long start = System.nanoTime();
+        int maxSeries = Optional.ofNullable(Singleton.INST.get(MetricsConfig.class)).map(MetricsConfig::getMaxSeries).orElse(DEFAULT_MAX_SERIES);
+        String path = exchange.getRequest().getURI().getPath();
+        String method = exchange.getRequest().getMethodValue();
         MetricsReporter.counterIncrement(LabelNames.REQUEST_TOTAL);
-        MetricsReporter.counterIncrement(LabelNames.HTTP_REQUEST_TOTAL, new String[]{exchange.getRequest().getURI().getPath(), exchange.getRequest().getMethodValue()});
-        ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
-        LocalDateTime startDateTime = Optional.ofNullable(shenyuContext).map(ShenyuContext::getStartDateTime).orElseGet(LocalDateTime::now);
-        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startDateTime))
-                .doOnError(throwable -> responseCommitted(exchange, startDateTime));
+        MetricsReporter.counterIncrement(LabelNames.HTTP_REQUEST_TOTAL, pathSeries.obtain(method + " " + path, maxSeries, () -> new String[]{path, method}));
+        String[] route = routeSeries.obtain(rule.getId(), maxSeries,
+            () -> new String[]{Objects.toString(selector.getPluginName(), ""), Objects.toString(selector.getId(), ""), rule.getId()});
+        MetricsReporter.counterIncrement(LabelNames.ROUTE_REQUEST_TOTAL, route);
+        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, start, route))
+                .doOnError(throwable -> responseCommitted(exchange, start, route));
     }
     
     @Override
@@ -59,20 +73,21 @@ public class MonitorPlugin extends AbstractShenyuPlugin {
         return PluginEnum.MONITOR.getName();
     }
     
-    private void responseCommitted(final ServerWebExchange exchange, final LocalDateTime startDateTime) {
+    private void responseCommitted(final ServerWebExchange exchange, final long start, final String[] route) {
         ServerHttpResponse response = exchange.getResponse();
         if (response.isCommitted()) {
-            recordTime(startDateTime);
+            recordTime(start, route);
         } else {
             response.beforeCommit(() -> {
-                recordTime(startDateTime);
+                recordTime(start, route);
                 return Mono.empty();
             });
         }
     }
     
-    private void recordTime(final LocalDateTime startDateTime) {
-        long millisBetween = DateUtils.acquireMillisBetween(startDateTime, LocalDateTime.now());
-        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, millisBetween);
+    private void recordTime(final long start, final String[] route) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, millis);
+        MetricsReporter.recordTime(LabelNames.ROUTE_LATENCY_NAME, route, millis);
     }
 }
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.monitor.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The label values of a metric, bounded by the max series.
+ * Each key keeps its label values while it is in use, so a series is stable for its lifetime,
+ * and the keys beyond the max series share the overflow series labelled {@code other}.
+ * Once the max series is reached, the series idle for the idle time are evicted to admit the new keys,
+ * so the deleted rules and the paths no longer requested give way to the live ones.
+ */
+public final class MetricsSeriesCache {
+
+    /**
+     * The label value of the overflow series.
+     */
+    public static final String OVERFLOW = "other";
+
+    private static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ConcurrentMap<String, Series> series = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final String[] overflow;
+
+    private final long idleNanos;
+
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    /**
+     * Instantiates a new metrics series cache.
+     *
+     * @param labelCount the number of the labels
+     */
+    public MetricsSeriesCache(final int labelCount) {
+        this(labelCount, DEFAULT_IDLE_MILLIS);
+    }
+
+    /**
+     * Instantiates a new metrics series cache.
+     *
+     * @param labelCount the number of the labels
+     * @param idleMillis the milliseconds a series is kept without being obtained once the max series is reached
+     */
+    public MetricsSeriesCache(final int labelCount, final long idleMillis) {
+        this.overflow = new String[labelCount];
+        Arrays.fill(overflow, OVERFLOW);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+    }
+
+    /**
+     * Obtain the label values of the key, or the overflow label values once the max series is reached.
+     *
+     * @param key the key of the series
+     * @param maxSeries the max series
+     * @param labelValues creates the label values of a new series
+     * @return the label values
+     */
+    public String[] obtain(final String key, final int maxSeries, final Supplier<String[]> labelValues) {
+        if (Objects.isNull(key)) {
+            return overflow;
+        }
+        long now = System.nanoTime();
+        Series values = series.get(key);
+        if (Objects.nonNull(values)) {
+            return values.access(now, idleNanos / 16);
+        }
+        if (!admit(maxSeries, now)) {
+            return overflow;
+        }
+        Series created = new Series(labelValues.get(), now);
+        Series existing = series.putIfAbsent(key, created);
+        if (Objects.nonNull(existing)) {
+            size.decrementAndGet();
+            return existing.access(now, idleNanos / 16);
+        }
+        return created.labelValues;
+    }
+
+    /**
+     * Gets the number of the series admitted.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private boolean admit(final int maxSeries, final long now) {
+        if (size.incrementAndGet() <= maxSeries) {
+            return true;
+        }
+        size.decrementAndGet();
+        if (!evictIdle(now)) {
+            return false;
+        }
+        if (size.incrementAndGet() <= maxSeries) {
+            return true;
+        }
+        size.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Evict the idle series, at most once in the idle time, as every overflowed key would scan them otherwise.
+     */
+    private boolean evictIdle(final long now) {
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + idleNanos)) {
+            return false;
+        }
+        boolean evicted = false;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            if (now - entry.getValue().lastAccess >= idleNanos && series.remove(entry.getKey(), entry.getValue())) {
+                size.decrementAndGet();
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+
+    private static final class Series {
+
+        private final String[] labelValues;
+
+        private volatile long lastAccess;
+
+        Series(final String[] labelValues, final long lastAccess) {
+            this.labelValues = labelValues;
+            this.lastAccess = lastAccess;
+        }
+
+        String[] access(final long now, final long granularity) {
+            // the hot series are not written on every request.
+            if (now - lastAccess > granularity) {
+                lastAccess = now;
+            }
+            return labelValues;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.monitor.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test case for MetricsSeriesCache.
+ */
+public final class MetricsSeriesCacheTest {
+
+    @Test
+    public void testObtain() {
+        MetricsSeriesCache cache = new MetricsSeriesCache(2);
+        String[] first = cache.obtain("a", 2, () -> new String[]{"a", "GET"});
+        assertArrayEquals(new String[]{"a", "GET"}, first);
+        assertSame(first, cache.obtain("a", 2, () -> new String[]{"a", "POST"}));
+        cache.obtain("b", 2, () -> new String[]{"b", "GET"});
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOverflow() {
+        MetricsSeriesCache cache = new MetricsSeriesCache(3);
+        for (int i = 0; i < 10; i++) {
+            String id = String.valueOf(i);
+            cache.obtain(id, 5, () -> new String[]{"divide", "selector", id});
+        }
+        assertEquals(5, cache.size());
+        String[] overflow = {MetricsSeriesCache.OVERFLOW, MetricsSeriesCache.OVERFLOW, MetricsSeriesCache.OVERFLOW};
+        assertArrayEquals(overflow, cache.obtain("9", 5, () -> new String[]{"divide", "selector", "9"}));
+        assertArrayEquals(overflow, cache.obtain(null, 5, () -> new String[]{"divide", "selector", null}));
+        assertArrayEquals(new String[]{"divide", "selector", "0"}, cache.obtain("0", 5, () -> new String[0]));
+    }
+
+    @Test
+    public void testEvictIdle() throws InterruptedException {
+        MetricsSeriesCache cache = new MetricsSeriesCache(1, 200);
+        cache.obtain("deleted", 2, () -> new String[]{"deleted"});
+        cache.obtain("live", 2, () -> new String[]{"live"});
+        Thread.sleep(120);
+        cache.obtain("live", 2, () -> new String[0]);
+        Thread.sleep(120);
+        // the deleted rule is idle for the idle time, the new one takes its series.
+        assertArrayEquals(new String[]{"new"}, cache.obtain("new", 2, () -> new String[]{"new"}));
+        assertArrayEquals(new String[]{"live"}, cache.obtain("live", 2, () -> new String[0]));
+        assertEquals(2, cache.size());
+        assertArrayEquals(new String[]{MetricsSeriesCache.OVERFLOW}, cache.obtain("more", 2, () -> new String[]{"more"}));
+    }
+}
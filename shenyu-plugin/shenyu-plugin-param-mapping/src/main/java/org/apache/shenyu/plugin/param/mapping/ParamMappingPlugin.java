@@ -77,6 +77,11 @@ public class ParamMappingPlugin extends AbstractShenyuPlugin {
         return false;
     }
 
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return false;
+    }
+
     /**
      * OperatorFactory match.
      *
@@ -71,6 +71,26 @@ public class RateLimiterConfig implements Serializable {
      */
     private Duration maxWait = Duration.ofMillis(-1);
 
+    /**
+     * The milliseconds to wait for redis, a slower call counts as a failure.
+     */
+    private long timeout = 3000L;
+
+    /**
+     * The consecutive redis failures that open the circuit breaker and switch to the local limiter.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * The milliseconds the circuit breaker stays open before redis is tried again.
+     */
+    private long recoveryTimeout = 10000L;
+
+    /**
+     * The number of gateway nodes sharing the limits, the local limiter enforces its share of the capacity.
+     */
+    private int nodeCount = 1;
+
     /**
      * Gets database.
      *
@@ -233,6 +253,78 @@ public class RateLimiterConfig implements Serializable {
         this.maxWait = maxWait;
     }
 
+    /**
+     * Gets timeout.
+     *
+     * @return the timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets timeout.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(final long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets failure threshold.
+     *
+     * @return the failure threshold
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets failure threshold.
+     *
+     * @param failureThreshold the failure threshold
+     */
+    public void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Gets recovery timeout.
+     *
+     * @return the recovery timeout
+     */
+    public long getRecoveryTimeout() {
+        return recoveryTimeout;
+    }
+
+    /**
+     * Sets recovery timeout.
+     *
+     * @param recoveryTimeout the recovery timeout
+     */
+    public void setRecoveryTimeout(final long recoveryTimeout) {
+        this.recoveryTimeout = recoveryTimeout;
+    }
+
+    /**
+     * Gets node count.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Sets node count.
+     *
+     * @param nodeCount the node count
+     */
+    public void setNodeCount(final int nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -246,11 +338,14 @@ public class RateLimiterConfig implements Serializable {
                 && Objects.equals(database, that.database) && Objects.equals(master, that.master)
                 && Objects.equals(mode, that.mode) && Objects.equals(url, that.url)
                 && Objects.equals(password, that.password)
-                && Objects.equals(maxWait, that.maxWait);
+                && Objects.equals(maxWait, that.maxWait)
+                && timeout == that.timeout && failureThreshold == that.failureThreshold
+                && recoveryTimeout == that.recoveryTimeout && nodeCount == that.nodeCount;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(database, master, mode, url, password, maxIdle, minIdle, maxActive, maxWait);
+        return Objects.hash(database, master, mode, url, password, maxIdle, minIdle, maxActive, maxWait,
+                timeout, failureThreshold, recoveryTimeout, nodeCount);
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.cache.CacheBuilder;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory rate limiter used while redis is unavailable.
+ * Every node enforces its share of the limits, {@code capacity / nodeCount}, with a sliding window
+ * for the sliding window algorithm and with a token bucket for the token bucket and the leaky bucket.
+ * The concurrent algorithm cannot be enforced by a single node, so it stays open as before.
+ */
+final class LocalRateLimiter {
+
+    private static final String SLIDING_WINDOW = "slidingWindow";
+
+    private static final String CONCURRENT = "concurrent";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * key -> limiter state, the idle states are dropped.
+     */
+    private final Map<String, State> states = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .<String, State>build()
+            .asMap();
+
+    /**
+     * Verify the request in memory.
+     *
+     * @param id the id
+     * @param limiterHandle the limiter handle
+     * @param requestCount the tokens requested
+     * @param nodeCount the number of nodes sharing the limits
+     * @return the rate limiter response
+     */
+    RateLimiterResponse isAllowed(final String id, final RateLimiterHandle limiterHandle, final double requestCount, final int nodeCount) {
+        String algorithmName = limiterHandle.getAlgorithmName();
+        if (CONCURRENT.equals(algorithmName)) {
+            return new RateLimiterResponse(true, -1);
+        }
+        int nodes = Math.max(nodeCount, 1);
+        double capacity = limiterHandle.getBurstCapacity() / nodes;
+        double rate = limiterHandle.getReplenishRate() / nodes;
+        if (capacity <= 0 || rate <= 0) {
+            return new RateLimiterResponse(true, -1);
+        }
+        boolean slidingWindow = SLIDING_WINDOW.equals(algorithmName);
+        State state = states.computeIfAbsent(id, key -> slidingWindow ? new SlidingWindow() : new TokenBucket());
+        return state.acquire(capacity, rate, requestCount, System.nanoTime());
+    }
+
+    private interface State {
+
+        RateLimiterResponse acquire(double capacity, double rate, double requestCount, long now);
+    }
+
+    /**
+     * The token bucket, filled at {@code rate} tokens per second up to {@code capacity}.
+     */
+    private static final class TokenBucket implements State {
+
+        private double tokens = -1;
+
+        private long refreshed;
+
+        @Override
+        public synchronized RateLimiterResponse acquire(final double capacity, final double rate, final double requestCount, final long now) {
+            if (tokens < 0) {
+                tokens = capacity;
+            } else {
+                tokens = Math.min(capacity, tokens + (double) (now - refreshed) / NANOS_PER_SECOND * rate);
+            }
+            refreshed = now;
+            if (tokens < requestCount) {
+                return new RateLimiterResponse(false, (long) tokens);
+            }
+            tokens -= requestCount;
+            return new RateLimiterResponse(true, (long) tokens);
+        }
+    }
+
+    /**
+     * The sliding window of {@code capacity / rate} seconds, estimated from the counts of the
+     * current and the previous fixed windows, the previous one weighted by its overlap.
+     */
+    private static final class SlidingWindow implements State {
+
+        private long windowStart = System.nanoTime();
+
+        private double current;
+
+        private double previous;
+
+        @Override
+        public synchronized RateLimiterResponse acquire(final double capacity, final double rate, final double requestCount, final long now) {
+            long windowSize = Math.max(1L, (long) (capacity / rate * NANOS_PER_SECOND));
+            long elapsed = now - windowStart;
+            if (elapsed >= windowSize * 2) {
+                previous = 0;
+                current = 0;
+                windowStart = now;
+                elapsed = 0;
+            } else if (elapsed >= windowSize) {
+                previous = current;
+                current = 0;
+                windowStart += windowSize;
+                elapsed -= windowSize;
+            }
+            double estimated = previous * (windowSize - elapsed) / windowSize + current;
+            if (estimated + requestCount > capacity) {
+                return new RateLimiterResponse(false, (long) (capacity - estimated));
+            }
+            current += requestCount;
+            return new RateLimiterResponse(true, (long) (capacity - estimated - requestCount));
+        }
+    }
+}
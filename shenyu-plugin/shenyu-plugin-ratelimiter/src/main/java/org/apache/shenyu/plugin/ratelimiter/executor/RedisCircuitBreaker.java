@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The circuit breaker around the redis calls of the rate limiter.
+ * It opens after {@code failureThreshold} consecutive failures, then after {@code recoveryTimeout}
+ * a single probe is let through, which closes it on success or opens it again on failure or cancellation.
+ */
+public final class RedisCircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    private static final long MIN_PROBE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile State state = State.CLOSED;
+
+    private long openedAt;
+
+    /**
+     * Whether redis may be called.
+     *
+     * @param recoveryTimeout the milliseconds to stay open
+     * @return true if redis may be called, false if the local limiter should be used
+     */
+    public boolean tryAcquire(final long recoveryTimeout) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            long timeout = TimeUnit.MILLISECONDS.toNanos(recoveryTimeout);
+            if (state == State.HALF_OPEN) {
+                // a probe which never completes is given up, and another probe is let through.
+                timeout = Math.max(timeout, MIN_PROBE_TIMEOUT_NANOS);
+            }
+            if (state != State.CLOSED && System.nanoTime() - openedAt >= timeout) {
+                state = State.HALF_OPEN;
+                openedAt = System.nanoTime();
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    /**
+     * Record a cancelled redis call, a cancelled probe opens it again, so the next probe is let through after the recovery timeout.
+     */
+    public void onCancel() {
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Record a successful redis call.
+     */
+    public void onSuccess() {
+        failures.set(0);
+        if (state == State.CLOSED) {
+            return;
+        }
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                state = State.CLOSED;
+                LOG.info("redis is available again, the rate limiter switches back to redis mode");
+            }
+        }
+    }
+
+    /**
+     * Record a failed redis call.
+     *
+     * @param failureThreshold the consecutive failures to open
+     */
+    public void onFailure(final int failureThreshold) {
+        int count = failures.incrementAndGet();
+        if (state == State.OPEN || (state == State.CLOSED && count < Math.max(failureThreshold, 1))) {
+            return;
+        }
+        synchronized (this) {
+            if (state != State.OPEN) {
+                if (state == State.CLOSED) {
+                    LOG.warn("redis failed {} times in a row, the rate limiter switches to local mode", count);
+                }
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Gets the state.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * The state of the circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * Redis is healthy, the limits are enforced by redis.
+         */
+        CLOSED,
+
+        /**
+         * Redis is unhealthy, the limits are enforced locally.
+         */
+        OPEN,
+
+        /**
+         * A probe is checking whether redis has recovered, the other requests are limited locally.
+         */
+        HALF_OPEN
+    }
+}
@@ -17,10 +17,13 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,17 +32,43 @@ import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RedisRateLimiter.
+ * With a lease size, the token bucket and the sliding window take batches of tokens from redis,
+ * and the requests are served from the local lease, which is renewed asynchronously once half taken.
+ * After redis denies a lease, the requests are checked by redis alone until it has refilled about a lease.
+ * When redis fails or times out repeatedly, a circuit breaker switches to an in-memory limiter enforcing
+ * the share of this node, until a probe finds redis available again.
  */
 public class RedisRateLimiter {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private static final RateLimiterConfig DEFAULT_CONFIG = new RateLimiterConfig();
+
+    private static final Set<String> LEASABLE_ALGORITHMS = ImmutableSet.of("tokenBucket", "slidingWindow");
+
+    /**
+     * key -> token lease, the idle leases are dropped.
+     */
+    private final Map<String, TokenLease> leases = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .<String, TokenLease>build()
+            .asMap();
+
+    private final RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker();
+
+    private final LocalRateLimiter localRateLimiter = new LocalRateLimiter();
     
     /**
      * Verify using different current limiting algorithm scripts. 
@@ -48,17 +77,69 @@ public class RedisRateLimiter {
      * @param limiterHandle the limiter handle
      * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
      */
-    @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        if (limiterHandle.getLeaseSize() > limiterHandle.getRequestCount() && LEASABLE_ALGORITHMS.contains(limiterHandle.getAlgorithmName())) {
+            return isAllowedByLease(id, limiterHandle);
+        }
+        return execute(id, limiterHandle, limiterHandle.getRequestCount());
+    }
+
+    /**
+     * Serve the request from the local lease, if the lease runs out it is renewed at once,
+     * and if redis has not enough tokens left for a lease the request is checked by redis alone,
+     * unless the denied lease shows redis has not enough tokens for the request either.
+     */
+    private Mono<RateLimiterResponse> isAllowedByLease(final String id, final RateLimiterHandle limiterHandle) {
+        TokenLease lease = leases.computeIfAbsent(id, key -> new TokenLease());
+        double requestCount = limiterHandle.getRequestCount();
+        if (lease.tryAcquire(requestCount)) {
+            if (lease.isLow(limiterHandle.getLeaseSize()) && !lease.isDenied()) {
+                renew(id, limiterHandle, lease).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, lease.getRemaining()));
+        }
+        if (lease.isDenied()) {
+            return execute(id, limiterHandle, requestCount);
+        }
+        return renew(id, limiterHandle, lease).flatMap(response -> {
+            if (response.isAllowed() && lease.tryAcquire(requestCount)) {
+                return Mono.just(new RateLimiterResponse(true, lease.getRemaining()));
+            }
+            if (!response.isAllowed() && response.getTokensRemaining() < requestCount) {
+                return Mono.just(new RateLimiterResponse(false, response.getTokensRemaining()));
+            }
+            return execute(id, limiterHandle, requestCount);
+        }).switchIfEmpty(Mono.defer(() -> execute(id, limiterHandle, requestCount)));
+    }
+
+    private Mono<RateLimiterResponse> renew(final String id, final RateLimiterHandle limiterHandle, final TokenLease lease) {
+        return lease.renew(() -> execute(id, limiterHandle, limiterHandle.getLeaseSize()).doOnNext(response -> {
+            if (response.isAllowed()) {
+                lease.grant(limiterHandle.getLeaseSize(), limiterHandle.getLeaseTtl());
+            } else if (limiterHandle.getReplenishRate() > 0) {
+                // redis refills a lease in about leaseSize / replenishRate seconds.
+                lease.deny((long) (limiterHandle.getLeaseSize() / limiterHandle.getReplenishRate() * 1000));
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<RateLimiterResponse> execute(final String id, final RateLimiterHandle limiterHandle, final double requestCount) {
+        RateLimiterConfig config = Optional.ofNullable(Singleton.INST.get(RateLimiterConfig.class)).orElse(DEFAULT_CONFIG);
+        if (!circuitBreaker.tryAcquire(config.getRecoveryTimeout())) {
+            return Mono.just(localRateLimiter.isAllowed(id, limiterHandle, requestCount, config.getNodeCount()));
+        }
         double replenishRate = limiterHandle.getReplenishRate();
         double burstCapacity = limiterHandle.getBurstCapacity();
-        double requestCount = limiterHandle.getRequestCount();
         RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
         List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
         Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
-        return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
+        if (config.getTimeout() > 0) {
+            resultFlux = resultFlux.timeout(Duration.ofMillis(config.getTimeout()));
+        }
+        return resultFlux
                 .reduce(new ArrayList<Long>(), (longs, l) -> {
                     longs.addAll(l);
                     return longs;
@@ -67,10 +148,26 @@ public class RedisRateLimiter {
                     Long tokensLeft = results.get(1);
                     return new RateLimiterResponse(allowed, tokensLeft);
                 })
-                .doOnError(throwable -> LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage()))
+                .doOnSuccess(response -> circuitBreaker.onSuccess())
+                .onErrorResume(throwable -> {
+                    LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage());
+                    circuitBreaker.onFailure(config.getFailureThreshold());
+                    return Mono.just(localRateLimiter.isAllowed(id, limiterHandle, requestCount, config.getNodeCount()));
+                })
+                .doOnCancel(circuitBreaker::onCancel)
                 .doFinally(signalType -> rateLimiterAlgorithm.callback(script, keys, scriptArgs));
     }
-    
+
+    /**
+     * Gets the circuit breaker state, {@link RedisCircuitBreaker.State#CLOSED} means the limits are enforced by redis,
+     * otherwise they are enforced by the local limiter of this node.
+     *
+     * @return the circuit breaker state
+     */
+    public RedisCircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
     private String doubleToString(final double param) {
         return String.valueOf(param);
     }
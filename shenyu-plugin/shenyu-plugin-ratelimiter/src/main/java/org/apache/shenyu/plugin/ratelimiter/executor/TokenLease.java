@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The tokens a gateway leased from redis, served locally without a lock until they run out or expire.
+ * Only one lease is requested at a time, the concurrent requests share it,
+ * and once redis denies a lease no more are requested until it has refilled about a lease.
+ */
+final class TokenLease {
+
+    private final AtomicLong tokens = new AtomicLong(Double.doubleToLongBits(0));
+
+    /**
+     * the renewal in progress, published and withdrawn atomically, so a request never joins a completed one.
+     */
+    private final AtomicReference<Mono<RateLimiterResponse>> pending = new AtomicReference<>();
+
+    private volatile long expiresAt = System.nanoTime();
+
+    private volatile long deniedUntil = System.nanoTime();
+
+    /**
+     * Try to take tokens from the lease.
+     *
+     * @param count the tokens to take
+     * @return true if taken
+     */
+    boolean tryAcquire(final double count) {
+        if (System.nanoTime() - expiresAt >= 0) {
+            return false;
+        }
+        while (true) {
+            long bits = tokens.get();
+            double current = Double.longBitsToDouble(bits);
+            if (current < count) {
+                return false;
+            }
+            if (tokens.compareAndSet(bits, Double.doubleToLongBits(current - count))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Whether the lease should be renewed before it runs out, once half of it is taken.
+     *
+     * @param leaseSize the lease size
+     * @return true if the lease runs low
+     */
+    boolean isLow(final double leaseSize) {
+        return Double.longBitsToDouble(tokens.get()) < leaseSize / 2;
+    }
+
+    /**
+     * Gets the tokens remaining.
+     *
+     * @return the tokens remaining
+     */
+    long getRemaining() {
+        return (long) Double.longBitsToDouble(tokens.get());
+    }
+
+    /**
+     * Add the leased tokens, the tokens of an expired lease are dropped.
+     *
+     * @param leaseSize the tokens leased
+     * @param leaseTtl the milliseconds the tokens are valid for
+     */
+    void grant(final double leaseSize, final long leaseTtl) {
+        long now = System.nanoTime();
+        boolean expired = now - expiresAt >= 0;
+        while (true) {
+            long bits = tokens.get();
+            double granted = expired ? leaseSize : Double.longBitsToDouble(bits) + leaseSize;
+            if (tokens.compareAndSet(bits, Double.doubleToLongBits(granted))) {
+                break;
+            }
+        }
+        expiresAt = now + TimeUnit.MILLISECONDS.toNanos(leaseTtl);
+    }
+
+    /**
+     * Skip the leases for a while after redis denied one.
+     *
+     * @param backoff the milliseconds to skip the leases for
+     */
+    void deny(final long backoff) {
+        deniedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+    }
+
+    /**
+     * Whether redis denied a lease recently, the requests are checked by redis alone meanwhile.
+     *
+     * @return true if the leases are skipped
+     */
+    boolean isDenied() {
+        return System.nanoTime() - deniedUntil < 0;
+    }
+
+    /**
+     * Renew the lease, or join the renewal in progress.
+     *
+     * @param leaser leases the tokens and grants them, emits the response of redis to the lease
+     * @return the response to the lease, empty if another renewal has just completed
+     */
+    Mono<RateLimiterResponse> renew(final Supplier<Mono<RateLimiterResponse>> leaser) {
+        Mono<RateLimiterResponse> current = pending.get();
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+        AtomicReference<Mono<RateLimiterResponse>> self = new AtomicReference<>();
+        // the renewal is withdrawn before its response is emitted, the later requests start a new one.
+        Mono<RateLimiterResponse> renewal = Mono.defer(leaser)
+                .doOnTerminate(() -> pending.compareAndSet(self.get(), null))
+                .doFinally(signal -> pending.compareAndSet(self.get(), null))
+                .cache();
+        self.set(renewal);
+        if (pending.compareAndSet(null, renewal)) {
+            return renewal;
+        }
+        Mono<RateLimiterResponse> other = pending.get();
+        return Objects.isNull(other) ? Mono.empty() : other;
+    }
+}
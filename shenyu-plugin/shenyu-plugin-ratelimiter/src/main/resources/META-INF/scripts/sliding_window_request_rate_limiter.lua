@@ -22,6 +22,11 @@ local timestamp_key = KEYS[2]
 local rate = tonumber(ARGV[1])
 local capacity = tonumber(ARGV[2])
 local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+if requested == nil then
+  requested = 1
+end
+requested = math.ceil(requested)
 
 local window_size = tonumber(capacity / rate)
 local window_time = 1
@@ -40,9 +45,15 @@ end
 
 local remain_request = capacity - last_requested
 local allowed_num = 0
-if (last_requested < capacity) then
+if (last_requested + requested <= capacity) then
     allowed_num = 1
-    redis.call('zadd', tokens_key, now, timestamp_key)
+    if (requested == 1) then
+        redis.call('zadd', tokens_key, now, timestamp_key)
+    else
+        for i = 1, requested do
+            redis.call('zadd', tokens_key, now, timestamp_key .. '-' .. i)
+        end
+    end
 end
 
 --redis.log(redis.LOG_WARNING, "remain_request " .. remain_request)
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * LocalRateLimiter test.
+ */
+public final class LocalRateLimiterTest {
+
+    private LocalRateLimiter localRateLimiter;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    @Before
+    public void setUp() {
+        localRateLimiter = new LocalRateLimiter();
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setReplenishRate(0.001);
+        rateLimiterHandle.setBurstCapacity(20);
+    }
+
+    @Test
+    public void tokenBucketTest() {
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        assertAllowed(10);
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        rateLimiterHandle.setAlgorithmName("slidingWindow");
+        assertAllowed(10);
+    }
+
+    @Test
+    public void concurrentTest() {
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        for (int i = 0; i < 30; i++) {
+            assertTrue(localRateLimiter.isAllowed("id", rateLimiterHandle, 1, 2).isAllowed());
+        }
+    }
+
+    /**
+     * Two nodes share the capacity of 20, so one node allows its half.
+     */
+    private void assertAllowed(final int expected) {
+        for (int i = 0; i < expected; i++) {
+            assertTrue(localRateLimiter.isAllowed("id", rateLimiterHandle, 1, 2).isAllowed());
+        }
+        assertFalse(localRateLimiter.isAllowed("id", rateLimiterHandle, 1, 2).isAllowed());
+        assertEquals(expected, localRateLimiter.isAllowed("other", rateLimiterHandle, 1, 2).getTokensRemaining() + 1);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RedisCircuitBreaker test.
+ */
+public final class RedisCircuitBreakerTest {
+
+    private final RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker();
+
+    @Test
+    public void openTest() {
+        circuitBreaker.onFailure(3);
+        circuitBreaker.onFailure(3);
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure(3);
+        circuitBreaker.onFailure(3);
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.CLOSED));
+        circuitBreaker.onFailure(3);
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.OPEN));
+        assertFalse(circuitBreaker.tryAcquire(60000));
+    }
+
+    @Test
+    public void recoveryTest() {
+        circuitBreaker.onFailure(1);
+        assertTrue(circuitBreaker.tryAcquire(0));
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.HALF_OPEN));
+        assertFalse(circuitBreaker.tryAcquire(0));
+        circuitBreaker.onFailure(1);
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.OPEN));
+        assertTrue(circuitBreaker.tryAcquire(0));
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.CLOSED));
+        assertTrue(circuitBreaker.tryAcquire(0));
+    }
+
+    @Test
+    public void cancelledProbeTest() {
+        circuitBreaker.onFailure(1);
+        assertTrue(circuitBreaker.tryAcquire(0));
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.HALF_OPEN));
+        circuitBreaker.onCancel();
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.OPEN));
+        assertFalse(circuitBreaker.tryAcquire(60000));
+        assertTrue(circuitBreaker.tryAcquire(0));
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void hangingProbeTest() throws ReflectiveOperationException {
+        circuitBreaker.onFailure(1);
+        assertTrue(circuitBreaker.tryAcquire(1000));
+        assertFalse(circuitBreaker.tryAcquire(1000));
+        // the probe never completes.
+        Field openedAt = RedisCircuitBreaker.class.getDeclaredField("openedAt");
+        openedAt.setAccessible(true);
+        openedAt.setLong(circuitBreaker, System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+        assertTrue(circuitBreaker.tryAcquire(1000));
+        assertThat(circuitBreaker.getState(), is(RedisCircuitBreaker.State.HALF_OPEN));
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.ratelimiter.executor;
 import com.google.common.collect.Lists;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.Assert;
 import org.junit.Before;
@@ -39,6 +40,8 @@ import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -158,9 +161,103 @@ public final class RedisRateLimiterTest {
         rateLimiterHandle.setAlgorithmName("tokenBucket");
         Mono<RateLimiterResponse> responseMono = redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
         StepVerifier.create(responseMono).assertNext(r -> {
-            Assert.assertEquals(-1, r.getTokensRemaining());
+            Assert.assertEquals((long) DEFAULT_TEST_BURST_CAPACITY - 1, r.getTokensRemaining());
             assertTrue(r.isAllowed());
         }).verifyComplete();
+        assertThat(redisRateLimiter.getState(), is(RedisCircuitBreaker.State.CLOSED));
+    }
+
+    /**
+     * redisRateLimiter.isAllowed switches to the local limiter once redis failed repeatedly.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void circuitBreakerOpenTest() {
+        isAllowedPreInit(0, 0, true);
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setFailureThreshold(2);
+        config.setNodeCount(100);
+        Singleton.INST.single(RateLimiterConfig.class, config);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        try {
+            for (int i = 0; i < 3; i++) {
+                StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                        .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+            }
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+            assertThat(redisRateLimiter.getState(), is(RedisCircuitBreaker.State.OPEN));
+            ReactiveRedisTemplate reactiveRedisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+            verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+        } finally {
+            Singleton.INST.single(RateLimiterConfig.class, new RateLimiterConfig());
+        }
+    }
+
+    /**
+     * redisRateLimiter.isAllowed opens the circuit breaker again when the probe is cancelled.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void circuitBreakerCancelledProbeTest() {
+        isAllowedPreInit(0, 0, true);
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setFailureThreshold(1);
+        config.setRecoveryTimeout(0);
+        config.setTimeout(0);
+        Singleton.INST.single(RateLimiterConfig.class, config);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        try {
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+            assertThat(redisRateLimiter.getState(), is(RedisCircuitBreaker.State.OPEN));
+            ReactiveRedisTemplate reactiveRedisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+            when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.never());
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .expectSubscription()
+                    .then(() -> assertThat(redisRateLimiter.getState(), is(RedisCircuitBreaker.State.HALF_OPEN)))
+                    .thenCancel()
+                    .verify();
+            assertThat(redisRateLimiter.getState(), is(RedisCircuitBreaker.State.OPEN));
+        } finally {
+            Singleton.INST.single(RateLimiterConfig.class, new RateLimiterConfig());
+        }
+    }
+
+    /**
+     * redisRateLimiter.isAllowed served by the lease.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void leaseAllowedTest() {
+        isAllowedPreInit(1L, 100L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setRequestCount(1);
+        rateLimiterHandle.setLeaseSize(10);
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        }
+        ReactiveRedisTemplate reactiveRedisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        verify(reactiveRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * redisRateLimiter.isAllowed falls back to redis with one call per request when the lease is denied.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void leaseNotAllowedTest() {
+        isAllowedPreInit(0L, 0L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setRequestCount(1);
+        rateLimiterHandle.setLeaseSize(10);
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        }
+        ReactiveRedisTemplate reactiveRedisTemplate = Singleton.INST.get(ReactiveRedisTemplate.class);
+        verify(reactiveRedisTemplate, times(3)).execute(any(RedisScript.class), anyList(), anyList());
     }
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * TokenLease test.
+ */
+public final class TokenLeaseTest {
+
+    private final TokenLease lease = new TokenLease();
+
+    @Test
+    public void joinRenewalInProgressTest() {
+        AtomicInteger leased = new AtomicInteger();
+        MonoProcessor<RateLimiterResponse> response = MonoProcessor.create();
+        Mono<RateLimiterResponse> renewal = lease.renew(() -> {
+            leased.incrementAndGet();
+            return response;
+        });
+        Mono<RateLimiterResponse> joined = lease.renew(() -> {
+            leased.incrementAndGet();
+            return Mono.just(new RateLimiterResponse(true, 10L));
+        });
+        response.onNext(new RateLimiterResponse(false, 0L));
+        StepVerifier.create(joined).assertNext(r -> assertThat(r.isAllowed(), is(false))).verifyComplete();
+        StepVerifier.create(renewal).assertNext(r -> assertThat(r.isAllowed(), is(false))).verifyComplete();
+        assertThat(leased.get(), is(1));
+    }
+
+    @Test
+    public void completedRenewalNotJoinedTest() {
+        StepVerifier.create(lease.renew(() -> Mono.just(new RateLimiterResponse(false, 0L))))
+                .assertNext(r -> assertThat(r.isAllowed(), is(false))).verifyComplete();
+        // a later renewal asks redis again instead of taking the completed response.
+        StepVerifier.create(lease.renew(() -> Mono.just(new RateLimiterResponse(true, 10L))))
+                .assertNext(r -> assertThat(r.isAllowed(), is(true))).verifyComplete();
+    }
+}
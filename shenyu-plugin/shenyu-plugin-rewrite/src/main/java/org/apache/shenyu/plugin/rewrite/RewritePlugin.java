@@ -62,7 +62,12 @@ public class RewritePlugin extends AbstractShenyuPlugin {
     @Override
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext body = exchange.getAttribute(Constants.CONTEXT);
-        return Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.DUBBO.getName());
+        return skipRpcType(Objects.requireNonNull(body).getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
     }
 
     @Override
@@ -115,7 +115,12 @@ public class SpringCloudPlugin extends AbstractShenyuPlugin {
     @Override
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext body = exchange.getAttribute(Constants.CONTEXT);
-        return !Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.SPRING_CLOUD.getName());
+        return skipRpcType(Objects.requireNonNull(body).getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.SPRING_CLOUD.getName());
     }
 
     @Override
@@ -82,10 +82,12 @@ public class URIPlugin implements ShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        String rpcType = shenyuContext.getRpcType();
-        if (Objects.equals(rpcType, RpcTypeEnum.HTTP.getName())) {
-            return false;
-        }
-        return !Objects.equals(rpcType, RpcTypeEnum.SPRING_CLOUD.getName());
+        return skipRpcType(shenyuContext.getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.HTTP.getName())
+                && !Objects.equals(rpcType, RpcTypeEnum.SPRING_CLOUD.getName());
     }
 }
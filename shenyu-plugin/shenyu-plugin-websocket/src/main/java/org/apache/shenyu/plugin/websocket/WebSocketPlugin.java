@@ -143,7 +143,12 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
     @Override
     public boolean skip(final ServerWebExchange exchange) {
         final ShenyuContext body = exchange.getAttribute(Constants.CONTEXT);
-        return !Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.WEB_SOCKET.getName());
+        return skipRpcType(Objects.requireNonNull(body).getRpcType());
+    }
+
+    @Override
+    public Boolean skipRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.WEB_SOCKET.getName());
     }
 
     @Override
@@ -22,7 +22,10 @@ import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.RpcParamTransformPlugin;
 import org.apache.shenyu.plugin.base.cache.CommonPluginDataSubscriber;
+import org.apache.shenyu.plugin.base.cache.ConfigSnapshotStore;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.web.configuration.ErrorHandlerConfiguration;
 import org.apache.shenyu.web.configuration.ShenyuExtConfiguration;
@@ -53,6 +56,7 @@ import org.springframework.web.server.WebFilter;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -108,13 +112,61 @@ public class ShenyuConfiguration {
     
     /**
      * Plugin data subscriber plugin data subscriber.
+     * If the config snapshot is enabled, the snapshot is restored here, as the sync data services depend on this subscriber.
      *
      * @param pluginDataHandlerList the plugin data handler list
+     * @param snapshotStore the config snapshot store
+     * @param metaSubscribers the meta subscribers
+     * @param authSubscribers the auth subscribers
      * @return the plugin data subscriber
      */
     @Bean
-    public PluginDataSubscriber pluginDataSubscriber(final ObjectProvider<List<PluginDataHandler>> pluginDataHandlerList) {
-        return new CommonPluginDataSubscriber(pluginDataHandlerList.getIfAvailable(Collections::emptyList));
+    public PluginDataSubscriber pluginDataSubscriber(final ObjectProvider<List<PluginDataHandler>> pluginDataHandlerList,
+                                                     final ObjectProvider<ConfigSnapshotStore> snapshotStore,
+                                                     final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers,
+                                                     final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) {
+        ConfigSnapshotStore store = snapshotStore.getIfAvailable();
+        CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(pluginDataHandlerList.getIfAvailable(Collections::emptyList), store);
+        if (Objects.nonNull(store)) {
+            store.restore(subscriber, metaSubscribers.getIfAvailable(Collections::emptyList), authSubscribers.getIfAvailable(Collections::emptyList));
+        }
+        return subscriber;
+    }
+    
+    /**
+     * Config snapshot store.
+     *
+     * @param config the config
+     * @return the config snapshot store
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shenyu.snapshot.enabled", havingValue = "true")
+    public ConfigSnapshotStore configSnapshotStore(final ShenyuConfig config) {
+        return new ConfigSnapshotStore(config.getSnapshot().getPath(), config.getSnapshot().getFlushInterval(), config.getSnapshot().getReconcileDelay());
+    }
+    
+    /**
+     * The meta data subscriber keeping the meta data in the config snapshot.
+     *
+     * @param snapshotStore the config snapshot store
+     * @return the meta data subscriber
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shenyu.snapshot.enabled", havingValue = "true")
+    public MetaDataSubscriber snapshotMetaDataSubscriber(final ConfigSnapshotStore snapshotStore) {
+        return snapshotStore.metaDataSubscriber();
+    }
+    
+    /**
+     * The auth data subscriber keeping the app auths in the config snapshot.
+     *
+     * @param snapshotStore the config snapshot store
+     * @return the auth data subscriber
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shenyu.snapshot.enabled", havingValue = "true")
+    public AuthDataSubscriber snapshotAuthDataSubscriber(final ConfigSnapshotStore snapshotStore) {
+        return snapshotStore.authDataSubscriber();
     }
     
     /**
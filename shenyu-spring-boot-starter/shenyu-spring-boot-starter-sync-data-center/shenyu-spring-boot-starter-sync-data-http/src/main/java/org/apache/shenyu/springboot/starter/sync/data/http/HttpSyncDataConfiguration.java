@@ -22,6 +22,7 @@ import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
 import org.apache.shenyu.sync.data.http.HttpSyncDataService;
+import org.apache.shenyu.sync.data.http.ReactiveHttpSyncDataService;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,8 +59,14 @@ public class HttpSyncDataConfiguration {
     @Bean
     public SyncDataService httpSyncDataService(final ObjectProvider<HttpConfig> httpConfig, final ObjectProvider<PluginDataSubscriber> pluginSubscriber,
                                            final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers, final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) {
+        HttpConfig config = Objects.requireNonNull(httpConfig.getIfAvailable());
+        if (Boolean.TRUE.equals(config.getReactive())) {
+            LOGGER.info("you use reactive http long pull sync shenyu data");
+            return new ReactiveHttpSyncDataService(config, Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+                    metaSubscribers.getIfAvailable(Collections::emptyList), authSubscribers.getIfAvailable(Collections::emptyList));
+        }
         LOGGER.info("you use http long pull sync shenyu data");
-        return new HttpSyncDataService(Objects.requireNonNull(httpConfig.getIfAvailable()), Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
+        return new HttpSyncDataService(config, Objects.requireNonNull(pluginSubscriber.getIfAvailable()),
                 metaSubscribers.getIfAvailable(Collections::emptyList), authSubscribers.getIfAvailable(Collections::emptyList));
     }
 
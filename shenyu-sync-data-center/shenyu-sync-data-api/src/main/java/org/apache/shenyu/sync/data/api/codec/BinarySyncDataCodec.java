@@ -0,0 +1,522 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthParamData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.spi.Join;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The compact binary codec.
+ * Every field is written in the order of the type, the numbers are var ints and the strings are length prefixed utf-8,
+ * the short strings are kept in a dictionary, so a repeated plugin name, selector id or condition is written as an index.
+ * A string is written as one of the tags below followed by its value.
+ * <ul>
+ *     <li>0: null.</li>
+ *     <li>1: a string not kept in the dictionary, followed by the length and the bytes.</li>
+ *     <li>2: a string added to the dictionary, followed by the length and the bytes.</li>
+ *     <li>n &gt;= 3: the string at n - 3 in the dictionary.</li>
+ * </ul>
+ */
+@Join
+public class BinarySyncDataCodec implements SyncDataCodec {
+
+    /**
+     * The content type.
+     */
+    public static final String CONTENT_TYPE = "application/x-shenyu-binary";
+
+    private static final int MAGIC = 0x53594443;
+
+    private static final int FORMAT = 1;
+
+    private static final int NULL = 0;
+
+    private static final int LITERAL = 1;
+
+    private static final int DICTIONARY_LITERAL = 2;
+
+    private static final int DICTIONARY_INDEX = 3;
+
+    /**
+     * The strings longer than it, such as the handles, are rarely repeated, so they are not kept in the dictionary.
+     */
+    private static final int MAX_DICTIONARY_STRING_LENGTH = 128;
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        Encoder encoder = new Encoder();
+        encoder.writeInt(MAGIC);
+        encoder.writeVarInt(FORMAT);
+        encoder.writeVarInt(configs.size());
+        for (Map.Entry<ConfigGroupEnum, ConfigData<?>> entry : configs.entrySet()) {
+            ConfigGroupEnum group = entry.getKey();
+            ConfigData<?> config = entry.getValue();
+            encoder.writeVarInt(group.ordinal());
+            encoder.writeBoolean(Objects.nonNull(config));
+            if (Objects.isNull(config)) {
+                continue;
+            }
+            encoder.writeString(config.getMd5());
+            encoder.writeVarLong(config.getLastModifyTime());
+            writeData(encoder, group, config.getData());
+        }
+        return encoder.toByteArray();
+    }
+
+    @Override
+    public Map<ConfigGroupEnum, ConfigData<?>> decode(final byte[] bytes) {
+        Decoder decoder = new Decoder(bytes);
+        if (decoder.readInt() != MAGIC) {
+            throw new IllegalArgumentException("not the shenyu binary config");
+        }
+        int format = decoder.readVarInt();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("unsupported format of the shenyu binary config: " + format);
+        }
+        int size = decoder.readVarInt();
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        ConfigGroupEnum[] groups = ConfigGroupEnum.values();
+        for (int i = 0; i < size; i++) {
+            int ordinal = decoder.readVarInt();
+            if (ordinal >= groups.length) {
+                throw new IllegalArgumentException("unknown config group: " + ordinal);
+            }
+            ConfigGroupEnum group = groups[ordinal];
+            if (!decoder.readBoolean()) {
+                configs.put(group, null);
+                continue;
+            }
+            String md5 = decoder.readString();
+            long lastModifyTime = decoder.readVarLong();
+            configs.put(group, readData(decoder, group, md5, lastModifyTime));
+        }
+        return configs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeData(final Encoder encoder, final ConfigGroupEnum group, final List<?> data) {
+        switch (group) {
+            case PLUGIN:
+                encoder.writeList((List<PluginData>) data, BinarySyncDataCodec::writePlugin);
+                break;
+            case SELECTOR:
+                encoder.writeList((List<SelectorData>) data, BinarySyncDataCodec::writeSelector);
+                break;
+            case RULE:
+                encoder.writeList((List<RuleData>) data, BinarySyncDataCodec::writeRule);
+                break;
+            case META_DATA:
+                encoder.writeList((List<MetaData>) data, BinarySyncDataCodec::writeMetaData);
+                break;
+            case APP_AUTH:
+                encoder.writeList((List<AppAuthData>) data, BinarySyncDataCodec::writeAppAuth);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown config group: " + group);
+        }
+    }
+
+    private static ConfigData<?> readData(final Decoder decoder, final ConfigGroupEnum group, final String md5, final long lastModifyTime) {
+        switch (group) {
+            case PLUGIN:
+                return new ConfigData<>(md5, lastModifyTime, decoder.readList(BinarySyncDataCodec::readPlugin));
+            case SELECTOR:
+                return new ConfigData<>(md5, lastModifyTime, decoder.readList(BinarySyncDataCodec::readSelector));
+            case RULE:
+                return new ConfigData<>(md5, lastModifyTime, decoder.readList(BinarySyncDataCodec::readRule));
+            case META_DATA:
+                return new ConfigData<>(md5, lastModifyTime, decoder.readList(BinarySyncDataCodec::readMetaData));
+            case APP_AUTH:
+                return new ConfigData<>(md5, lastModifyTime, decoder.readList(BinarySyncDataCodec::readAppAuth));
+            default:
+                throw new IllegalArgumentException("unknown config group: " + group);
+        }
+    }
+
+    private static void writePlugin(final Encoder encoder, final PluginData data) {
+        encoder.writeString(data.getId());
+        encoder.writeString(data.getName());
+        encoder.writeString(data.getConfig());
+        encoder.writeString(data.getRole());
+        encoder.writeNullableBoolean(data.getEnabled());
+    }
+
+    private static PluginData readPlugin(final Decoder decoder) {
+        PluginData data = new PluginData();
+        data.setId(decoder.readString());
+        data.setName(decoder.readString());
+        data.setConfig(decoder.readString());
+        data.setRole(decoder.readString());
+        data.setEnabled(decoder.readNullableBoolean());
+        return data;
+    }
+
+    private static void writeSelector(final Encoder encoder, final SelectorData data) {
+        encoder.writeString(data.getId());
+        encoder.writeString(data.getPluginId());
+        encoder.writeString(data.getPluginName());
+        encoder.writeString(data.getName());
+        encoder.writeNullableInt(data.getMatchMode());
+        encoder.writeNullableInt(data.getType());
+        encoder.writeNullableInt(data.getSort());
+        encoder.writeNullableBoolean(data.getEnabled());
+        encoder.writeNullableBoolean(data.getLogged());
+        encoder.writeNullableBoolean(data.getContinued());
+        encoder.writeString(data.getHandle());
+        encoder.writeList(data.getConditionList(), BinarySyncDataCodec::writeCondition);
+    }
+
+    private static SelectorData readSelector(final Decoder decoder) {
+        SelectorData data = new SelectorData();
+        data.setId(decoder.readString());
+        data.setPluginId(decoder.readString());
+        data.setPluginName(decoder.readString());
+        data.setName(decoder.readString());
+        data.setMatchMode(decoder.readNullableInt());
+        data.setType(decoder.readNullableInt());
+        data.setSort(decoder.readNullableInt());
+        data.setEnabled(decoder.readNullableBoolean());
+        data.setLogged(decoder.readNullableBoolean());
+        data.setContinued(decoder.readNullableBoolean());
+        data.setHandle(decoder.readString());
+        data.setConditionList(decoder.readList(BinarySyncDataCodec::readCondition));
+        return data;
+    }
+
+    private static void writeRule(final Encoder encoder, final RuleData data) {
+        encoder.writeString(data.getId());
+        encoder.writeString(data.getName());
+        encoder.writeString(data.getPluginName());
+        encoder.writeString(data.getSelectorId());
+        encoder.writeNullableInt(data.getMatchMode());
+        encoder.writeNullableInt(data.getSort());
+        encoder.writeNullableBoolean(data.getEnabled());
+        encoder.writeNullableBoolean(data.getLoged());
+        encoder.writeString(data.getHandle());
+        encoder.writeList(data.getConditionDataList(), BinarySyncDataCodec::writeCondition);
+    }
+
+    private static RuleData readRule(final Decoder decoder) {
+        RuleData data = new RuleData();
+        data.setId(decoder.readString());
+        data.setName(decoder.readString());
+        data.setPluginName(decoder.readString());
+        data.setSelectorId(decoder.readString());
+        data.setMatchMode(decoder.readNullableInt());
+        data.setSort(decoder.readNullableInt());
+        data.setEnabled(decoder.readNullableBoolean());
+        data.setLoged(decoder.readNullableBoolean());
+        data.setHandle(decoder.readString());
+        data.setConditionDataList(decoder.readList(BinarySyncDataCodec::readCondition));
+        return data;
+    }
+
+    private static void writeCondition(final Encoder encoder, final ConditionData data) {
+        encoder.writeString(data.getParamType());
+        encoder.writeString(data.getOperator());
+        encoder.writeString(data.getParamName());
+        encoder.writeString(data.getParamValue());
+    }
+
+    private static ConditionData readCondition(final Decoder decoder) {
+        ConditionData data = new ConditionData();
+        data.setParamType(decoder.readString());
+        data.setOperator(decoder.readString());
+        data.setParamName(decoder.readString());
+        data.setParamValue(decoder.readString());
+        return data;
+    }
+
+    private static void writeMetaData(final Encoder encoder, final MetaData data) {
+        encoder.writeString(data.getId());
+        encoder.writeString(data.getAppName());
+        encoder.writeString(data.getContextPath());
+        encoder.writeString(data.getPath());
+        encoder.writeString(data.getRpcType());
+        encoder.writeString(data.getServiceName());
+        encoder.writeString(data.getMethodName());
+        encoder.writeString(data.getParameterTypes());
+        encoder.writeString(data.getRpcExt());
+        encoder.writeNullableBoolean(data.getEnabled());
+    }
+
+    private static MetaData readMetaData(final Decoder decoder) {
+        MetaData data = new MetaData();
+        data.setId(decoder.readString());
+        data.setAppName(decoder.readString());
+        data.setContextPath(decoder.readString());
+        data.setPath(decoder.readString());
+        data.setRpcType(decoder.readString());
+        data.setServiceName(decoder.readString());
+        data.setMethodName(decoder.readString());
+        data.setParameterTypes(decoder.readString());
+        data.setRpcExt(decoder.readString());
+        data.setEnabled(decoder.readNullableBoolean());
+        return data;
+    }
+
+    private static void writeAppAuth(final Encoder encoder, final AppAuthData data) {
+        encoder.writeString(data.getAppKey());
+        encoder.writeString(data.getAppSecret());
+        encoder.writeNullableBoolean(data.getEnabled());
+        encoder.writeNullableBoolean(data.getOpen());
+        encoder.writeList(data.getParamDataList(), (out, param) -> {
+            out.writeString(param.getAppName());
+            out.writeString(param.getAppParam());
+        });
+        encoder.writeList(data.getPathDataList(), (out, path) -> {
+            out.writeString(path.getAppName());
+            out.writeString(path.getPath());
+            out.writeNullableBoolean(path.getEnabled());
+        });
+    }
+
+    private static AppAuthData readAppAuth(final Decoder decoder) {
+        AppAuthData data = new AppAuthData();
+        data.setAppKey(decoder.readString());
+        data.setAppSecret(decoder.readString());
+        data.setEnabled(decoder.readNullableBoolean());
+        data.setOpen(decoder.readNullableBoolean());
+        data.setParamDataList(decoder.readList(in -> new AuthParamData(in.readString(), in.readString())));
+        data.setPathDataList(decoder.readList(in -> new AuthPathData(in.readString(), in.readString(), in.readNullableBoolean())));
+        return data;
+    }
+
+    /**
+     * The growable buffer the config is encoded to.
+     */
+    private static final class Encoder {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        private byte[] buffer = new byte[4096];
+
+        private int position;
+
+        void writeInt(final int value) {
+            ensureCapacity(4);
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(final int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(final long value) {
+            ensureCapacity(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[position++] = (byte) remaining;
+        }
+
+        void writeBoolean(final boolean value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) (value ? 1 : 0);
+        }
+
+        void writeNullableBoolean(final Boolean value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) (Objects.isNull(value) ? 0 : value ? 2 : 1);
+        }
+
+        void writeNullableInt(final Integer value) {
+            writeBoolean(Objects.nonNull(value));
+            if (Objects.nonNull(value)) {
+                // zig-zag, so a small negative number is short too.
+                writeVarInt((value << 1) ^ (value >> 31));
+            }
+        }
+
+        void writeString(final String value) {
+            if (Objects.isNull(value)) {
+                writeVarInt(NULL);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (Objects.nonNull(index)) {
+                writeVarInt(DICTIONARY_INDEX + index);
+                return;
+            }
+            if (value.length() <= MAX_DICTIONARY_STRING_LENGTH) {
+                dictionary.put(value, dictionary.size());
+                writeVarInt(DICTIONARY_LITERAL);
+            } else {
+                writeVarInt(LITERAL);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        <T> void writeList(final List<T> list, final BiConsumer<Encoder, T> writer) {
+            if (Objects.isNull(list)) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(list.size() + 1);
+            for (T each : list) {
+                writer.accept(this, each);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(final int size) {
+            if (position + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + size));
+            }
+        }
+    }
+
+    /**
+     * The reader of the encoded config.
+     */
+    private static final class Decoder {
+
+        private final List<String> dictionary = new ArrayList<>();
+
+        private final byte[] buffer;
+
+        private int position;
+
+        Decoder(final byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readInt() {
+            require(4);
+            return (buffer[position++] & 0xFF) << 24 | (buffer[position++] & 0xFF) << 16 | (buffer[position++] & 0xFF) << 8 | buffer[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("var int out of range: " + value);
+            }
+            return (int) value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("malformed var long");
+        }
+
+        boolean readBoolean() {
+            require(1);
+            return buffer[position++] != 0;
+        }
+
+        Boolean readNullableBoolean() {
+            require(1);
+            byte value = buffer[position++];
+            return value == 0 ? null : value == 2;
+        }
+
+        Integer readNullableInt() {
+            if (!readBoolean()) {
+                return null;
+            }
+            long zigzag = readVarLong();
+            return (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+        }
+
+        String readString() {
+            int tag = readVarInt();
+            if (tag == NULL) {
+                return null;
+            }
+            if (tag >= DICTIONARY_INDEX) {
+                int index = tag - DICTIONARY_INDEX;
+                if (index >= dictionary.size()) {
+                    throw new IllegalArgumentException("unknown string index: " + index);
+                }
+                return dictionary.get(index);
+            }
+            int length = readVarInt();
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            if (tag == DICTIONARY_LITERAL) {
+                dictionary.add(value);
+            }
+            return value;
+        }
+
+        <T> List<T> readList(final Function<Decoder, T> reader) {
+            int size = readVarInt();
+            if (size == 0) {
+                return null;
+            }
+            // a malformed size fails on reading the elements, it should not allocate a huge list first.
+            List<T> list = new ArrayList<>(Math.min(size - 1, buffer.length - position));
+            for (int i = 1; i < size; i++) {
+                list.add(reader.apply(this));
+            }
+            return list;
+        }
+
+        private void require(final int size) {
+            if (size < 0 || position + size > buffer.length) {
+                throw new IllegalArgumentException("unexpected end of the shenyu binary config");
+            }
+        }
+    }
+}
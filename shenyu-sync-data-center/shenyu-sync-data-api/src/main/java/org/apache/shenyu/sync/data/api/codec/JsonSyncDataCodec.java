@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.spi.Join;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * The json codec, the config groups are encoded as a json object of the group names.
+ */
+@Join
+public class JsonSyncDataCodec implements SyncDataCodec {
+
+    /**
+     * The content type.
+     */
+    public static final String CONTENT_TYPE = "application/json";
+
+    private static final Gson GSON = new Gson();
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        return GSON.toJson(configs).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Map<ConfigGroupEnum, ConfigData<?>> decode(final byte[] bytes) {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            decode(reader, configs::put);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+        return configs;
+    }
+
+    /**
+     * Decode the json object of the group names token by token, every group is converted straight into its data
+     * and handed to the consumer as soon as it is read, without a json tree or a copy of the whole payload.
+     *
+     * @param reader   the reader, at the json object of the group names
+     * @param consumer the consumer of every group and its config, the config is null for a json null
+     * @throws IOException the io exception
+     */
+    public void decode(final JsonReader reader, final BiConsumer<ConfigGroupEnum, ConfigData<?>> consumer) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            ConfigGroupEnum group = EnumUtils.getEnum(ConfigGroupEnum.class, reader.nextName());
+            if (Objects.isNull(group)) {
+                // a group of a newer admin.
+                reader.skipValue();
+                continue;
+            }
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                consumer.accept(group, null);
+                continue;
+            }
+            consumer.accept(group, GSON.fromJson(reader, configType(group)));
+        }
+        reader.endObject();
+    }
+
+    private static Type configType(final ConfigGroupEnum group) {
+        return TypeToken.getParameterized(ConfigData.class, dataType(group)).getType();
+    }
+
+    private static Class<?> dataType(final ConfigGroupEnum group) {
+        switch (group) {
+            case PLUGIN:
+                return PluginData.class;
+            case SELECTOR:
+                return SelectorData.class;
+            case RULE:
+                return RuleData.class;
+            case META_DATA:
+                return MetaData.class;
+            case APP_AUTH:
+                return AppAuthData.class;
+            default:
+                throw new IllegalArgumentException("unknown config group: " + group);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.spi.SPI;
+
+import java.util.Map;
+
+/**
+ * The codec of the synced config groups, the admin encodes them with the codec the gateway accepts.
+ * The json codec is the default one, every sync transport understands it.
+ */
+@SPI("json")
+public interface SyncDataCodec {
+
+    /**
+     * Gets the content type of the encoded config.
+     *
+     * @return the content type
+     */
+    String contentType();
+
+    /**
+     * Encode the config groups.
+     *
+     * @param configs the config of every group
+     * @return the encoded bytes
+     */
+    byte[] encode(Map<ConfigGroupEnum, ConfigData<?>> configs);
+
+    /**
+     * Decode the config groups, the data of every group is the type of the group, such as {@link org.apache.shenyu.common.dto.RuleData}.
+     *
+     * @param bytes the encoded bytes
+     * @return the config of every group
+     */
+    Map<ConfigGroupEnum, ConfigData<?>> decode(byte[] bytes);
+}
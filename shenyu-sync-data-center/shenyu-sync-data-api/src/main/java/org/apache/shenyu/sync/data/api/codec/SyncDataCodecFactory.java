@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import org.apache.shenyu.spi.ExtensionLoader;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The type Sync data codec factory.
+ */
+public final class SyncDataCodecFactory {
+
+    private SyncDataCodecFactory() {
+    }
+
+    /**
+     * Get the codec by its name.
+     *
+     * @param name the name, such as json or binary
+     * @return the codec
+     */
+    public static SyncDataCodec newInstance(final String name) {
+        return ExtensionLoader.getExtensionLoader(SyncDataCodec.class).getJoin(name);
+    }
+
+    /**
+     * Get the codec of a content type.
+     *
+     * @param contentType the content type, the parameters such as the charset are ignored
+     * @return the codec, empty if no codec has the content type
+     */
+    public static Optional<SyncDataCodec> ofContentType(final String contentType) {
+        if (Objects.isNull(contentType)) {
+            return Optional.empty();
+        }
+        String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        ExtensionLoader<SyncDataCodec> loader = ExtensionLoader.getExtensionLoader(SyncDataCodec.class);
+        return loader.getExtensionClasses().keySet().stream()
+                .map(loader::getJoin)
+                .filter(codec -> codec.contentType().equals(mediaType))
+                .findFirst();
+    }
+}
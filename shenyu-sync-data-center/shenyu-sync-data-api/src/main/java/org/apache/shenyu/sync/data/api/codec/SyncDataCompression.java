@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import org.apache.shenyu.common.exception.ShenyuException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression of the encoded config, named by the http content coding, so it is negotiated by the accept encoding.
+ */
+public enum SyncDataCompression {
+
+    /**
+     * No compression.
+     */
+    NONE("identity") {
+        @Override
+        public byte[] compress(final byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public byte[] decompress(final byte[] bytes) {
+            return bytes;
+        }
+    },
+
+    /**
+     * The gzip compression.
+     */
+    GZIP("gzip") {
+        @Override
+        public byte[] compress(final byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(bytes.length >> 2, 64));
+            try (OutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new ShenyuException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public byte[] decompress(final byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length << 2);
+            byte[] buffer = new byte[8192];
+            try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                int read;
+                while ((read = gzip.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new ShenyuException(e);
+            }
+            return out.toByteArray();
+        }
+    };
+
+    private final String encoding;
+
+    SyncDataCompression(final String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Gets the http content coding.
+     *
+     * @return the encoding
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Compress.
+     *
+     * @param bytes the bytes
+     * @return the compressed bytes
+     */
+    public abstract byte[] compress(byte[] bytes);
+
+    /**
+     * Decompress.
+     *
+     * @param bytes the compressed bytes
+     * @return the bytes
+     */
+    public abstract byte[] decompress(byte[] bytes);
+
+    /**
+     * Get the compression of a content encoding header.
+     *
+     * @param contentEncoding the content encoding, null for no compression
+     * @return the compression
+     */
+    public static SyncDataCompression ofContentEncoding(final String contentEncoding) {
+        if (Objects.isNull(contentEncoding)) {
+            return NONE;
+        }
+        return Arrays.stream(values()).filter(each -> each.encoding.equalsIgnoreCase(contentEncoding.trim()))
+                .findFirst().orElseThrow(() -> new ShenyuException("unsupported content encoding: " + contentEncoding));
+    }
+
+    /**
+     * Get the compression for an accept encoding header, the compressed one is preferred.
+     *
+     * @param acceptEncoding the accept encoding, null if the client accepts no compression
+     * @return the compression
+     */
+    public static SyncDataCompression ofAcceptEncoding(final String acceptEncoding) {
+        if (Objects.nonNull(acceptEncoding) && acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP.encoding)) {
+            return GZIP;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The decode time of the full configs with 50k rules for every codec and compression, the payload sizes are logged
+ * at the setup. Run it with the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncDataCodecBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyncDataCodecBenchmark.class);
+
+    private static final int RULES_PER_PLUGIN = 10_000;
+
+    @Param({"json", "binary"})
+    private String codecName;
+
+    @Param({"NONE", "GZIP"})
+    private SyncDataCompression compression;
+
+    private SyncDataCodec codec;
+
+    private byte[] payload;
+
+    /**
+     * Encode the configs of 5 plugins with 10k rules each.
+     */
+    @Setup
+    public void setUp() {
+        codec = SyncDataCodecFactory.newInstance(codecName);
+        payload = compression.compress(codec.encode(SyncDataCodecTest.mockConfigs(RULES_PER_PLUGIN)));
+        LOG.info("{} + {} payload: {} bytes", codecName, compression, payload.length);
+    }
+
+    /**
+     * Decompress and decode the configs.
+     *
+     * @return the configs
+     */
+    @Benchmark
+    public Map<ConfigGroupEnum, ConfigData<?>> decode() {
+        return codec.decode(compression.decompress(payload));
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SyncDataCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
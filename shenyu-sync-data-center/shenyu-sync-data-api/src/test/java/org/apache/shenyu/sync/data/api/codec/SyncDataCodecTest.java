@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.api.codec;
+
+import com.google.gson.stream.JsonReader;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthParamData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the {@link SyncDataCodec}s.
+ */
+public final class SyncDataCodecTest {
+
+    @Test
+    public void testBinaryRoundTrip() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = mockConfigs(10);
+        Map<ConfigGroupEnum, ConfigData<?>> decoded = new BinarySyncDataCodec().decode(new BinarySyncDataCodec().encode(configs));
+        assertConfigs(configs, decoded);
+    }
+
+    @Test
+    public void testJsonRoundTrip() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = mockConfigs(10);
+        Map<ConfigGroupEnum, ConfigData<?>> decoded = new JsonSyncDataCodec().decode(new JsonSyncDataCodec().encode(configs));
+        assertConfigs(configs, decoded);
+    }
+
+    @Test
+    public void testJsonStreamingDecode() throws IOException {
+        String json = "{\"PLUGIN\":{\"md5\":\"md5\",\"lastModifyTime\":1,\"data\":[{\"id\":\"1\",\"name\":\"divide\",\"enabled\":true}]},"
+                + "\"UNKNOWN\":{\"md5\":\"md5\",\"data\":[]},\"RULE\":null}";
+        Map<ConfigGroupEnum, ConfigData<?>> decoded = new EnumMap<>(ConfigGroupEnum.class);
+        new JsonSyncDataCodec().decode(new JsonReader(new StringReader(json)), decoded::put);
+        assertEquals(2, decoded.size());
+        assertEquals(Collections.singletonList(PluginData.builder().id("1").name("divide").enabled(true).build()), decoded.get(ConfigGroupEnum.PLUGIN).getData());
+        assertTrue(decoded.containsKey(ConfigGroupEnum.RULE));
+        assertNull(decoded.get(ConfigGroupEnum.RULE));
+    }
+
+    @Test
+    public void testBinaryIsCompact() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = mockConfigs(1000);
+        byte[] binary = new BinarySyncDataCodec().encode(configs);
+        byte[] json = new JsonSyncDataCodec().encode(configs);
+        assertTrue(binary.length * 2 < json.length);
+        byte[] compressed = SyncDataCompression.GZIP.compress(binary);
+        assertTrue(compressed.length < binary.length);
+        assertConfigs(configs, new BinarySyncDataCodec().decode(SyncDataCompression.GZIP.decompress(compressed)));
+    }
+
+    @Test
+    public void testNullValues() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5", 1L, Collections.singletonList(new RuleData())));
+        configs.put(ConfigGroupEnum.PLUGIN, null);
+        configs.put(ConfigGroupEnum.SELECTOR, new ConfigData<>("md5", 1L, null));
+        Map<ConfigGroupEnum, ConfigData<?>> decoded = new BinarySyncDataCodec().decode(new BinarySyncDataCodec().encode(configs));
+        assertEquals(new RuleData(), decoded.get(ConfigGroupEnum.RULE).getData().get(0));
+        assertTrue(decoded.containsKey(ConfigGroupEnum.PLUGIN));
+        assertNull(decoded.get(ConfigGroupEnum.PLUGIN));
+        assertNull(decoded.get(ConfigGroupEnum.SELECTOR).getData());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeTruncated() {
+        byte[] bytes = new BinarySyncDataCodec().encode(mockConfigs(10));
+        new BinarySyncDataCodec().decode(Arrays.copyOf(bytes, bytes.length / 2));
+    }
+
+    @Test
+    public void testFactory() {
+        assertTrue(SyncDataCodecFactory.newInstance("binary") instanceof BinarySyncDataCodec);
+        assertTrue(SyncDataCodecFactory.ofContentType("application/json;charset=UTF-8").orElse(null) instanceof JsonSyncDataCodec);
+        assertTrue(SyncDataCodecFactory.ofContentType(BinarySyncDataCodec.CONTENT_TYPE).orElse(null) instanceof BinarySyncDataCodec);
+        assertFalse(SyncDataCodecFactory.ofContentType("text/plain").isPresent());
+        assertEquals(SyncDataCompression.GZIP, SyncDataCompression.ofAcceptEncoding("deflate, gzip"));
+        assertEquals(SyncDataCompression.NONE, SyncDataCompression.ofAcceptEncoding(null));
+        assertEquals(SyncDataCompression.NONE, SyncDataCompression.ofContentEncoding("identity"));
+    }
+
+    /**
+     * Mock the configs of some plugins, every plugin has the given number of rules, under selectors of ten rules.
+     *
+     * @param rulesPerPlugin the rules of every plugin
+     * @return the configs
+     */
+    static Map<ConfigGroupEnum, ConfigData<?>> mockConfigs(final int rulesPerPlugin) {
+        String[] pluginNames = {"divide", "dubbo", "springCloud", "rateLimiter", "sign"};
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        List<PluginData> plugins = new ArrayList<>();
+        List<SelectorData> selectors = new ArrayList<>();
+        List<RuleData> rules = new ArrayList<>();
+        List<MetaData> metaData = new ArrayList<>();
+        for (int p = 0; p < pluginNames.length; p++) {
+            String pluginName = pluginNames[p];
+            plugins.add(new PluginData(String.valueOf(p), pluginName, "{\"register\":\"zookeeper://localhost:2181\"}", "0", true));
+            for (int r = 0; r < rulesPerPlugin; r++) {
+                String selectorId = pluginName + "-selector-" + r / 10;
+                if (r % 10 == 0) {
+                    selectors.add(SelectorData.builder().id(selectorId).pluginId(String.valueOf(p)).pluginName(pluginName).name("/" + pluginName + "/" + r / 10)
+                            .matchMode(0).type(1).sort(r / 10).enabled(true).logged(false).continued(true)
+                            .handle("[{\"upstreamUrl\":\"127.0.0.1:8080\",\"weight\":50}]")
+                            .conditionList(Collections.singletonList(condition("uri", "match", "/", "/" + pluginName + "/" + r / 10 + "/**"))).build());
+                }
+                String path = "/" + pluginName + "/" + r / 10 + "/method" + r;
+                rules.add(RuleData.builder().id(pluginName + "-rule-" + r).name(path).pluginName(pluginName).selectorId(selectorId)
+                        .matchMode(1).sort(r).enabled(true).loged(true).handle("{\"loadBalance\":\"random\",\"retry\":0,\"timeout\":3000}")
+                        .conditionDataList(Collections.singletonList(condition("uri", "=", "/", path))).build());
+                metaData.add(MetaData.builder().id(pluginName + "-meta-" + r).appName(pluginName + "-app").contextPath("/" + pluginName).path(path)
+                        .rpcType("http").serviceName("org.apache.shenyu.examples.Service").methodName("method" + r).enabled(true).build());
+            }
+        }
+        AppAuthData appAuth = AppAuthData.builder().appKey("key").appSecret("secret").enabled(true).open(true)
+                .paramDataList(Collections.singletonList(new AuthParamData("app", "param")))
+                .pathDataList(Collections.singletonList(new AuthPathData("app", "/divide/**", true))).build();
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-plugin", 1L, plugins));
+        configs.put(ConfigGroupEnum.SELECTOR, new ConfigData<>("md5-selector", 2L, selectors));
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5-rule", 3L, rules));
+        configs.put(ConfigGroupEnum.META_DATA, new ConfigData<>("md5-meta", 4L, metaData));
+        configs.put(ConfigGroupEnum.APP_AUTH, new ConfigData<>("md5-auth", 5L, Collections.singletonList(appAuth)));
+        return configs;
+    }
+
+    private static ConditionData condition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData condition = new ConditionData();
+        condition.setParamType(paramType);
+        condition.setOperator(operator);
+        condition.setParamName(paramName);
+        condition.setParamValue(paramValue);
+        return condition;
+    }
+
+    private static void assertConfigs(final Map<ConfigGroupEnum, ConfigData<?>> expected, final Map<ConfigGroupEnum, ConfigData<?>> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<ConfigGroupEnum, ConfigData<?>> entry : expected.entrySet()) {
+            ConfigData<?> config = actual.get(entry.getKey());
+            assertEquals(entry.getValue().getMd5(), config.getMd5());
+            assertEquals(entry.getValue().getLastModifyTime(), config.getLastModifyTime());
+            assertEquals(entry.getValue().getData(), config.getData());
+        }
+    }
+}
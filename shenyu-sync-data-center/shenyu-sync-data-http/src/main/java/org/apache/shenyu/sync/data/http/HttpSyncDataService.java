@@ -22,6 +22,8 @@ import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
@@ -34,23 +36,35 @@ import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.api.codec.JsonSyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodecFactory;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCompression;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
 import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -71,11 +85,18 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
 
     private static final Gson GSON = new Gson();
 
+    private static final JsonSyncDataCodec JSON_CODEC = new JsonSyncDataCodec();
+
     /**
      * shenyu admin path configs fetch.
      */
     private static final String SHENYU_ADMIN_PATH_CONFIGS_FETCH = "/configs/fetch";
 
+    /**
+     * shenyu admin path configs delta.
+     */
+    private static final String SHENYU_ADMIN_PATH_CONFIGS_DELTA = "/configs/delta";
+
     /**
      * shenyu admin path configs listener.
      */
@@ -97,10 +118,13 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
 
     private final DataRefreshFactory factory;
 
+    private final SyncDataCodec codec;
+
     public HttpSyncDataService(final HttpConfig httpConfig, final PluginDataSubscriber pluginDataSubscriber,
                                final List<MetaDataSubscriber> metaDataSubscribers, final List<AuthDataSubscriber> authDataSubscribers) {
         this.factory = new DataRefreshFactory(pluginDataSubscriber, metaDataSubscribers, authDataSubscribers);
         this.serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
+        this.codec = SyncDataCodecFactory.newInstance(Optional.ofNullable(httpConfig.getCodec()).orElse("json"));
         this.httpClient = createRestTemplate();
         this.start();
     }
@@ -151,18 +175,16 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
         }
         String url = server + SHENYU_ADMIN_PATH_CONFIGS_FETCH + "?" + StringUtils.removeEnd(params.toString(), "&");
         LOG.info("request configs: [{}]", url);
-        String json;
+        boolean updated;
         try {
-            json = this.httpClient.getForObject(url, String.class);
+            // update local cache
+            updated = this.fetchAndUpdateCache(url);
         } catch (RestClientException e) {
             String message = String.format("fetch config fail from server[%s], %s", url, e.getMessage());
             LOG.warn(message);
             throw new ShenyuException(message, e);
         }
-        // update local cache
-        boolean updated = this.updateCacheWithJson(json);
         if (updated) {
-            LOG.info("get latest configs: [{}]", json);
             return;
         }
         // not updated. it is likely that the current config server has not been updated yet. wait a moment.
@@ -170,17 +192,112 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
         ThreadUtils.sleep(TimeUnit.SECONDS, 30);
     }
 
+    /**
+     * fetch the changes since the local cache, it saves downloading and parsing the whole groups for a few changes.
+     *
+     * @param server the server
+     * @param groups the changed groups
+     * @return the groups the changes are not applied to, which should be fetched whole instead.
+     */
+    private ConfigGroupEnum[] doFetchGroupDelta(final String server, final ConfigGroupEnum... groups) {
+        StringBuilder params = new StringBuilder();
+        for (ConfigGroupEnum groupKey : groups) {
+            params.append("groupKeys").append("=").append(groupKey.name()).append("&");
+            ConfigData<?> cacheConfig = factory.cacheConfigData(groupKey);
+            if (Objects.nonNull(cacheConfig)) {
+                params.append(groupKey.name()).append("=").append(cacheConfig.getMd5()).append("&");
+            }
+        }
+        String url = server + SHENYU_ADMIN_PATH_CONFIGS_DELTA + "?" + StringUtils.removeEnd(params.toString(), "&");
+        LOG.info("request config delta: [{}]", url);
+        String json;
+        try {
+            json = this.httpClient.getForObject(url, String.class);
+        } catch (RestClientException e) {
+            // the server may not support delta, fetch the whole groups instead.
+            LOG.warn("fetch config delta fail from server[{}], {}", url, e.getMessage());
+            return groups;
+        }
+        JsonObject data = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        if (Objects.isNull(data)) {
+            return groups;
+        }
+        ConfigGroupEnum[] staleGroups = factory.executorDelta(data, groups);
+        if (staleGroups.length < groups.length) {
+            LOG.info("get latest config delta: [{}]", json);
+        }
+        return staleGroups;
+    }
+
+    /**
+     * fetch the configs in the codec and update local cache.
+     * the json is accepted as well, so an admin without the codec still answers in json.
+     *
+     * @param url the url
+     * @return true: the local cache was updated. false: not updated.
+     */
+    private boolean fetchAndUpdateCache(final String url) {
+        if (codec instanceof JsonSyncDataCodec) {
+            boolean updated = Boolean.TRUE.equals(this.httpClient.execute(url, HttpMethod.GET, null,
+                    response -> this.updateCacheWithJson(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))));
+            if (updated) {
+                LOG.info("get latest configs from [{}]", url);
+            }
+            return updated;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, codec.contentType() + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5");
+        // okhttp asks for gzip and decompresses the response transparently, dropping its content encoding header,
+        // as the reactive client does with compress(true), so only an encoding okhttp has not decoded is left to decompress here.
+        ResponseEntity<byte[]> response = this.httpClient.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        byte[] body = SyncDataCompression.ofContentEncoding(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+                .decompress(Optional.ofNullable(response.getBody()).orElse(new byte[0]));
+        MediaType contentType = response.getHeaders().getContentType();
+        Optional<SyncDataCodec> responseCodec = SyncDataCodecFactory.ofContentType(Objects.isNull(contentType) ? null : contentType.toString());
+        boolean updated;
+        if (responseCodec.filter(each -> !(each instanceof JsonSyncDataCodec)).isPresent()) {
+            updated = factory.executor(responseCodec.get().decode(body));
+        } else {
+            try {
+                updated = this.updateCacheWithJson(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new ShenyuException(e);
+            }
+        }
+        if (updated) {
+            LOG.info("get latest configs of {} bytes in {}", body.length, contentType);
+        }
+        return updated;
+    }
+
     /**
      * update local cache.
+     * the response is read token by token, every group is refreshed as soon as it is read,
+     * so neither the whole response nor a json tree of it is held on heap.
      *
-     * @param json the response from config server.
+     * @param body the response from config server.
      * @return true: the local cache was updated. false: not updated.
+     * @throws IOException the io exception
      */
-    private boolean updateCacheWithJson(final String json) {
-        JsonObject jsonObject = GSON.fromJson(json, JsonObject.class);
-        JsonObject data = jsonObject.getAsJsonObject("data");
-        // if the config cache will be updated?
-        return factory.executor(data);
+    private boolean updateCacheWithJson(final Reader body) throws IOException {
+        AtomicBoolean updated = new AtomicBoolean(false);
+        try (JsonReader reader = new JsonReader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"data".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                JSON_CODEC.decode(reader, (group, config) -> {
+                    // if the config cache will be updated?
+                    if (factory.executor(group, config)) {
+                        updated.set(true);
+                    }
+                });
+            }
+            reader.endObject();
+        }
+        return updated.get();
     }
 
     private void doLongPolling(final String server) {
@@ -213,7 +330,10 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
             ConfigGroupEnum[] changedGroups = GSON.fromJson(groupJson, ConfigGroupEnum[].class);
             if (ArrayUtils.isNotEmpty(changedGroups)) {
                 LOG.info("Group config changed: {}", Arrays.toString(changedGroups));
-                this.doFetchGroupConfig(server, changedGroups);
+                ConfigGroupEnum[] staleGroups = this.doFetchGroupDelta(server, changedGroups);
+                if (ArrayUtils.isNotEmpty(staleGroups)) {
+                    this.doFetchGroupConfig(server, staleGroups);
+                }
             }
         }
     }
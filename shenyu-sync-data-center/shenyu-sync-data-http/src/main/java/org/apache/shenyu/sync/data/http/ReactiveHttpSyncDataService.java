@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.constant.HttpConstants;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.api.codec.JsonSyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodec;
+import org.apache.shenyu.sync.data.api.codec.SyncDataCodecFactory;
+import org.apache.shenyu.sync.data.http.config.HttpConfig;
+import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.ByteBufMono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+import reactor.util.function.Tuples;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * HTTP long polling implementation on the reactor netty client.
+ * The long polling connections are kept on the event loop instead of a thread per server, the json is parsed
+ * and the subscribers are refreshed on the bounded elastic scheduler.
+ * A failed long polling is retried with a jittered exponential backoff of a short ceiling,
+ * and the changed configs are fetched from another server at once if the notifying server fails.
+ */
+public class ReactiveHttpSyncDataService implements SyncDataService, AutoCloseable {
+
+    /**
+     * The min backoff of a failed long polling.
+     */
+    static final long MIN_BACKOFF_MILLIS = 500;
+
+    /**
+     * The max backoff of a failed long polling.
+     */
+    static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    /**
+     * logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveHttpSyncDataService.class);
+
+    private static final Gson GSON = new Gson();
+
+    /**
+     * shenyu admin path configs fetch.
+     */
+    private static final String SHENYU_ADMIN_PATH_CONFIGS_FETCH = "/configs/fetch";
+
+    /**
+     * shenyu admin path configs delta.
+     */
+    private static final String SHENYU_ADMIN_PATH_CONFIGS_DELTA = "/configs/delta";
+
+    /**
+     * shenyu admin path configs listener.
+     */
+    private static final String SHENYU_ADMIN_PATH_CONFIGS_LISTENER = "/configs/listener";
+
+    /**
+     * default: 10s.
+     */
+    private static final int DEFAULT_CONNECTION_TIMEOUT = 10_000;
+
+    private final Duration readTimeout = Duration.ofMillis(HttpConstants.CLIENT_POLLING_READ_TIMEOUT);
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Disposable.Composite pollings = Disposables.composite();
+
+    private final HttpClient httpClient;
+
+    private final List<String> serverList;
+
+    private final DataRefreshFactory factory;
+
+    private final SyncDataCodec codec;
+
+    public ReactiveHttpSyncDataService(final HttpConfig httpConfig, final PluginDataSubscriber pluginDataSubscriber,
+                                       final List<MetaDataSubscriber> metaDataSubscribers, final List<AuthDataSubscriber> authDataSubscribers) {
+        this.factory = new DataRefreshFactory(pluginDataSubscriber, metaDataSubscribers, authDataSubscribers);
+        this.serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
+        this.codec = SyncDataCodecFactory.newInstance(Optional.ofNullable(httpConfig.getCodec()).orElse("json"));
+        int connectionTimeout = Optional.ofNullable(httpConfig.getConnectionTimeout()).orElse(DEFAULT_CONNECTION_TIMEOUT);
+        this.httpClient = HttpClient.create().tcpConfiguration(tcpClient -> tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout));
+        this.start();
+    }
+
+    private void start() {
+        if (running.compareAndSet(false, true)) {
+            // the gateway should start with the whole configs, so the first fetch waits.
+            fetchWithFailover(serverList, this::fetchGroupConfig, ConfigGroupEnum.values()).block();
+            serverList.forEach(server -> pollings.add(new LongPollingLoop(server).start()));
+        }
+    }
+
+    /**
+     * Get the backoff of the failures in a row, it doubles from {@link #MIN_BACKOFF_MILLIS} up to {@link #MAX_BACKOFF_MILLIS},
+     * and a random half of it is cut so the gateways do not retry at the same time.
+     *
+     * @param failures the failures in a row, from 1
+     * @return the backoff
+     */
+    static Duration backoff(final int failures) {
+        long ceiling = MIN_BACKOFF_MILLIS << Math.min(Math.max(failures - 1, 0), 16);
+        long backoff = Math.min(ceiling, MAX_BACKOFF_MILLIS);
+        return Duration.ofMillis(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+    }
+
+    private Mono<Boolean> fetchWithFailover(final List<String> servers, final BiFunction<String, ConfigGroupEnum[], Mono<Boolean>> fetcher,
+                                            final ConfigGroupEnum... groups) {
+        return Flux.fromIterable(servers)
+                .concatMap(server -> fetcher.apply(server, groups)
+                        .onErrorResume(e -> {
+                            LOG.warn("fetch config fail from server[{}], try another one. {}", server, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .next()
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new ShenyuException("fetch config fail from all the servers: " + servers))));
+    }
+
+    private Mono<Boolean> fetchGroupConfig(final String server, final ConfigGroupEnum... groups) {
+        StringJoiner params = new StringJoiner("&");
+        for (ConfigGroupEnum groupKey : groups) {
+            params.add("groupKeys=" + groupKey.name());
+        }
+        String url = server + SHENYU_ADMIN_PATH_CONFIGS_FETCH + "?" + params;
+        LOG.info("request configs: [{}]", url);
+        if (!(codec instanceof JsonSyncDataCodec)) {
+            return fetchEncodedConfig(server, url);
+        }
+        return get(url).map(json -> {
+            boolean updated = factory.executor(GSON.fromJson(json, JsonObject.class).getAsJsonObject("data"));
+            if (updated) {
+                LOG.info("get latest configs: [{}]", json);
+            } else {
+                LOG.info("The config of the server[{}] has not been updated or is out of date.", server);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * fetch the configs in the codec, the json is accepted as well, so an admin without the codec still answers in json.
+     *
+     * @param server the server
+     * @param url the url
+     * @return true: the local cache was updated. false: not updated.
+     */
+    private Mono<Boolean> fetchEncodedConfig(final String server, final String url) {
+        String accept = codec.contentType() + ", " + HttpHeaderValues.APPLICATION_JSON + ";q=0.5";
+        return httpClient.compress(true)
+                .headers(headers -> headers.set(HttpHeaderNames.ACCEPT, accept))
+                .get()
+                .uri(url)
+                .responseSingle((response, content) -> {
+                    if (response.status().code() != HttpResponseStatus.OK.code()) {
+                        return Mono.error(new ShenyuException(String.format("request [%s] fail, status: %s", url, response.status())));
+                    }
+                    Optional<SyncDataCodec> responseCodec = SyncDataCodecFactory.ofContentType(response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE));
+                    return content.asByteArray().defaultIfEmpty(new byte[0]).map(bytes -> Tuples.of(responseCodec, bytes));
+                })
+                .timeout(readTimeout)
+                .publishOn(Schedulers.boundedElastic())
+                .map(tuple -> {
+                    Optional<SyncDataCodec> responseCodec = tuple.getT1().filter(each -> !(each instanceof JsonSyncDataCodec));
+                    boolean updated = responseCodec.isPresent() ? factory.executor(responseCodec.get().decode(tuple.getT2()))
+                            : factory.executor(GSON.fromJson(new String(tuple.getT2(), StandardCharsets.UTF_8), JsonObject.class).getAsJsonObject("data"));
+                    if (!updated) {
+                        LOG.info("The config of the server[{}] has not been updated or is out of date.", server);
+                    }
+                    return updated;
+                });
+    }
+
+    private Mono<ConfigGroupEnum[]> fetchGroupDelta(final String server, final ConfigGroupEnum... groups) {
+        StringJoiner params = new StringJoiner("&");
+        for (ConfigGroupEnum groupKey : groups) {
+            params.add("groupKeys=" + groupKey.name());
+            ConfigData<?> cacheConfig = factory.cacheConfigData(groupKey);
+            if (Objects.nonNull(cacheConfig)) {
+                params.add(groupKey.name() + "=" + cacheConfig.getMd5());
+            }
+        }
+        String url = server + SHENYU_ADMIN_PATH_CONFIGS_DELTA + "?" + params;
+        LOG.info("request config delta: [{}]", url);
+        return get(url).map(json -> {
+            JsonObject data = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+            ConfigGroupEnum[] staleGroups = Objects.isNull(data) ? groups : factory.executorDelta(data, groups);
+            if (staleGroups.length < groups.length) {
+                LOG.info("get latest config delta: [{}]", json);
+            }
+            return staleGroups;
+        }).onErrorResume(e -> {
+            // the server may not support delta, fetch the whole groups instead.
+            LOG.warn("fetch config delta fail from server[{}], {}", url, e.getMessage());
+            return Mono.just(groups);
+        });
+    }
+
+    private Mono<Boolean> fetchChanges(final String server, final ConfigGroupEnum... groups) {
+        return fetchGroupDelta(server, groups).flatMap(staleGroups -> ArrayUtils.isEmpty(staleGroups) ? Mono.just(true) : fetchGroupConfig(server, staleGroups));
+    }
+
+    private Mono<ConfigGroupEnum[]> doLongPolling(final String server) {
+        StringJoiner params = new StringJoiner("&");
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+            if (Objects.nonNull(cacheConfig)) {
+                params.add(encode(group.name()) + "=" + encode(String.join(",", cacheConfig.getMd5(), String.valueOf(cacheConfig.getLastModifyTime()))));
+            }
+        }
+        String listenerUrl = server + SHENYU_ADMIN_PATH_CONFIGS_LISTENER;
+        LOG.debug("request listener configs: [{}]", listenerUrl);
+        return httpClient.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED))
+                .post()
+                .uri(listenerUrl)
+                .send(ByteBufFlux.fromString(Mono.just(params.toString())))
+                .responseSingle(this::bodyOf)
+                .timeout(readTimeout)
+                .publishOn(Schedulers.boundedElastic())
+                .map(json -> {
+                    LOG.debug("listener result: [{}]", json);
+                    JsonArray groupJson = GSON.fromJson(json, JsonObject.class).getAsJsonArray("data");
+                    if (Objects.isNull(groupJson)) {
+                        return new ConfigGroupEnum[0];
+                    }
+                    ConfigGroupEnum[] changedGroups = GSON.fromJson(groupJson, ConfigGroupEnum[].class);
+                    if (ArrayUtils.isNotEmpty(changedGroups)) {
+                        LOG.info("Group config changed: {}", Arrays.toString(changedGroups));
+                    }
+                    return changedGroups;
+                });
+    }
+
+    private Mono<String> get(final String url) {
+        return httpClient.get()
+                .uri(url)
+                .responseSingle(this::bodyOf)
+                .timeout(readTimeout)
+                .publishOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<String> bodyOf(final HttpClientResponse response, final ByteBufMono content) {
+        if (response.status().code() != HttpResponseStatus.OK.code()) {
+            return Mono.error(new ShenyuException(String.format("request [%s] fail, status: %s", response.uri(), response.status())));
+        }
+        return content.asString(StandardCharsets.UTF_8).defaultIfEmpty(StringUtils.EMPTY);
+    }
+
+    private List<String> serversStartingWith(final String server) {
+        List<String> servers = new ArrayList<>(serverList.size());
+        servers.add(server);
+        serverList.stream().filter(each -> !each.equals(server)).forEach(servers::add);
+        return servers;
+    }
+
+    private static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running.set(false);
+        pollings.dispose();
+    }
+
+    /**
+     * The long polling of a server, one polling at a time, repeated until the service is closed.
+     */
+    private final class LongPollingLoop {
+
+        private final String server;
+
+        /**
+         * The failures in a row, only the current polling touches it.
+         */
+        private int failures;
+
+        LongPollingLoop(final String server) {
+            this.server = server;
+        }
+
+        Disposable start() {
+            return Mono.defer(this::poll).repeat(running::get).subscribe();
+        }
+
+        private Mono<Void> poll() {
+            return doLongPolling(server)
+                    .flatMap(changedGroups -> ArrayUtils.isEmpty(changedGroups) ? Mono.just(true)
+                            : fetchWithFailover(serversStartingWith(server), ReactiveHttpSyncDataService.this::fetchChanges, changedGroups))
+                    .flatMap(updated -> {
+                        if (updated) {
+                            failures = 0;
+                            return Mono.<Void>empty();
+                        }
+                        // it is likely that the servers have not been updated yet.
+                        return backoffAfter("the config has not been updated");
+                    })
+                    .onErrorResume(e -> backoffAfter(e.getMessage()));
+        }
+
+        private Mono<Void> backoffAfter(final String reason) {
+            failures++;
+            Duration delay = backoff(failures);
+            LOG.warn("Long polling server[{}] failed {} times in a row, try again after {}ms. {}", server, failures, delay.toMillis(), reason);
+            return Mono.delay(delay).then();
+        }
+    }
+}
@@ -30,6 +30,10 @@ public class HttpConfig {
 
     private Integer connectionTimeout;
 
+    private Boolean reactive = false;
+
+    private String codec = "json";
+
     /**
      * get url.
      *
@@ -84,6 +88,42 @@ public class HttpConfig {
         this.connectionTimeout = connectionTimeout;
     }
 
+    /**
+     * get reactive.
+     *
+     * @return whether to use the non-blocking long polling client
+     */
+    public Boolean getReactive() {
+        return reactive;
+    }
+
+    /**
+     * set reactive.
+     *
+     * @param reactive whether to use the non-blocking long polling client
+     */
+    public void setReactive(final Boolean reactive) {
+        this.reactive = reactive;
+    }
+
+    /**
+     * get codec.
+     *
+     * @return the codec the configs are fetched in, json or binary
+     */
+    public String getCodec() {
+        return codec;
+    }
+
+    /**
+     * set codec.
+     *
+     * @param codec the codec the configs are fetched in, json or binary
+     */
+    public void setCodec(final String codec) {
+        this.codec = codec;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -95,12 +135,14 @@ public class HttpConfig {
         HttpConfig that = (HttpConfig) o;
         return Objects.equals(url, that.url)
                 && Objects.equals(delayTime, that.delayTime)
-                && Objects.equals(connectionTimeout, that.connectionTimeout);
+                && Objects.equals(connectionTimeout, that.connectionTimeout)
+                && Objects.equals(reactive, that.reactive)
+                && Objects.equals(codec, that.codec);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(url, delayTime, connectionTimeout);
+        return Objects.hash(url, delayTime, connectionTimeout, reactive, codec);
     }
 
     @Override
@@ -113,6 +155,11 @@ public class HttpConfig {
                 + delayTime
                 + ", connectionTimeout="
                 + connectionTimeout
+                + ", reactive="
+                + reactive
+                + ", codec='"
+                + codec
+                + '\''
                 + '}';
     }
 }
@@ -21,14 +21,19 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * The type Abstract data refresh.
@@ -75,15 +80,56 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
      */
     protected abstract void refresh(List<T> data);
 
+    /**
+     * From json config delta.
+     *
+     * @param data the data
+     * @return the config delta
+     */
+    protected abstract ConfigDelta<T> deltaFromJson(JsonObject data);
+
+    /**
+     * Refresh by the changed data.
+     *
+     * @param changed the added or updated data
+     * @param deleted the deleted data
+     */
+    protected abstract void refresh(List<T> changed, List<T> deleted);
+
     @Override
     public Boolean refresh(final JsonObject data) {
         JsonObject jsonObject = convert(data);
         if (Objects.isNull(jsonObject)) {
             return false;
         }
+        return refresh(fromJson(jsonObject));
+    }
+
+    @Override
+    public Boolean refreshDelta(final JsonObject data) {
+        JsonObject jsonObject = convert(data);
+        if (Objects.isNull(jsonObject)) {
+            return false;
+        }
+        ConfigDelta<T> delta = deltaFromJson(jsonObject);
+        if (delta.isFull()) {
+            return refresh(new ConfigData<>(delta.getMd5(), delta.getLastModifyTime(), delta.getData()));
+        }
+        if (this.updateCacheIfNeed(delta)) {
+            refresh(delta.getData(), delta.getDeleted());
+            return true;
+        }
+        return false;
+    }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Boolean refresh(final ConfigData<?> data) {
+        if (Objects.isNull(data)) {
+            return false;
+        }
+        ConfigData<T> result = (ConfigData<T>) data;
         boolean updated = false;
-        ConfigData<T> result = fromJson(jsonObject);
         if (this.updateCacheIfNeed(result)) {
             updated = true;
             refresh(result.getData());
@@ -131,6 +177,45 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
         return holder.result;
     }
 
+    /**
+     * Update cache if need boolean.
+     *
+     * @param delta the delta
+     * @return the boolean
+     */
+    protected abstract boolean updateCacheIfNeed(ConfigDelta<T> delta);
+
+    /**
+     * Apply the changes to the cached config, only if the cached config is the one the changes are based on.
+     *
+     * @param delta     the changes since the cached config
+     * @param groupEnum the group enum
+     * @param keyMapper the key of the data
+     * @return true : if the cache is updated
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean updateCacheIfNeed(final ConfigDelta<T> delta, final ConfigGroupEnum groupEnum, final Function<T, String> keyMapper) {
+        ResultHolder holder = new ResultHolder(false);
+        GROUP_CACHE.computeIfPresent(groupEnum, (group, oldVal) -> {
+            if (!StringUtils.equals(oldVal.getMd5(), delta.getBaseMd5())) {
+                LOG.info("The [{}] config cache is not the base of the delta, it will not be updated, md5:{}", groupEnum, oldVal.getMd5());
+                return oldVal;
+            }
+            if (StringUtils.equals(oldVal.getMd5(), delta.getMd5())) {
+                LOG.info("Get the same config, the [{}] config cache will not be updated, md5:{}", groupEnum, oldVal.getMd5());
+                return oldVal;
+            }
+            Map<String, T> merged = new LinkedHashMap<>();
+            ((List<T>) oldVal.getData()).forEach(each -> merged.put(keyMapper.apply(each), each));
+            delta.getDeleted().forEach(each -> merged.remove(keyMapper.apply(each)));
+            delta.getData().forEach(each -> merged.put(keyMapper.apply(each), each));
+            LOG.info("update {} config by delta: {}", groupEnum, delta);
+            holder.result = true;
+            return new ConfigData<>(delta.getMd5(), delta.getLastModifyTime(), new ArrayList<>(merged.values()));
+        });
+        return holder.result;
+    }
+
     private static final class ResultHolder {
 
         private boolean result;
@@ -22,6 +22,7 @@ import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.slf4j.Logger;
@@ -61,6 +62,17 @@ public class AppAuthDataRefresh extends AbstractDataRefresh<AppAuthData> {
         return updateCacheIfNeed(result, ConfigGroupEnum.APP_AUTH);
     }
 
+    @Override
+    protected ConfigDelta<AppAuthData> deltaFromJson(final JsonObject data) {
+        return GSON.fromJson(data, new TypeToken<ConfigDelta<AppAuthData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected boolean updateCacheIfNeed(final ConfigDelta<AppAuthData> delta) {
+        return updateCacheIfNeed(delta, ConfigGroupEnum.APP_AUTH, AppAuthData::getAppKey);
+    }
+
     @Override
     public ConfigData<?> cacheConfigData() {
         return GROUP_CACHE.get(ConfigGroupEnum.APP_AUTH);
@@ -75,4 +87,10 @@ public class AppAuthDataRefresh extends AbstractDataRefresh<AppAuthData> {
             data.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
         }
     }
+
+    @Override
+    protected void refresh(final List<AppAuthData> changed, final List<AppAuthData> deleted) {
+        deleted.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(authData)));
+        changed.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
+    }
 }
@@ -33,6 +33,22 @@ public interface DataRefresh {
      */
     Boolean refresh(JsonObject data);
 
+    /**
+     * Refresh by the decoded config of the group.
+     *
+     * @param data the config of the group, null if the group is absent
+     * @return true if the cache is updated
+     */
+    Boolean refresh(ConfigData<?> data);
+
+    /**
+     * Refresh by the changes since the cached config, the data is the response of configs delta.
+     *
+     * @param data the data
+     * @return true if the cache is updated, false if the changes are not applicable to the cached config
+     */
+    Boolean refreshDelta(JsonObject data);
+
     /**
      * Cache config data config data.
      *
@@ -18,8 +18,10 @@
 package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.JsonObject;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.shenyu.common.dto.ConfigData;
@@ -65,6 +67,43 @@ public final class DataRefreshFactory {
         return result.stream().anyMatch(Boolean.TRUE::equals);
     }
 
+    /**
+     * Executor by the decoded config of the groups.
+     *
+     * @param configs the config of every group
+     * @return the boolean
+     */
+    public boolean executor(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        List<Boolean> result = ENUM_MAP.entrySet().parallelStream()
+                .map(entry -> entry.getValue().refresh(configs.get(entry.getKey())))
+                .collect(Collectors.toList());
+        return result.stream().anyMatch(Boolean.TRUE::equals);
+    }
+
+    /**
+     * Executor by the decoded config of a group.
+     *
+     * @param group  the group
+     * @param config the config of the group
+     * @return the boolean
+     */
+    public boolean executor(final ConfigGroupEnum group, final ConfigData<?> config) {
+        return ENUM_MAP.get(group).refresh(config);
+    }
+
+    /**
+     * Executor by the changes since the cached config.
+     *
+     * @param data   the data
+     * @param groups the groups the changes are requested for
+     * @return the groups the changes are not applied to, which should be fetched whole
+     */
+    public ConfigGroupEnum[] executorDelta(final JsonObject data, final ConfigGroupEnum... groups) {
+        return Arrays.stream(groups).parallel()
+                .filter(group -> !Boolean.TRUE.equals(ENUM_MAP.get(group).refreshDelta(data)))
+                .toArray(ConfigGroupEnum[]::new);
+    }
+
     /**
      * Cache config data.
      *
@@ -22,6 +22,7 @@ import com.google.gson.reflect.TypeToken;
 import java.util.List;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -59,6 +60,17 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
         return updateCacheIfNeed(result, ConfigGroupEnum.META_DATA);
     }
 
+    @Override
+    protected ConfigDelta<MetaData> deltaFromJson(final JsonObject data) {
+        return GSON.fromJson(data, new TypeToken<ConfigDelta<MetaData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected boolean updateCacheIfNeed(final ConfigDelta<MetaData> delta) {
+        return updateCacheIfNeed(delta, ConfigGroupEnum.META_DATA, MetaData::getId);
+    }
+
     @Override
     public ConfigData<?> cacheConfigData() {
         return GROUP_CACHE.get(ConfigGroupEnum.META_DATA);
@@ -73,4 +85,10 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
             data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
         }
     }
+
+    @Override
+    protected void refresh(final List<MetaData> changed, final List<MetaData> deleted) {
+        deleted.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(metaData)));
+        changed.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
+    }
 }
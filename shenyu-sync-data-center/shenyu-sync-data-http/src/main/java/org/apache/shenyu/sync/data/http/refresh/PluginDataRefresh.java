@@ -22,6 +22,7 @@ import com.google.gson.reflect.TypeToken;
 import java.util.List;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
@@ -60,6 +61,17 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
         return updateCacheIfNeed(result, ConfigGroupEnum.PLUGIN);
     }
 
+    @Override
+    protected ConfigDelta<PluginData> deltaFromJson(final JsonObject data) {
+        return GSON.fromJson(data, new TypeToken<ConfigDelta<PluginData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected boolean updateCacheIfNeed(final ConfigDelta<PluginData> delta) {
+        return updateCacheIfNeed(delta, ConfigGroupEnum.PLUGIN, PluginData::getId);
+    }
+
     @Override
     public ConfigData<?> cacheConfigData() {
         return GROUP_CACHE.get(ConfigGroupEnum.PLUGIN);
@@ -74,4 +86,10 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
         }
         data.forEach(pluginDataSubscriber::onSubscribe);
     }
+
+    @Override
+    protected void refresh(final List<PluginData> changed, final List<PluginData> deleted) {
+        deleted.forEach(pluginDataSubscriber::unSubscribe);
+        changed.forEach(pluginDataSubscriber::onSubscribe);
+    }
 }
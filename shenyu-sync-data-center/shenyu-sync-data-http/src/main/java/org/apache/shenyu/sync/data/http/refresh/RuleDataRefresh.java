@@ -22,6 +22,7 @@ import com.google.gson.reflect.TypeToken;
 import java.util.List;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
@@ -60,6 +61,17 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
         return updateCacheIfNeed(result, ConfigGroupEnum.RULE);
     }
 
+    @Override
+    protected ConfigDelta<RuleData> deltaFromJson(final JsonObject data) {
+        return GSON.fromJson(data, new TypeToken<ConfigDelta<RuleData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected boolean updateCacheIfNeed(final ConfigDelta<RuleData> delta) {
+        return updateCacheIfNeed(delta, ConfigGroupEnum.RULE, RuleData::getId);
+    }
+
     @Override
     public ConfigData<?> cacheConfigData() {
         return GROUP_CACHE.get(ConfigGroupEnum.RULE);
@@ -77,4 +89,10 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
             data.forEach(pluginDataSubscriber::onRuleSubscribe);
         }
     }
+
+    @Override
+    protected void refresh(final List<RuleData> changed, final List<RuleData> deleted) {
+        deleted.forEach(pluginDataSubscriber::unRuleSubscribe);
+        changed.forEach(pluginDataSubscriber::onRuleSubscribe);
+    }
 }
@@ -21,6 +21,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
@@ -61,6 +62,17 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
         return updateCacheIfNeed(result, ConfigGroupEnum.SELECTOR);
     }
 
+    @Override
+    protected ConfigDelta<SelectorData> deltaFromJson(final JsonObject data) {
+        return GSON.fromJson(data, new TypeToken<ConfigDelta<SelectorData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected boolean updateCacheIfNeed(final ConfigDelta<SelectorData> delta) {
+        return updateCacheIfNeed(delta, ConfigGroupEnum.SELECTOR, SelectorData::getId);
+    }
+
     @Override
     public ConfigData<?> cacheConfigData() {
         return GROUP_CACHE.get(ConfigGroupEnum.SELECTOR);
@@ -78,4 +90,10 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             data.forEach(pluginDataSubscriber::onSelectorSubscribe);
         }
     }
+
+    @Override
+    protected void refresh(final List<SelectorData> changed, final List<SelectorData> deleted) {
+        deleted.forEach(pluginDataSubscriber::unSelectorSubscribe);
+        changed.forEach(pluginDataSubscriber::onSelectorSubscribe);
+    }
 }
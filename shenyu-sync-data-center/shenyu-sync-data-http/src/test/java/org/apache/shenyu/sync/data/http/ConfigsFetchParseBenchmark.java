@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.sync.data.api.codec.JsonSyncDataCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response of configs fetch with 50k rules, parsed into a json tree as before against read token by token.
+ * Run it with the main method, the gc profiler reports the allocation of every parse as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConfigsFetchParseBenchmark {
+
+    private static final int RULES = 50_000;
+
+    private static final Gson GSON = new Gson();
+
+    private static final JsonSyncDataCodec JSON_CODEC = new JsonSyncDataCodec();
+
+    private byte[] response;
+
+    /**
+     * Mock the response of configs fetch.
+     */
+    @Setup
+    public void setUp() {
+        List<RuleData> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            ConditionData condition = new ConditionData();
+            condition.setParamType("uri");
+            condition.setOperator("=");
+            condition.setParamName("/");
+            condition.setParamValue("/http/order/" + i);
+            rules.add(RuleData.builder().id(String.valueOf(i)).name("/http/order/" + i).pluginName("divide").selectorId(String.valueOf(i / 100))
+                    .matchMode(0).sort(i).enabled(true).loged(true).handle("{\"loadBalance\":\"random\",\"retry\":0,\"timeout\":3000}")
+                    .conditionDataList(Collections.singletonList(condition)).build());
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put(ConfigGroupEnum.RULE.name(), new ConfigData<>("md5", System.currentTimeMillis(), rules));
+        Map<String, Object> body = new HashMap<>();
+        body.put("code", 200);
+        body.put("data", data);
+        response = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the whole response into a string and a json tree, then convert the groups.
+     *
+     * @return the configs
+     */
+    @Benchmark
+    public Map<ConfigGroupEnum, ConfigData<?>> tree() {
+        String json = new String(response, StandardCharsets.UTF_8);
+        JsonObject data = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.RULE, GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.RULE.name()), new TypeToken<ConfigData<RuleData>>() {
+        }.getType()));
+        return configs;
+    }
+
+    /**
+     * Read the response token by token, the groups are converted as they are read.
+     *
+     * @return the configs
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public Map<ConfigGroupEnum, ConfigData<?>> stream() throws IOException {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("data".equals(reader.nextName())) {
+                    JSON_CODEC.decode(reader, configs::put);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return configs;
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigsFetchParseBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
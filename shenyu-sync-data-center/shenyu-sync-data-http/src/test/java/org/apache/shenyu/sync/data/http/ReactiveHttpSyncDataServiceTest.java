@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.apache.shenyu.sync.data.http.config.HttpConfig;
+import org.apache.shenyu.sync.data.http.refresh.AbstractDataRefresh;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import wiremock.org.apache.http.HttpHeaders;
+import wiremock.org.apache.http.entity.ContentType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test case for {@link ReactiveHttpSyncDataService}, the wire mock server stubs the shenyu admin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public final class ReactiveHttpSyncDataServiceTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.wireMockConfig().dynamicPort(), false);
+
+    private PluginDataSubscriber pluginDataSubscriber;
+
+    private MetaDataSubscriber metaDataSubscriber;
+
+    private AuthDataSubscriber authDataSubscriber;
+
+    private ReactiveHttpSyncDataService syncDataService;
+
+    @Before
+    public void before() {
+        wireMockRule.stubFor(get(urlPathEqualTo("/configs/fetch"))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString())
+                        .withBody(this.mockConfigsFetchResponseJson())
+                        .withStatus(200))
+        );
+        wireMockRule.stubFor(post(urlPathEqualTo("/configs/listener"))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString())
+                        .withBody(this.mockConfigsListenResponseJson())
+                        .withStatus(200))
+        );
+        this.pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        this.metaDataSubscriber = mock(MetaDataSubscriber.class);
+        this.authDataSubscriber = mock(AuthDataSubscriber.class);
+        // the refreshed configs are cached statically, every case starts without them.
+        Map<?, ?> groupCache = (Map<?, ?>) ReflectionTestUtils.getField(AbstractDataRefresh.class, "GROUP_CACHE");
+        Objects.requireNonNull(groupCache).clear();
+    }
+
+    @After
+    public void after() {
+        if (Objects.nonNull(syncDataService)) {
+            syncDataService.close();
+            AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(syncDataService, "running");
+            assertFalse(Objects.requireNonNull(running).get());
+        }
+    }
+
+    @Test
+    public void testStart() throws InterruptedException {
+        syncDataService = create(getMockServerUrl());
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(syncDataService, "running");
+        assertTrue(Objects.requireNonNull(running).get());
+
+        verify(pluginDataSubscriber, atLeastOnce()).refreshPluginDataAll();
+        verify(metaDataSubscriber, atLeastOnce()).refresh();
+        verify(authDataSubscriber, atLeastOnce()).refresh();
+        // the long polling is kept on the event loop, the start does not wait for it.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (wireMockRule.findAll(postRequestedFor(urlPathEqualTo("/configs/listener"))).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        wireMockRule.verify(postRequestedFor(urlPathEqualTo("/configs/listener")));
+    }
+
+    @Test
+    public void testFailover() {
+        // nothing listens on the port 1, the configs are fetched from the second server.
+        syncDataService = create("http://127.0.0.1:1," + getMockServerUrl());
+        verify(pluginDataSubscriber, atLeastOnce()).refreshPluginDataAll();
+        verify(metaDataSubscriber, atLeastOnce()).refresh();
+        verify(authDataSubscriber, atLeastOnce()).refresh();
+    }
+
+    @Test
+    public void testBackoff() {
+        for (int failures = 1; failures <= 64; failures++) {
+            long ceiling = Math.min(ReactiveHttpSyncDataService.MIN_BACKOFF_MILLIS << Math.min(failures - 1, 16), ReactiveHttpSyncDataService.MAX_BACKOFF_MILLIS);
+            Duration backoff = ReactiveHttpSyncDataService.backoff(failures);
+            assertTrue(backoff.toMillis() >= ceiling / 2);
+            assertTrue(backoff.toMillis() <= ceiling);
+        }
+    }
+
+    private ReactiveHttpSyncDataService create(final String url) {
+        HttpConfig httpConfig = new HttpConfig();
+        httpConfig.setUrl(url);
+        httpConfig.setConnectionTimeout(3000);
+        httpConfig.setReactive(true);
+        return new ReactiveHttpSyncDataService(httpConfig, pluginDataSubscriber,
+                Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber));
+    }
+
+    private String getMockServerUrl() {
+        return "http://127.0.0.1:" + wireMockRule.port();
+    }
+
+    // mock configs listen api response
+    private String mockConfigsListenResponseJson() {
+        return "{\"code\":200,\"message\":\"success\",\"data\":[\"PLUGIN\"]}";
+    }
+
+    // mock configs fetch api response
+    private String mockConfigsFetchResponseJson() {
+        ConfigData<?> emptyData = new ConfigData<>()
+                .setLastModifyTime(System.currentTimeMillis()).setData(Collections.emptyList())
+                .setMd5("d751713988987e9331980363e24189cf");
+        ConfigData<?> pluginData = new ConfigData<>()
+                .setLastModifyTime(System.currentTimeMillis())
+                .setData(Collections.singletonList(PluginData.builder()
+                        .id("9")
+                        .name("hystrix")
+                        .role("0")
+                        .enabled(false)
+                        .build()))
+                .setMd5("1298d5a533d0f896c60cbeca1ec7b017");
+        Map<String, Object> data = new HashMap<>();
+        data.put(ConfigGroupEnum.PLUGIN.name(), pluginData);
+        data.put(ConfigGroupEnum.META_DATA.name(), emptyData);
+        data.put(ConfigGroupEnum.APP_AUTH.name(), emptyData);
+        data.put(ConfigGroupEnum.SELECTOR.name(), emptyData);
+        data.put(ConfigGroupEnum.RULE.name(), emptyData);
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", data);
+        response.put("code", 200);
+        return GsonUtils.getInstance().toJson(response);
+    }
+}
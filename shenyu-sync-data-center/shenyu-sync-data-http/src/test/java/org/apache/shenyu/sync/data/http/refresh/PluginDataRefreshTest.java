@@ -19,6 +19,7 @@ package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
@@ -26,9 +27,12 @@ import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -77,4 +81,26 @@ public final class PluginDataRefreshTest {
         selectorDataList.add(selectorData);
         pluginDataRefresh.refresh(selectorDataList);
     }
+
+    @Test
+    public void testRefreshDelta() {
+        final PluginDataRefresh pluginDataRefresh = mockPluginDataRefresh;
+        PluginData divide = PluginData.builder().id("5").name("divide").enabled(true).build();
+        PluginData sign = PluginData.builder().id("1").name("sign").enabled(true).build();
+        AbstractDataRefresh.GROUP_CACHE.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-value1", 1L, Arrays.asList(divide, sign)));
+        PluginData disabledSign = PluginData.builder().id("1").name("sign").enabled(false).build();
+        PluginData hystrix = PluginData.builder().id("9").name("hystrix").enabled(true).build();
+        ConfigDelta<PluginData> delta = new ConfigDelta<PluginData>().setBaseMd5("md5-value1").setMd5("md5-value2").setLastModifyTime(2L)
+                .setData(Arrays.asList(disabledSign, hystrix)).setDeleted(Collections.singletonList(divide));
+        JsonObject data = new JsonObject();
+        data.add(ConfigGroupEnum.PLUGIN.name(), GsonUtils.getGson().toJsonTree(delta));
+        assertTrue(pluginDataRefresh.refreshDelta(data));
+        assertThat(pluginDataRefresh.cacheConfigData(), is(new ConfigData<>("md5-value2", 2L, Arrays.asList(disabledSign, hystrix))));
+        // the delta is based on the md5 not cached any more
+        assertFalse(pluginDataRefresh.refreshDelta(data));
+        delta.setFull(true).setBaseMd5(null).setMd5("md5-value3").setLastModifyTime(3L).setData(Collections.singletonList(divide));
+        data.add(ConfigGroupEnum.PLUGIN.name(), GsonUtils.getGson().toJsonTree(delta));
+        assertTrue(pluginDataRefresh.refreshDelta(data));
+        assertThat(pluginDataRefresh.cacheConfigData(), is(new ConfigData<>("md5-value3", 3L, Collections.singletonList(divide))));
+    }
 }
@@ -31,6 +31,8 @@ import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.common.utils.UUIDUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.apache.shenyu.web.handler.LatencyHistogram;
+import org.apache.shenyu.web.handler.PluginLatencyRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,6 +44,7 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -134,6 +137,27 @@ public class LocalPluginController {
         return Mono.just(Constants.SUCCESS);
     }
     
+    /**
+     * The latency of every plugin in microseconds, only recorded when the plugin chain is instrumented.
+     *
+     * @return the mono
+     */
+    @GetMapping("/plugin/latency")
+    public Mono<Map<String, Map<String, LatencyHistogram.Snapshot>>> latency() {
+        return Mono.just(PluginLatencyRecorder.getInstance().snapshot());
+    }
+    
+    /**
+     * Clean the latency of every plugin.
+     *
+     * @return the mono
+     */
+    @GetMapping("/plugin/latency/clean")
+    public Mono<String> cleanLatency() {
+        PluginLatencyRecorder.getInstance().clean();
+        return Mono.just(Constants.SUCCESS);
+    }
+    
     /**
      * Find by name mono.
      *
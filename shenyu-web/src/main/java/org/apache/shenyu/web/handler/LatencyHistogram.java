@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency histogram, bucketed as HdrHistogram does: the values below {@code 2 * SUB_BUCKET_COUNT}
+ * are counted exactly, every greater power of two is split into {@code SUB_BUCKET_COUNT} linear sub buckets,
+ * so the recorded values keep about three percent of precision in a fixed and small array.
+ * Recording is lock free and never allocates.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The highest trackable value, greater values are recorded as this one.
+     */
+    public static final long MAX_VALUE = (1L << 32) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int LINEAR_COUNT = SUB_BUCKET_COUNT << 1;
+
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalValue = new LongAdder();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Record a value.
+     *
+     * @param value the value, negative values are recorded as zero
+     */
+    public void record(final long value) {
+        long bounded = Math.min(Math.max(value, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(bounded));
+        totalCount.increment();
+        totalValue.add(bounded);
+        if (bounded > maxValue.get()) {
+            maxValue.accumulateAndGet(bounded, Math::max);
+        }
+    }
+
+    /**
+     * Get the value at the percentile, that is the highest value of the bucket the percentile falls in.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value, or 0 if nothing is recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Get the count of the recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Get the mean of the recorded values.
+     *
+     * @return the mean, or 0 if nothing is recorded
+     */
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Get the max of the recorded values.
+     *
+     * @return the max
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Take a snapshot of the histogram.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(getCount(), getMean(), getMax(), getValueAtPercentile(50), getValueAtPercentile(90),
+                getValueAtPercentile(99), getValueAtPercentile(99.9));
+    }
+
+    /**
+     * Reset the histogram, the values recorded meanwhile may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0);
+    }
+
+    private static int indexOf(final long value) {
+        if (value < LINEAR_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return LINEAR_COUNT + ((magnitude - LINEAR_BITS) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    private static long highestValueOf(final int index) {
+        if (index < LINEAR_COUNT) {
+            return index;
+        }
+        int magnitude = ((index - LINEAR_COUNT) >>> SUB_BUCKET_BITS) + LINEAR_BITS;
+        long subBucket = ((index - LINEAR_COUNT) & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * The snapshot of a histogram.
+     */
+    public static final class Snapshot {
+
+        private final long count;
+
+        private final double mean;
+
+        private final long max;
+
+        private final long p50;
+
+        private final long p90;
+
+        private final long p99;
+
+        private final long p999;
+
+        private Snapshot(final long count, final double mean, final long max, final long p50, final long p90, final long p99, final long p999) {
+            this.count = count;
+            this.mean = mean;
+            this.max = max;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        /**
+         * Get count.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Get mean.
+         *
+         * @return the mean
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * Get max.
+         *
+         * @return the max
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Get the 50th percentile.
+         *
+         * @return the p50
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * Get the 90th percentile.
+         *
+         * @return the p90
+         */
+        public long getP90() {
+            return p90;
+        }
+
+        /**
+         * Get the 99th percentile.
+         *
+         * @return the p99
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * Get the 99.9th percentile.
+         *
+         * @return the p999
+         */
+        public long getP999() {
+            return p999;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.PluginSnapshot;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The plugin chain computed ahead of the requests.
+ * The plugins whose plugin data is absent or disabled are dropped, as they would only pass the request on,
+ * and for every {@link RpcTypeEnum} the plugins which skip the rpc type are dropped too.
+ * A table is immutable, it is rebuilt when the plugins or the plugin data change.
+ */
+final class PluginChainTable {
+
+    private final long version;
+
+    private final ShenyuPlugin[] plugins;
+
+    private final Step unknown;
+
+    private final Map<String, Step> steps;
+
+    private PluginChainTable(final long version, final ShenyuPlugin[] plugins, final Step unknown, final Map<String, Step> steps) {
+        this.version = version;
+        this.plugins = plugins;
+        this.unknown = unknown;
+        this.steps = steps;
+    }
+
+    /**
+     * Build the table of the plugins with the plugin data currently cached.
+     *
+     * @param plugins the sorted plugins
+     * @return the plugin chain table
+     */
+    static PluginChainTable build(final List<ShenyuPlugin> plugins) {
+        final long version = BaseDataCache.getInstance().obtainPluginVersion();
+        ShenyuPlugin[] enabled = plugins.stream().filter(PluginChainTable::isEnabled).toArray(ShenyuPlugin[]::new);
+        boolean[] overridden = new boolean[enabled.length];
+        int[] identity = new int[enabled.length + 1];
+        for (int i = 0; i < enabled.length; i++) {
+            overridden[i] = overridesSkip(enabled[i]);
+            identity[i] = i;
+        }
+        identity[enabled.length] = enabled.length;
+        Map<String, Step> steps = new HashMap<>(RpcTypeEnum.values().length << 1);
+        for (RpcTypeEnum rpcType : RpcTypeEnum.values()) {
+            steps.put(rpcType.getName(), Step.of(enabled, overridden, rpcType.getName()));
+        }
+        return new PluginChainTable(version, enabled, new Step(identity, overridden), steps);
+    }
+
+    /**
+     * Whether the table is built with the plugin data currently cached.
+     *
+     * @return true if the table is still valid
+     */
+    boolean isCurrent() {
+        return version == BaseDataCache.getInstance().obtainPluginVersion();
+    }
+
+    /**
+     * Get the plugins which may execute.
+     *
+     * @return the plugins
+     */
+    ShenyuPlugin[] getPlugins() {
+        return plugins;
+    }
+
+    /**
+     * Get the step of a rpc type, the rpc type is unknown before the context is built.
+     *
+     * @param rpcType the rpc type, or null
+     * @return the step
+     */
+    Step obtainStep(final String rpcType) {
+        Step step = Objects.isNull(rpcType) ? null : steps.get(rpcType);
+        return Objects.isNull(step) ? unknown : step;
+    }
+
+    /**
+     * A plugin extending {@link AbstractShenyuPlugin} passes the request on if its plugin data is not enabled.
+     */
+    private static boolean isEnabled(final ShenyuPlugin plugin) {
+        if (!(plugin instanceof AbstractShenyuPlugin) || overridesExecute(plugin)) {
+            return true;
+        }
+        PluginSnapshot snapshot = BaseDataCache.getInstance().obtainPluginSnapshot(plugin.named());
+        PluginData pluginData = Objects.isNull(snapshot) ? null : snapshot.getPluginData();
+        return Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled());
+    }
+
+    private static boolean overridesExecute(final ShenyuPlugin plugin) {
+        try {
+            return plugin.getClass().getMethod("execute", ServerWebExchange.class, ShenyuPluginChain.class).getDeclaringClass() != AbstractShenyuPlugin.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private static boolean overridesSkip(final ShenyuPlugin plugin) {
+        try {
+            return !plugin.getClass().getMethod("skip", ServerWebExchange.class).isDefault();
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * The step of a rpc type.
+     * {@code next[i]} is the position of the first plugin from {@code i} which may execute for the rpc type,
+     * {@code dynamic[i]} tells whether {@link ShenyuPlugin#skip(ServerWebExchange)} still has to be called.
+     */
+    static final class Step {
+
+        private final int[] next;
+
+        private final boolean[] dynamic;
+
+        private Step(final int[] next, final boolean[] dynamic) {
+            this.next = next;
+            this.dynamic = dynamic;
+        }
+
+        private static Step of(final ShenyuPlugin[] plugins, final boolean[] overridden, final String rpcType) {
+            int[] next = new int[plugins.length + 1];
+            boolean[] dynamic = new boolean[plugins.length];
+            next[plugins.length] = plugins.length;
+            for (int i = plugins.length - 1; i >= 0; i--) {
+                Boolean skip = plugins[i].skipRpcType(rpcType);
+                if (Boolean.TRUE.equals(skip)) {
+                    next[i] = next[i + 1];
+                } else {
+                    next[i] = i;
+                    dynamic[i] = Objects.isNull(skip) && overridden[i];
+                }
+            }
+            return new Step(next, dynamic);
+        }
+
+        /**
+         * Get the position of the first plugin from the index which may execute.
+         *
+         * @param index the index
+         * @return the position, the length of the plugins if there is none
+         */
+        int next(final int index) {
+            return next[index];
+        }
+
+        /**
+         * Whether the skip of the plugin at the position has to be called.
+         *
+         * @param position the position
+         * @return true if it depends on the request
+         */
+        boolean isDynamic(final int position) {
+            return dynamic[position];
+        }
+    }
+}
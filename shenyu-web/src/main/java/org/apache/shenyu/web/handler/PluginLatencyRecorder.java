@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The plugin latency recorder of the instrumented plugin chain.
+ * Every plugin has two histograms in microseconds: the execution time from the subscription
+ * of the plugin until it terminates, which includes the plugins after it, and the time before
+ * its first downstream signal, that is until it calls the next plugin or terminates by itself.
+ * The values are recorded locally and reported by {@link MetricsReporter} as well.
+ */
+public final class PluginLatencyRecorder {
+
+    private static final PluginLatencyRecorder INSTANCE = new PluginLatencyRecorder();
+
+    /**
+     * pluginName -> plugin latency.
+     */
+    private final ConcurrentMap<String, PluginLatency> latencyMap = Maps.newConcurrentMap();
+
+    private PluginLatencyRecorder() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static PluginLatencyRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the execution time of a plugin.
+     *
+     * @param pluginName the plugin name
+     * @param nanos the execution time in nanoseconds
+     */
+    public void recordExecute(final String pluginName, final long nanos) {
+        PluginLatency latency = obtain(pluginName);
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        latency.execute.record(micros);
+        MetricsReporter.recordTime(LabelNames.PLUGIN_LATENCY_NAME, latency.labelValues, micros);
+    }
+
+    /**
+     * Record the time of a plugin before its first downstream signal.
+     *
+     * @param pluginName the plugin name
+     * @param nanos the time in nanoseconds
+     */
+    public void recordFirstSignal(final String pluginName, final long nanos) {
+        PluginLatency latency = obtain(pluginName);
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        latency.firstSignal.record(micros);
+        MetricsReporter.recordTime(LabelNames.PLUGIN_FIRST_SIGNAL_LATENCY_NAME, latency.labelValues, micros);
+    }
+
+    /**
+     * Take the snapshots of all the recorded plugins.
+     *
+     * @return pluginName -> (execute | firstSignal) -> snapshot, sorted by the plugin name
+     */
+    public Map<String, Map<String, LatencyHistogram.Snapshot>> snapshot() {
+        Map<String, Map<String, LatencyHistogram.Snapshot>> result = new TreeMap<>();
+        latencyMap.forEach((pluginName, latency) -> {
+            Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+            snapshots.put("execute", latency.execute.snapshot());
+            snapshots.put("firstSignal", latency.firstSignal.snapshot());
+            result.put(pluginName, Collections.unmodifiableMap(snapshots));
+        });
+        return result;
+    }
+
+    /**
+     * Clean all the recorded values.
+     */
+    public void clean() {
+        latencyMap.clear();
+    }
+
+    private PluginLatency obtain(final String pluginName) {
+        PluginLatency latency = latencyMap.get(pluginName);
+        if (Objects.isNull(latency)) {
+            latency = latencyMap.computeIfAbsent(pluginName, PluginLatency::new);
+        }
+        return latency;
+    }
+
+    private static final class PluginLatency {
+
+        private final String[] labelValues;
+
+        private final LatencyHistogram execute = new LatencyHistogram();
+
+        private final LatencyHistogram firstSignal = new LatencyHistogram();
+
+        private PluginLatency(final String pluginName) {
+            this.labelValues = new String[]{pluginName};
+        }
+    }
+}
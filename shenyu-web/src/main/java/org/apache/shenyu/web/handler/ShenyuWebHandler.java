@@ -18,9 +18,11 @@
 package org.apache.shenyu.web.handler;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
@@ -45,8 +47,14 @@ public final class ShenyuWebHandler implements WebHandler {
 
     private final boolean scheduled;
 
+    private final boolean optimized;
+
+    private final boolean instrumented;
+
     private Scheduler scheduler;
 
+    private volatile PluginChainTable table;
+
     /**
      * Instantiates a new shenyu web handler.
      *
@@ -55,6 +63,8 @@ public final class ShenyuWebHandler implements WebHandler {
      */
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuConfig shenyuConfig) {
         this.plugins = plugins;
+        this.optimized = Boolean.TRUE.equals(shenyuConfig.getPluginChain().getOptimized());
+        this.instrumented = Boolean.TRUE.equals(shenyuConfig.getPluginChain().getInstrumented());
         ShenyuConfig.Scheduler config = shenyuConfig.getScheduler();
         this.scheduled = config.getEnabled();
         if (scheduled) {
@@ -74,7 +84,14 @@ public final class ShenyuWebHandler implements WebHandler {
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        Mono<Void> execute;
+        if (instrumented) {
+            execute = new InstrumentedShenyuPluginChain(plugins).execute(exchange);
+        } else if (optimized) {
+            execute = new PrecomputedShenyuPluginChain(obtainTable()).execute(exchange);
+        } else {
+            execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        }
         if (scheduled) {
             return execute.subscribeOn(scheduler);
         }
@@ -98,9 +115,19 @@ public final class ShenyuWebHandler implements WebHandler {
                 plugins.add(plugin);
                 LOG.info("shenyu auto add extends plugins:{}", plugin.named());
             });
+            table = null;
         }
     }
 
+    private PluginChainTable obtainTable() {
+        PluginChainTable current = table;
+        if (Objects.isNull(current) || !current.isCurrent()) {
+            current = PluginChainTable.build(plugins);
+            table = current;
+        }
+        return current;
+    }
+
     private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
 
         private int index;
@@ -137,4 +164,108 @@ public final class ShenyuWebHandler implements WebHandler {
             });
         }
     }
+
+    private static class PrecomputedShenyuPluginChain implements ShenyuPluginChain {
+
+        private int index;
+
+        private final PluginChainTable table;
+
+        /**
+         * Instantiates a new precomputed shenyu plugin chain.
+         *
+         * @param table the plugin chain table
+         */
+        PrecomputedShenyuPluginChain(final PluginChainTable table) {
+            this.table = table;
+        }
+
+        /**
+         * Delegate to the next plugin which applies to the rpc type of the request,
+         * the skipped plugins are passed over in a loop instead of a deferred recursion.
+         *
+         * @param exchange the current server exchange
+         * @return {@code Mono<Void>} to indicate when request handling is complete
+         */
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange) {
+            return Mono.defer(() -> {
+                final ShenyuPlugin[] plugins = table.getPlugins();
+                while (this.index < plugins.length) {
+                    ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+                    PluginChainTable.Step step = table.obtainStep(Objects.isNull(shenyuContext) ? null : shenyuContext.getRpcType());
+                    int position = step.next(this.index);
+                    if (position >= plugins.length) {
+                        break;
+                    }
+                    this.index = position + 1;
+                    ShenyuPlugin plugin = plugins[position];
+                    if (step.isDynamic(position) && plugin.skip(exchange)) {
+                        continue;
+                    }
+                    return plugin.execute(exchange, this);
+                }
+                return Mono.empty();
+            });
+        }
+    }
+
+    /**
+     * The plugin chain which records the latency of every plugin into {@link PluginLatencyRecorder},
+     * it executes the plugins as {@link DefaultShenyuPluginChain} does and is only used when instrumented.
+     */
+    private static class InstrumentedShenyuPluginChain implements ShenyuPluginChain {
+
+        private int index;
+
+        private final List<ShenyuPlugin> plugins;
+
+        private String pending;
+
+        private long pendingStart;
+
+        /**
+         * Instantiates a new instrumented shenyu plugin chain.
+         *
+         * @param plugins the plugins
+         */
+        InstrumentedShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        /**
+         * Delegate to the next plugin, the call is the first downstream signal of the previous plugin.
+         *
+         * @param exchange the current server exchange
+         * @return {@code Mono<Void>} to indicate when request handling is complete
+         */
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange) {
+            return Mono.defer(() -> {
+                signal();
+                while (this.index < plugins.size()) {
+                    ShenyuPlugin plugin = plugins.get(this.index++);
+                    if (plugin.skip(exchange)) {
+                        continue;
+                    }
+                    final String pluginName = plugin.named();
+                    final long start = System.nanoTime();
+                    this.pending = pluginName;
+                    this.pendingStart = start;
+                    return plugin.execute(exchange, this).doFinally(type -> {
+                        signal();
+                        PluginLatencyRecorder.getInstance().recordExecute(pluginName, System.nanoTime() - start);
+                    });
+                }
+                return Mono.empty();
+            });
+        }
+
+        private void signal() {
+            if (Objects.nonNull(pending)) {
+                PluginLatencyRecorder.getInstance().recordFirstSignal(pending, System.nanoTime() - pendingStart);
+                pending = null;
+            }
+        }
+    }
 }
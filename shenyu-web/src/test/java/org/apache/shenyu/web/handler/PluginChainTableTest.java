@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for PluginChainTable.
+ */
+public final class PluginChainTableTest {
+
+    private final ShenyuPlugin any = new TestPlugin("any", null);
+
+    private final ShenyuPlugin http = new TestPlugin("http", RpcTypeEnum.HTTP.getName());
+
+    private final ShenyuPlugin dubbo = new TestPlugin("dubbo", RpcTypeEnum.DUBBO.getName());
+
+    private final ShenyuPlugin dynamic = new ShenyuPlugin() {
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            return true;
+        }
+    };
+
+    private final ShenyuPlugin managed = new AbstractShenyuPlugin() {
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "tablePlugin";
+        }
+    };
+
+    @After
+    public void tearDown() {
+        BaseDataCache.getInstance().removePluginDataByPluginName("tablePlugin");
+    }
+
+    @Test
+    public void testStepsOfRpcType() {
+        PluginChainTable table = PluginChainTable.build(Arrays.asList(any, http, dynamic, dubbo));
+        assertArrayEquals(new ShenyuPlugin[]{any, http, dynamic, dubbo}, table.getPlugins());
+        PluginChainTable.Step httpStep = table.obtainStep(RpcTypeEnum.HTTP.getName());
+        assertEquals(0, httpStep.next(0));
+        assertEquals(1, httpStep.next(1));
+        assertEquals(2, httpStep.next(2));
+        assertEquals(4, httpStep.next(3));
+        assertFalse(httpStep.isDynamic(1));
+        assertTrue(httpStep.isDynamic(2));
+        PluginChainTable.Step dubboStep = table.obtainStep(RpcTypeEnum.DUBBO.getName());
+        assertEquals(2, dubboStep.next(1));
+        assertEquals(3, dubboStep.next(3));
+    }
+
+    @Test
+    public void testUnknownRpcType() {
+        PluginChainTable table = PluginChainTable.build(Arrays.asList(any, http, dubbo));
+        for (String rpcType : Arrays.asList(null, "unknown")) {
+            PluginChainTable.Step step = table.obtainStep(rpcType);
+            for (int i = 0; i <= 3; i++) {
+                assertEquals(i, step.next(i));
+            }
+            assertTrue(step.isDynamic(0));
+            assertTrue(step.isDynamic(2));
+        }
+    }
+
+    @Test
+    public void testPluginDataEnablement() {
+        PluginChainTable table = PluginChainTable.build(Arrays.asList(any, managed));
+        assertArrayEquals(new ShenyuPlugin[]{any}, table.getPlugins());
+        assertTrue(table.isCurrent());
+        BaseDataCache.getInstance().cachePluginData(new PluginData("1", "tablePlugin", null, null, true));
+        assertFalse(table.isCurrent());
+        table = PluginChainTable.build(Arrays.asList(any, managed));
+        assertArrayEquals(new ShenyuPlugin[]{any, managed}, table.getPlugins());
+        BaseDataCache.getInstance().cachePluginData(new PluginData("1", "tablePlugin", null, null, false));
+        assertFalse(table.isCurrent());
+        assertArrayEquals(new ShenyuPlugin[]{any}, PluginChainTable.build(Arrays.asList(any, managed)).getPlugins());
+    }
+
+    private static final class TestPlugin implements ShenyuPlugin {
+
+        private final String name;
+
+        private final String rpcType;
+
+        TestPlugin(final String name, final String rpcType) {
+            this.name = name;
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            return Objects.nonNull(rpcType);
+        }
+
+        @Override
+        public Boolean skipRpcType(final String type) {
+            return Objects.nonNull(rpcType) && !Objects.equals(rpcType, type);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the default plugin chain against the precomputed plugin chain.
+ * The plugins mimic the gateway: some plugins of every request, and one plugin of every rpc type.
+ * Run it with the main method, or with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShenyuWebHandlerBenchmark {
+
+    private static final int COMMON_PLUGINS = 10;
+
+    @Param({"false", "true"})
+    private boolean optimized;
+
+    private ShenyuWebHandler handler;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Set up the handler.
+     */
+    @Setup
+    public void setUp() {
+        List<ShenyuPlugin> plugins = new ArrayList<>();
+        for (int i = 0; i < COMMON_PLUGINS; i++) {
+            plugins.add(new BenchmarkPlugin(null));
+        }
+        for (RpcTypeEnum rpcType : RpcTypeEnum.values()) {
+            plugins.add(new BenchmarkPlugin(rpcType.getName()));
+        }
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getPluginChain().setOptimized(optimized);
+        handler = new ShenyuWebHandler(plugins, shenyuConfig);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").build());
+        ShenyuContext shenyuContext = new ShenyuContext();
+        shenyuContext.setRpcType(RpcTypeEnum.HTTP.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+    }
+
+    /**
+     * Handle a request.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public Void handle() {
+        return handler.handle(exchange).block();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShenyuWebHandlerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static final class BenchmarkPlugin implements ShenyuPlugin {
+
+        private final String rpcType;
+
+        BenchmarkPlugin(final String rpcType) {
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            return skipRpcType(Objects.requireNonNull(shenyuContext).getRpcType());
+        }
+
+        @Override
+        public Boolean skipRpcType(final String type) {
+            return Objects.nonNull(rpcType) && !Objects.equals(rpcType, type);
+        }
+    }
+}
@@ -19,7 +19,9 @@ package org.apache.shenyu.web.handler;
 
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.junit.Assert;
 import org.junit.Before;
@@ -31,7 +33,10 @@ import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.mockito.Mockito.mock;
 
@@ -62,4 +67,127 @@ public class ShenyuWebHandlerTest {
         Mono<Void> handle = shenyuWebHandler.handle(exchange);
         Assert.assertNotNull(handle);
     }
+
+    @Test
+    public void handleOptimized() {
+        for (String rpcType : Arrays.asList(RpcTypeEnum.HTTP.getName(), RpcTypeEnum.DUBBO.getName(), "unknown")) {
+            Assert.assertEquals(execute(false, rpcType), execute(true, rpcType));
+        }
+        Assert.assertEquals(Arrays.asList("context", "any", "http"), execute(true, RpcTypeEnum.HTTP.getName()));
+        Assert.assertEquals(Arrays.asList("context", "any", "dubbo"), execute(true, RpcTypeEnum.DUBBO.getName()));
+    }
+
+    @Test
+    public void putExtPluginsOptimized() {
+        final List<String> executed = new ArrayList<>();
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getPluginChain().setOptimized(true);
+        ShenyuWebHandler handler = new ShenyuWebHandler(new ArrayList<>(Arrays.asList(new ContextPlugin(executed, RpcTypeEnum.HTTP.getName()))), shenyuConfig);
+        handler.handle(exchange()).block();
+        handler.putExtPlugins(Arrays.asList(new TestPlugin(executed, "ext", null)));
+        handler.handle(exchange()).block();
+        Assert.assertEquals(Arrays.asList("context", "context", "ext"), executed);
+    }
+
+    @Test
+    public void handleInstrumented() {
+        PluginLatencyRecorder.getInstance().clean();
+        final List<String> executed = new ArrayList<>();
+        List<ShenyuPlugin> plugins = Arrays.asList(new ContextPlugin(executed, RpcTypeEnum.HTTP.getName()),
+                new TestPlugin(executed, "dubbo", RpcTypeEnum.DUBBO.getName()),
+                new TestPlugin(executed, "http", RpcTypeEnum.HTTP.getName()));
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getPluginChain().setInstrumented(true);
+        ShenyuWebHandler handler = new ShenyuWebHandler(plugins, shenyuConfig);
+        handler.handle(exchange()).block();
+        handler.handle(exchange()).block();
+        Assert.assertEquals(Arrays.asList("context", "http", "context", "http"), executed);
+        Map<String, Map<String, LatencyHistogram.Snapshot>> snapshot = PluginLatencyRecorder.getInstance().snapshot();
+        Assert.assertEquals(Arrays.asList("context", "http"), new ArrayList<>(snapshot.keySet()));
+        Assert.assertEquals(2, snapshot.get("context").get("execute").getCount());
+        Assert.assertEquals(2, snapshot.get("context").get("firstSignal").getCount());
+        Assert.assertEquals(2, snapshot.get("http").get("firstSignal").getCount());
+        PluginLatencyRecorder.getInstance().clean();
+    }
+
+    private List<String> execute(final boolean optimized, final String rpcType) {
+        final List<String> executed = new ArrayList<>();
+        List<ShenyuPlugin> plugins = Arrays.asList(new ContextPlugin(executed, rpcType),
+                new TestPlugin(executed, "any", null),
+                new TestPlugin(executed, "dubbo", RpcTypeEnum.DUBBO.getName()),
+                new TestPlugin(executed, "http", RpcTypeEnum.HTTP.getName()));
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getPluginChain().setOptimized(optimized);
+        new ShenyuWebHandler(plugins, shenyuConfig).handle(exchange()).block();
+        return executed;
+    }
+
+    private ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+    }
+
+    private static class TestPlugin implements ShenyuPlugin {
+
+        private final List<String> executed;
+
+        private final String name;
+
+        private final String rpcType;
+
+        TestPlugin(final List<String> executed, final String name, final String rpcType) {
+            this.executed = executed;
+            this.name = name;
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            executed.add(name);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            return skipRpcType(Objects.requireNonNull(shenyuContext).getRpcType());
+        }
+
+        @Override
+        public Boolean skipRpcType(final String type) {
+            return Objects.nonNull(rpcType) && !Objects.equals(rpcType, type);
+        }
+    }
+
+    private static final class ContextPlugin extends TestPlugin {
+
+        private final String rpcType;
+
+        ContextPlugin(final List<String> executed, final String rpcType) {
+            super(executed, "context", null);
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            ShenyuContext shenyuContext = new ShenyuContext();
+            shenyuContext.setRpcType(rpcType);
+            exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+            return super.execute(exchange, chain);
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            return false;
+        }
+    }
 }